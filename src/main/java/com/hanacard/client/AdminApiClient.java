@@ -1,136 +1,398 @@
 package com.hanacard.client;
 
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.hanacard.dto.AdminApiResponse;
 import com.hanacard.dto.ConsultingCategoryData;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Component;
 import org.springframework.web.client.RestTemplate;
 
-import java.time.Duration;
-import java.time.LocalDateTime;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.LongSupplier;
 
 /**
  * Admin 서비스 API 클라이언트 (엄격한 방식)
  * Admin API 실패 시 분류 작업 중단
+ *
+ * 카테고리 캐시는 불변 스냅샷을 AtomicReference로 교체 (요청 경로는 락 없이 읽기만 함)
+ * - TTL의 refresh-ahead-ratio 지점부터 백그라운드 스레드에서 미리 갱신 (요청 스레드는 기다리지 않음)
+ * - TTL이 지나도 max-stale 이내면 기존 스냅샷을 반환하면서 재검증, 그 이후와 최초 조회만 동기 호출
+ * - 동시에 진행하는 Admin API 호출은 하나 (나머지는 같은 호출 결과를 기다림)
+ * - 실패 시 지터를 준 지수 백오프 동안 백그라운드 갱신을 건너뜀
+ * - 마지막 ETag로 조건부 요청 (변경이 없으면 304로 목록 다운로드 생략)
+ * - 마지막으로 받은 목록을 snapshot-file에 저장하고 기동 시 읽어 Admin 장애와 무관하게 바로 사용 (만료 캐시로 취급하여 재검증)
  */
 @Component
 public class AdminApiClient {
-    
+
     private static final Logger logger = LoggerFactory.getLogger(AdminApiClient.class);
-    
+
     @Value("${ADMIN_API_BASE_URL:http://admin-service:8080}")
     private String adminApiBaseUrl;
-    
+
     private final RestTemplate restTemplate;
-    
-    // 카테고리 캐싱 (성능 최적화)
-    private List<ConsultingCategoryData> cachedCategories;
-    private LocalDateTime lastCacheUpdate;
-    private static final Duration CACHE_DURATION = Duration.ofMinutes(30);
-    
-    public AdminApiClient(RestTemplate restTemplate) {
+    private final ObjectMapper objectMapper;
+    private final Path snapshotFile;
+    private final Executor refresher;
+    private final LongSupplier nanoClock;
+    private final long ttlNanos;
+    private final long refreshAheadNanos;
+    private final long maxStaleNanos;
+    private final long minBackoffNanos;
+    private final long maxBackoffNanos;
+
+    // 카테고리 캐시 스냅샷 (성능 최적화)
+    private final AtomicReference<Snapshot> snapshot = new AtomicReference<>();
+    private final AtomicReference<CompletableFuture<List<ConsultingCategoryData>>> inFlight = new AtomicReference<>();
+    private final AtomicInteger consecutiveFailures = new AtomicInteger();
+    private volatile long retryAfterNanos;
+
+    private final Timer refreshSuccessTimer;
+    private final Timer refreshNotModifiedTimer;
+    private final Timer refreshFailureTimer;
+    private final Counter staleServeCounter;
+
+    @Autowired
+    public AdminApiClient(
+            RestTemplate restTemplate,
+            ObjectMapper objectMapper,
+            MeterRegistry meterRegistry,
+            @Value("${external.admin-api.cache.ttl-minutes:30}") long ttlMinutes,
+            @Value("${external.admin-api.cache.refresh-ahead-ratio:0.8}") double refreshAheadRatio,
+            @Value("${external.admin-api.cache.max-stale-minutes:1440}") long maxStaleMinutes,
+            @Value("${external.admin-api.cache.min-backoff-seconds:5}") long minBackoffSeconds,
+            @Value("${external.admin-api.cache.max-backoff-seconds:300}") long maxBackoffSeconds,
+            @Value("${external.admin-api.cache.snapshot-file:./data/admin-categories.json}") String snapshotFile) {
+
+        this(restTemplate, objectMapper, snapshotFile.isBlank() ? null : Path.of(snapshotFile), meterRegistry,
+             newRefresher(), System::nanoTime,
+             TimeUnit.MINUTES.toNanos(ttlMinutes), refreshAheadRatio, TimeUnit.MINUTES.toNanos(maxStaleMinutes),
+             TimeUnit.SECONDS.toNanos(minBackoffSeconds), TimeUnit.SECONDS.toNanos(maxBackoffSeconds));
+    }
+
+    AdminApiClient(RestTemplate restTemplate, ObjectMapper objectMapper, Path snapshotFile, MeterRegistry meterRegistry,
+                   Executor refresher, LongSupplier nanoClock, long ttlNanos, double refreshAheadRatio,
+                   long maxStaleNanos, long minBackoffNanos, long maxBackoffNanos) {
         this.restTemplate = restTemplate;
+        this.objectMapper = objectMapper;
+        this.snapshotFile = snapshotFile;
+        this.refresher = refresher;
+        this.nanoClock = nanoClock;
+        this.ttlNanos = ttlNanos;
+        this.refreshAheadNanos = (long) (ttlNanos * Math.min(1.0, Math.max(0.0, refreshAheadRatio)));
+        this.maxStaleNanos = Math.max(ttlNanos, maxStaleNanos);
+        this.minBackoffNanos = minBackoffNanos;
+        this.maxBackoffNanos = Math.max(minBackoffNanos, maxBackoffNanos);
+
+        this.refreshSuccessTimer = Timer.builder("admin.category.refresh")
+            .description("Admin API 카테고리 조회 시간")
+            .tag("result", "success")
+            .register(meterRegistry);
+        this.refreshNotModifiedTimer = Timer.builder("admin.category.refresh")
+            .description("Admin API 카테고리 조회 시간")
+            .tag("result", "not_modified")
+            .register(meterRegistry);
+        this.refreshFailureTimer = Timer.builder("admin.category.refresh")
+            .description("Admin API 카테고리 조회 시간")
+            .tag("result", "failure")
+            .register(meterRegistry);
+        this.staleServeCounter = Counter.builder("admin.category.cache.stale")
+            .description("TTL이 지난 카테고리 캐시를 재검증 중에 반환한 횟수")
+            .register(meterRegistry);
+        Gauge.builder("admin.category.cache.age.seconds", this, AdminApiClient::cacheAgeSeconds)
+            .description("카테고리 캐시 스냅샷 경과 시간 (캐시 없으면 -1)")
+            .register(meterRegistry);
+
+        loadSnapshot();
     }
-    
+
+    private static ExecutorService newRefresher() {
+        return Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "Admin-Category-Refresh");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
     /**
      * Admin API에서 상담 카테고리 목록 조회
-     * 실패 시 예외 발생으로 분류 작업 중단
+     * 실패 시 예외 발생으로 분류 작업 중단 (캐시가 없거나 max-stale을 넘긴 경우)
      */
     public List<ConsultingCategoryData> getConsultingCategories() {
-        // 캐시가 유효하면 사용 (성능 최적화)
-        if (isCacheValid()) {
-            logger.debug("캐시된 카테고리 사용: {}건", cachedCategories.size());
-            return cachedCategories;
+        Snapshot current = snapshot.get();
+        if (current == null) {
+            // 최초 조회: 백오프 중이면 Admin API를 다시 두드리지 않고 바로 실패
+            if (nanoClock.getAsLong() < retryAfterNanos) {
+                throw new RuntimeException("Admin 서비스 재시도 대기 중입니다");
+            }
+            return await(refresh(Runnable::run));
+        }
+
+        long age = nanoClock.getAsLong() - current.fetchedAtNanos();
+        if (age >= maxStaleNanos) {
+            logger.warn("카테고리 캐시가 허용 기간을 넘겨 동기 갱신: age={}s", TimeUnit.NANOSECONDS.toSeconds(age));
+            return await(refresh(Runnable::run));
+        }
+        if (age >= refreshAheadNanos && nanoClock.getAsLong() >= retryAfterNanos) {
+            refresh(refresher);
         }
-        
-        // Admin API 호출
-        return callAdminApiStrict();
-    }
-    
-    private boolean isCacheValid() {
-        return cachedCategories != null && 
-               lastCacheUpdate != null && 
-               Duration.between(lastCacheUpdate, LocalDateTime.now()).compareTo(CACHE_DURATION) < 0;
-    }
-    
-    private List<ConsultingCategoryData> callAdminApiStrict() {
+        if (age >= ttlNanos) {
+            staleServeCounter.increment();
+        }
+
+        logger.debug("캐시된 카테고리 사용: {}건", current.categories().size());
+        return current.categories();
+    }
+
+    /**
+     * 진행 중인 조회가 있으면 그 결과를, 없으면 executor에서 새로 조회
+     */
+    private CompletableFuture<List<ConsultingCategoryData>> refresh(Executor executor) {
+        while (true) {
+            CompletableFuture<List<ConsultingCategoryData>> running = inFlight.get();
+            if (running != null) {
+                return running;
+            }
+            CompletableFuture<List<ConsultingCategoryData>> created = new CompletableFuture<>();
+            if (inFlight.compareAndSet(null, created)) {
+                try {
+                    executor.execute(() -> runRefresh(created));
+                } catch (RuntimeException e) {
+                    inFlight.compareAndSet(created, null);
+                    created.completeExceptionally(e);
+                }
+                return created;
+            }
+        }
+    }
+
+    private void runRefresh(CompletableFuture<List<ConsultingCategoryData>> result) {
+        long start = nanoClock.getAsLong();
+        try {
+            Snapshot previous = snapshot.get();
+            Fetched fetched = callAdminApiStrict(previous != null ? previous.etag() : null);
+            long now = nanoClock.getAsLong();
+            if (fetched == null) {
+                // 304: 목록 인스턴스를 그대로 두고 시각만 갱신 (카탈로그도 다시 만들지 않음)
+                refreshNotModifiedTimer.record(now - start, TimeUnit.NANOSECONDS);
+                snapshot.set(new Snapshot(previous.categories(), previous.etag(), now));
+            } else {
+                refreshSuccessTimer.record(now - start, TimeUnit.NANOSECONDS);
+                snapshot.set(new Snapshot(List.copyOf(fetched.categories()), fetched.etag(), now));
+                saveSnapshot(snapshot.get());
+            }
+            consecutiveFailures.set(0);
+            retryAfterNanos = 0;
+            inFlight.compareAndSet(result, null);
+            result.complete(snapshot.get().categories());
+        } catch (RuntimeException e) {
+            long now = nanoClock.getAsLong();
+            refreshFailureTimer.record(now - start, TimeUnit.NANOSECONDS);
+            long backoff = backoffNanos(consecutiveFailures.incrementAndGet());
+            retryAfterNanos = now + backoff;
+            logger.warn("카테고리 갱신 실패, {}ms 후 재시도: {}", TimeUnit.NANOSECONDS.toMillis(backoff), e.getMessage());
+            inFlight.compareAndSet(result, null);
+            result.completeExceptionally(e);
+        }
+    }
+
+    /**
+     * 연속 실패 횟수에 따른 백오프 (min * 2^(n-1), max 상한, 절반~전체 구간에서 무작위)
+     */
+    private long backoffNanos(int failures) {
+        long backoff = minBackoffNanos << Math.min(failures - 1, 20);
+        if (backoff <= 0 || backoff > maxBackoffNanos) {
+            backoff = maxBackoffNanos;
+        }
+        return backoff / 2 + ThreadLocalRandom.current().nextLong(backoff / 2 + 1);
+    }
+
+    private static List<ConsultingCategoryData> await(CompletableFuture<List<ConsultingCategoryData>> refresh) {
+        try {
+            return refresh.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private double cacheAgeSeconds() {
+        Snapshot current = snapshot.get();
+        return current != null ? (nanoClock.getAsLong() - current.fetchedAtNanos()) / 1_000_000_000.0 : -1;
+    }
+
+    /**
+     * Admin API 호출 (etag가 있으면 조건부 요청, 변경이 없으면 null 반환)
+     */
+    private Fetched callAdminApiStrict(String etag) {
         String url = adminApiBaseUrl + "/api/admin/consulting_category";
-        
+
         try {
             logger.info("Admin API 호출: {}", url);
+            HttpHeaders headers = new HttpHeaders();
+            if (etag != null) {
+                headers.setIfNoneMatch(etag);
+            }
             ResponseEntity<AdminApiResponse> response = restTemplate.exchange(
-                url, HttpMethod.GET, null, AdminApiResponse.class
+                url, HttpMethod.GET, new HttpEntity<>(headers), AdminApiResponse.class
             );
-            
+
+            if (response.getStatusCode().isSameCodeAs(HttpStatus.NOT_MODIFIED)) {
+                logger.info("✅ Admin API 카테고리 변경 없음 (304)");
+                return null;
+            }
+
             AdminApiResponse apiResponse = response.getBody();
-            
+
             // 응답 검증
             if (apiResponse == null) {
                 logger.error("❌ Admin API 응답이 null입니다");
                 throw new RuntimeException("Admin API에서 응답을 받지 못했습니다");
             }
-            
+
             if (!apiResponse.isSuccess()) {
                 logger.error("❌ Admin API 응답 실패: {}", apiResponse.getMessage());
                 throw new RuntimeException("카테고리 조회 실패: " + apiResponse.getMessage());
             }
-            
+
             if (apiResponse.getData() == null) {
                 logger.error("❌ Admin API 데이터가 null입니다");
                 throw new RuntimeException("카테고리 데이터를 받지 못했습니다");
             }
-            
+
             List<ConsultingCategoryData> categories = apiResponse.getData().getData();
             if (categories == null || categories.isEmpty()) {
                 logger.error("❌ 카테고리 목록이 비어있습니다");
                 throw new RuntimeException("사용 가능한 카테고리가 없습니다");
             }
-            
-            // 성공 시 캐시 업데이트
-            cachedCategories = categories;
-            lastCacheUpdate = LocalDateTime.now();
-            
+
             logger.info("✅ Admin API에서 카테고리 조회 성공: {}건", categories.size());
-            return categories;
-            
+            return new Fetched(categories, response.getHeaders().getETag());
+
         } catch (Exception e) {
             if (e instanceof RuntimeException) {
                 // 이미 처리된 비즈니스 예외는 그대로 전파
                 throw e;
             }
-            
+
             // 네트워크 오류 등 기술적 예외 처리
             logger.error("❌ Admin API 호출 실패: {}", e.getMessage(), e);
             throw new RuntimeException("Admin 서비스에 연결할 수 없습니다: " + e.getMessage(), e);
         }
     }
-    
+
     /**
-     * 캐시 강제 갱신
+     * 캐시 강제 갱신 (백오프와 무관하게 동기 호출, 실패해도 기존 스냅샷은 유지)
      */
     public void refreshCategoryCache() {
         logger.info("카테고리 캐시 강제 갱신");
-        cachedCategories = null;
-        lastCacheUpdate = null;
-        callAdminApiStrict();
+        await(refresh(Runnable::run));
     }
-    
+
     /**
      * 현재 캐시 상태 확인
      */
     public boolean isCacheAvailable() {
-        return cachedCategories != null && !cachedCategories.isEmpty();
+        Snapshot current = snapshot.get();
+        return current != null && !current.categories().isEmpty();
     }
-    
+
     /**
      * 캐시된 카테고리 수 반환
      */
     public int getCachedCategoryCount() {
-        return cachedCategories != null ? cachedCategories.size() : 0;
+        Snapshot current = snapshot.get();
+        return current != null ? current.categories().size() : 0;
+    }
+
+    /**
+     * 저장된 스냅샷 로드 (TTL이 지난 것으로 취급하여 첫 조회부터 백그라운드 재검증)
+     */
+    private void loadSnapshot() {
+        if (snapshotFile == null || !Files.exists(snapshotFile)) {
+            return;
+        }
+        try {
+            PersistedSnapshot persisted = objectMapper.readValue(snapshotFile.toFile(), PersistedSnapshot.class);
+            if (persisted.categories() == null || persisted.categories().isEmpty()) {
+                return;
+            }
+            snapshot.set(new Snapshot(List.copyOf(persisted.categories()), persisted.etag(), nanoClock.getAsLong() - ttlNanos));
+            logger.info("저장된 카테고리 스냅샷 로드: path={}, categories={}, savedAt={}",
+                       snapshotFile, persisted.categories().size(), persisted.savedAt());
+        } catch (IOException | RuntimeException e) {
+            logger.warn("저장된 카테고리 스냅샷 로드 실패, 무시: path={}, error={}", snapshotFile, e.getMessage());
+        }
+    }
+
+    /**
+     * 스냅샷 저장 (임시 파일에 쓴 뒤 원자적 교체, 실패해도 캐시는 그대로 사용)
+     */
+    private void saveSnapshot(Snapshot saved) {
+        if (snapshotFile == null) {
+            return;
+        }
+        try {
+            Path parent = snapshotFile.toAbsolutePath().getParent();
+            if (parent != null) {
+                Files.createDirectories(parent);
+            }
+            Path temp = snapshotFile.resolveSibling(snapshotFile.getFileName() + ".tmp");
+            objectMapper.writeValue(temp.toFile(),
+                new PersistedSnapshot(saved.etag(), System.currentTimeMillis(), saved.categories()));
+            Files.move(temp, snapshotFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            logger.warn("카테고리 스냅샷 저장 실패: path={}, error={}", snapshotFile, e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (refresher instanceof ExecutorService executorService) {
+            executorService.shutdownNow();
+        }
+    }
+
+    private record Snapshot(List<ConsultingCategoryData> categories, String etag, long fetchedAtNanos) {
+    }
+
+    private record Fetched(List<ConsultingCategoryData> categories, String etag) {
+    }
+
+    /**
+     * snapshot-file 저장 구조
+     */
+    record PersistedSnapshot(@JsonProperty("etag") String etag,
+                             @JsonProperty("saved_at") long savedAt,
+                             @JsonProperty("categories") List<ConsultingCategoryData> categories) {
     }
 }
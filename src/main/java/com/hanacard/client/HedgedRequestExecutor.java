@@ -0,0 +1,217 @@
+package com.hanacard.client;
+
+import com.hanacard.config.OpenAIConfig;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Arrays;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+import java.util.function.Supplier;
+
+/**
+ * 지연 꼬리(tail latency) 단축용 헤지 요청 실행기
+ * 첫 호출이 최근 지연 분포의 백분위 시간 안에 끝나지 않으면 같은 요청을 한 번 더 보내고,
+ * 먼저 끝난 결과를 사용한 뒤 나머지 호출은 취소 (스레드 인터럽트로 HTTP 호출 중단)
+ * 추가 호출 비용은 전체 요청 대비 비율(budget-ratio)로 제한
+ */
+public class HedgedRequestExecutor {
+
+    private static final Logger logger = LoggerFactory.getLogger(HedgedRequestExecutor.class);
+
+    private final boolean enabled;
+    private final double percentile;
+    private final long minDelayMillis;
+    private final long maxDelayMillis;
+    private final double budgetRatio;
+    private final double maxBudget;
+    private final int minSamples;
+
+    // 최근 성공 호출 지연 시간 (링 버퍼) + 같은 값을 정렬 상태로 유지하는 배열 (앞 latencyCount개 사용)
+    private final long[] latencies;
+    private final long[] sortedLatencies;
+    private int nextLatency = 0;
+    private int latencyCount = 0;
+
+    // 지연 시간을 기록할 때마다 다시 계산한 헤지 대기 시간 (요청/게이지 조회는 락 없이 읽기만)
+    private volatile long currentDelayMillis;
+
+    // 헤지 예산 (요청마다 budgetRatio씩 적립, 헤지 1회에 1 사용)
+    private double budget;
+
+    private final ExecutorService executor;
+    private final MeterRegistry meterRegistry;
+
+    public HedgedRequestExecutor(OpenAIConfig.Hedge config, MeterRegistry meterRegistry) {
+        this.enabled = config.isEnabled();
+        this.percentile = config.getPercentile();
+        this.minDelayMillis = config.getMinDelayMillis();
+        this.maxDelayMillis = config.getMaxDelayMillis();
+        this.budgetRatio = config.getBudgetRatio();
+        this.maxBudget = config.getMaxBurst();
+        this.minSamples = config.getMinSamples();
+        this.latencies = new long[Math.max(1, config.getWindowSize())];
+        this.sortedLatencies = new long[latencies.length];
+        this.currentDelayMillis = maxDelayMillis;
+        this.budget = maxBudget;
+        this.meterRegistry = meterRegistry;
+
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.executor = Executors.newCachedThreadPool(runnable -> {
+            Thread thread = new Thread(runnable, "OpenAI-Hedge-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        Gauge.builder("openai.hedge.delay.millis", this, HedgedRequestExecutor::hedgeDelayMillis)
+            .description("헤지 요청을 보내기까지 기다리는 시간 (최근 지연 백분위)")
+            .register(meterRegistry);
+    }
+
+    /**
+     * 헤지 모드로 호출 (비활성화 시 호출 스레드에서 그대로 실행)
+     */
+    public <T> T execute(Supplier<T> call) {
+        return execute(call, () -> true, call);
+    }
+
+    /**
+     * 헤지 모드로 호출, 헤지는 hedgeAllowed가 true일 때만 hedgeCall로 전송
+     * 호출량 제어 허가를 받은 뒤의 호출만 감싸서 지연 기록과 헤지 시계가 대기열/Retry-After 대기를 포함하지 않도록 사용
+     * (허가 대기 중인 요청에는 헤지를 보내지 않고, 호출량 제어기에 여유가 없으면 헤지를 생략)
+     */
+    public <T> T execute(Supplier<T> call, BooleanSupplier hedgeAllowed, Supplier<T> hedgeCall) {
+        if (!enabled) {
+            return call.get();
+        }
+
+        creditBudget();
+        long delayMillis = hedgeDelayMillis();
+        CompletionService<Timed<T>> completion = new ExecutorCompletionService<>(executor);
+        Future<Timed<T>> primary = completion.submit(() -> timed(call));
+        Future<Timed<T>> hedge = null;
+
+        try {
+            Future<Timed<T>> first = completion.poll(delayMillis, TimeUnit.MILLISECONDS);
+            if (first == null) {
+                if (!hedgeAllowed.getAsBoolean()) {
+                    meterRegistry.counter("openai.hedge.requests", "result", "skipped_throttled").increment();
+                } else if (tryConsumeBudget()) {
+                    hedge = completion.submit(() -> timed(hedgeCall));
+                    meterRegistry.counter("openai.hedge.requests", "result", "fired").increment();
+                    logger.debug("헤지 요청 전송: delay={}ms", delayMillis);
+                } else {
+                    meterRegistry.counter("openai.hedge.requests", "result", "skipped_budget").increment();
+                }
+                first = completion.take();
+            }
+
+            int running = hedge != null ? 2 : 1;
+            ExecutionException lastError = null;
+            for (int finished = 0; finished < running; finished++) {
+                Future<Timed<T>> done = finished == 0 ? first : completion.take();
+                try {
+                    Timed<T> result = done.get();
+                    recordLatency(result.elapsedMillis());
+                    if (hedge != null) {
+                        meterRegistry.counter("openai.hedge.wins", "winner", done == hedge ? "hedge" : "primary").increment();
+                    }
+                    return result.value();
+                } catch (ExecutionException e) {
+                    // 한쪽이 실패하면 다른 쪽 결과를 기다림
+                    lastError = e;
+                }
+            }
+            throw unwrap(lastError);
+
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("OpenAI 호출 대기 중 인터럽트", e);
+        } finally {
+            primary.cancel(true);
+            if (hedge != null) {
+                hedge.cancel(true);
+            }
+        }
+    }
+
+    /**
+     * 헤지 대기 시간: 최근 성공 지연의 백분위 (표본이 적으면 최대값)
+     */
+    public long hedgeDelayMillis() {
+        return currentDelayMillis;
+    }
+
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * 성공 지연 기록 후 헤지 대기 시간 갱신
+     * 정렬 배열에서 밀려난 값을 빼고 새 값을 이진 탐색 위치에 넣어 매번 전체 정렬하지 않음
+     */
+    synchronized void recordLatency(long elapsedMillis) {
+        if (latencyCount == latencies.length) {
+            int evicted = Arrays.binarySearch(sortedLatencies, 0, latencyCount, latencies[nextLatency]);
+            System.arraycopy(sortedLatencies, evicted + 1, sortedLatencies, evicted, latencyCount - evicted - 1);
+            latencyCount--;
+        }
+        latencies[nextLatency] = elapsedMillis;
+        nextLatency = (nextLatency + 1) % latencies.length;
+
+        int position = Arrays.binarySearch(sortedLatencies, 0, latencyCount, elapsedMillis);
+        if (position < 0) {
+            position = -position - 1;
+        }
+        System.arraycopy(sortedLatencies, position, sortedLatencies, position + 1, latencyCount - position);
+        sortedLatencies[position] = elapsedMillis;
+        latencyCount++;
+
+        if (latencyCount < minSamples) {
+            return;
+        }
+        int index = (int) Math.ceil(percentile * latencyCount) - 1;
+        long value = sortedLatencies[Math.max(0, Math.min(index, latencyCount - 1))];
+        currentDelayMillis = Math.max(minDelayMillis, Math.min(maxDelayMillis, value));
+    }
+
+    private synchronized void creditBudget() {
+        budget = Math.min(maxBudget, budget + budgetRatio);
+    }
+
+    private synchronized boolean tryConsumeBudget() {
+        if (budget < 1) {
+            return false;
+        }
+        budget -= 1;
+        return true;
+    }
+
+    private static <T> Timed<T> timed(Supplier<T> call) {
+        long start = System.nanoTime();
+        T value = call.get();
+        return new Timed<>(value, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+    }
+
+    private static RuntimeException unwrap(ExecutionException e) {
+        Throwable cause = e.getCause();
+        if (cause instanceof RuntimeException runtimeException) {
+            return runtimeException;
+        }
+        if (cause instanceof Error error) {
+            throw error;
+        }
+        return new IllegalStateException(cause);
+    }
+
+    private record Timed<T>(T value, long elapsedMillis) {}
+}
@@ -0,0 +1,342 @@
+package com.hanacard.client;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.hanacard.config.OpenAIConfig;
+import com.theokanning.openai.OpenAiError;
+import com.theokanning.openai.OpenAiHttpException;
+import com.theokanning.openai.Usage;
+import com.theokanning.openai.client.OpenAiApi;
+import com.theokanning.openai.completion.chat.ChatCompletionChunk;
+import com.theokanning.openai.completion.chat.ChatCompletionRequest;
+import com.theokanning.openai.completion.chat.ChatCompletionResult;
+import com.theokanning.openai.service.OpenAiService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.reactivex.Flowable;
+import jakarta.annotation.PreDestroy;
+import okhttp3.Call;
+import okhttp3.ConnectionPool;
+import okhttp3.Dispatcher;
+import okhttp3.EventListener;
+import okhttp3.Handshake;
+import okhttp3.MediaType;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.RequestBody;
+import okhttp3.Response;
+import okhttp3.ResponseBody;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.InetSocketAddress;
+import java.net.Proxy;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+import java.util.function.ToLongFunction;
+
+/**
+ * OpenAI API 공유 클라이언트
+ * 커넥션 풀/디스패처를 애플리케이션 전체에서 재사용하여 요청마다 TLS 핸드셰이크가 발생하지 않도록 함
+ */
+@Component
+public class OpenAIApiClient {
+
+    private static final Logger logger = LoggerFactory.getLogger(OpenAIApiClient.class);
+
+    private static final String CHAT_COMPLETIONS_URL = "https://api.openai.com/v1/chat/completions";
+    private static final MediaType JSON = MediaType.get("application/json; charset=utf-8");
+
+    private final OkHttpClient httpClient;
+    private final ObjectMapper objectMapper;
+    private final OpenAiService openAiService;
+    private final OpenAIRateGovernor rateGovernor;
+    private final HedgedRequestExecutor hedgedExecutor;
+    private final OpenAICircuitBreaker circuitBreaker;
+    private final TokenEstimator tokenEstimator;
+
+    private final MeterRegistry meterRegistry;
+    private final Counter newConnectionCounter;
+    private final Timer handshakeTimer;
+
+    public OpenAIApiClient(OpenAIConfig config,
+                           @Value("${openai.api.key:}") String legacyApiKey,
+                           MeterRegistry meterRegistry,
+                           TokenEstimator tokenEstimator) {
+
+        // application.yml은 openai.api-key, dev/docker 프로파일은 openai.api.key를 사용
+        String apiKey = config.getApiKey() != null && !config.getApiKey().isBlank()
+            ? config.getApiKey() : legacyApiKey;
+        if (apiKey == null || apiKey.trim().isEmpty()) {
+            throw new IllegalArgumentException("OpenAI API 키가 설정되지 않았습니다.");
+        }
+
+        this.meterRegistry = meterRegistry;
+        this.tokenEstimator = tokenEstimator;
+        this.rateGovernor = new OpenAIRateGovernor(config.getRateLimit(), meterRegistry);
+        this.hedgedExecutor = new HedgedRequestExecutor(config.getHedge(), meterRegistry);
+        this.circuitBreaker = new OpenAICircuitBreaker(config.getCircuitBreaker(), meterRegistry);
+        this.newConnectionCounter = Counter.builder("openai.http.connections.opened")
+            .description("OpenAI API로 새로 연결된 TCP 커넥션 수")
+            .register(meterRegistry);
+        this.handshakeTimer = Timer.builder("openai.http.tls.handshake")
+            .description("OpenAI API TLS 핸드셰이크 소요 시간")
+            .register(meterRegistry);
+
+        Dispatcher dispatcher = new Dispatcher();
+        dispatcher.setMaxRequests(config.getMaxRequests());
+        dispatcher.setMaxRequestsPerHost(config.getMaxRequestsPerHost());
+
+        ConnectionPool connectionPool = new ConnectionPool(
+            config.getMaxIdleConnections(), config.getKeepAliveSeconds(), TimeUnit.SECONDS);
+
+        Duration timeout = Duration.ofSeconds(config.getTimeoutSeconds());
+
+        // 라이브러리 기본 클라이언트(인증 인터셉터 포함)를 기반으로 풀/타임아웃만 교체
+        this.httpClient = OpenAiService.defaultClient(apiKey, timeout).newBuilder()
+            .dispatcher(dispatcher)
+            .connectionPool(connectionPool)
+            .connectTimeout(Duration.ofSeconds(config.getConnectTimeoutSeconds()))
+            .readTimeout(timeout)
+            .eventListenerFactory(call -> new ConnectionMetricsListener())
+            .addInterceptor(chain -> {
+                // 429 응답의 Retry-After 동안 호출량 제어기가 새 호출을 멈추도록 함
+                Response response = chain.proceed(chain.request());
+                if (response.code() == 429) {
+                    Duration retryAfter = OpenAIRateGovernor.parseRetryAfter(
+                        response.header("retry-after-ms"), response.header("retry-after"));
+                    if (retryAfter != null) {
+                        rateGovernor.pauseAtLeast(retryAfter);
+                    }
+                }
+                return response;
+            })
+            .build();
+
+        // usage.prompt_tokens_details.cached_tokens를 읽기 위해 Usage 역직렬화 교체
+        ObjectMapper mapper = OpenAiService.defaultObjectMapper();
+        mapper.registerModule(new SimpleModule().addDeserializer(Usage.class, new PromptCacheUsage.Deserializer()));
+        this.objectMapper = mapper;
+
+        OpenAiApi api = OpenAiService.defaultRetrofit(httpClient, mapper)
+            .create(OpenAiApi.class);
+        this.openAiService = new OpenAiService(api, httpClient.dispatcher().executorService());
+
+        Gauge.builder("openai.http.pool.connections", connectionPool, ConnectionPool::connectionCount)
+            .description("OpenAI 커넥션 풀의 전체 커넥션 수")
+            .register(meterRegistry);
+        Gauge.builder("openai.http.pool.idle", connectionPool, ConnectionPool::idleConnectionCount)
+            .description("OpenAI 커넥션 풀의 유휴 커넥션 수")
+            .register(meterRegistry);
+        Gauge.builder("openai.http.dispatcher.running", dispatcher, Dispatcher::runningCallsCount)
+            .register(meterRegistry);
+        Gauge.builder("openai.http.dispatcher.queued", dispatcher, Dispatcher::queuedCallsCount)
+            .register(meterRegistry);
+
+        logger.info("OpenAI 공유 클라이언트 초기화: maxIdleConnections={}, keepAlive={}s, timeout={}s, maxRequests={}",
+                   config.getMaxIdleConnections(), config.getKeepAliveSeconds(),
+                   config.getTimeoutSeconds(), config.getMaxRequests());
+    }
+
+    /**
+     * Chat Completion 호출 (공유 커넥션 풀 사용)
+     * 서킷 브레이커가 열려 있으면 호출하지 않고 OpenAIUnavailableException
+     */
+    public ChatCompletionResult createChatCompletion(ChatCompletionRequest request) {
+        ChatCompletionResult result = guarded(hedgedExecutor, rateGovernor, circuitBreaker, estimateTokens(request),
+            () -> openAiService.createChatCompletion(request));
+        recordUsage(request.getModel(), result.getUsage());
+        return result;
+    }
+
+    /**
+     * 호출량 제어 → 헤지 → 서킷 브레이커 순으로 감싸 호출
+     * 브레이커와 헤지 지연 기록은 허가를 받은 뒤의 HTTP 호출만 집계 (대기열/Retry-After 대기와 대기 초과는 OpenAI 지연·장애가 아님)
+     * 헤지 시계는 첫 호출이 허가를 받은 뒤 시작하고, 헤지 요청은 대기 없이 허가를 따로 받을 수 있을 때만 전송
+     * (호출량 제한 중에는 헤지가 RPM/TPM을 더 쓰지 않음), 취소된 헤지 호출은 브레이커에 결과로 집계하지 않음
+     * 브레이커가 열려 있으면 대기열에 들어가기 전에 바로 거부
+     */
+    static ChatCompletionResult guarded(HedgedRequestExecutor hedgedExecutor, OpenAIRateGovernor rateGovernor,
+                                        OpenAICircuitBreaker circuitBreaker, int estimatedTokens,
+                                        Supplier<ChatCompletionResult> call) {
+        circuitBreaker.rejectIfOpen();
+        Supplier<ChatCompletionResult> attempt = () -> circuitBreaker.execute(call);
+        ToLongFunction<ChatCompletionResult> usageTokens =
+            completion -> completion.getUsage() != null ? completion.getUsage().getTotalTokens() : 0;
+        return rateGovernor.execute(estimatedTokens, () -> hedgedExecutor.execute(
+            attempt,
+            () -> rateGovernor.hasCapacity(estimatedTokens),
+            () -> rateGovernor.tryExecute(estimatedTokens, attempt, usageTokens)), usageTokens);
+    }
+
+    /**
+     * 구조화 출력(response_format) 지정 Chat Completion 호출 (responseFormat이 null이면 일반 호출)
+     * 라이브러리 요청 타입에 response_format 필드가 없어 요청 JSON에 필드를 더해 같은 공유 클라이언트로 직접 전송
+     * 서킷 브레이커/헤지/호출량 제어는 일반 호출과 동일하게 적용
+     */
+    public ChatCompletionResult createChatCompletion(ChatCompletionRequest request, JsonNode responseFormat) {
+        if (responseFormat == null) {
+            return createChatCompletion(request);
+        }
+        ChatCompletionResult result = guarded(hedgedExecutor, rateGovernor, circuitBreaker, estimateTokens(request),
+            () -> postChatCompletion(request, responseFormat));
+        recordUsage(request.getModel(), result.getUsage());
+        return result;
+    }
+
+    private ChatCompletionResult postChatCompletion(ChatCompletionRequest request, JsonNode responseFormat) {
+        try {
+            ObjectNode body = objectMapper.valueToTree(request);
+            body.set("response_format", responseFormat);
+            Request httpRequest = new Request.Builder()
+                .url(CHAT_COMPLETIONS_URL)
+                .post(RequestBody.create(objectMapper.writeValueAsBytes(body), JSON))
+                .build();
+
+            try (Response response = httpClient.newCall(httpRequest).execute()) {
+                ResponseBody responseBody = response.body();
+                byte[] bytes = responseBody != null ? responseBody.bytes() : new byte[0];
+                if (!response.isSuccessful()) {
+                    // 라이브러리 호출과 같은 예외 타입으로 변환 (브레이커/호출량 제어의 429·5xx 판단에 사용)
+                    throw new OpenAiHttpException(readError(bytes, response.code()),
+                        new IOException("HTTP " + response.code()), response.code());
+                }
+                return objectMapper.readValue(bytes, ChatCompletionResult.class);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private OpenAiError readError(byte[] body, int statusCode) {
+        try {
+            OpenAiError error = objectMapper.readValue(body, OpenAiError.class);
+            if (error != null && error.getError() != null) {
+                return error;
+            }
+        } catch (IOException e) {
+            // 오류 본문이 JSON이 아니면 상태 코드만 전달
+        }
+        return new OpenAiError(new OpenAiError.OpenAiErrorDetails("HTTP " + statusCode, null, null, null));
+    }
+
+    /**
+     * 스트리밍 Chat Completion 호출 (SSE 조각 단위로 수신)
+     */
+    public Flowable<ChatCompletionChunk> streamChatCompletion(ChatCompletionRequest request) {
+        return Flowable.defer(() -> {
+            int estimatedTokens = estimateTokens(request);
+            // 호출량 제어 허가를 먼저 받고 브레이커 허가는 호출 직전에 받음 (대기 초과가 반열림 시험 호출을 소모하지 않도록)
+            circuitBreaker.rejectIfOpen();
+            rateGovernor.acquire(estimatedTokens);
+            try {
+                circuitBreaker.acquirePermission();
+            } catch (RuntimeException e) {
+                rateGovernor.release(estimatedTokens, OpenAIRateGovernor.Outcome.FAILED, 0);
+                throw e;
+            }
+            AtomicBoolean released = new AtomicBoolean(false);
+            return openAiService.streamChatCompletion(request)
+                .doOnComplete(() -> release(released, estimatedTokens, OpenAIRateGovernor.Outcome.SUCCESS, null))
+                .doOnError(e -> release(released, estimatedTokens, OpenAIRateGovernor.isThrottled(e)
+                    ? OpenAIRateGovernor.Outcome.THROTTLED : OpenAIRateGovernor.Outcome.FAILED, e))
+                .doOnCancel(() -> cancel(released, estimatedTokens));
+        });
+    }
+
+    private void release(AtomicBoolean released, int estimatedTokens, OpenAIRateGovernor.Outcome outcome, Throwable error) {
+        if (released.compareAndSet(false, true)) {
+            rateGovernor.release(estimatedTokens, outcome, 0);
+            circuitBreaker.onResult(error != null && OpenAICircuitBreaker.isFailure(error));
+        }
+    }
+
+    private void cancel(AtomicBoolean released, int estimatedTokens) {
+        if (released.compareAndSet(false, true)) {
+            rateGovernor.release(estimatedTokens, OpenAIRateGovernor.Outcome.FAILED, 0);
+            // 취소는 호출자 사정이므로 결과로 집계하지 않고 브레이커 허가만 반환
+            circuitBreaker.releasePermission();
+        }
+    }
+
+    /**
+     * OpenAI 호출량 제어기 (백필 등 후순위 작업이 실시간 트래픽 부하를 확인하는 용도)
+     */
+    public OpenAIRateGovernor rateGovernor() {
+        return rateGovernor;
+    }
+    
+    /**
+     * OpenAI 서킷 브레이커 (상태 조회/호출 전 경로 선택용)
+     */
+    public OpenAICircuitBreaker circuitBreaker() {
+        return circuitBreaker;
+    }
+
+    /**
+     * 호출량 제어용 토큰 추정 (프롬프트 + 최대 출력 토큰)
+     */
+    private int estimateTokens(ChatCompletionRequest request) {
+        int maxTokens = request.getMaxTokens() != null ? request.getMaxTokens() : 0;
+        return tokenEstimator.estimatePromptTokens(request.getMessages()) + maxTokens;
+    }
+
+    /**
+     * 토큰 사용량 기록 (프롬프트 캐시 적중 토큰 포함)
+     */
+    private void recordUsage(String model, Usage usage) {
+        if (usage == null) {
+            return;
+        }
+        meterRegistry.counter("openai.usage.tokens", "model", model, "type", "prompt").increment(usage.getPromptTokens());
+        meterRegistry.counter("openai.usage.tokens", "model", model, "type", "completion").increment(usage.getCompletionTokens());
+        if (usage instanceof PromptCacheUsage cacheUsage) {
+            meterRegistry.counter("openai.usage.tokens", "model", model, "type", "cached").increment(cacheUsage.getCachedTokens());
+        }
+    }
+
+    /**
+     * 커넥션 풀 종료
+     */
+    @PreDestroy
+    public void shutdown() {
+        hedgedExecutor.shutdown();
+        openAiService.shutdownExecutor();
+        httpClient.connectionPool().evictAll();
+    }
+
+    /**
+     * 커넥션 생성/핸드셰이크 메트릭 수집용 리스너 (호출 단위)
+     */
+    private class ConnectionMetricsListener extends EventListener {
+
+        private long secureConnectStart;
+
+        @Override
+        public void connectStart(Call call, InetSocketAddress inetSocketAddress, Proxy proxy) {
+            newConnectionCounter.increment();
+        }
+
+        @Override
+        public void secureConnectStart(Call call) {
+            secureConnectStart = System.nanoTime();
+        }
+
+        @Override
+        public void secureConnectEnd(Call call, Handshake handshake) {
+            if (secureConnectStart > 0) {
+                handshakeTimer.record(System.nanoTime() - secureConnectStart, TimeUnit.NANOSECONDS);
+            }
+        }
+    }
+}
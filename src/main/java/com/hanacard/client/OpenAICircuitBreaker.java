@@ -0,0 +1,264 @@
+package com.hanacard.client;
+
+import com.hanacard.config.OpenAIConfig;
+import com.theokanning.openai.OpenAiHttpException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Instant;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+/**
+ * OpenAI 호출 서킷 브레이커
+ * 최근 호출(개수 기준 창)의 실패율이 임계값을 넘으면 열림(OPEN) 상태로 전환하여 일정 시간 호출을 즉시 거부하고,
+ * 이후 반열림(HALF_OPEN) 상태에서 시험 호출이 모두 성공하면 다시 닫힘(CLOSED)으로 복귀
+ * 타임아웃/5xx 응답과 임계 시간보다 느린 성공 호출을 실패로 집계 (요청 자체가 잘못된 4xx는 제외)
+ * 429는 OpenAI 장애가 아닌 호출량 초과이므로 집계하지 않고 호출량 제어기(AIMD 한도, Retry-After 대기)가 처리
+ */
+public class OpenAICircuitBreaker {
+
+    private static final Logger logger = LoggerFactory.getLogger(OpenAICircuitBreaker.class);
+
+    /**
+     * 브레이커 상태 (게이지 값은 ordinal: 0=닫힘, 1=반열림, 2=열림)
+     */
+    public enum State { CLOSED, HALF_OPEN, OPEN }
+
+    private final boolean enabled;
+    private final int minimumCalls;
+    private final double failureRateThreshold;
+    private final long slowCallNanos;
+    private final long openNanos;
+    private final int halfOpenCalls;
+    private final LongSupplier nanoClock;
+
+    // 최근 호출 결과 (링 버퍼, true=실패)
+    private final boolean[] outcomes;
+    private int nextOutcome = 0;
+    private int outcomeCount = 0;
+    private int failureCount = 0;
+
+    private State state = State.CLOSED;
+    private long openedAtNanos;
+    private Instant openedAt;
+    private int halfOpenPermits = 0;
+    private int halfOpenSuccesses = 0;
+
+    private final MeterRegistry meterRegistry;
+    private final Counter rejectedCounter;
+
+    public OpenAICircuitBreaker(OpenAIConfig.CircuitBreaker config, MeterRegistry meterRegistry) {
+        this(config, meterRegistry, System::nanoTime);
+    }
+
+    OpenAICircuitBreaker(OpenAIConfig.CircuitBreaker config, MeterRegistry meterRegistry, LongSupplier nanoClock) {
+        this.enabled = config.isEnabled();
+        this.outcomes = new boolean[Math.max(1, config.getWindowSize())];
+        this.minimumCalls = Math.max(1, Math.min(config.getMinimumCalls(), outcomes.length));
+        this.failureRateThreshold = config.getFailureRateThreshold();
+        this.slowCallNanos = TimeUnit.MILLISECONDS.toNanos(config.getSlowCallMillis());
+        this.openNanos = TimeUnit.SECONDS.toNanos(config.getOpenSeconds());
+        this.halfOpenCalls = Math.max(1, config.getHalfOpenCalls());
+        this.nanoClock = nanoClock;
+
+        this.meterRegistry = meterRegistry;
+        this.rejectedCounter = Counter.builder("openai.circuit.rejected")
+            .description("서킷 브레이커가 열려 있어 즉시 거부한 OpenAI 호출 수")
+            .register(meterRegistry);
+        Gauge.builder("openai.circuit.state", this, breaker -> breaker.state().ordinal())
+            .description("OpenAI 서킷 브레이커 상태 (0=CLOSED, 1=HALF_OPEN, 2=OPEN)")
+            .register(meterRegistry);
+        Gauge.builder("openai.circuit.failure.rate", this, OpenAICircuitBreaker::failureRate)
+            .description("최근 호출 창의 실패율")
+            .register(meterRegistry);
+    }
+
+    /**
+     * 브레이커를 거쳐 호출 (열려 있으면 OpenAIUnavailableException)
+     */
+    public <T> T execute(Supplier<T> call) {
+        if (!enabled) {
+            return call.get();
+        }
+
+        acquirePermission();
+        long start = nanoClock.getAsLong();
+        T result;
+        try {
+            result = call.get();
+        } catch (RuntimeException e) {
+            // 헤지로 취소(인터럽트)된 호출은 성공/실패 어느 쪽으로도 집계하지 않고 허가만 반환
+            if (Thread.currentThread().isInterrupted() || isInterrupted(e)) {
+                releasePermission();
+            } else {
+                onResult(isFailure(e));
+            }
+            throw e;
+        }
+        onResult(nanoClock.getAsLong() - start > slowCallNanos);
+        return result;
+    }
+
+    /**
+     * 열림 상태면 즉시 거부 (시험 호출 허가는 소모하지 않음, 호출량 제어 대기열에 들어가기 전 확인용)
+     */
+    public void rejectIfOpen() {
+        if (isOpen()) {
+            rejectedCounter.increment();
+            throw new OpenAIUnavailableException("OpenAI 서킷 브레이커 열림 (OPEN), 호출 생략");
+        }
+    }
+
+    /**
+     * 호출 허가 (열림 상태이거나 반열림 시험 호출이 모두 진행 중이면 즉시 거부)
+     */
+    public synchronized void acquirePermission() {
+        if (!enabled) {
+            return;
+        }
+        if (state == State.OPEN && nanoClock.getAsLong() - openedAtNanos >= openNanos) {
+            transitionTo(State.HALF_OPEN);
+        }
+        if (state == State.OPEN || (state == State.HALF_OPEN && halfOpenPermits >= halfOpenCalls)) {
+            rejectedCounter.increment();
+            throw new OpenAIUnavailableException("OpenAI 서킷 브레이커 열림 (" + state + "), 호출 생략");
+        }
+        if (state == State.HALF_OPEN) {
+            halfOpenPermits++;
+        }
+    }
+
+    /**
+     * 호출 결과 반영 (failure=true면 실패로 집계)
+     */
+    public synchronized void onResult(boolean failure) {
+        if (!enabled) {
+            return;
+        }
+        switch (state) {
+            case HALF_OPEN -> {
+                if (failure) {
+                    transitionTo(State.OPEN);
+                } else if (++halfOpenSuccesses >= halfOpenCalls) {
+                    transitionTo(State.CLOSED);
+                }
+            }
+            case CLOSED -> {
+                record(failure);
+                if (outcomeCount >= minimumCalls && failureRate() >= failureRateThreshold) {
+                    transitionTo(State.OPEN);
+                }
+            }
+            case OPEN -> {
+                // 열리기 전에 시작된 호출의 결과는 무시
+            }
+        }
+    }
+
+    /**
+     * 결과 없이 호출 허가만 반환 (취소/인터럽트된 호출용)
+     * 반열림 상태에서는 시험 호출 허가를 돌려주어 실제 결과를 받은 호출만 닫힘 전환에 반영
+     */
+    public synchronized void releasePermission() {
+        if (enabled && state == State.HALF_OPEN && halfOpenPermits > 0) {
+            halfOpenPermits--;
+        }
+    }
+
+    /**
+     * 현재 상태 (열림 시간이 지났으면 다음 호출 시 반열림으로 전환)
+     */
+    public synchronized State state() {
+        return state;
+    }
+
+    /**
+     * 호출이 즉시 거부될 상태인지 (반열림 전환 전의 열림 상태)
+     * 시험 호출 허가를 소모하지 않으므로 호출 전 경로 선택에 사용
+     */
+    public synchronized boolean isOpen() {
+        return enabled && state == State.OPEN && nanoClock.getAsLong() - openedAtNanos < openNanos;
+    }
+
+    public synchronized double failureRate() {
+        return outcomeCount == 0 ? 0 : (double) failureCount / outcomeCount;
+    }
+
+    public synchronized Instant openedAt() {
+        return openedAt;
+    }
+
+    private void record(boolean failure) {
+        if (outcomeCount == outcomes.length) {
+            if (outcomes[nextOutcome]) {
+                failureCount--;
+            }
+        } else {
+            outcomeCount++;
+        }
+        outcomes[nextOutcome] = failure;
+        if (failure) {
+            failureCount++;
+        }
+        nextOutcome = (nextOutcome + 1) % outcomes.length;
+    }
+
+    private void transitionTo(State next) {
+        State previous = state;
+        double rate = failureRate();
+        state = next;
+        halfOpenPermits = 0;
+        halfOpenSuccesses = 0;
+
+        if (next == State.OPEN) {
+            openedAtNanos = nanoClock.getAsLong();
+            openedAt = Instant.now();
+        } else if (next == State.CLOSED) {
+            // 닫힐 때 이전 창의 실패 기록은 버림
+            outcomeCount = 0;
+            failureCount = 0;
+            nextOutcome = 0;
+            openedAt = null;
+        }
+
+        meterRegistry.counter("openai.circuit.transitions", "from", previous.name(), "to", next.name()).increment();
+        if (next == State.OPEN) {
+            logger.warn("OpenAI 서킷 브레이커 상태 전환: {} -> {}, failureRate={}", previous, next, rate);
+        } else {
+            logger.info("OpenAI 서킷 브레이커 상태 전환: {} -> {}", previous, next);
+        }
+    }
+
+    /**
+     * 브레이커 실패로 집계할 예외인지 (요청 오류인 4xx는 OpenAI 장애가 아니므로 제외, 408은 포함)
+     * 429는 호출량 제어기의 재시도 루프 안에서 시도마다 발생하므로 제외 (집계하면 정상인 OpenAI에 대해 브레이커가 열림)
+     * 호출량 제어기의 대기 초과/인터럽트(OpenAIRateLimitException)와 인터럽트로 중단된 호출은 로컬 사정이므로 제외
+     */
+    public static boolean isFailure(Throwable error) {
+        if (error instanceof OpenAIUnavailableException || error instanceof OpenAIRateLimitException) {
+            return false;
+        }
+        if (isInterrupted(error)) {
+            return false;
+        }
+        if (error instanceof OpenAiHttpException httpException) {
+            int status = httpException.statusCode;
+            return status >= 500 || status == 408;
+        }
+        return true;
+    }
+
+    private static boolean isInterrupted(Throwable error) {
+        for (Throwable cause = error; cause != null; cause = cause.getCause()) {
+            if (cause instanceof InterruptedException) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,38 @@
+package com.hanacard.client;
+
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.boot.actuate.health.Status;
+import org.springframework.stereotype.Component;
+
+/**
+ * OpenAI 서킷 브레이커 상태를 actuator health에 노출 (/actuator/health의 openAICircuitBreaker)
+ * 열림/반열림 상태에서도 로컬 폴백 분류로 요청을 처리하므로 DOWN이 아닌 DEGRADED로 표시
+ */
+@Component
+public class OpenAICircuitBreakerHealthIndicator implements HealthIndicator {
+
+    static final Status DEGRADED = new Status("DEGRADED", "OpenAI 장애로 로컬 폴백 분류 사용 중");
+
+    private final OpenAIApiClient openAIApiClient;
+
+    public OpenAICircuitBreakerHealthIndicator(OpenAIApiClient openAIApiClient) {
+        this.openAIApiClient = openAIApiClient;
+    }
+
+    @Override
+    public Health health() {
+        OpenAICircuitBreaker breaker = openAIApiClient.circuitBreaker();
+        OpenAICircuitBreaker.State state = breaker.state();
+
+        Health.Builder builder = state == OpenAICircuitBreaker.State.CLOSED
+            ? Health.up()
+            : Health.status(DEGRADED);
+        builder.withDetail("state", state.name())
+            .withDetail("failureRate", breaker.failureRate());
+        if (breaker.openedAt() != null) {
+            builder.withDetail("openedAt", breaker.openedAt().toString());
+        }
+        return builder.build();
+    }
+}
@@ -0,0 +1,351 @@
+package com.hanacard.client;
+
+import com.hanacard.config.OpenAIConfig;
+import com.theokanning.openai.OpenAiHttpException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+import java.util.function.ToLongFunction;
+
+/**
+ * OpenAI 호출량 제어기
+ * AIMD 동시성 한도 + 분당 요청(RPM)/토큰(TPM) 버킷으로 호출을 조절하고,
+ * 한도 초과 시 즉시 실패하지 않고 최대 대기 시간까지 대기열에서 기다림
+ * 429 응답은 한도를 절반으로 줄이고 Retry-After 동안 호출을 멈춘 뒤 재시도
+ */
+public class OpenAIRateGovernor {
+
+    private static final Logger logger = LoggerFactory.getLogger(OpenAIRateGovernor.class);
+
+    private static final long NANOS_PER_MINUTE = TimeUnit.MINUTES.toNanos(1);
+    private static final Duration DEFAULT_BACKOFF = Duration.ofSeconds(1);
+
+    /**
+     * 호출 결과 (동시성 한도 조정용)
+     */
+    public enum Outcome { SUCCESS, THROTTLED, FAILED }
+
+    private final boolean enabled;
+    private final double minLimit;
+    private final double maxLimit;
+    private final double requestCapacity;
+    private final double tokenCapacity;
+    private final long maxQueueWaitNanos;
+    private final int maxRetries;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition changed = lock.newCondition();
+
+    private double limit;
+    private int inFlight = 0;
+    private int waiting = 0;
+    private double requestTokens;
+    private double tokenTokens;
+    private long lastRefillNanos;
+    private long pausedUntilNanos;
+
+    private final MeterRegistry meterRegistry;
+    private final Timer queueWaitTimer;
+    private final Counter retryCounter;
+
+    public OpenAIRateGovernor(OpenAIConfig.RateLimit config, MeterRegistry meterRegistry) {
+        this.enabled = config.isEnabled();
+        this.minLimit = Math.max(1, config.getMinConcurrency());
+        this.maxLimit = Math.max(minLimit, config.getMaxConcurrency());
+        this.limit = Math.min(maxLimit, Math.max(minLimit, config.getInitialConcurrency()));
+        this.requestCapacity = config.getRequestsPerMinute();
+        this.tokenCapacity = config.getTokensPerMinute();
+        this.maxQueueWaitNanos = TimeUnit.SECONDS.toNanos(config.getMaxQueueWaitSeconds());
+        this.maxRetries = config.getMaxRetries();
+
+        this.requestTokens = requestCapacity;
+        this.tokenTokens = tokenCapacity;
+        this.lastRefillNanos = System.nanoTime();
+        this.pausedUntilNanos = lastRefillNanos;
+
+        this.meterRegistry = meterRegistry;
+        this.queueWaitTimer = Timer.builder("openai.governor.queue.wait")
+            .description("OpenAI 호출 허가까지 대기한 시간")
+            .register(meterRegistry);
+        this.retryCounter = Counter.builder("openai.governor.retries")
+            .description("429 응답 후 재시도 횟수")
+            .register(meterRegistry);
+        Gauge.builder("openai.governor.concurrency.limit", this, OpenAIRateGovernor::currentLimit)
+            .description("현재 동시 호출 한도 (AIMD)")
+            .register(meterRegistry);
+        Gauge.builder("openai.governor.inflight", this, OpenAIRateGovernor::inFlight)
+            .register(meterRegistry);
+        Gauge.builder("openai.governor.queue.depth", this, OpenAIRateGovernor::queueDepth)
+            .description("OpenAI 호출 허가를 기다리는 요청 수")
+            .register(meterRegistry);
+    }
+
+    /**
+     * 허가를 받아 호출하고, 429면 Retry-After 이후 재시도
+     * usageTokens는 응답의 실제 토큰 수 (추정치와의 차이를 TPM 버킷에 반영)
+     */
+    public <T> T execute(int estimatedTokens, Supplier<T> call, ToLongFunction<T> usageTokens) {
+        if (!enabled) {
+            return call.get();
+        }
+
+        long deadline = System.nanoTime() + maxQueueWaitNanos;
+        for (int attempt = 0; ; attempt++) {
+            acquire(estimatedTokens, deadline);
+            T result;
+            try {
+                result = call.get();
+            } catch (RuntimeException e) {
+                if (isThrottled(e) && attempt < maxRetries) {
+                    release(estimatedTokens, Outcome.THROTTLED, 0);
+                    pauseAtLeast(DEFAULT_BACKOFF.multipliedBy(1L << attempt));
+                    retryCounter.increment();
+                    logger.warn("OpenAI 429 응답, 재시도 대기: attempt={}, limit={}", attempt + 1, currentLimit());
+                    continue;
+                }
+                release(estimatedTokens, isThrottled(e) ? Outcome.THROTTLED : Outcome.FAILED, 0);
+                throw e;
+            }
+            release(estimatedTokens, Outcome.SUCCESS, usageTokens.applyAsLong(result));
+            return result;
+        }
+    }
+
+    /**
+     * 대기 없이 허가를 받을 수 있을 때만 한 번 호출 (헤지 호출용, 429 재시도 없음)
+     * 허가를 바로 받을 수 없으면 OpenAIRateLimitException
+     */
+    public <T> T tryExecute(int estimatedTokens, Supplier<T> call, ToLongFunction<T> usageTokens) {
+        if (!enabled) {
+            return call.get();
+        }
+        if (!tryAcquire(estimatedTokens)) {
+            throw new OpenAIRateLimitException("OpenAI 호출 허가를 바로 받을 수 없음, 헤지 생략");
+        }
+        T result;
+        try {
+            result = call.get();
+        } catch (RuntimeException e) {
+            release(estimatedTokens, isThrottled(e) ? Outcome.THROTTLED : Outcome.FAILED, 0);
+            throw e;
+        }
+        release(estimatedTokens, Outcome.SUCCESS, usageTokens.applyAsLong(result));
+        return result;
+    }
+
+    /**
+     * 대기열이 비어 있고 지금 바로 허가를 받을 수 있는지 (허가는 소모하지 않음, 헤지 여부 판단용)
+     */
+    public boolean hasCapacity(int estimatedTokens) {
+        if (!enabled) {
+            return true;
+        }
+        lock.lock();
+        try {
+            long now = System.nanoTime();
+            refill(now);
+            return permitAvailable(now, estimatedTokens);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private boolean tryAcquire(int estimatedTokens) {
+        lock.lock();
+        try {
+            long now = System.nanoTime();
+            refill(now);
+            if (!permitAvailable(now, estimatedTokens)) {
+                return false;
+            }
+            requestTokens -= 1;
+            tokenTokens -= estimatedTokens;
+            inFlight++;
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // 대기 중인 요청을 앞지르지 않도록 대기열이 비어 있을 때만 허가
+    private boolean permitAvailable(long now, int estimatedTokens) {
+        return waiting == 0 && now >= pausedUntilNanos && inFlight < (int) limit
+            && requestTokens >= 1 && tokenTokens >= Math.min(estimatedTokens, tokenCapacity);
+    }
+
+    /**
+     * 호출 허가 획득 (동시성/RPM/TPM/Retry-After 조건을 만족할 때까지 대기)
+     */
+    public void acquire(int estimatedTokens) {
+        if (enabled) {
+            acquire(estimatedTokens, System.nanoTime() + maxQueueWaitNanos);
+        }
+    }
+
+    private void acquire(int estimatedTokens, long deadline) {
+        long start = System.nanoTime();
+        double requiredTokens = Math.min(estimatedTokens, tokenCapacity);
+        String throttledBy = null;
+
+        lock.lock();
+        waiting++;
+        try {
+            while (true) {
+                long now = System.nanoTime();
+                refill(now);
+
+                long waitNanos;
+                String cause;
+                if (now < pausedUntilNanos) {
+                    cause = "retry_after";
+                    waitNanos = pausedUntilNanos - now;
+                } else if (inFlight >= (int) limit) {
+                    cause = "concurrency";
+                    waitNanos = deadline - now; // 반환 신호로 깨어남
+                } else if (requestTokens < 1) {
+                    cause = "rpm";
+                    waitNanos = nanosUntil(1 - requestTokens, requestCapacity);
+                } else if (tokenTokens < requiredTokens) {
+                    cause = "tpm";
+                    waitNanos = nanosUntil(requiredTokens - tokenTokens, tokenCapacity);
+                } else {
+                    requestTokens -= 1;
+                    tokenTokens -= estimatedTokens;
+                    inFlight++;
+                    break;
+                }
+
+                if (throttledBy == null) {
+                    throttledBy = cause;
+                    meterRegistry.counter("openai.governor.throttled", "cause", cause).increment();
+                }
+
+                long remaining = deadline - now;
+                if (remaining <= 0) {
+                    meterRegistry.counter("openai.governor.rejected", "cause", cause).increment();
+                    throw new OpenAIRateLimitException(
+                        "OpenAI 호출 대기 시간 초과 (" + cause + "), limit=" + (int) limit + ", waiting=" + waiting);
+                }
+                changed.awaitNanos(Math.max(1, Math.min(waitNanos, remaining)));
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new OpenAIRateLimitException("OpenAI 호출 대기 중 인터럽트");
+        } finally {
+            waiting--;
+            lock.unlock();
+            queueWaitTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    /**
+     * 허가 반환 및 동시성 한도 조정 (성공: +1/limit, 429: 절반)
+     */
+    public void release(int estimatedTokens, Outcome outcome, long actualTokens) {
+        if (!enabled) {
+            return;
+        }
+        lock.lock();
+        try {
+            inFlight--;
+            if (outcome == Outcome.SUCCESS) {
+                limit = Math.min(maxLimit, limit + 1.0 / limit);
+            } else if (outcome == Outcome.THROTTLED) {
+                limit = Math.max(minLimit, limit / 2);
+            }
+            if (actualTokens > 0) {
+                tokenTokens = Math.min(tokenCapacity, tokenTokens + estimatedTokens - actualTokens);
+            }
+            changed.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Retry-After 동안 모든 호출 일시 중지
+     */
+    public void pauseAtLeast(Duration duration) {
+        lock.lock();
+        try {
+            pausedUntilNanos = Math.max(pausedUntilNanos, System.nanoTime() + duration.toNanos());
+            changed.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public double currentLimit() {
+        lock.lock();
+        try {
+            return limit;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int inFlight() {
+        lock.lock();
+        try {
+            return inFlight;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int queueDepth() {
+        lock.lock();
+        try {
+            return waiting;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void refill(long now) {
+        long elapsed = now - lastRefillNanos;
+        if (elapsed <= 0) {
+            return;
+        }
+        requestTokens = Math.min(requestCapacity, requestTokens + requestCapacity * elapsed / NANOS_PER_MINUTE);
+        tokenTokens = Math.min(tokenCapacity, tokenTokens + tokenCapacity * elapsed / NANOS_PER_MINUTE);
+        lastRefillNanos = now;
+    }
+
+    private static long nanosUntil(double missing, double perMinute) {
+        return (long) Math.ceil(missing / perMinute * NANOS_PER_MINUTE);
+    }
+
+    /**
+     * 429 응답 여부
+     */
+    public static boolean isThrottled(Throwable error) {
+        return error instanceof OpenAiHttpException httpException && httpException.statusCode == 429;
+    }
+
+    /**
+     * Retry-After 헤더 해석 (retry-after-ms 우선, 초 단위 retry-after 다음, 해석 불가 시 null)
+     */
+    public static Duration parseRetryAfter(String retryAfterMs, String retryAfter) {
+        try {
+            if (retryAfterMs != null) {
+                return Duration.ofMillis((long) Double.parseDouble(retryAfterMs.trim()));
+            }
+            if (retryAfter != null) {
+                return Duration.ofMillis((long) (Double.parseDouble(retryAfter.trim()) * 1000));
+            }
+        } catch (NumberFormatException e) {
+            // HTTP-date 형식 등은 기본 백오프 사용
+        }
+        return null;
+    }
+}
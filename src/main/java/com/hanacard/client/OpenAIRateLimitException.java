@@ -0,0 +1,11 @@
+package com.hanacard.client;
+
+/**
+ * OpenAI 호출 허가를 최대 대기 시간 안에 받지 못한 경우
+ */
+public class OpenAIRateLimitException extends RuntimeException {
+
+    public OpenAIRateLimitException(String message) {
+        super(message);
+    }
+}
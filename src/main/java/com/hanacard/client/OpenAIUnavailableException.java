@@ -0,0 +1,11 @@
+package com.hanacard.client;
+
+/**
+ * 서킷 브레이커가 열려 있어 OpenAI를 호출하지 않고 즉시 실패한 경우
+ */
+public class OpenAIUnavailableException extends RuntimeException {
+
+    public OpenAIUnavailableException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,48 @@
+package com.hanacard.client;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.deser.std.StdDeserializer;
+import com.theokanning.openai.Usage;
+
+import java.io.IOException;
+
+/**
+ * 프롬프트 캐시 적중 토큰 수를 포함한 Usage
+ * 라이브러리 Usage에는 usage.prompt_tokens_details.cached_tokens 필드가 없어 별도 역직렬화
+ */
+public class PromptCacheUsage extends Usage {
+
+    private long cachedTokens;
+
+    public long getCachedTokens() {
+        return cachedTokens;
+    }
+
+    public void setCachedTokens(long cachedTokens) {
+        this.cachedTokens = cachedTokens;
+    }
+
+    /**
+     * 응답의 usage 객체를 PromptCacheUsage로 변환
+     */
+    public static class Deserializer extends StdDeserializer<Usage> {
+
+        public Deserializer() {
+            super(Usage.class);
+        }
+
+        @Override
+        public Usage deserialize(JsonParser parser, DeserializationContext context) throws IOException {
+            JsonNode node = parser.getCodec().readTree(parser);
+
+            PromptCacheUsage usage = new PromptCacheUsage();
+            usage.setPromptTokens(node.path("prompt_tokens").asLong());
+            usage.setCompletionTokens(node.path("completion_tokens").asLong());
+            usage.setTotalTokens(node.path("total_tokens").asLong());
+            usage.setCachedTokens(node.path("prompt_tokens_details").path("cached_tokens").asLong());
+            return usage;
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package com.hanacard.client;
+
+import com.knuddels.jtokkit.Encodings;
+import com.knuddels.jtokkit.api.Encoding;
+import com.knuddels.jtokkit.api.EncodingType;
+import com.theokanning.openai.completion.chat.ChatMessage;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * 프롬프트 토큰 수 추정 (cl100k_base BPE)
+ * 호출량 제어(TPM)와 묶음 분류 토큰 예산 계산에 사용
+ */
+@Component
+public class TokenEstimator {
+
+    // 메시지별 역할/구분자 오버헤드, 응답 시작 프라이밍 토큰
+    private static final int TOKENS_PER_MESSAGE = 4;
+    private static final int REPLY_PRIMING_TOKENS = 3;
+
+    private final Encoding encoding = Encodings.newLazyEncodingRegistry().getEncoding(EncodingType.CL100K_BASE);
+
+    // 카탈로그 버전별로 고정된 system 메시지는 매번 같은 문자열이므로 마지막 계산 결과 재사용
+    private final AtomicReference<CountedText> lastSystemMessage = new AtomicReference<>();
+
+    /**
+     * 텍스트 토큰 수
+     */
+    public int countTokens(String text) {
+        return text == null || text.isEmpty() ? 0 : encoding.countTokensOrdinary(text);
+    }
+
+    /**
+     * Chat Completion 요청 메시지 전체의 프롬프트 토큰 수
+     */
+    public int estimatePromptTokens(List<ChatMessage> messages) {
+        int tokens = REPLY_PRIMING_TOKENS;
+        for (ChatMessage message : messages) {
+            tokens += TOKENS_PER_MESSAGE;
+            tokens += "system".equals(message.getRole())
+                ? countSystemMessage(message.getContent())
+                : countTokens(message.getContent());
+        }
+        return tokens;
+    }
+
+    private int countSystemMessage(String content) {
+        CountedText last = lastSystemMessage.get();
+        if (last != null && last.text().equals(content)) {
+            return last.tokens();
+        }
+        int tokens = countTokens(content);
+        lastSystemMessage.set(new CountedText(content, tokens));
+        return tokens;
+    }
+
+    private record CountedText(String text, int tokens) {}
+}
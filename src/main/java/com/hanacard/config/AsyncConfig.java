@@ -1,21 +1,38 @@
 package com.hanacard.config;
 
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.thread.Threading;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.core.task.SyncTaskExecutor;
+import org.springframework.core.task.VirtualThreadTaskExecutor;
 import org.springframework.scheduling.annotation.EnableAsync;
+import org.springframework.scheduling.annotation.EnableScheduling;
 import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import org.springframework.core.task.TaskExecutor;
 
+import java.util.concurrent.ThreadPoolExecutor;
+
 /**
  * 비동기 처리 설정
- * Dashboard 데이터 전송용
+ * Dashboard 데이터 전송 및 배치 분류 병렬 처리용
+ * spring.threads.virtual.enabled=true (JDK 21 이상)이면 Tomcat 요청 처리와 함께 가상 스레드로 실행
+ * 주기 작업(@Scheduled, 분류 캐시 만료 정리 등)도 함께 활성화
  */
 @Configuration
 @EnableAsync
+@EnableScheduling
 public class AsyncConfig {
-    
+
     @Bean(name = "dashboardExecutor")
-    public TaskExecutor taskExecutor() {
+    public TaskExecutor taskExecutor(Environment environment) {
+        if (Threading.VIRTUAL.isActive(environment)) {
+            SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor("Dashboard-");
+            executor.setVirtualThreads(true);
+            return executor;
+        }
         ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
         executor.setCorePoolSize(2);
         executor.setMaxPoolSize(5);
@@ -24,4 +41,80 @@ public class AsyncConfig {
         executor.initialize();
         return executor;
     }
+
+    /**
+     * 배치 분류용 Executor
+     * 스레드 수가 곧 LLM 동시 호출 상한 (모든 배치 요청이 공유)
+     * 가상 스레드 모드에서는 작업마다 가상 스레드를 만들고 동시 실행 수만 제한 (실제 LLM 동시성은 호출량 제어기가 조절)
+     */
+    @Bean(name = "classificationExecutor")
+    public TaskExecutor classificationExecutor(
+            Environment environment,
+            @Value("${classification.batch.parallelism:8}") int parallelism,
+            @Value("${classification.batch.queue-capacity:10000}") int queueCapacity,
+            @Value("${classification.batch.virtual-concurrency-limit:1000}") int virtualConcurrencyLimit) {
+        return newClassificationExecutor(Threading.VIRTUAL.isActive(environment),
+                                         parallelism, queueCapacity, virtualConcurrencyLimit);
+    }
+
+    /**
+     * 비동기 분류 작업(/api/enhanced-classify/jobs) 워커 풀
+     * 큐가 가득 차면 거부하여 호출자가 나중에 다시 요청하도록 함 (요청 스레드에서 대신 실행하지 않음)
+     */
+    @Bean(name = "classificationJobExecutor")
+    public TaskExecutor classificationJobExecutor(
+            @Value("${classification.jobs.workers:8}") int workers,
+            @Value("${classification.jobs.queue-capacity:1000}") int queueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(workers);
+        executor.setMaxPoolSize(workers);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("ClassifyJob-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.AbortPolicy());
+        executor.initialize();
+        return executor;
+    }
+
+    /**
+     * NDJSON 일괄 적재 묶음 실행용 Executor
+     * 묶음마다 스레드 하나가 배치 분류 완료를 기다리며, 실제 LLM 동시성은 classificationExecutor가 제한
+     */
+    @Bean(name = "ingestExecutor")
+    public TaskExecutor ingestExecutor(Environment environment) {
+        SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor("Ingest-");
+        executor.setVirtualThreads(Threading.VIRTUAL.isActive(environment));
+        return executor;
+    }
+
+    /**
+     * 단건 처리 중 서로 독립인 단계(카테고리 조회, 멱등성 확인 등)를 함께 실행할 Executor
+     * 가상 스레드 모드가 아니면 호출 스레드에서 순서대로 실행 (요청 스레드가 풀 스레드를 추가로 점유하지 않도록)
+     */
+    @Bean(name = "classificationForkExecutor")
+    public TaskExecutor classificationForkExecutor(Environment environment) {
+        if (Threading.VIRTUAL.isActive(environment)) {
+            return new VirtualThreadTaskExecutor("Classify-Fork-");
+        }
+        return new SyncTaskExecutor();
+    }
+
+    static TaskExecutor newClassificationExecutor(boolean virtualThreads, int parallelism,
+                                                  int queueCapacity, int virtualConcurrencyLimit) {
+        if (virtualThreads) {
+            SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor("Classify-");
+            executor.setVirtualThreads(true);
+            // 한도를 넘으면 제출한 스레드가 대기하여 역압 적용
+            executor.setConcurrencyLimit(virtualConcurrencyLimit);
+            return executor;
+        }
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(parallelism);
+        executor.setMaxPoolSize(parallelism);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("Classify-");
+        // 큐가 가득 차면 호출 스레드에서 직접 실행하여 자연스럽게 역압 적용
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.initialize();
+        return executor;
+    }
 }
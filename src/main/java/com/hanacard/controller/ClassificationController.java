@@ -1,17 +1,31 @@
 package com.hanacard.controller;
 
 import com.hanacard.dto.ApiResponse;
+import com.hanacard.dto.BackfillProgressResponse;
+import com.hanacard.dto.BatchClassificationResponse;
+import com.hanacard.dto.ClassificationJobResponse;
 import com.hanacard.dto.ClassificationRequest;
 import com.hanacard.dto.ClassificationResponse;
 import com.hanacard.dto.EnhancedClassificationResponse;
+import com.hanacard.dto.IngestReport;
 import com.hanacard.dto.VocListRequest;
 import com.hanacard.dto.VocListResponse;
 import com.hanacard.dto.VocListItem;
 import com.hanacard.dto.VocDetailResponse;
 import com.hanacard.entity.ConsultingClassification;
 import com.hanacard.repository.ConsultingClassificationRepository;
+import com.hanacard.service.CategoryCatalogProvider;
+import com.hanacard.service.ClassificationJobService;
+import com.hanacard.service.ClassificationStreamListener;
 import com.hanacard.service.EnhancedOpenAIService;
+import com.hanacard.service.NdjsonIngestService;
 import com.hanacard.service.OpenAIService;
+import com.hanacard.service.ReclassificationBackfillService;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -20,15 +34,25 @@ import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.time.LocalDateTime;
 import java.time.LocalDate;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.stream.Collectors;
 
 /**
@@ -41,17 +65,36 @@ import java.util.stream.Collectors;
 public class ClassificationController {
 
     private static final Logger logger = LoggerFactory.getLogger(ClassificationController.class);
+    
+    // 스트리밍 분류 응답 최대 대기 시간 (LLM 생성 시간 + 저장)
+    private static final long STREAM_TIMEOUT_MILLIS = 120_000L;
+    private static final String NDJSON_MEDIA_TYPE = "application/x-ndjson";
 
     private final OpenAIService openAIService;
     private final EnhancedOpenAIService enhancedOpenAIService;
     private final ConsultingClassificationRepository repository;
+    private final ClassificationJobService jobService;
+    private final NdjsonIngestService ndjsonIngestService;
+    private final ReclassificationBackfillService backfillService;
+    private final CategoryCatalogProvider catalogProvider;
+    private final ObjectWriter ndjsonWriter;
 
     public ClassificationController(OpenAIService openAIService, 
                                  EnhancedOpenAIService enhancedOpenAIService,
-                                 ConsultingClassificationRepository repository) {
+                                 ConsultingClassificationRepository repository,
+                                 ClassificationJobService jobService,
+                                 NdjsonIngestService ndjsonIngestService,
+                                 ReclassificationBackfillService backfillService,
+                                 CategoryCatalogProvider catalogProvider,
+                                 ObjectMapper objectMapper) {
         this.openAIService = openAIService;
         this.enhancedOpenAIService = enhancedOpenAIService;
         this.repository = repository;
+        this.jobService = jobService;
+        this.ndjsonIngestService = ndjsonIngestService;
+        this.backfillService = backfillService;
+        this.catalogProvider = catalogProvider;
+        this.ndjsonWriter = objectMapper.writer();
     }
 
     /**
@@ -124,6 +167,260 @@ public class ClassificationController {
         }
     }
 
+    /**
+     * 스트리밍 상담 분류 + 분석 + 저장 엔드포인트 (SSE)
+     * classification → analysis → complete 순으로 이벤트 전송, 실패 시 error 이벤트
+     */
+    @PostMapping(value = "/enhanced-classify/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter enhancedClassifyStream(@Valid @RequestBody ClassificationRequest request) {
+        
+        logger.info("스트리밍 상담 분류 요청 수신: sourceId={}, contentLength={}", 
+                   request.getSourceId(), request.getConsultingContent().length());
+        
+        SseEmitter emitter = new SseEmitter(STREAM_TIMEOUT_MILLIS);
+        
+        enhancedOpenAIService.streamAndSaveConsultingContent(request, new ClassificationStreamListener() {
+            @Override
+            public void onClassification(EnhancedClassificationResponse.ClassificationInfo classification) {
+                send(emitter, "classification", classification);
+            }
+            
+            @Override
+            public void onAnalysis(EnhancedClassificationResponse.AnalysisInfo analysis) {
+                send(emitter, "analysis", analysis);
+            }
+            
+            @Override
+            public void onComplete(EnhancedClassificationResponse response) {
+                send(emitter, "complete", ApiResponse.success(response));
+                emitter.complete();
+            }
+            
+            @Override
+            public void onError(Throwable error) {
+                send(emitter, "error", ApiResponse.error("향상된 분류 처리 중 오류가 발생했습니다.", error.getMessage()));
+                emitter.complete();
+            }
+        });
+        
+        return emitter;
+    }
+    
+    /**
+     * 비동기 분류 작업 등록 엔드포인트
+     * 작업 ID를 바로 반환(202 Accepted)하고 워커 풀에서 분류 + 분석 + 저장 실행, 큐가 가득 차면 503
+     */
+    @PostMapping("/enhanced-classify/jobs")
+    public ResponseEntity<ApiResponse<ClassificationJobResponse>> submitClassificationJob(
+            @Valid @RequestBody ClassificationRequest request) {
+        
+        try {
+            ClassificationJobResponse job = jobService.submit(request);
+            
+            return ResponseEntity.status(HttpStatus.ACCEPTED)
+                .header("Location", "/api/enhanced-classify/jobs/" + job.getJobId())
+                .body(ApiResponse.success(job));
+            
+        } catch (RejectedExecutionException e) {
+            logger.warn("분류 작업 큐 초과로 거부: sourceId={}", request.getSourceId());
+            
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header("Retry-After", "5")
+                .body(ApiResponse.error("작업 큐가 가득 찼습니다. 잠시 후 다시 시도해주세요.", e.getMessage()));
+        }
+    }
+    
+    /**
+     * 비동기 분류 작업 상태/결과 조회
+     */
+    @GetMapping("/enhanced-classify/jobs/{jobId}")
+    public ResponseEntity<ApiResponse<ClassificationJobResponse>> getClassificationJob(@PathVariable String jobId) {
+        Optional<ClassificationJobResponse> job = jobService.find(jobId);
+        if (job.isEmpty()) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                .body(ApiResponse.error("작업을 찾을 수 없습니다.", jobId));
+        }
+        return ResponseEntity.ok(ApiResponse.success(job.get()));
+    }
+    
+    /**
+     * 비동기 분류 작업 완료 알림 (SSE)
+     * 현재 상태를 status 이벤트로 보낸 뒤, 완료 시 complete(성공) 또는 error(실패) 이벤트 전송
+     */
+    @GetMapping(value = "/enhanced-classify/jobs/{jobId}/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> classificationJobEvents(@PathVariable String jobId) {
+        Optional<ClassificationJobResponse> job = jobService.find(jobId);
+        Optional<CompletableFuture<ClassificationJobResponse>> completion = jobService.completion(jobId);
+        if (job.isEmpty() || completion.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+        
+        SseEmitter emitter = new SseEmitter(STREAM_TIMEOUT_MILLIS);
+        send(emitter, "status", job.get());
+        completion.get().whenComplete((finished, error) -> {
+            if (finished != null && ClassificationJobService.Status.SUCCEEDED.name().equals(finished.getStatus())) {
+                send(emitter, "complete", ApiResponse.success(finished));
+            } else {
+                send(emitter, "error", ApiResponse.error("향상된 분류 처리 중 오류가 발생했습니다.",
+                                                       finished != null ? finished.getError() : error.getMessage()));
+            }
+            emitter.complete();
+        });
+        
+        return ResponseEntity.ok(emitter);
+    }
+    
+    /**
+     * SSE 이벤트 전송 (클라이언트 연결이 끊긴 경우 무시, 저장은 계속 진행)
+     */
+    private void send(SseEmitter emitter, String event, Object data) {
+        try {
+            emitter.send(SseEmitter.event().name(event).data(data, MediaType.APPLICATION_JSON));
+        } catch (IOException | IllegalStateException e) {
+            logger.debug("SSE 이벤트 전송 실패: event={}, error={}", event, e.getMessage());
+        }
+    }
+
+    /**
+     * NDJSON 일괄 적재 엔드포인트
+     * 요청 본문을 한 줄씩 읽어 묶음 단위로 분류/저장하고, 줄별 처리 결과를 NDJSON으로 바로 내보냄 (마지막 줄은 집계)
+     * 처리 중인 묶음이 한도에 도달하면 본문 읽기를 멈추므로 본문 크기와 무관하게 메모리 사용량이 일정
+     */
+    @PostMapping(value = "/enhanced-classify/ingest", produces = NDJSON_MEDIA_TYPE)
+    public void ingestNdjson(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        response.setContentType(NDJSON_MEDIA_TYPE);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        PrintWriter writer = response.getWriter();
+        
+        BufferedReader reader = new BufferedReader(new InputStreamReader(request.getInputStream(), StandardCharsets.UTF_8));
+        IngestReport.Summary summary = ndjsonIngestService.ingest(reader, status -> writeNdjsonLine(writer, status));
+        writeNdjsonLine(writer, summary);
+    }
+    
+    /**
+     * NDJSON 한 줄 기록 후 즉시 전송
+     */
+    private void writeNdjsonLine(PrintWriter writer, Object value) {
+        try {
+            writer.write(ndjsonWriter.writeValueAsString(value));
+            writer.write('\n');
+            writer.flush();
+        } catch (JsonProcessingException e) {
+            logger.warn("NDJSON 보고서 직렬화 실패: {}", e.getMessage());
+        }
+    }
+    
+    /**
+     * 배치 상담 분류 + 분석 + 저장 엔드포인트
+     * 항목별로 병렬 분류 후 성공 건만 일괄 저장, 항목별 결과/오류 반환
+     */
+    @PostMapping("/enhanced-classify/batch")
+    public ResponseEntity<ApiResponse<BatchClassificationResponse>> enhancedClassifyBatch(
+            @RequestBody List<ClassificationRequest> requests) {
+        
+        try {
+            logger.info("배치 상담 분류 요청 수신: {}건", requests.size());
+            
+            BatchClassificationResponse response = enhancedOpenAIService.processAndSaveBatch(requests);
+            
+            return ResponseEntity.ok(ApiResponse.success(response));
+            
+        } catch (IllegalArgumentException e) {
+            logger.warn("배치 상담 분류 요청 거부: {}", e.getMessage());
+            
+            return ResponseEntity.badRequest()
+                .body(ApiResponse.error("잘못된 배치 요청입니다.", e.getMessage()));
+            
+        } catch (Exception e) {
+            logger.error("배치 상담 분류 처리 중 오류 발생: {}건", requests.size(), e);
+            
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                .body(ApiResponse.error("배치 분류 처리 중 오류가 발생했습니다.", e.getMessage()));
+        }
+    }
+
+    /**
+     * OpenAI 장애 중 폴백 분류된 상담 재분류 엔드포인트
+     * 서킷 브레이커가 닫힌 뒤 호출하면 reclassify_pending 행을 최대 limit건 다시 분류하여 갱신
+     */
+    @PostMapping("/enhanced-classify/reclassify-pending")
+    public ResponseEntity<ApiResponse<Map<String, Object>>> reclassifyPending(
+            @RequestParam(defaultValue = "100") Integer limit) {
+        
+        try {
+            int reclassified = enhancedOpenAIService.reclassifyPending(limit);
+            
+            Map<String, Object> result = new HashMap<>();
+            result.put("reclassified", reclassified);
+            result.put("remaining", repository.countByReclassifyPendingTrue());
+            
+            return ResponseEntity.ok(ApiResponse.success(result));
+            
+        } catch (Exception e) {
+            logger.error("재분류 처리 중 오류 발생", e);
+            
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                .body(ApiResponse.error("재분류 처리 중 오류가 발생했습니다.", e.getMessage()));
+        }
+    }
+
+    /**
+     * 카테고리 카탈로그 변경 후 재분류 백필 시작 (미완료 체크포인트가 있으면 이어서 진행)
+     * scope=STALE: 카탈로그에 없는 카테고리만 재분류(이름만 바뀐 경우 이름만 갱신), ALL: 전체 재분류
+     */
+    @PostMapping("/enhanced-classify/backfill")
+    public ResponseEntity<ApiResponse<BackfillProgressResponse>> startBackfill(
+            @RequestParam(defaultValue = "STALE") ReclassificationBackfillService.Scope scope,
+            @RequestParam(defaultValue = "false") boolean restart) {
+        
+        try {
+            return ResponseEntity.status(HttpStatus.ACCEPTED)
+                .body(ApiResponse.success(backfillService.start(scope, restart)));
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT)
+                .body(ApiResponse.error("재분류 백필을 시작할 수 없습니다.", e.getMessage()));
+        }
+    }
+    
+    /**
+     * 재분류 백필 진행 상황 (처리 속도, 예상 남은 시간 포함)
+     */
+    @GetMapping("/enhanced-classify/backfill")
+    public ResponseEntity<ApiResponse<BackfillProgressResponse>> getBackfillProgress() {
+        return ResponseEntity.ok(ApiResponse.success(backfillService.progress()));
+    }
+    
+    /**
+     * 재분류 백필 일시 정지 (현재 청크를 마친 뒤 멈춤)
+     */
+    @PostMapping("/enhanced-classify/backfill/pause")
+    public ResponseEntity<ApiResponse<BackfillProgressResponse>> pauseBackfill() {
+        return ResponseEntity.ok(ApiResponse.success(backfillService.pause()));
+    }
+    
+    /**
+     * 재분류 백필 재개
+     */
+    @PostMapping("/enhanced-classify/backfill/resume")
+    public ResponseEntity<ApiResponse<BackfillProgressResponse>> resumeBackfill() {
+        try {
+            return ResponseEntity.ok(ApiResponse.success(backfillService.resume()));
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT)
+                .body(ApiResponse.error("재분류 백필을 재개할 수 없습니다.", e.getMessage()));
+        }
+    }
+    
+    /**
+     * 재분류 백필 속도 조절 (실행 중 적용, 지정하지 않은 항목은 유지)
+     */
+    @PostMapping("/enhanced-classify/backfill/throttle")
+    public ResponseEntity<ApiResponse<BackfillProgressResponse>> throttleBackfill(
+            @RequestParam(required = false) Double rowsPerSecond,
+            @RequestParam(required = false) Integer parallelism) {
+        return ResponseEntity.ok(ApiResponse.success(backfillService.throttle(rowsPerSecond, parallelism)));
+    }
+
     /**
      * MailContents용 API - 카테고리별 최근 분석 결과만 조회 (analysis_result만 반환)
      */
@@ -255,6 +552,12 @@ public class ClassificationController {
         endpoints.put("test", "GET /api/test");
         endpoints.put("classify", "POST /api/classify");
         endpoints.put("enhanced-classify", "POST /api/enhanced-classify");
+        endpoints.put("enhanced-classify-batch", "POST /api/enhanced-classify/batch");
+        endpoints.put("enhanced-classify-stream", "POST /api/enhanced-classify/stream (SSE)");
+        endpoints.put("enhanced-classify-ingest", "POST /api/enhanced-classify/ingest (application/x-ndjson)");
+        endpoints.put("enhanced-classify-jobs", "POST /api/enhanced-classify/jobs (202), GET /api/enhanced-classify/jobs/{jobId}[/events]");
+        endpoints.put("enhanced-classify-backfill", "POST|GET /api/enhanced-classify/backfill, POST /api/enhanced-classify/backfill/{pause|resume|throttle}");
+        endpoints.put("enhanced-classify-reclassify", "POST /api/enhanced-classify/reclassify-pending?limit={num}");
         endpoints.put("health", "GET /api/health");
         endpoints.put("categories", "GET /api/categories");
         endpoints.put("voc_normalized", "GET /api/normalization/voc_normalized?category_id={id}&limit={num}");
@@ -345,7 +648,7 @@ public class ClassificationController {
             entity.getId(),
             entity.getSourceId(),
             entity.getConsultingDate(),
-            getBigCategoryName(entity.getConsultingCategory()), // Big Category 매핑
+            catalogProvider.latest().bigCategoryOf(entity.getConsultingCategory()), // Big Category 매핑
             entity.getConsultingCategory(),
             entity.getClientAge().toString(),
             entity.getClientGender(),
@@ -361,35 +664,11 @@ public class ClassificationController {
             entity.getId(),
             entity.getSourceId(),
             entity.getConsultingDate(),
-            getBigCategoryName(entity.getConsultingCategory()), // Big Category 매핑
+            catalogProvider.latest().bigCategoryOf(entity.getConsultingCategory()), // Big Category 매핑
             entity.getConsultingCategory(),
             entity.getClientAge().toString(),
             entity.getClientGender(),
             entity.getAnalysisResult()
         );
     }
-
-    /**
-     * 상담 카테고리를 Big Category로 매핑
-     */
-    private String getBigCategoryName(String consultingCategory) {
-        if (consultingCategory == null) {
-            return "기타";
-        }
-        
-        // 카테고리별 Big Category 매핑
-        if (consultingCategory.contains("안내") || consultingCategory.contains("조회")) {
-            return "조회/안내";
-        } else if (consultingCategory.contains("신청") || consultingCategory.contains("해제")) {
-            return "신청/해제";
-        } else if (consultingCategory.contains("상품")) {
-            return "상품";
-        } else if (consultingCategory.contains("결제") || consultingCategory.contains("한도")) {
-            return "결제/한도";
-        } else if (consultingCategory.contains("도난") || consultingCategory.contains("분실")) {
-            return "보안";
-        } else {
-            return "기타";
-        }
-    }
-}
\ No newline at end of file
+}
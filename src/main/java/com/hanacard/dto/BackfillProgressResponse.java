@@ -0,0 +1,209 @@
+package com.hanacard.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.datatype.jsr310.ser.LocalDateTimeSerializer;
+
+import java.time.LocalDateTime;
+
+/**
+ * 재분류 백필 진행 상황 응답 DTO
+ * 처리 속도(rows_per_second)는 이번 실행 시작 이후 기준, eta_seconds는 남은 행 수 / 처리 속도
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class BackfillProgressResponse {
+    
+    @JsonProperty("status")
+    private String status;
+    
+    @JsonProperty("scope")
+    private String scope;
+    
+    @JsonProperty("catalog_version")
+    private String catalogVersion;
+    
+    @JsonProperty("last_id")
+    private Long lastId;
+    
+    @JsonProperty("total_rows")
+    private Long totalRows;
+    
+    @JsonProperty("processed_rows")
+    private Long processedRows;
+    
+    @JsonProperty("reclassified_rows")
+    private Long reclassifiedRows;
+    
+    @JsonProperty("renamed_rows")
+    private Long renamedRows;
+    
+    @JsonProperty("failed_rows")
+    private Long failedRows;
+    
+    @JsonProperty("percent")
+    private Double percent;
+    
+    @JsonProperty("rows_per_second")
+    private Double rowsPerSecond;
+    
+    @JsonProperty("eta_seconds")
+    private Long etaSeconds;
+    
+    @JsonProperty("rows_per_second_limit")
+    private Double rowsPerSecondLimit;
+    
+    @JsonProperty("parallelism")
+    private Integer parallelism;
+    
+    @JsonProperty("error")
+    private String errorMessage;
+    
+    @JsonProperty("started_at")
+    @JsonSerialize(using = LocalDateTimeSerializer.class)
+    private LocalDateTime startedAt;
+    
+    @JsonProperty("updated_at")
+    @JsonSerialize(using = LocalDateTimeSerializer.class)
+    private LocalDateTime updatedAt;
+    
+    // 생성자
+    public BackfillProgressResponse() {}
+    
+    // Getter & Setter
+    public String getStatus() {
+        return status;
+    }
+    
+    public void setStatus(String status) {
+        this.status = status;
+    }
+    
+    public String getScope() {
+        return scope;
+    }
+    
+    public void setScope(String scope) {
+        this.scope = scope;
+    }
+    
+    public String getCatalogVersion() {
+        return catalogVersion;
+    }
+    
+    public void setCatalogVersion(String catalogVersion) {
+        this.catalogVersion = catalogVersion;
+    }
+    
+    public Long getLastId() {
+        return lastId;
+    }
+    
+    public void setLastId(Long lastId) {
+        this.lastId = lastId;
+    }
+    
+    public Long getTotalRows() {
+        return totalRows;
+    }
+    
+    public void setTotalRows(Long totalRows) {
+        this.totalRows = totalRows;
+    }
+    
+    public Long getProcessedRows() {
+        return processedRows;
+    }
+    
+    public void setProcessedRows(Long processedRows) {
+        this.processedRows = processedRows;
+    }
+    
+    public Long getReclassifiedRows() {
+        return reclassifiedRows;
+    }
+    
+    public void setReclassifiedRows(Long reclassifiedRows) {
+        this.reclassifiedRows = reclassifiedRows;
+    }
+    
+    public Long getRenamedRows() {
+        return renamedRows;
+    }
+    
+    public void setRenamedRows(Long renamedRows) {
+        this.renamedRows = renamedRows;
+    }
+    
+    public Long getFailedRows() {
+        return failedRows;
+    }
+    
+    public void setFailedRows(Long failedRows) {
+        this.failedRows = failedRows;
+    }
+    
+    public Double getPercent() {
+        return percent;
+    }
+    
+    public void setPercent(Double percent) {
+        this.percent = percent;
+    }
+    
+    public Double getRowsPerSecond() {
+        return rowsPerSecond;
+    }
+    
+    public void setRowsPerSecond(Double rowsPerSecond) {
+        this.rowsPerSecond = rowsPerSecond;
+    }
+    
+    public Long getEtaSeconds() {
+        return etaSeconds;
+    }
+    
+    public void setEtaSeconds(Long etaSeconds) {
+        this.etaSeconds = etaSeconds;
+    }
+    
+    public Double getRowsPerSecondLimit() {
+        return rowsPerSecondLimit;
+    }
+    
+    public void setRowsPerSecondLimit(Double rowsPerSecondLimit) {
+        this.rowsPerSecondLimit = rowsPerSecondLimit;
+    }
+    
+    public Integer getParallelism() {
+        return parallelism;
+    }
+    
+    public void setParallelism(Integer parallelism) {
+        this.parallelism = parallelism;
+    }
+    
+    public String getErrorMessage() {
+        return errorMessage;
+    }
+    
+    public void setErrorMessage(String errorMessage) {
+        this.errorMessage = errorMessage;
+    }
+    
+    public LocalDateTime getStartedAt() {
+        return startedAt;
+    }
+    
+    public void setStartedAt(LocalDateTime startedAt) {
+        this.startedAt = startedAt;
+    }
+    
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+    
+    public void setUpdatedAt(LocalDateTime updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+}
@@ -0,0 +1,90 @@
+package com.hanacard.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import java.util.List;
+
+/**
+ * 배치 상담 분류 응답 DTO
+ * 요청 순서대로 항목별 결과/오류를 반환
+ */
+public class BatchClassificationResponse {
+    
+    @JsonProperty("total")
+    private int total;
+    
+    @JsonProperty("succeeded")
+    private int succeeded;
+    
+    @JsonProperty("failed")
+    private int failed;
+    
+    @JsonProperty("processing_time")
+    private Double processingTime;
+    
+    @JsonProperty("results")
+    private List<ItemResult> results;
+    
+    // 생성자
+    public BatchClassificationResponse() {}
+    
+    public BatchClassificationResponse(int total, int succeeded, Double processingTime, List<ItemResult> results) {
+        this.total = total;
+        this.succeeded = succeeded;
+        this.failed = total - succeeded;
+        this.processingTime = processingTime;
+        this.results = results;
+    }
+    
+    // Getter & Setter
+    public int getTotal() { return total; }
+    public void setTotal(int total) { this.total = total; }
+    
+    public int getSucceeded() { return succeeded; }
+    public void setSucceeded(int succeeded) { this.succeeded = succeeded; }
+    
+    public int getFailed() { return failed; }
+    public void setFailed(int failed) { this.failed = failed; }
+    
+    public Double getProcessingTime() { return processingTime; }
+    public void setProcessingTime(Double processingTime) { this.processingTime = processingTime; }
+    
+    public List<ItemResult> getResults() { return results; }
+    public void setResults(List<ItemResult> results) { this.results = results; }
+    
+    // 항목별 결과
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public static class ItemResult {
+        @JsonProperty("index")
+        private int index;
+        
+        @JsonProperty("source_id")
+        private String sourceId;
+        
+        @JsonProperty("success")
+        private boolean success;
+        
+        @JsonProperty("result")
+        private EnhancedClassificationResponse result;
+        
+        @JsonProperty("error")
+        private String error;
+        
+        // getter, setter
+        public int getIndex() { return index; }
+        public void setIndex(int index) { this.index = index; }
+        
+        public String getSourceId() { return sourceId; }
+        public void setSourceId(String sourceId) { this.sourceId = sourceId; }
+        
+        public boolean isSuccess() { return success; }
+        public void setSuccess(boolean success) { this.success = success; }
+        
+        public EnhancedClassificationResponse getResult() { return result; }
+        public void setResult(EnhancedClassificationResponse result) { this.result = result; }
+        
+        public String getError() { return error; }
+        public void setError(String error) { this.error = error; }
+    }
+}
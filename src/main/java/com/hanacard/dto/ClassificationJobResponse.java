@@ -0,0 +1,133 @@
+package com.hanacard.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.datatype.jsr310.ser.LocalDateTimeSerializer;
+
+import java.time.LocalDateTime;
+
+/**
+ * 비동기 분류 작업 상태 응답 DTO
+ * status: QUEUED → RUNNING → SUCCEEDED/FAILED, 대기 시간과 처리 시간을 따로 표시
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class ClassificationJobResponse {
+    
+    @JsonProperty("job_id")
+    private String jobId;
+    
+    @JsonProperty("status")
+    private String status;
+    
+    @JsonProperty("source_id")
+    private String sourceId;
+    
+    @JsonProperty("submitted_at")
+    @JsonSerialize(using = LocalDateTimeSerializer.class)
+    private LocalDateTime submittedAt;
+    
+    @JsonProperty("started_at")
+    @JsonSerialize(using = LocalDateTimeSerializer.class)
+    private LocalDateTime startedAt;
+    
+    @JsonProperty("completed_at")
+    @JsonSerialize(using = LocalDateTimeSerializer.class)
+    private LocalDateTime completedAt;
+    
+    @JsonProperty("queue_wait_ms")
+    private Long queueWaitMillis;
+    
+    @JsonProperty("service_time_ms")
+    private Long serviceTimeMillis;
+    
+    @JsonProperty("result")
+    private EnhancedClassificationResponse result;
+    
+    @JsonProperty("error")
+    private String error;
+    
+    // 생성자
+    public ClassificationJobResponse() {}
+    
+    // Getter & Setter
+    public String getJobId() {
+        return jobId;
+    }
+    
+    public void setJobId(String jobId) {
+        this.jobId = jobId;
+    }
+    
+    public String getStatus() {
+        return status;
+    }
+    
+    public void setStatus(String status) {
+        this.status = status;
+    }
+    
+    public String getSourceId() {
+        return sourceId;
+    }
+    
+    public void setSourceId(String sourceId) {
+        this.sourceId = sourceId;
+    }
+    
+    public LocalDateTime getSubmittedAt() {
+        return submittedAt;
+    }
+    
+    public void setSubmittedAt(LocalDateTime submittedAt) {
+        this.submittedAt = submittedAt;
+    }
+    
+    public LocalDateTime getStartedAt() {
+        return startedAt;
+    }
+    
+    public void setStartedAt(LocalDateTime startedAt) {
+        this.startedAt = startedAt;
+    }
+    
+    public LocalDateTime getCompletedAt() {
+        return completedAt;
+    }
+    
+    public void setCompletedAt(LocalDateTime completedAt) {
+        this.completedAt = completedAt;
+    }
+    
+    public Long getQueueWaitMillis() {
+        return queueWaitMillis;
+    }
+    
+    public void setQueueWaitMillis(Long queueWaitMillis) {
+        this.queueWaitMillis = queueWaitMillis;
+    }
+    
+    public Long getServiceTimeMillis() {
+        return serviceTimeMillis;
+    }
+    
+    public void setServiceTimeMillis(Long serviceTimeMillis) {
+        this.serviceTimeMillis = serviceTimeMillis;
+    }
+    
+    public EnhancedClassificationResponse getResult() {
+        return result;
+    }
+    
+    public void setResult(EnhancedClassificationResponse result) {
+        this.result = result;
+    }
+    
+    public String getError() {
+        return error;
+    }
+    
+    public void setError(String error) {
+        this.error = error;
+    }
+}
@@ -42,6 +42,10 @@ public class ClassificationRequest {
     @JsonProperty("consulting_content")
     private String consultingContent;
 
+    // 분석(analysis) 결과 필요 여부 (캐스케이드 모드에서 true면 항상 향상된 분석 실행)
+    @JsonProperty("include_analysis")
+    private Boolean includeAnalysis;
+
     // 생성자
     public ClassificationRequest() {}
 
@@ -107,4 +111,12 @@ public class ClassificationRequest {
         this.consultingContent = consultingContent;
     }
 
+    public Boolean getIncludeAnalysis() {
+        return includeAnalysis;
+    }
+
+    public void setIncludeAnalysis(Boolean includeAnalysis) {
+        this.includeAnalysis = includeAnalysis;
+    }
+
 }
\ No newline at end of file
@@ -1,5 +1,7 @@
 package com.hanacard.dto;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.fasterxml.jackson.databind.annotation.JsonSerialize;
 import com.fasterxml.jackson.datatype.jsr310.ser.LocalDateTimeSerializer;
@@ -39,6 +41,22 @@ public class EnhancedClassificationResponse {
     @JsonProperty("analysis")
     private AnalysisInfo analysis;
     
+    // OpenAI 장애로 폴백 분류된 결과 (복구 후 재분류 예정)
+    @JsonProperty("reclassify_pending")
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Boolean reclassifyPending;
+    
+    // 결과 출처 (로컬 분류기 학습 대상 판단용, 응답/저장 JSON에는 포함하지 않음)
+    @JsonIgnore
+    private Source source;
+    
+    /**
+     * 분류 결과 출처
+     * LLM: 이번 요청에서 새로 호출한 LLM 결과, CACHE: 동일 내용의 이전 결과(결과 캐시, 동시 요청 병합),
+     * NEAR_DUPLICATE: 유사 상담의 결과, LOCAL: 로컬 분류기 예측, FALLBACK: OpenAI 장애 폴백 분류
+     */
+    public enum Source { LLM, CACHE, NEAR_DUPLICATE, LOCAL, FALLBACK }
+    
     // 생성자
     public EnhancedClassificationResponse() {}
     
@@ -107,6 +125,22 @@ public class EnhancedClassificationResponse {
         this.analysis = analysis;
     }
     
+    public Boolean getReclassifyPending() {
+        return reclassifyPending;
+    }
+    
+    public void setReclassifyPending(Boolean reclassifyPending) {
+        this.reclassifyPending = reclassifyPending;
+    }
+    
+    public Source getSource() {
+        return source;
+    }
+    
+    public void setSource(Source source) {
+        this.source = source;
+    }
+    
     
     // 내부 클래스들
     public static class ClassificationInfo {
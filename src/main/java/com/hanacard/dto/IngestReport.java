@@ -0,0 +1,86 @@
+package com.hanacard.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+/**
+ * NDJSON 일괄 적재 보고서 DTO
+ * 입력 한 줄마다 LineStatus 한 줄을 NDJSON으로 내보내고, 마지막에 Summary 한 줄을 내보냄
+ */
+public class IngestReport {
+    
+    // 입력 줄별 처리 결과
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public static class LineStatus {
+        @JsonProperty("line")
+        private long line;
+        
+        @JsonProperty("source_id")
+        private String sourceId;
+        
+        @JsonProperty("success")
+        private boolean success;
+        
+        @JsonProperty("id")
+        private Long id;
+        
+        @JsonProperty("category")
+        private String category;
+        
+        @JsonProperty("category_id")
+        private String categoryId;
+        
+        @JsonProperty("error")
+        private String error;
+        
+        // getter, setter
+        public long getLine() { return line; }
+        public void setLine(long line) { this.line = line; }
+        
+        public String getSourceId() { return sourceId; }
+        public void setSourceId(String sourceId) { this.sourceId = sourceId; }
+        
+        public boolean isSuccess() { return success; }
+        public void setSuccess(boolean success) { this.success = success; }
+        
+        public Long getId() { return id; }
+        public void setId(Long id) { this.id = id; }
+        
+        public String getCategory() { return category; }
+        public void setCategory(String category) { this.category = category; }
+        
+        public String getCategoryId() { return categoryId; }
+        public void setCategoryId(String categoryId) { this.categoryId = categoryId; }
+        
+        public String getError() { return error; }
+        public void setError(String error) { this.error = error; }
+    }
+    
+    // 전체 집계 (보고서 마지막 줄)
+    public static class Summary {
+        @JsonProperty("total")
+        private long total;
+        
+        @JsonProperty("succeeded")
+        private long succeeded;
+        
+        @JsonProperty("failed")
+        private long failed;
+        
+        @JsonProperty("processing_time")
+        private Double processingTime;
+        
+        // getter, setter
+        public long getTotal() { return total; }
+        public void setTotal(long total) { this.total = total; }
+        
+        public long getSucceeded() { return succeeded; }
+        public void setSucceeded(long succeeded) { this.succeeded = succeeded; }
+        
+        public long getFailed() { return failed; }
+        public void setFailed(long failed) { this.failed = failed; }
+        
+        public Double getProcessingTime() { return processingTime; }
+        public void setProcessingTime(Double processingTime) { this.processingTime = processingTime; }
+    }
+}
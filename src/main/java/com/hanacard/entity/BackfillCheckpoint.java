@@ -0,0 +1,180 @@
+package com.hanacard.entity;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * 재분류 백필 진행 상황 엔티티
+ * 청크마다 마지막 처리 id와 건수를 기록하여 재시작 후 이어서 진행
+ */
+@Entity
+@Table(name = "voc_backfill_checkpoint")
+public class BackfillCheckpoint {
+    
+    @Id
+    @Column(name = "name", length = 50)
+    private String name;
+    
+    // STALE: 카탈로그에 없는 카테고리만, ALL: 전체 재분류
+    @Column(name = "scope", nullable = false, length = 10)
+    private String scope;
+    
+    @Column(name = "catalog_version", nullable = false, length = 32)
+    private String catalogVersion;
+    
+    // RUNNING, PAUSED, COMPLETED, FAILED
+    @Column(name = "status", nullable = false, length = 20)
+    private String status;
+    
+    @Column(name = "last_id", nullable = false)
+    private Long lastId = 0L;
+    
+    @Column(name = "total_rows", nullable = false)
+    private Long totalRows = 0L;
+    
+    @Column(name = "processed_rows", nullable = false)
+    private Long processedRows = 0L;
+    
+    // LLM으로 다시 분류한 행 수
+    @Column(name = "reclassified_rows", nullable = false)
+    private Long reclassifiedRows = 0L;
+    
+    // 카테고리 이름만 바뀌어 이름만 갱신한 행 수
+    @Column(name = "renamed_rows", nullable = false)
+    private Long renamedRows = 0L;
+    
+    @Column(name = "failed_rows", nullable = false)
+    private Long failedRows = 0L;
+    
+    @Column(name = "error_message", length = 500)
+    private String errorMessage;
+    
+    @Column(name = "started_at")
+    private LocalDateTime startedAt;
+    
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+    
+    // 생성자
+    public BackfillCheckpoint() {}
+    
+    public BackfillCheckpoint(String name, String scope, String catalogVersion) {
+        this.name = name;
+        this.scope = scope;
+        this.catalogVersion = catalogVersion;
+        this.status = "RUNNING";
+        this.startedAt = LocalDateTime.now();
+    }
+    
+    // Getter & Setter
+    public String getName() {
+        return name;
+    }
+    
+    public void setName(String name) {
+        this.name = name;
+    }
+    
+    public String getScope() {
+        return scope;
+    }
+    
+    public void setScope(String scope) {
+        this.scope = scope;
+    }
+    
+    public String getCatalogVersion() {
+        return catalogVersion;
+    }
+    
+    public void setCatalogVersion(String catalogVersion) {
+        this.catalogVersion = catalogVersion;
+    }
+    
+    public String getStatus() {
+        return status;
+    }
+    
+    public void setStatus(String status) {
+        this.status = status;
+    }
+    
+    public Long getLastId() {
+        return lastId;
+    }
+    
+    public void setLastId(Long lastId) {
+        this.lastId = lastId;
+    }
+    
+    public Long getTotalRows() {
+        return totalRows;
+    }
+    
+    public void setTotalRows(Long totalRows) {
+        this.totalRows = totalRows;
+    }
+    
+    public Long getProcessedRows() {
+        return processedRows;
+    }
+    
+    public void setProcessedRows(Long processedRows) {
+        this.processedRows = processedRows;
+    }
+    
+    public Long getReclassifiedRows() {
+        return reclassifiedRows;
+    }
+    
+    public void setReclassifiedRows(Long reclassifiedRows) {
+        this.reclassifiedRows = reclassifiedRows;
+    }
+    
+    public Long getRenamedRows() {
+        return renamedRows;
+    }
+    
+    public void setRenamedRows(Long renamedRows) {
+        this.renamedRows = renamedRows;
+    }
+    
+    public Long getFailedRows() {
+        return failedRows;
+    }
+    
+    public void setFailedRows(Long failedRows) {
+        this.failedRows = failedRows;
+    }
+    
+    public String getErrorMessage() {
+        return errorMessage;
+    }
+    
+    public void setErrorMessage(String errorMessage) {
+        this.errorMessage = errorMessage;
+    }
+    
+    public LocalDateTime getStartedAt() {
+        return startedAt;
+    }
+    
+    public void setStartedAt(LocalDateTime startedAt) {
+        this.startedAt = startedAt;
+    }
+    
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+    
+    public void setUpdatedAt(LocalDateTime updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+    
+    @PrePersist
+    @PreUpdate
+    protected void onSave() {
+        updatedAt = LocalDateTime.now();
+    }
+}
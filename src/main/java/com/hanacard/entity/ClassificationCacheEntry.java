@@ -0,0 +1,126 @@
+package com.hanacard.entity;
+
+import jakarta.persistence.*;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+
+import java.time.LocalDateTime;
+
+/**
+ * 분류 결과 캐시 엔티티 (2차 캐시)
+ * 정규화된 상담 내용 + 카테고리 카탈로그 버전의 해시를 키로 AI 분석 결과를 보관
+ */
+@Entity
+@Table(name = "voc_classification_cache")
+public class ClassificationCacheEntry {
+    
+    // SHA-256(카탈로그 버전 + 정규화된 상담 내용) hex
+    @Id
+    @Column(name = "cache_key", length = 64)
+    private String cacheKey;
+    
+    @Column(name = "catalog_version", nullable = false, length = 32)
+    private String catalogVersion;
+    
+    @Column(name = "consulting_category", length = 100)
+    private String consultingCategory;
+    
+    @Column(name = "category_id", length = 8)
+    private String categoryId;
+    
+    // voc_normalized.analysis_result와 동일한 구조
+    @Column(name = "analysis_result", nullable = false, columnDefinition = "JSON")
+    @JdbcTypeCode(SqlTypes.JSON)
+    private String analysisResult;
+    
+    @Column(name = "hit_count", nullable = false)
+    private Long hitCount = 0L;
+    
+    @Column(name = "created_at", updatable = false)
+    private LocalDateTime createdAt;
+    
+    @Column(name = "last_hit_at")
+    private LocalDateTime lastHitAt;
+    
+    // 생성자
+    public ClassificationCacheEntry() {}
+    
+    public ClassificationCacheEntry(String cacheKey, String catalogVersion, String analysisResult) {
+        this.cacheKey = cacheKey;
+        this.catalogVersion = catalogVersion;
+        this.analysisResult = analysisResult;
+    }
+    
+    // Getter & Setter
+    public String getCacheKey() {
+        return cacheKey;
+    }
+    
+    public void setCacheKey(String cacheKey) {
+        this.cacheKey = cacheKey;
+    }
+    
+    public String getCatalogVersion() {
+        return catalogVersion;
+    }
+    
+    public void setCatalogVersion(String catalogVersion) {
+        this.catalogVersion = catalogVersion;
+    }
+    
+    public String getConsultingCategory() {
+        return consultingCategory;
+    }
+    
+    public void setConsultingCategory(String consultingCategory) {
+        this.consultingCategory = consultingCategory;
+    }
+    
+    public String getCategoryId() {
+        return categoryId;
+    }
+    
+    public void setCategoryId(String categoryId) {
+        this.categoryId = categoryId;
+    }
+    
+    public String getAnalysisResult() {
+        return analysisResult;
+    }
+    
+    public void setAnalysisResult(String analysisResult) {
+        this.analysisResult = analysisResult;
+    }
+    
+    public Long getHitCount() {
+        return hitCount;
+    }
+    
+    public void setHitCount(Long hitCount) {
+        this.hitCount = hitCount;
+    }
+    
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+    
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+    
+    public LocalDateTime getLastHitAt() {
+        return lastHitAt;
+    }
+    
+    public void setLastHitAt(LocalDateTime lastHitAt) {
+        this.lastHitAt = lastHitAt;
+    }
+    
+    // 편의 메서드들
+    @PrePersist
+    protected void onCreate() {
+        if (createdAt == null) {
+            createdAt = LocalDateTime.now();
+        }
+    }
+}
@@ -0,0 +1,123 @@
+package com.hanacard.entity;
+
+import jakarta.persistence.*;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+
+import java.time.LocalDateTime;
+
+/**
+ * 분류 작업 아웃박스 엔티티
+ * 접수했지만 아직 처리(voc_normalized 저장)되지 않은 분류 요청을 보관하여 재시작 후 복구
+ * id는 테이블 생성기로 미리 할당 (IDENTITY는 Hibernate insert 배치를 끄므로 그룹 커밋이 건별 INSERT가 됨)
+ */
+@Entity
+@Table(name = "voc_classification_outbox")
+public class ClassificationOutboxEntry {
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "outbox_id")
+    @TableGenerator(name = "outbox_id", table = "voc_id_sequence",
+                    pkColumnName = "sequence_name", valueColumnName = "next_val",
+                    pkColumnValue = "voc_classification_outbox", allocationSize = 500)
+    private Long id;
+    
+    @Column(name = "job_id", nullable = false, length = 36)
+    private String jobId;
+    
+    // 작업을 처리 중인 인스턴스 (기동마다 새 이름, 장애 추적용)
+    @Column(name = "owner", nullable = false, length = 100)
+    private String owner;
+    
+    // 임대 갱신 시각 (처리 중인 인스턴스가 주기적으로 갱신, 오래되면 다른 인스턴스가 가져가 복구)
+    @Column(name = "claimed_at", nullable = false)
+    private LocalDateTime claimedAt;
+    
+    @Column(name = "source_id", nullable = false)
+    private String sourceId;
+    
+    // ClassificationRequest JSON
+    @Column(name = "payload", nullable = false, columnDefinition = "JSON")
+    @JdbcTypeCode(SqlTypes.JSON)
+    private String payload;
+    
+    @Column(name = "created_at")
+    private LocalDateTime createdAt;
+    
+    // 생성자
+    public ClassificationOutboxEntry() {}
+    
+    public ClassificationOutboxEntry(String jobId, String owner, String sourceId, String payload) {
+        this.jobId = jobId;
+        this.owner = owner;
+        this.sourceId = sourceId;
+        this.payload = payload;
+    }
+    
+    // Getter & Setter
+    public Long getId() {
+        return id;
+    }
+    
+    public void setId(Long id) {
+        this.id = id;
+    }
+    
+    public String getJobId() {
+        return jobId;
+    }
+    
+    public void setJobId(String jobId) {
+        this.jobId = jobId;
+    }
+    
+    public String getOwner() {
+        return owner;
+    }
+    
+    public void setOwner(String owner) {
+        this.owner = owner;
+    }
+    
+    public String getSourceId() {
+        return sourceId;
+    }
+    
+    public void setSourceId(String sourceId) {
+        this.sourceId = sourceId;
+    }
+    
+    public String getPayload() {
+        return payload;
+    }
+    
+    public void setPayload(String payload) {
+        this.payload = payload;
+    }
+    
+    public LocalDateTime getClaimedAt() {
+        return claimedAt;
+    }
+    
+    public void setClaimedAt(LocalDateTime claimedAt) {
+        this.claimedAt = claimedAt;
+    }
+    
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+    
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+    
+    @PrePersist
+    protected void onCreate() {
+        if (createdAt == null) {
+            createdAt = LocalDateTime.now();
+        }
+        if (claimedAt == null) {
+            claimedAt = createdAt;
+        }
+    }
+}
@@ -61,6 +61,10 @@ public class ConsultingClassification {
     @JdbcTypeCode(SqlTypes.JSON)
     private String analysisResult; // MySQL JSON으로 저장
     
+    // OpenAI 장애 중 폴백 분류된 행 (복구 후 재분류 대상)
+    @Column(name = "reclassify_pending", nullable = false)
+    private boolean reclassifyPending = false;
+    
     // 생성자
     public ConsultingClassification() {}
     
@@ -166,6 +170,14 @@ public class ConsultingClassification {
         this.analysisResult = analysisResult;
     }
     
+    public boolean isReclassifyPending() {
+        return reclassifyPending;
+    }
+    
+    public void setReclassifyPending(boolean reclassifyPending) {
+        this.reclassifyPending = reclassifyPending;
+    }
+    
     public String getConsultingCategory() {
         return consultingCategory;
     }
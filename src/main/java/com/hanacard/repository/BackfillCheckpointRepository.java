@@ -0,0 +1,12 @@
+package com.hanacard.repository;
+
+import com.hanacard.entity.BackfillCheckpoint;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+/**
+ * 재분류 백필 진행 상황 Repository
+ */
+@Repository
+public interface BackfillCheckpointRepository extends JpaRepository<BackfillCheckpoint, String> {
+}
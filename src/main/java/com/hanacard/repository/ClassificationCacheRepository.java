@@ -0,0 +1,45 @@
+package com.hanacard.repository;
+
+import com.hanacard.entity.ClassificationCacheEntry;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+
+/**
+ * 분류 결과 캐시 Repository (2차 캐시)
+ */
+@Repository
+public interface ClassificationCacheRepository extends JpaRepository<ClassificationCacheEntry, String> {
+    
+    // 캐시 적중 기록 (조회 후 별도 UPDATE 한 번)
+    @Modifying
+    @Transactional
+    @Query("UPDATE ClassificationCacheEntry e SET e.hitCount = e.hitCount + 1, e.lastHitAt = :hitAt " +
+           "WHERE e.cacheKey = :cacheKey")
+    int recordHit(@Param("cacheKey") String cacheKey, @Param("hitAt") LocalDateTime hitAt);
+    
+    // 없을 때만 저장 (이미 있으면 기존 행의 created_at/hit_count를 유지, merge의 선조회 SELECT 없음)
+    @Modifying
+    @Transactional
+    @Query(value = "INSERT INTO voc_classification_cache " +
+                   "(cache_key, catalog_version, consulting_category, category_id, analysis_result, hit_count, created_at) " +
+                   "VALUES (:cacheKey, :catalogVersion, :category, :categoryId, :analysisResult, 0, :createdAt) " +
+                   "ON DUPLICATE KEY UPDATE cache_key = cache_key", nativeQuery = true)
+    int insertIfAbsent(@Param("cacheKey") String cacheKey,
+                       @Param("catalogVersion") String catalogVersion,
+                       @Param("category") String category,
+                       @Param("categoryId") String categoryId,
+                       @Param("analysisResult") String analysisResult,
+                       @Param("createdAt") LocalDateTime createdAt);
+    
+    // 만료된 캐시 정리
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM ClassificationCacheEntry e WHERE e.createdAt < :expiredBefore")
+    int deleteExpired(@Param("expiredBefore") LocalDateTime expiredBefore);
+}
@@ -0,0 +1,41 @@
+package com.hanacard.repository;
+
+import com.hanacard.entity.ClassificationOutboxEntry;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+
+import java.util.List;
+
+/**
+ * 분류 작업 아웃박스 Repository
+ */
+@Repository
+public interface ClassificationOutboxRepository extends JpaRepository<ClassificationOutboxEntry, Long> {
+    
+    // 임대가 만료된(처리하던 인스턴스가 사라진) 작업 조회 (id 기준 키셋 페이지네이션)
+    List<ClassificationOutboxEntry> findByClaimedAtBeforeAndIdGreaterThanOrderByIdAsc(LocalDateTime staleBefore, Long id,
+                                                                                      Pageable pageable);
+    
+    // 처리 중인 작업의 임대 갱신
+    @Modifying
+    @Transactional
+    @Query("UPDATE ClassificationOutboxEntry e SET e.claimedAt = :now WHERE e.owner = :owner")
+    int renewLease(@Param("owner") String owner, @Param("now") LocalDateTime now);
+    
+    // 만료된 작업 가져오기 (여러 인스턴스가 동시에 시도해도 한 곳만 1 반환)
+    @Modifying
+    @Transactional
+    @Query("UPDATE ClassificationOutboxEntry e SET e.owner = :owner, e.claimedAt = :now " +
+           "WHERE e.id = :id AND e.claimedAt < :staleBefore")
+    int claim(@Param("id") Long id, @Param("owner") String owner,
+              @Param("now") LocalDateTime now, @Param("staleBefore") LocalDateTime staleBefore);
+    
+    long countByOwner(String owner);
+}
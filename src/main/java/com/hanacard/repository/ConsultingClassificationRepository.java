@@ -23,6 +23,9 @@ public interface ConsultingClassificationRepository extends JpaRepository<Consul
     // 기본 조회 메서드들
     Optional<ConsultingClassification> findBySourceId(String sourceId);
     
+    // 멱등성 확인용 (같은 source_id로 가장 최근 저장된 행)
+    Optional<ConsultingClassification> findFirstBySourceIdOrderByIdDesc(String sourceId);
+    
     List<ConsultingClassification> findByConsultingDateBetween(LocalDate startDate, LocalDate endDate);
     
     List<ConsultingClassification> findByConsultingDate(LocalDate date);
@@ -76,6 +79,23 @@ public interface ConsultingClassificationRepository extends JpaRepository<Consul
                    "ORDER BY created_at DESC LIMIT :limit", nativeQuery = true)
     List<ConsultingClassification> findRecentClassifications(@Param("limit") int limit);
     
+    // 재분류 대기(장애 폴백) 행을 제외한 최근 분류 (근사 중복 인덱스 재구성용)
+    @Query(value = "SELECT * FROM voc_normalized " +
+                   "WHERE reclassify_pending = false " +
+                   "ORDER BY created_at DESC LIMIT :limit", nativeQuery = true)
+    List<ConsultingClassification> findRecentReusableClassifications(@Param("limit") int limit);
+    
+    // ID 키셋 순회 (로컬 분류기 학습, 재분류 백필 등 전체 이력 스캔용)
+    List<ConsultingClassification> findByIdGreaterThanOrderByIdAsc(Long id, Pageable pageable);
+    
+    // 재분류 대기(장애 폴백) 행을 제외한 ID 키셋 순회 (로컬 분류기 학습용)
+    List<ConsultingClassification> findByReclassifyPendingFalseAndIdGreaterThanOrderByIdAsc(Long id, Pageable pageable);
+    
+    // OpenAI 장애 중 폴백 분류된 재분류 대기 행 (ID 키셋 순회)
+    List<ConsultingClassification> findByReclassifyPendingTrueAndIdGreaterThanOrderByIdAsc(Long id, Pageable pageable);
+    
+    long countByReclassifyPendingTrue();
+    
     // 카테고리별 최근 상담
     @Query(value = "SELECT * FROM voc_normalized " +
                    "WHERE JSON_UNQUOTE(JSON_EXTRACT(analysis_result, '$.classification.category')) = :category " +
@@ -0,0 +1,195 @@
+package com.hanacard.service;
+
+import com.hanacard.dto.ConsultingCategoryData;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * 상담 카테고리 카탈로그 스냅샷 (불변)
+ * 카테고리 목록, 이름→ID/ID→이름 조회 맵, 프롬프트용 카테고리 목록, 대분류 매핑을 한 번에 만들어 공유
+ * 카탈로그가 바뀌면 새 스냅샷으로 통째로 교체하므로 읽는 쪽은 잠금 없이 사용 (CategoryCatalogProvider)
+ */
+public final class CategoryCatalog {
+
+    // Admin API 장애 시 사용하는 기본 카테고리
+    static final List<ConsultingCategoryData> DEFAULT_CATEGORIES = List.of(
+        new ConsultingCategoryData("23515d46", "이용내역 안내"),
+        new ConsultingCategoryData("23516275", "한도 안내"),
+        new ConsultingCategoryData("235163f1", "가상계좌 안내"),
+        new ConsultingCategoryData("23516494", "서비스 이용방법 안내"),
+        new ConsultingCategoryData("23516530", "결제대금 안내"),
+        new ConsultingCategoryData("235165c9", "약관 안내"),
+        new ConsultingCategoryData("23516651", "상품 안내"),
+        new ConsultingCategoryData("235166ea", "도난/분실 신청/해제"),
+        new ConsultingCategoryData("23516778", "승인취소/매출취소 안내"),
+        new ConsultingCategoryData("235167ff", "선결제/즉시출금")
+    );
+
+    // 응답의 카테고리명이 카탈로그에 없을 때 사용하는 카테고리 ID ("이용내역 안내")
+    static final String DEFAULT_CATEGORY_ID = "23515d46";
+
+    private final long version;
+    private final String fingerprint;
+    private final boolean fallback;
+    private final List<ConsultingCategoryData> source;
+    private final List<ConsultingCategoryData> categories;
+    private final List<String> names;
+    private final Map<String, String> idsByName;
+    private final Map<String, String> namesById;
+    private final Map<String, String> bigCategoriesByName;
+    private final String promptFragment;
+
+    private CategoryCatalog(long version, String fingerprint, List<ConsultingCategoryData> source, boolean fallback) {
+        this.version = version;
+        this.fingerprint = fingerprint;
+        this.fallback = fallback;
+        this.source = source;
+        this.categories = List.copyOf(source);
+
+        Map<String, String> idsByName = new LinkedHashMap<>();
+        Map<String, String> namesById = new HashMap<>();
+        Map<String, String> bigCategoriesByName = new HashMap<>();
+        StringBuilder categoryList = new StringBuilder("가능한 카테고리 목록:\n");
+        for (ConsultingCategoryData category : categories) {
+            idsByName.putIfAbsent(category.getCategoryName(), category.getId());
+            namesById.putIfAbsent(category.getId(), category.getCategoryName());
+            bigCategoriesByName.putIfAbsent(category.getCategoryName(), bigCategoryName(category.getCategoryName()));
+            categoryList.append("- ").append(category.getCategoryName())
+                        .append(" (ID: ").append(category.getId()).append(")\n");
+        }
+        this.idsByName = Collections.unmodifiableMap(idsByName);
+        this.namesById = Collections.unmodifiableMap(namesById);
+        this.bigCategoriesByName = Collections.unmodifiableMap(bigCategoriesByName);
+        this.names = List.copyOf(idsByName.keySet());
+        this.promptFragment = categoryList.toString();
+    }
+
+    /**
+     * 카테고리 목록으로 스냅샷 생성
+     */
+    public static CategoryCatalog of(long version, List<ConsultingCategoryData> categories, boolean fallback) {
+        return new CategoryCatalog(version, fingerprint(categories), categories, fallback);
+    }
+
+    /**
+     * 같은 내용의 새 목록 인스턴스를 가리키는 스냅샷 (버전 유지)
+     */
+    CategoryCatalog withSource(List<ConsultingCategoryData> source, boolean fallback) {
+        return new CategoryCatalog(version, fingerprint, source, fallback);
+    }
+
+    /**
+     * 카테고리 목록 지문 (ID/이름 목록의 해시)
+     * 카테고리가 추가/변경되면 캐시 키가 달라져 이전 결과를 재사용하지 않음 (재시작해도 같은 값)
+     */
+    public static String fingerprint(List<ConsultingCategoryData> categories) {
+        String joined = categories.stream()
+            .map(category -> category.getId() + "=" + category.getCategoryName())
+            .sorted()
+            .collect(Collectors.joining("\n"));
+        return ClassificationResultCache.sha256Hex(joined).substring(0, 16);
+    }
+
+    /**
+     * 상담 카테고리명 → 대분류명 (카탈로그 밖 이름은 같은 규칙으로 계산)
+     */
+    public static String bigCategoryName(String consultingCategory) {
+        if (consultingCategory == null) {
+            return "기타";
+        }
+        
+        if (consultingCategory.contains("안내") || consultingCategory.contains("조회")) {
+            return "조회/안내";
+        } else if (consultingCategory.contains("신청") || consultingCategory.contains("해제")) {
+            return "신청/해제";
+        } else if (consultingCategory.contains("상품")) {
+            return "상품";
+        } else if (consultingCategory.contains("결제") || consultingCategory.contains("한도")) {
+            return "결제/한도";
+        } else if (consultingCategory.contains("도난") || consultingCategory.contains("분실")) {
+            return "보안";
+        } else {
+            return "기타";
+        }
+    }
+
+    /**
+     * 카탈로그 버전 (내용이 바뀔 때마다 증가)
+     */
+    public long version() {
+        return version;
+    }
+
+    public String fingerprint() {
+        return fingerprint;
+    }
+
+    /**
+     * Admin API 장애로 기본 카테고리를 사용 중인지 여부
+     */
+    public boolean isFallback() {
+        return fallback;
+    }
+
+    public List<ConsultingCategoryData> categories() {
+        return categories;
+    }
+
+    /**
+     * 중복 제거된 카테고리명 (카탈로그 순서)
+     */
+    public List<String> names() {
+        return names;
+    }
+
+    public int size() {
+        return categories.size();
+    }
+
+    /**
+     * 카테고리명 → ID (없으면 null)
+     */
+    public String idOf(String categoryName) {
+        return categoryName != null ? idsByName.get(categoryName) : null;
+    }
+
+    /**
+     * 카테고리명 → ID (없으면 기본 카테고리 ID)
+     */
+    public String idOrDefault(String categoryName) {
+        String id = idOf(categoryName);
+        return id != null ? id : DEFAULT_CATEGORY_ID;
+    }
+
+    /**
+     * 카테고리 ID → 이름 (없으면 null)
+     */
+    public String nameOf(String categoryId) {
+        return categoryId != null ? namesById.get(categoryId) : null;
+    }
+
+    public boolean containsId(String categoryId) {
+        return categoryId != null && namesById.containsKey(categoryId);
+    }
+
+    public String bigCategoryOf(String consultingCategory) {
+        String bigCategory = consultingCategory != null ? bigCategoriesByName.get(consultingCategory) : null;
+        return bigCategory != null ? bigCategory : bigCategoryName(consultingCategory);
+    }
+
+    /**
+     * 프롬프트용 카테고리 목록 ("- 이름 (ID: id)" 줄 목록)
+     */
+    public String promptFragment() {
+        return promptFragment;
+    }
+
+    List<ConsultingCategoryData> source() {
+        return source;
+    }
+}
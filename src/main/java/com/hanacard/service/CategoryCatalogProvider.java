@@ -0,0 +1,75 @@
+package com.hanacard.service;
+
+import com.hanacard.client.AdminApiClient;
+import com.hanacard.dto.ConsultingCategoryData;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * 카테고리 카탈로그 스냅샷 발행
+ * Admin API 목록(실패 시 기본 카테고리)이 바뀔 때만 새 CategoryCatalog를 만들어 AtomicReference로 교체
+ * Admin API 클라이언트가 같은 캐시 목록을 돌려주는 동안은 인스턴스 비교만으로 기존 스냅샷을 그대로 반환
+ */
+@Component
+public class CategoryCatalogProvider {
+
+    private static final Logger logger = LoggerFactory.getLogger(CategoryCatalogProvider.class);
+
+    private final AdminApiClient adminApiClient;
+    private final AtomicReference<CategoryCatalog> current = new AtomicReference<>();
+
+    public CategoryCatalogProvider(AdminApiClient adminApiClient, MeterRegistry meterRegistry) {
+        this.adminApiClient = adminApiClient;
+        Gauge.builder("classification.catalog.version", current, ref -> ref.get() != null ? ref.get().version() : 0)
+            .description("현재 카테고리 카탈로그 버전")
+            .register(meterRegistry);
+    }
+
+    /**
+     * 현재 카탈로그 (Admin API에서 조회, 실패 시 기본 카테고리)
+     */
+    public CategoryCatalog current() {
+        try {
+            return publish(adminApiClient.getConsultingCategories(), false);
+        } catch (Exception e) {
+            logger.warn("Admin API 호출 실패, 기본 카테고리 사용: {}", e.getMessage());
+            return publish(CategoryCatalog.DEFAULT_CATEGORIES, true);
+        }
+    }
+
+    /**
+     * 마지막으로 발행된 카탈로그 (Admin API를 호출하지 않음, 아직 없으면 기본 카테고리)
+     */
+    public CategoryCatalog latest() {
+        CategoryCatalog snapshot = current.get();
+        return snapshot != null ? snapshot : publish(CategoryCatalog.DEFAULT_CATEGORIES, true);
+    }
+
+    CategoryCatalog publish(List<ConsultingCategoryData> source, boolean fallback) {
+        while (true) {
+            CategoryCatalog snapshot = current.get();
+            if (snapshot != null && snapshot.source() == source) {
+                return snapshot;
+            }
+
+            // 목록 인스턴스만 바뀌고 내용이 같으면 버전 유지
+            String fingerprint = CategoryCatalog.fingerprint(source);
+            CategoryCatalog next = snapshot != null && snapshot.fingerprint().equals(fingerprint)
+                ? snapshot.withSource(source, fallback)
+                : CategoryCatalog.of(snapshot != null ? snapshot.version() + 1 : 1, source, fallback);
+            if (current.compareAndSet(snapshot, next)) {
+                if (snapshot == null || snapshot.version() != next.version()) {
+                    logger.info("카테고리 카탈로그 교체: version={}, fingerprint={}, categories={}, fallback={}",
+                               next.version(), next.fingerprint(), next.size(), fallback);
+                }
+                return next;
+            }
+        }
+    }
+}
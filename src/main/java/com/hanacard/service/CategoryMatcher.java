@@ -0,0 +1,261 @@
+package com.hanacard.service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * LLM 응답 문자열 → 카테고리 매처 (카탈로그별로 한 번 만들어 공유하는 불변 객체)
+ * 1. 정규화 형태 해시 조회 (완전 일치)
+ * 2. Aho-Corasick 오토마톤으로 응답에 포함된 카테고리명 탐색 (가장 긴 이름 우선), 응답이 카테고리명의 일부인 경우는 부분 문자열 해시 조회
+ * 3. 편집 거리 상한 내 가장 가까운 카테고리명 (오타/조사 차이 등)
+ * 정규화: 따옴표와 공백 제거
+ */
+final class CategoryMatcher {
+
+    /**
+     * 매칭 품질 (품질별 신뢰도)
+     */
+    enum Quality {
+        EXACT(0.95), CONTAINS(0.8), FUZZY(0.7), NONE(0.6);
+
+        private final double confidence;
+
+        Quality(double confidence) {
+            this.confidence = confidence;
+        }
+
+        double confidence() {
+            return confidence;
+        }
+    }
+
+    record Match(String category, Quality quality) {
+    }
+
+    // 응답이 카테고리명의 일부일 때 허용하는 최소 길이 (정규화 기준, 한 글자 응답은 매칭하지 않음)
+    private static final int MIN_PARTIAL_LENGTH = 2;
+
+    private final List<String> categories;
+    private final String defaultCategory;
+    private final String[] normalizedNames;
+    private final Map<String, Integer> exactIndex;
+    private final Map<String, Integer> partialIndex;
+    private final Automaton automaton;
+    private final int maxEditDistance;
+
+    private CategoryMatcher(List<String> categories, String defaultCategory, int maxEditDistance) {
+        this.categories = List.copyOf(categories);
+        this.defaultCategory = defaultCategory;
+        this.maxEditDistance = maxEditDistance;
+        this.normalizedNames = new String[this.categories.size()];
+        this.exactIndex = new HashMap<>();
+        this.partialIndex = new HashMap<>();
+
+        for (int i = 0; i < this.categories.size(); i++) {
+            String normalized = normalize(this.categories.get(i));
+            normalizedNames[i] = normalized;
+            exactIndex.putIfAbsent(normalized, i);
+            // 카테고리명의 모든 부분 문자열 → 처음 나오는 카테고리 (카탈로그 순서 우선, 기존 선형 탐색과 동일)
+            for (int start = 0; start < normalized.length(); start++) {
+                for (int end = start + MIN_PARTIAL_LENGTH; end <= normalized.length(); end++) {
+                    partialIndex.putIfAbsent(normalized.substring(start, end), i);
+                }
+            }
+        }
+        this.automaton = new Automaton(normalizedNames);
+    }
+
+    /**
+     * 카테고리 목록으로 매처 생성 (defaultCategory는 매칭 실패 시 반환할 카테고리)
+     */
+    static CategoryMatcher compile(List<String> categories, String defaultCategory, int maxEditDistance) {
+        return new CategoryMatcher(categories, defaultCategory, maxEditDistance);
+    }
+
+    List<String> categories() {
+        return categories;
+    }
+
+    /**
+     * 응답에서 카테고리와 매칭 품질을 한 번에 결정
+     */
+    Match match(String response) {
+        String normalized = response != null ? normalize(response) : "";
+        if (normalized.isEmpty()) {
+            return new Match(defaultCategory, Quality.NONE);
+        }
+
+        // 1. 완전 일치
+        Integer exact = exactIndex.get(normalized);
+        if (exact != null) {
+            return new Match(categories.get(exact), Quality.EXACT);
+        }
+
+        // 2. 응답 안에 카테고리명 포함 → 응답이 카테고리명의 일부
+        int contained = automaton.longestMatch(normalized, normalizedNames);
+        if (contained >= 0) {
+            return new Match(categories.get(contained), Quality.CONTAINS);
+        }
+        Integer partial = partialIndex.get(normalized);
+        if (partial != null) {
+            return new Match(categories.get(partial), Quality.CONTAINS);
+        }
+
+        // 3. 편집 거리 상한 내 가장 가까운 카테고리명
+        int nearest = -1;
+        int nearestDistance = maxEditDistance + 1;
+        for (int i = 0; i < normalizedNames.length; i++) {
+            int distance = boundedDistance(normalized, normalizedNames[i], nearestDistance - 1);
+            if (distance < nearestDistance) {
+                nearest = i;
+                nearestDistance = distance;
+            }
+        }
+        if (nearest >= 0) {
+            return new Match(categories.get(nearest), Quality.FUZZY);
+        }
+
+        return new Match(defaultCategory, Quality.NONE);
+    }
+
+    static String normalize(String text) {
+        StringBuilder normalized = new StringBuilder(text.length());
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (Character.isWhitespace(c) || c == '"' || c == '\'' || c == '“' || c == '”' || c == '‘' || c == '’') {
+                continue;
+            }
+            normalized.append(c);
+        }
+        return normalized.toString();
+    }
+
+    /**
+     * 편집 거리 (limit를 넘으면 limit + 1 반환, 대각선 띠만 계산)
+     */
+    static int boundedDistance(String a, String b, int limit) {
+        if (limit < 0 || Math.abs(a.length() - b.length()) > limit) {
+            return limit + 1;
+        }
+        int[] previous = new int[b.length() + 1];
+        int[] current = new int[b.length() + 1];
+        for (int j = 0; j <= b.length(); j++) {
+            previous[j] = j;
+        }
+        for (int i = 1; i <= a.length(); i++) {
+            int from = Math.max(1, i - limit);
+            int to = Math.min(b.length(), i + limit);
+            current[0] = i;
+            if (from > 1) {
+                current[from - 1] = limit + 1;
+            }
+            int rowMin = from == 1 ? current[0] : limit + 1;
+            for (int j = from; j <= to; j++) {
+                int substitution = previous[j - 1] + (a.charAt(i - 1) == b.charAt(j - 1) ? 0 : 1);
+                int deletion = j <= i - 1 + limit ? previous[j] + 1 : limit + 1;
+                int insertion = current[j - 1] + 1;
+                current[j] = Math.min(substitution, Math.min(deletion, insertion));
+                rowMin = Math.min(rowMin, current[j]);
+            }
+            if (to < b.length()) {
+                current[to + 1] = limit + 1;
+            }
+            if (rowMin > limit) {
+                return limit + 1;
+            }
+            int[] swap = previous;
+            previous = current;
+            current = swap;
+        }
+        return Math.min(previous[b.length()], limit + 1);
+    }
+
+    /**
+     * 카테고리명 Aho-Corasick 오토마톤 (문자 단위)
+     */
+    private static final class Automaton {
+
+        private final List<Map<Character, Integer>> children = new ArrayList<>();
+        private final List<Integer> terminal = new ArrayList<>();
+        private int[] failure;
+        private int[] outputLink;
+
+        Automaton(String[] names) {
+            newNode();
+            for (int i = 0; i < names.length; i++) {
+                int node = 0;
+                for (int k = 0; k < names[i].length(); k++) {
+                    Integer next = children.get(node).get(names[i].charAt(k));
+                    if (next == null) {
+                        next = newNode();
+                        children.get(node).put(names[i].charAt(k), next);
+                    }
+                    node = next;
+                }
+                if (terminal.get(node) < 0) {
+                    terminal.set(node, i);
+                }
+            }
+            buildLinks();
+        }
+
+        private int newNode() {
+            children.add(new HashMap<>());
+            terminal.add(-1);
+            return children.size() - 1;
+        }
+
+        private void buildLinks() {
+            failure = new int[children.size()];
+            outputLink = new int[children.size()];
+            outputLink[0] = -1;
+            int[] queue = new int[children.size()];
+            int head = 0;
+            int tail = 0;
+            for (int child : children.get(0).values()) {
+                failure[child] = 0;
+                outputLink[child] = -1;
+                queue[tail++] = child;
+            }
+            while (head < tail) {
+                int node = queue[head++];
+                for (Map.Entry<Character, Integer> edge : children.get(node).entrySet()) {
+                    int child = edge.getValue();
+                    int fallback = failure[node];
+                    while (fallback != 0 && !children.get(fallback).containsKey(edge.getKey())) {
+                        fallback = failure[fallback];
+                    }
+                    Integer target = children.get(fallback).get(edge.getKey());
+                    failure[child] = target != null && target != child ? target : 0;
+                    outputLink[child] = terminal.get(failure[child]) >= 0 ? failure[child] : outputLink[failure[child]];
+                    queue[tail++] = child;
+                }
+            }
+        }
+
+        /**
+         * text에 포함된 카테고리명 중 가장 긴 이름의 번호 (같은 길이면 카탈로그 순서 우선, 없으면 -1)
+         */
+        int longestMatch(String text, String[] names) {
+            int best = -1;
+            int node = 0;
+            for (int k = 0; k < text.length(); k++) {
+                char c = text.charAt(k);
+                while (node != 0 && !children.get(node).containsKey(c)) {
+                    node = failure[node];
+                }
+                node = children.get(node).getOrDefault(c, 0);
+                for (int output = terminal.get(node) >= 0 ? node : outputLink[node]; output > 0; output = outputLink[output]) {
+                    int candidate = terminal.get(output);
+                    if (best < 0 || names[candidate].length() > names[best].length()
+                            || (names[candidate].length() == names[best].length() && candidate < best)) {
+                        best = candidate;
+                    }
+                }
+            }
+            return best;
+        }
+    }
+}
@@ -0,0 +1,334 @@
+package com.hanacard.service;
+
+import com.hanacard.dto.ClassificationJobResponse;
+import com.hanacard.dto.ClassificationRequest;
+import com.hanacard.dto.EnhancedClassificationResponse;
+import com.hanacard.entity.ClassificationOutboxEntry;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 비동기 분류 작업 관리
+ * 요청을 작업 큐에 넣고 작업 ID를 바로 반환하며, 워커 풀이 processAndSaveConsultingContent를 실행
+ * 큐 대기 시간과 처리 시간을 따로 기록하고, 완료된 작업은 보관 시간이 지나면 제거 (인스턴스 메모리에 보관)
+ * 접수한 요청은 아웃박스에 먼저 기록하고 처리가 끝나면 확인하므로, 배포/장애로 재시작해도 기동 시 다시 처리
+ * 기동 후에도 주기적으로 임대가 만료된 다른 인스턴스의 작업을 가져와 처리
+ */
+@Service
+public class ClassificationJobService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ClassificationJobService.class);
+
+    /**
+     * 작업 상태
+     */
+    public enum Status { QUEUED, RUNNING, SUCCEEDED, FAILED }
+
+    private static final int RECOVERY_PAGE_SIZE = 500;
+    private static final long RECOVERY_RETRY_MILLIS = 100;
+
+    private final EnhancedOpenAIService enhancedOpenAIService;
+    private final TaskExecutor jobExecutor;
+    private final ClassificationOutbox outbox;
+    private final long retentionNanos;
+
+    private final ConcurrentHashMap<String, Job> jobs = new ConcurrentHashMap<>();
+    private final AtomicInteger queued = new AtomicInteger();
+    private final AtomicInteger running = new AtomicInteger();
+
+    private final MeterRegistry meterRegistry;
+    private final Timer queueWaitTimer;
+    private final Timer serviceTimer;
+
+    public ClassificationJobService(
+            EnhancedOpenAIService enhancedOpenAIService,
+            @Qualifier("classificationJobExecutor") TaskExecutor jobExecutor,
+            ClassificationOutbox outbox,
+            MeterRegistry meterRegistry,
+            @Value("${classification.jobs.retention-minutes:60}") long retentionMinutes) {
+
+        this.enhancedOpenAIService = enhancedOpenAIService;
+        this.jobExecutor = jobExecutor;
+        this.outbox = outbox;
+        this.retentionNanos = TimeUnit.MINUTES.toNanos(retentionMinutes);
+        this.meterRegistry = meterRegistry;
+
+        this.queueWaitTimer = Timer.builder("classification.jobs.queue.wait")
+            .description("작업 등록부터 워커가 실행을 시작하기까지 대기한 시간")
+            .publishPercentiles(0.5, 0.95, 0.99)
+            .register(meterRegistry);
+        this.serviceTimer = Timer.builder("classification.jobs.service.time")
+            .description("워커가 작업을 실행한 시간 (분류 + 저장)")
+            .publishPercentiles(0.5, 0.95, 0.99)
+            .register(meterRegistry);
+        Gauge.builder("classification.jobs.queue.depth", queued, AtomicInteger::get)
+            .description("실행을 기다리는 작업 수")
+            .register(meterRegistry);
+        Gauge.builder("classification.jobs.running", running, AtomicInteger::get)
+            .register(meterRegistry);
+    }
+
+    /**
+     * 작업 등록 (큐가 가득 차면 RejectedExecutionException)
+     */
+    public ClassificationJobResponse submit(ClassificationRequest request) {
+        evictExpired();
+
+        String jobId = UUID.randomUUID().toString();
+        Long outboxId;
+        try {
+            outboxId = outbox.append(jobId, request);
+        } catch (RejectedExecutionException e) {
+            meterRegistry.counter("classification.jobs", "result", "rejected").increment();
+            throw e;
+        }
+
+        Job job = new Job(jobId, request.getSourceId());
+        jobs.put(job.id, job);
+        queued.incrementAndGet();
+        try {
+            jobExecutor.execute(() -> run(job, request, outboxId));
+        } catch (RejectedExecutionException e) {
+            jobs.remove(job.id);
+            queued.decrementAndGet();
+            outbox.ack(outboxId);
+            meterRegistry.counter("classification.jobs", "result", "rejected").increment();
+            throw e;
+        }
+
+        logger.info("분류 작업 등록: jobId={}, sourceId={}, queued={}", job.id, request.getSourceId(), queued.get());
+        return job.snapshot();
+    }
+
+    /**
+     * 작업 상태 조회
+     */
+    public Optional<ClassificationJobResponse> find(String jobId) {
+        return Optional.ofNullable(jobs.get(jobId)).map(Job::snapshot);
+    }
+
+    /**
+     * 작업 완료 시 최종 상태로 완료되는 future (이미 끝났으면 완료된 future)
+     */
+    public Optional<CompletableFuture<ClassificationJobResponse>> completion(String jobId) {
+        return Optional.ofNullable(jobs.get(jobId)).map(job -> job.done);
+    }
+
+    /**
+     * 기동 시 아웃박스에 남은 작업 복구 (기동을 막지 않도록 백그라운드 실행)
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void recoverOnStartup() {
+        if (!outbox.isEnabled()) {
+            return;
+        }
+        CompletableFuture.runAsync(this::recoverPending)
+            .exceptionally(e -> {
+                logger.warn("분류 작업 복구 실패: {}", e.getMessage());
+                return null;
+            });
+    }
+
+    /**
+     * 처리하던 인스턴스가 사라져 임대가 만료된 작업 주기 복구
+     */
+    @Scheduled(initialDelayString = "${classification.outbox.recovery-interval-seconds:60}",
+               fixedDelayString = "${classification.outbox.recovery-interval-seconds:60}",
+               timeUnit = TimeUnit.SECONDS)
+    public void recoverStale() {
+        if (!outbox.isEnabled()) {
+            return;
+        }
+        try {
+            recoverPending();
+        } catch (Exception e) {
+            logger.warn("분류 작업 복구 실패: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * 임대가 만료된 작업을 가져와 같은 작업 ID로 다시 실행 (작업 큐가 차면 빌 때까지 기다리며 순서대로 등록)
+     * 여러 인스턴스가 동시에 복구해도 claim에 성공한 한 곳만 실행
+     */
+    public synchronized int recoverPending() {
+        int recovered = 0;
+        long lastId = 0;
+        List<ClassificationOutboxEntry> page;
+        do {
+            page = outbox.staleAfter(lastId, RECOVERY_PAGE_SIZE);
+            for (ClassificationOutboxEntry entry : page) {
+                lastId = entry.getId();
+                if (!outbox.claim(entry)) {
+                    continue;
+                }
+                ClassificationRequest request;
+                try {
+                    request = outbox.readRequest(entry);
+                } catch (Exception e) {
+                    logger.warn("복구할 수 없는 작업 삭제: outboxId={}, error={}", entry.getId(), e.getMessage());
+                    outbox.ack(entry.getId());
+                    continue;
+                }
+
+                Job job = new Job(entry.getJobId(), entry.getSourceId());
+                jobs.put(job.id, job);
+                queued.incrementAndGet();
+                while (true) {
+                    try {
+                        jobExecutor.execute(() -> run(job, request, entry.getId()));
+                        break;
+                    } catch (RejectedExecutionException e) {
+                        if (!sleepBeforeRetry()) {
+                            // 중단되면 남은 작업은 아웃박스에 그대로 두고 다음 기동 때 복구
+                            jobs.remove(job.id);
+                            queued.decrementAndGet();
+                            return recovered;
+                        }
+                    }
+                }
+                recovered++;
+            }
+        } while (page.size() == RECOVERY_PAGE_SIZE);
+
+        if (recovered > 0) {
+            meterRegistry.counter("classification.jobs", "result", "recovered").increment(recovered);
+            logger.info("미처리 분류 작업 복구: {}건", recovered);
+        }
+        return recovered;
+    }
+
+    private static boolean sleepBeforeRetry() {
+        try {
+            Thread.sleep(RECOVERY_RETRY_MILLIS);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private void run(Job job, ClassificationRequest request, Long outboxId) {
+        long queueWait = job.start();
+        queued.decrementAndGet();
+        running.incrementAndGet();
+        queueWaitTimer.record(queueWait, TimeUnit.NANOSECONDS);
+
+        try {
+            job.succeed(enhancedOpenAIService.processAndSaveConsultingContent(request));
+            meterRegistry.counter("classification.jobs", "result", "succeeded").increment();
+        } catch (Exception e) {
+            logger.warn("분류 작업 실패: jobId={}, sourceId={}, error={}", job.id, job.sourceId, e.getMessage());
+            job.fail(e.getMessage());
+            meterRegistry.counter("classification.jobs", "result", "failed").increment();
+        } finally {
+            running.decrementAndGet();
+            serviceTimer.record(job.serviceNanos(), TimeUnit.NANOSECONDS);
+            // 실패한 작업도 결과(FAILED)를 돌려줬으므로 확인 처리 (재시작마다 같은 실패를 반복하지 않도록)
+            outbox.ack(outboxId);
+            job.done.complete(job.snapshot());
+        }
+    }
+
+    /**
+     * 보관 시간이 지난 완료 작업 제거
+     */
+    private void evictExpired() {
+        long now = System.nanoTime();
+        jobs.values().removeIf(job -> job.isExpired(now, retentionNanos));
+    }
+
+    /**
+     * 작업 상태 (워커 스레드가 갱신하고 요청 스레드가 조회하므로 동기화)
+     */
+    private static class Job {
+
+        private final String id;
+        private final String sourceId;
+        private final LocalDateTime submittedAt = LocalDateTime.now();
+        private final long submittedNanos = System.nanoTime();
+        private final CompletableFuture<ClassificationJobResponse> done = new CompletableFuture<>();
+
+        private Status status = Status.QUEUED;
+        private LocalDateTime startedAt;
+        private LocalDateTime completedAt;
+        private long startedNanos;
+        private long completedNanos;
+        private EnhancedClassificationResponse result;
+        private String error;
+
+        Job(String id, String sourceId) {
+            this.id = id;
+            this.sourceId = sourceId;
+        }
+
+        synchronized long start() {
+            status = Status.RUNNING;
+            startedAt = LocalDateTime.now();
+            startedNanos = System.nanoTime();
+            return startedNanos - submittedNanos;
+        }
+
+        synchronized void succeed(EnhancedClassificationResponse response) {
+            result = response;
+            complete(Status.SUCCEEDED);
+        }
+
+        synchronized void fail(String message) {
+            error = message;
+            complete(Status.FAILED);
+        }
+
+        private void complete(Status finalStatus) {
+            status = finalStatus;
+            completedAt = LocalDateTime.now();
+            completedNanos = System.nanoTime();
+        }
+
+        synchronized long serviceNanos() {
+            return completedNanos - startedNanos;
+        }
+
+        synchronized boolean isExpired(long now, long retentionNanos) {
+            return completedAt != null && now - completedNanos > retentionNanos;
+        }
+
+        synchronized ClassificationJobResponse snapshot() {
+            ClassificationJobResponse response = new ClassificationJobResponse();
+            response.setJobId(id);
+            response.setStatus(status.name());
+            response.setSourceId(sourceId);
+            response.setSubmittedAt(submittedAt);
+            response.setStartedAt(startedAt);
+            response.setCompletedAt(completedAt);
+            if (startedAt != null) {
+                response.setQueueWaitMillis(TimeUnit.NANOSECONDS.toMillis(startedNanos - submittedNanos));
+            }
+            if (completedAt != null) {
+                response.setServiceTimeMillis(TimeUnit.NANOSECONDS.toMillis(completedNanos - startedNanos));
+            }
+            response.setResult(result);
+            response.setError(error);
+            return response;
+        }
+    }
+}
@@ -0,0 +1,284 @@
+package com.hanacard.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hanacard.dto.ClassificationRequest;
+import com.hanacard.entity.ClassificationOutboxEntry;
+import com.hanacard.repository.ClassificationOutboxRepository;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * 분류 작업 아웃박스 (voc_classification_outbox)
+ * 접수한 요청을 DB에 기록한 뒤에 작업 ID를 반환하고, voc_normalized 저장이 끝나면 확인(ack)하여 삭제
+ * 기록과 삭제는 전용 스레드 하나가 모아서 한 트랜잭션으로 커밋 (그룹 커밋, 요청마다 커밋하지 않음)
+ * 커밋이 진행되는 동안 들어온 요청은 다음 커밋에 함께 묶이므로 유입량이 많을수록 커밋당 건수가 늘어남
+ * 각 행은 처리 중인 인스턴스가 임대(claimed_at)를 주기적으로 갱신하며, 갱신이 멈춘 행은 어느 인스턴스든 가져가 복구
+ * (호스트명이 바뀌는 컨테이너 재생성 후에도 이전 인스턴스의 작업이 남지 않도록 owner가 아닌 임대 기준)
+ */
+@Component
+public class ClassificationOutbox {
+
+    private static final Logger logger = LoggerFactory.getLogger(ClassificationOutbox.class);
+
+    // 기록할 요청이 없을 때 확인(ack) 삭제를 모아두는 최대 시간
+    private static final long ACK_FLUSH_MILLIS = 50;
+
+    private final ClassificationOutboxRepository repository;
+    private final ObjectMapper objectMapper;
+    private final boolean enabled;
+    private final String owner;
+    private final int batchSize;
+    private final long appendTimeoutMillis;
+    private final Duration leaseTimeout;
+    private final long leaseRenewNanos;
+    private long lastLeaseRenewNanos = System.nanoTime();
+
+    private final BlockingQueue<PendingAppend> appends = new LinkedBlockingQueue<>();
+    private final BlockingQueue<Long> acks = new LinkedBlockingQueue<>();
+    private final Thread writer;
+    private volatile boolean running = true;
+
+    private final Timer commitTimer;
+    private final DistributionSummary commitSize;
+
+    public ClassificationOutbox(
+            ClassificationOutboxRepository repository,
+            ObjectMapper objectMapper,
+            MeterRegistry meterRegistry,
+            @Value("${classification.outbox.enabled:true}") boolean enabled,
+            @Value("${classification.outbox.owner:${HOSTNAME:local}}") String owner,
+            @Value("${classification.outbox.batch-size:500}") int batchSize,
+            @Value("${classification.outbox.append-timeout-millis:5000}") long appendTimeoutMillis,
+            @Value("${classification.outbox.lease-timeout-seconds:120}") long leaseTimeoutSeconds) {
+
+        this.repository = repository;
+        this.objectMapper = objectMapper;
+        this.enabled = enabled;
+        // 같은 이름으로 재시작해도 이전 기동의 행을 계속 갱신하지 않도록 기동마다 구분
+        this.owner = owner + "-" + UUID.randomUUID().toString().substring(0, 8);
+        this.batchSize = Math.max(1, batchSize);
+        this.appendTimeoutMillis = appendTimeoutMillis;
+        this.leaseTimeout = Duration.ofSeconds(leaseTimeoutSeconds);
+        // 임대 만료 전에 여러 번 갱신하도록 만료 시간의 1/3 간격
+        this.leaseRenewNanos = leaseTimeout.toNanos() / 3;
+
+        this.commitTimer = Timer.builder("classification.outbox.commit.time")
+            .description("아웃박스 그룹 커밋 시간")
+            .register(meterRegistry);
+        this.commitSize = DistributionSummary.builder("classification.outbox.commit.size")
+            .description("그룹 커밋 한 번에 기록한 요청 수")
+            .register(meterRegistry);
+        Gauge.builder("classification.outbox.pending.appends", appends, BlockingQueue::size)
+            .description("다음 그룹 커밋을 기다리는 기록 요청 수")
+            .register(meterRegistry);
+        Gauge.builder("classification.outbox.pending.acks", acks, BlockingQueue::size)
+            .description("삭제 대기 중인 확인(ack) 수")
+            .register(meterRegistry);
+
+        this.writer = new Thread(this::writeLoop, "Classify-Outbox");
+        this.writer.setDaemon(true);
+        if (enabled) {
+            this.writer.start();
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public String getOwner() {
+        return owner;
+    }
+
+    /**
+     * 요청 기록 (커밋될 때까지 대기, 비활성화 시 null)
+     * 기록하지 못하면 RejectedExecutionException (작업을 접수하지 않은 것으로 처리)
+     */
+    public Long append(String jobId, ClassificationRequest request) {
+        if (!enabled) {
+            return null;
+        }
+
+        ClassificationOutboxEntry entry;
+        try {
+            entry = new ClassificationOutboxEntry(jobId, owner, request.getSourceId(),
+                                                  objectMapper.writeValueAsString(request));
+        } catch (JsonProcessingException e) {
+            throw new RejectedExecutionException("작업 저장소 기록 실패: " + e.getMessage(), e);
+        }
+
+        PendingAppend pending = new PendingAppend(entry, new CompletableFuture<>());
+        appends.add(pending);
+        try {
+            return pending.committed().get(appendTimeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            // 늦게 커밋되더라도 접수하지 않은 작업이므로 바로 삭제
+            pending.committed().thenAccept(this::ack);
+            throw new RejectedExecutionException("작업 저장소 기록 시간 초과", e);
+        } catch (ExecutionException e) {
+            throw new RejectedExecutionException("작업 저장소 기록 실패: " + e.getCause().getMessage(), e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            pending.committed().thenAccept(this::ack);
+            throw new RejectedExecutionException("작업 저장소 기록 중단", e);
+        }
+    }
+
+    /**
+     * 처리 완료 확인 (다음 그룹 커밋에서 함께 삭제)
+     */
+    public void ack(Long outboxId) {
+        if (enabled && outboxId != null) {
+            acks.add(outboxId);
+        }
+    }
+
+    /**
+     * 임대가 만료된(처리하던 인스턴스가 사라진) 요청 조회 (id 순 키셋 페이지)
+     */
+    public List<ClassificationOutboxEntry> staleAfter(long afterId, int limit) {
+        return repository.findByClaimedAtBeforeAndIdGreaterThanOrderByIdAsc(
+            LocalDateTime.now().minus(leaseTimeout), afterId, PageRequest.of(0, limit));
+    }
+
+    /**
+     * 만료된 요청을 이 인스턴스로 가져오기 (다른 인스턴스가 먼저 가져갔으면 false)
+     */
+    public boolean claim(ClassificationOutboxEntry entry) {
+        LocalDateTime now = LocalDateTime.now();
+        if (repository.claim(entry.getId(), owner, now, now.minus(leaseTimeout)) != 1) {
+            return false;
+        }
+        entry.setOwner(owner);
+        entry.setClaimedAt(now);
+        return true;
+    }
+
+    /**
+     * 기록된 요청 복원
+     */
+    public ClassificationRequest readRequest(ClassificationOutboxEntry entry) throws JsonProcessingException {
+        return objectMapper.readValue(entry.getPayload(), ClassificationRequest.class);
+    }
+
+    private void writeLoop() {
+        List<PendingAppend> batch = new ArrayList<>();
+        List<Long> acked = new ArrayList<>();
+
+        while (running || !appends.isEmpty() || !acks.isEmpty()) {
+            try {
+                PendingAppend first = appends.poll(ACK_FLUSH_MILLIS, TimeUnit.MILLISECONDS);
+                if (first != null) {
+                    batch.add(first);
+                    appends.drainTo(batch, batchSize - 1);
+                    commitAppends(batch);
+                    batch.clear();
+                }
+
+                acks.drainTo(acked, batchSize);
+                if (!acked.isEmpty()) {
+                    deleteAcked(acked);
+                    acked.clear();
+                }
+
+                renewLeaseIfDue();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+    }
+
+    /**
+     * 모인 요청을 한 트랜잭션으로 기록 (saveAll)
+     */
+    private void commitAppends(List<PendingAppend> batch) {
+        List<ClassificationOutboxEntry> entries = new ArrayList<>(batch.size());
+        for (PendingAppend pending : batch) {
+            entries.add(pending.entry());
+        }
+
+        long startTime = System.nanoTime();
+        try {
+            repository.saveAll(entries);
+            commitTimer.record(System.nanoTime() - startTime, TimeUnit.NANOSECONDS);
+            commitSize.record(batch.size());
+            for (PendingAppend pending : batch) {
+                pending.committed().complete(pending.entry().getId());
+            }
+        } catch (Exception e) {
+            logger.warn("아웃박스 기록 실패: {}건, error={}", batch.size(), e.getMessage());
+            for (PendingAppend pending : batch) {
+                pending.committed().completeExceptionally(e);
+            }
+        }
+    }
+
+    /**
+     * 확인된 요청을 한 번에 삭제 (실패 시 남겨두면 재시작 때 다시 처리되므로 경고만 기록)
+     */
+    private void deleteAcked(List<Long> acked) {
+        try {
+            repository.deleteAllByIdInBatch(acked);
+        } catch (Exception e) {
+            logger.warn("아웃박스 확인 삭제 실패: {}건, error={}", acked.size(), e.getMessage());
+        }
+    }
+
+    /**
+     * 처리 중인 요청의 임대 갱신 (실패해도 다음 주기에 재시도, 만료 전까지 여러 번 기회가 있음)
+     */
+    private void renewLeaseIfDue() {
+        long now = System.nanoTime();
+        if (now - lastLeaseRenewNanos < leaseRenewNanos) {
+            return;
+        }
+        lastLeaseRenewNanos = now;
+        try {
+            repository.renewLease(owner, LocalDateTime.now());
+        } catch (Exception e) {
+            logger.warn("아웃박스 임대 갱신 실패: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * 종료 시 남은 기록/삭제를 마저 커밋
+     */
+    @PreDestroy
+    public void shutdown() {
+        running = false;
+        if (!writer.isAlive()) {
+            return;
+        }
+        try {
+            writer.join(TimeUnit.SECONDS.toMillis(10));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private record PendingAppend(ClassificationOutboxEntry entry, CompletableFuture<Long> committed) {
+    }
+}
@@ -0,0 +1,255 @@
+package com.hanacard.service;
+
+import com.hanacard.entity.ClassificationCacheEntry;
+import com.hanacard.repository.ClassificationCacheRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.text.Normalizer;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+/**
+ * 상담 내용 해시 기반 2단계 분류 결과 캐시
+ * 1차: 프로세스 내 LRU + TTL, 2차: voc_classification_cache 테이블 (재시작/레플리카 간 공유)
+ * 키는 정규화된 consulting_content + 카테고리 카탈로그 버전
+ */
+@Component
+public class ClassificationResultCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(ClassificationResultCache.class);
+
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    private final ClassificationCacheRepository cacheRepository;
+    private final boolean enabled;
+    private final boolean persistentEnabled;
+    private final int maxSize;
+    private final Duration memoryTtl;
+    private final Duration persistentTtl;
+
+    // 접근 순서 LinkedHashMap (LRU), 동기화하여 사용
+    private final LinkedHashMap<String, MemoryEntry> memory;
+
+    private final Counter memoryHits;
+    private final Counter memoryMisses;
+    private final Counter persistentHits;
+    private final Counter persistentMisses;
+    private final Counter sizeEvictions;
+    private final Counter expiredEvictions;
+
+    public ClassificationResultCache(
+            ClassificationCacheRepository cacheRepository,
+            MeterRegistry meterRegistry,
+            @Value("${classification.cache.enabled:true}") boolean enabled,
+            @Value("${classification.cache.persistent-enabled:true}") boolean persistentEnabled,
+            @Value("${classification.cache.max-size:10000}") int maxSize,
+            @Value("${classification.cache.memory-ttl-minutes:60}") long memoryTtlMinutes,
+            @Value("${classification.cache.persistent-ttl-hours:720}") long persistentTtlHours) {
+
+        this.cacheRepository = cacheRepository;
+        this.enabled = enabled;
+        this.persistentEnabled = persistentEnabled;
+        this.maxSize = maxSize;
+        this.memoryTtl = Duration.ofMinutes(memoryTtlMinutes);
+        this.persistentTtl = Duration.ofHours(persistentTtlHours);
+
+        this.memoryHits = cacheCounter(meterRegistry, "memory", "hit");
+        this.memoryMisses = cacheCounter(meterRegistry, "memory", "miss");
+        this.persistentHits = cacheCounter(meterRegistry, "persistent", "hit");
+        this.persistentMisses = cacheCounter(meterRegistry, "persistent", "miss");
+        this.sizeEvictions = Counter.builder("classification.cache.evictions")
+            .tag("cause", "size").register(meterRegistry);
+        this.expiredEvictions = Counter.builder("classification.cache.evictions")
+            .tag("cause", "expired").register(meterRegistry);
+
+        this.memory = new LinkedHashMap<>(256, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, MemoryEntry> eldest) {
+                if (size() > ClassificationResultCache.this.maxSize) {
+                    sizeEvictions.increment();
+                    return true;
+                }
+                return false;
+            }
+        };
+
+        Gauge.builder("classification.cache.size", this, ClassificationResultCache::memorySize)
+            .description("1차(메모리) 분류 결과 캐시 항목 수")
+            .register(meterRegistry);
+
+        logger.info("분류 결과 캐시 초기화: enabled={}, persistent={}, maxSize={}, memoryTtl={}m, persistentTtl={}h",
+                   enabled, persistentEnabled, maxSize, memoryTtlMinutes, persistentTtlHours);
+    }
+
+    /**
+     * 캐시된 analysis_result JSON 조회 (1차 → 2차 순)
+     */
+    public Optional<String> get(String consultingContent, String catalogVersion) {
+        if (!enabled) {
+            return Optional.empty();
+        }
+
+        String key = cacheKey(consultingContent, catalogVersion);
+
+        // 1. 메모리 캐시
+        synchronized (memory) {
+            MemoryEntry entry = memory.get(key);
+            if (entry != null) {
+                if (entry.expiresAt() > System.nanoTime()) {
+                    memoryHits.increment();
+                    return Optional.of(entry.analysisResult());
+                }
+                memory.remove(key);
+                expiredEvictions.increment();
+            }
+        }
+        memoryMisses.increment();
+
+        if (!persistentEnabled) {
+            return Optional.empty();
+        }
+
+        // 2. 영속 캐시
+        try {
+            Optional<ClassificationCacheEntry> stored = cacheRepository.findById(key);
+            if (stored.isEmpty()) {
+                persistentMisses.increment();
+                return Optional.empty();
+            }
+
+            ClassificationCacheEntry entry = stored.get();
+            LocalDateTime now = LocalDateTime.now();
+            if (entry.getCreatedAt() != null && entry.getCreatedAt().plus(persistentTtl).isBefore(now)) {
+                cacheRepository.deleteById(key);
+                expiredEvictions.increment();
+                persistentMisses.increment();
+                return Optional.empty();
+            }
+
+            persistentHits.increment();
+            cacheRepository.recordHit(key, now);
+            putInMemory(key, entry.getAnalysisResult());
+            return Optional.of(entry.getAnalysisResult());
+
+        } catch (Exception e) {
+            // 캐시 장애가 분류를 막지 않도록 미스로 처리
+            logger.warn("영속 캐시 조회 실패: {}", e.getMessage());
+            persistentMisses.increment();
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * 분류 결과 저장 (1차 + 2차)
+     */
+    public void put(String consultingContent, String catalogVersion,
+                    String category, String categoryId, String analysisResult) {
+        if (!enabled) {
+            return;
+        }
+
+        String key = cacheKey(consultingContent, catalogVersion);
+        putInMemory(key, analysisResult);
+
+        if (!persistentEnabled) {
+            return;
+        }
+
+        try {
+            // 이미 있는 키(다른 레플리카가 먼저 저장 등)는 그대로 두어 만료 시각과 적중 수 유지
+            cacheRepository.insertIfAbsent(key, catalogVersion, category, categoryId, analysisResult, LocalDateTime.now());
+        } catch (Exception e) {
+            // 분류 결과에는 영향 없음
+            logger.debug("영속 캐시 저장 실패: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * 만료된 영속 캐시 행 주기 정리 (조회되지 않는 만료 행이 테이블에 쌓이지 않도록)
+     */
+    @Scheduled(initialDelayString = "${classification.cache.purge-interval-minutes:60}",
+               fixedDelayString = "${classification.cache.purge-interval-minutes:60}",
+               timeUnit = TimeUnit.MINUTES)
+    public void purgeExpired() {
+        if (!enabled || !persistentEnabled) {
+            return;
+        }
+        try {
+            int deleted = cacheRepository.deleteExpired(LocalDateTime.now().minus(persistentTtl));
+            if (deleted > 0) {
+                expiredEvictions.increment(deleted);
+                logger.info("만료된 영속 캐시 정리: {}건", deleted);
+            }
+        } catch (Exception e) {
+            logger.warn("영속 캐시 정리 실패: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * 1차 캐시 항목 수
+     */
+    public int memorySize() {
+        synchronized (memory) {
+            return memory.size();
+        }
+    }
+
+    private void putInMemory(String key, String analysisResult) {
+        long expiresAt = System.nanoTime() + memoryTtl.toNanos();
+        synchronized (memory) {
+            memory.put(key, new MemoryEntry(analysisResult, expiresAt));
+        }
+    }
+
+    /**
+     * 캐시 키 생성: SHA-256(카탈로그 버전 + 정규화된 상담 내용)
+     */
+    public static String cacheKey(String consultingContent, String catalogVersion) {
+        return sha256Hex(catalogVersion + "\n" + normalize(consultingContent));
+    }
+
+    /**
+     * 상담 내용 정규화 (유니코드 NFC, 공백 축약, 앞뒤 공백 제거)
+     */
+    public static String normalize(String consultingContent) {
+        if (consultingContent == null) {
+            return "";
+        }
+        String nfc = Normalizer.normalize(consultingContent, Normalizer.Form.NFC);
+        return WHITESPACE.matcher(nfc).replaceAll(" ").trim();
+    }
+
+    static String sha256Hex(String value) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(value.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 알고리즘을 사용할 수 없습니다.", e);
+        }
+    }
+
+    private static Counter cacheCounter(MeterRegistry meterRegistry, String tier, String result) {
+        return Counter.builder("classification.cache.requests")
+            .tag("tier", tier)
+            .tag("result", result)
+            .register(meterRegistry);
+    }
+
+    private record MemoryEntry(String analysisResult, long expiresAt) {}
+}
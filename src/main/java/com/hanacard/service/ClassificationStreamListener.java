@@ -0,0 +1,30 @@
+package com.hanacard.service;
+
+import com.hanacard.dto.EnhancedClassificationResponse;
+
+/**
+ * 스트리밍 분류 진행 이벤트 수신자
+ * 분류 → 분석 → 완료(저장) 순으로 호출되며, 실패 시 onError만 호출
+ */
+public interface ClassificationStreamListener {
+
+    /**
+     * 분류 블록 완성 (LLM 생성 도중 호출)
+     */
+    void onClassification(EnhancedClassificationResponse.ClassificationInfo classification);
+
+    /**
+     * 분석 블록 완성
+     */
+    void onAnalysis(EnhancedClassificationResponse.AnalysisInfo analysis);
+
+    /**
+     * 저장까지 완료된 최종 결과
+     */
+    void onComplete(EnhancedClassificationResponse response);
+
+    /**
+     * 처리 실패
+     */
+    void onError(Throwable error);
+}
@@ -2,30 +2,51 @@ package com.hanacard.service;
 
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
-import com.hanacard.client.AdminApiClient;
 import com.hanacard.client.DashboardApiClient;
+import com.hanacard.client.OpenAIApiClient;
+import com.hanacard.client.OpenAIUnavailableException;
+import com.hanacard.client.TokenEstimator;
 import com.hanacard.dto.AnalysisResult;
+import com.hanacard.dto.BatchClassificationResponse;
 import com.hanacard.dto.ClassificationRequest;
-import com.hanacard.dto.ConsultingCategoryData;
 import com.hanacard.dto.EnhancedClassificationResponse;
 import com.hanacard.entity.ConsultingClassification;
 import com.hanacard.repository.ConsultingClassificationRepository;
 import com.theokanning.openai.completion.chat.ChatCompletionRequest;
+import com.theokanning.openai.completion.chat.ChatCompletionResult;
 import com.theokanning.openai.completion.chat.ChatMessage;
-import com.theokanning.openai.service.OpenAiService;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 
-import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.ArrayList;
 import java.util.Map;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Comparator;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
 
 /**
  * 향상된 OpenAI 서비스
@@ -38,9 +59,6 @@ public class EnhancedOpenAIService {
     
     private static final Logger logger = LoggerFactory.getLogger(EnhancedOpenAIService.class);
     
-    @Value("${openai.api.key}")
-    private String apiKey;
-    
     @Value("${openai.model:gpt-4o-mini}")
     private String model;
     
@@ -48,13 +66,109 @@ public class EnhancedOpenAIService {
     private ConsultingClassificationRepository repository;
     
     @Autowired
-    private AdminApiClient adminApiClient;
+    private CategoryCatalogProvider catalogProvider;
     
     @Autowired
     private DashboardApiClient dashboardApiClient;
     
+    @Autowired
+    private OpenAIApiClient openAIApiClient;
+    
+    @Autowired
+    private TokenEstimator tokenEstimator;
+    
+    @Autowired
+    private ClassificationResultCache resultCache;
+    
+    @Autowired
+    private NearDuplicateIndex nearDuplicateIndex;
+    
+    @Autowired
+    private LocalCategoryClassifier localClassifier;
+    
+    @Autowired
+    private FallbackCategoryClassifier fallbackClassifier;
+    
+    @Autowired
+    private OpenAIService openAIService;
+    
+    @Autowired
+    private EnhancedPromptTemplates promptTemplates;
+    
+    @Autowired
+    private TranscriptCompactor transcriptCompactor;
+    
+    @Autowired
+    private MeterRegistry meterRegistry;
+    
+    @Autowired
+    private Validator validator;
+    
+    @Autowired
+    @Qualifier("classificationExecutor")
+    private TaskExecutor classificationExecutor;
+    
+    @Autowired
+    @Qualifier("classificationForkExecutor")
+    private TaskExecutor classificationForkExecutor;
+    
+    @Value("${classification.batch.max-size:500}")
+    private int batchMaxSize;
+    
+    @Value("${classification.packing.enabled:false}")
+    private boolean packingEnabled;
+    
+    @Value("${classification.packing.max-consulting-length:300}")
+    private int packingMaxConsultingLength;
+    
+    @Value("${classification.packing.token-budget:3000}")
+    private int packingTokenBudget;
+    
+    @Value("${classification.packing.max-items:10}")
+    private int packingMaxItems;
+    
+    @Value("${classification.packing.output-tokens-per-item:400}")
+    private int packingOutputTokensPerItem;
+    
+    @Value("${classification.packing.max-output-tokens:8000}")
+    private int packingMaxOutputTokens;
+    
+    // 압축 출력 형식(짧은 키 + 카탈로그 번호, JSON 스키마 강제)으로 보낼 단건 분류 비율 (0: 기존 형식만, 1: 압축 형식만)
+    @Value("${classification.output.compact-ratio:0.0}")
+    private double compactOutputRatio;
+    
+    @Value("${classification.output.compact.max-tokens:600}")
+    private int compactMaxTokens;
+    
+    @Value("${classification.cascade.enabled:false}")
+    private boolean cascadeEnabled;
+    
+    // 짧은 프롬프트 응답 → 카테고리명 매칭 품질 기준 (모델 확신도가 아님)
+    // CategoryMatcher 품질별 값: 완전 일치 0.95, 포함 0.8, 편집 거리 0.7, 매칭 없음 0.6
+    @Value("${classification.cascade.match-quality-threshold:0.9}")
+    private double cascadeMatchQualityThreshold;
+    
+    @Value("${classification.single-flight.enabled:true}")
+    private boolean singleFlightEnabled;
+    
+    @Value("${classification.idempotency.enabled:false}")
+    private boolean idempotencyEnabled;
+    
     private final ObjectMapper objectMapper = new ObjectMapper();
     
+    // LLM 응답 단일 패스 파싱/analysis_result 직렬화 (미리 만든 ObjectReader/ObjectWriter 재사용)
+    private final LlmResponseParser responseParser = new LlmResponseParser(objectMapper);
+    
+    // 동일 source_id(+내용) 처리/동일 내용 분류의 동시 요청 병합
+    private SingleFlight<String, EnhancedClassificationResponse> sourceFlight;
+    private SingleFlight<String, EnhancedClassificationResponse> contentFlight;
+    
+    @PostConstruct
+    void initSingleFlight() {
+        this.sourceFlight = new SingleFlight<>("source_id", meterRegistry);
+        this.contentFlight = new SingleFlight<>("content", meterRegistry);
+    }
+    
     /**
      * 상담 내용을 향상된 방식으로 처리하고 저장
      * 임시로 데이터베이스 저장 비활성화
@@ -62,46 +176,11 @@ public class EnhancedOpenAIService {
     public EnhancedClassificationResponse processAndSaveConsultingContent(
             ClassificationRequest request) {
         
-        long startTime = System.currentTimeMillis();
-        
         try {
-            logger.info("향상된 상담 처리 시작: sourceId={}, contentLength={}", 
-                       request.getSourceId(), request.getConsultingContent().length());
-            
-            // 1. Admin API에서 동적 카테고리 조회
-            List<ConsultingCategoryData> categories;
-            try {
-                categories = adminApiClient.getConsultingCategories();
-                logger.info("Admin API에서 카테고리 조회 성공: {}건", categories.size());
-            } catch (Exception e) {
-                logger.warn("Admin API 호출 실패, 기본 카테고리 사용: {}", e.getMessage());
-                categories = getDefaultCategories();
-                logger.info("기본 카테고리 {}건 사용 (폴백 모드)", categories.size());
-            }
-            
-            // 2. 동적 카테고리로 향상된 프롬프트 생성
-            String prompt = buildEnhancedPromptWithDynamicCategories(request.getConsultingContent(), categories);
-            String openAIResponse = callOpenAI(prompt);
-            
-            // 3. OpenAI 응답 파싱 (category_id 포함)
-            EnhancedClassificationResponse response = parseEnhancedResponseWithCategoryId(openAIResponse, categories);
-            
-            // 4. 기본 정보 설정
-            response.setSourceId(request.getSourceId());
-            response.setConsultingContent(request.getConsultingContent());
-            response.setConsultingDate(request.getConsultingDate());
-            
-            // 5. 처리 시간 계산
-            double processingTime = (System.currentTimeMillis() - startTime) / 1000.0;
-            response.setProcessingTime(processingTime);
-            
-            // 6. 데이터베이스 저장
-            ConsultingClassification entity = mapToEntity(response, request);
-            entity.setCreatedAt(LocalDateTime.now());
-            entity.setUpdatedAt(LocalDateTime.now());
-            ConsultingClassification savedEntity = repository.save(entity);
-            response.setId(savedEntity.getId());
-            response.setCreatedAt(savedEntity.getCreatedAt());
+            // 1~6. 분류 + 분석 + 저장 (재시도/중복 웹훅으로 동시에 들어온 같은 source_id는 한 번만 처리)
+            EnhancedClassificationResponse response = singleFlightEnabled
+                ? sourceFlight.execute(request.getSourceId() + "\n" + contentHash(request), () -> classifyAndSave(request))
+                : classifyAndSave(request);
             
             // 7. Dashboard로 데이터 전송 (비동기) - 임시 비활성화
             /*
@@ -117,7 +196,7 @@ public class EnhancedOpenAIService {
                        response.getId(), 
                        response.getClassification().getCategory(),
                        response.getClassification().getConfidence(), 
-                       processingTime);
+                       response.getProcessingTime());
             
             return response;
             
@@ -128,190 +207,993 @@ public class EnhancedOpenAIService {
     }
     
     /**
-     * 기본 카테고리 목록 반환 (테스트용)
+     * 분류 + 분석 후 저장
+     * 카테고리 조회와 멱등성 확인은 서로 독립이므로 함께 실행 (가상 스레드 모드에서만 병렬)
      */
-    private List<ConsultingCategoryData> getDefaultCategories() {
-        List<ConsultingCategoryData> categories = new ArrayList<>();
+    private EnhancedClassificationResponse classifyAndSave(ClassificationRequest request) {
+        CategoryCatalog catalog;
+        Optional<ConsultingClassification> processed;
+        try (StructuredScope scope = new StructuredScope(classificationForkExecutor)) {
+            Supplier<CategoryCatalog> catalogTask = scope.fork(this::getCatalog);
+            Supplier<Optional<ConsultingClassification>> processedTask = scope.fork(() -> findProcessed(request));
+            scope.join();
+            catalog = catalogTask.get();
+            processed = processedTask.get();
+        }
         
-        categories.add(new ConsultingCategoryData("23515d46", "이용내역 안내"));
-        categories.add(new ConsultingCategoryData("23516275", "한도 안내"));
-        categories.add(new ConsultingCategoryData("235163f1", "가상계좌 안내"));
-        categories.add(new ConsultingCategoryData("23516494", "서비스 이용방법 안내"));
-        categories.add(new ConsultingCategoryData("23516530", "결제대금 안내"));
-        categories.add(new ConsultingCategoryData("235165c9", "약관 안내"));
-        categories.add(new ConsultingCategoryData("23516651", "상품 안내"));
-        categories.add(new ConsultingCategoryData("235166ea", "도난/분실 신청/해제"));
-        categories.add(new ConsultingCategoryData("23516778", "승인취소/매출취소 안내"));
-        categories.add(new ConsultingCategoryData("235167ff", "선결제/즉시출금"));
+        // 같은 source_id/내용이 이미 저장되어 있으면 (웹훅 재전송 등) 다시 분류하지 않고 저장된 결과 반환
+        if (processed.isPresent()) {
+            EnhancedClassificationResponse response = toResponse(processed.get(), request);
+            if (response != null) {
+                logger.info("이미 처리된 상담 재요청: sourceId={}, id={}", request.getSourceId(), response.getId());
+                return response;
+            }
+        }
         
-        return categories;
+        EnhancedClassificationResponse response = classifyConsultingContent(request, catalog);
+        saveResponse(response, request);
+        return response;
     }
     
+    /**
+     * 같은 source_id로 같은 내용이 이미 저장되었는지 확인 (멱등성 비활성화 시 빈 값)
+     */
+    private Optional<ConsultingClassification> findProcessed(ClassificationRequest request) {
+        if (!idempotencyEnabled) {
+            return Optional.empty();
+        }
+        return repository.findFirstBySourceIdOrderByIdDesc(request.getSourceId())
+            .filter(row -> request.getConsultingContent().equals(row.getConsultingContent()));
+    }
     
     /**
-     * OpenAI API 호출
+     * 저장된 행을 응답으로 변환 (analysis_result 역직렬화 실패 시 null)
      */
-    private String callOpenAI(String prompt) {
+    private EnhancedClassificationResponse toResponse(ConsultingClassification row, ClassificationRequest request) {
         try {
-            logger.info("OpenAI API 호출 시작 - 모델: {}, 프롬프트 길이: {}", model, prompt.length());
-            
-            // 타임아웃 설정 (60초)
-            OpenAiService service = new OpenAiService(apiKey, Duration.ofSeconds(60));
-            
-            ChatCompletionRequest request = ChatCompletionRequest.builder()
-                .model(model)
-                .messages(List.of(new ChatMessage("user", prompt)))
-                .maxTokens(2000)
-                .temperature(0.3)
-                .build();
-            
-            logger.info("OpenAI API 요청 전송 중...");
-            String response = service.createChatCompletion(request)
-                .getChoices().get(0).getMessage().getContent();
-            
-            logger.info("OpenAI API 응답 수신 완료 - 응답 길이: {}", response.length());
+            EnhancedClassificationResponse response =
+                responseParser.readStored(row.getAnalysisResult());
+            if (response.getClassification() == null) {
+                return null;
+            }
+            response.setId(row.getId());
+            response.setCreatedAt(row.getCreatedAt());
+            response.setSourceId(row.getSourceId());
+            response.setConsultingContent(row.getConsultingContent());
+            response.setConsultingDate(request.getConsultingDate());
+            response.setProcessingTime(row.getProcessingTime());
+            if (row.isReclassifyPending()) {
+                response.setReclassifyPending(true);
+            }
             return response;
-            
         } catch (Exception e) {
-            logger.error("OpenAI API 호출 중 오류 발생 - API Key: {}...", 
-                        apiKey != null ? apiKey.substring(0, Math.min(10, apiKey.length())) : "null", e);
-            throw new RuntimeException("OpenAI API 호출 실패", e);
+            logger.warn("저장된 분류 결과 역직렬화 실패: id={}, error={}", row.getId(), e.getMessage());
+            return null;
         }
     }
     
+    /**
+     * 스트리밍 분류 + 분석 + 저장 (비동기 실행)
+     * 분류 블록이 완성되는 즉시 listener에 전달하고, 분석 블록 수신 후 한 번만 저장
+     */
+    public void streamAndSaveConsultingContent(ClassificationRequest request, ClassificationStreamListener listener) {
+        CompletableFuture.runAsync(() -> {
+            try {
+                EnhancedClassificationResponse response = classifyStreaming(request, listener);
+                saveResponse(response, request);
+                
+                logger.info("스트리밍 상담 처리 완료: id={}, category={}, processingTime={}s",
+                           response.getId(), response.getClassification().getCategory(), response.getProcessingTime());
+                listener.onComplete(response);
+            } catch (Exception e) {
+                logger.error("스트리밍 상담 처리 중 오류 발생: sourceId={}", request.getSourceId(), e);
+                listener.onError(e);
+            }
+        }, classificationExecutor);
+    }
     
     /**
-     * 응답에서 JSON 추출
+     * 여러 상담 내용을 병렬로 분류한 뒤 성공한 건만 한 번에 저장
+     * 항목별 결과/오류를 요청 순서대로 반환
      */
-    private String extractJsonFromResponse(String response) {
-        // ```json ... ``` 형태인 경우 JSON 부분만 추출
-        if (response.contains("```json")) {
-            int start = response.indexOf("```json") + 7;
-            int end = response.lastIndexOf("```");
-            if (end > start) {
-                return response.substring(start, end).trim();
+    public BatchClassificationResponse processAndSaveBatch(List<ClassificationRequest> requests) {
+        long startTime = System.currentTimeMillis();
+        
+        if (requests.size() > batchMaxSize) {
+            throw new IllegalArgumentException(
+                "배치 크기는 " + batchMaxSize + "건을 초과할 수 없습니다: " + requests.size());
+        }
+        
+        logger.info("배치 상담 처리 시작: {}건", requests.size());
+        
+        List<BatchClassificationResponse.ItemResult> results = new ArrayList<>(requests.size());
+        List<Integer> validIndices = new ArrayList<>(requests.size());
+        
+        // 1. 항목별 유효성 검증
+        for (int i = 0; i < requests.size(); i++) {
+            ClassificationRequest request = requests.get(i);
+            BatchClassificationResponse.ItemResult item = new BatchClassificationResponse.ItemResult();
+            item.setIndex(i);
+            item.setSourceId(request != null ? request.getSourceId() : null);
+            results.add(item);
+            
+            String violation = validate(request);
+            if (violation != null) {
+                item.setError(violation);
+            } else {
+                validIndices.add(i);
+            }
+        }
+        
+        // 2. 분류 작업을 병렬 실행 (classificationExecutor 스레드 수로 동시성 제한)
+        Map<Integer, CompletableFuture<EnhancedClassificationResponse>> futures =
+            submitClassifications(requests, validIndices);
+        
+        // 3. 분류 결과 수집
+        List<ConsultingClassification> entities = new ArrayList<>();
+        List<BatchClassificationResponse.ItemResult> pendingItems = new ArrayList<>();
+        for (int i : validIndices) {
+            BatchClassificationResponse.ItemResult item = results.get(i);
+            try {
+                EnhancedClassificationResponse response = futures.get(i).join();
+                ConsultingClassification entity = mapToEntity(response, requests.get(i));
+                entity.setCreatedAt(LocalDateTime.now());
+                entity.setUpdatedAt(LocalDateTime.now());
+                item.setResult(response);
+                entities.add(entity);
+                pendingItems.add(item);
+            } catch (Exception e) {
+                Throwable cause = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+                logger.warn("배치 항목 분류 실패: index={}, sourceId={}, error={}", i, item.getSourceId(), cause.getMessage());
+                item.setError(cause.getMessage());
             }
         }
         
-        // ``` ... ``` 형태인 경우
-        if (response.contains("```")) {
-            int start = response.indexOf("```") + 3;
-            int end = response.lastIndexOf("```");
-            if (end > start) {
-                return response.substring(start, end).trim();
+        // 4. 성공한 건만 한 번의 배치 저장
+        if (!entities.isEmpty()) {
+            try {
+                List<ConsultingClassification> saved = repository.saveAll(entities);
+                for (int i = 0; i < saved.size(); i++) {
+                    BatchClassificationResponse.ItemResult item = pendingItems.get(i);
+                    item.getResult().setId(saved.get(i).getId());
+                    item.getResult().setCreatedAt(saved.get(i).getCreatedAt());
+                    item.setSuccess(true);
+                    learnLocally(item.getResult(), saved.get(i));
+                }
+            } catch (Exception e) {
+                logger.error("배치 저장 실패: {}건", entities.size(), e);
+                for (BatchClassificationResponse.ItemResult item : pendingItems) {
+                    item.setResult(null);
+                    item.setError("저장 실패: " + e.getMessage());
+                }
             }
         }
         
-        // JSON이 아닌 경우 그대로 반환
-        return response.trim();
+        int succeeded = (int) results.stream().filter(BatchClassificationResponse.ItemResult::isSuccess).count();
+        double processingTime = (System.currentTimeMillis() - startTime) / 1000.0;
+        
+        logger.info("배치 상담 처리 완료: total={}, succeeded={}, failed={}, processingTime={}s",
+                   requests.size(), succeeded, requests.size() - succeeded, processingTime);
+        
+        return new BatchClassificationResponse(requests.size(), succeeded, processingTime, results);
     }
     
     /**
-     * 동적 카테고리 목록으로 향상된 프롬프트 생성
+     * OpenAI 장애 중 폴백 분류된 행을 다시 분류하여 갱신 (서킷 브레이커가 열려 있으면 생략)
+     * 재분류된 행 수를 반환하며, 도중에 다시 폴백되면 중단
      */
-    private String buildEnhancedPromptWithDynamicCategories(String content, List<ConsultingCategoryData> categories) {
-        StringBuilder categoryList = new StringBuilder();
-        for (ConsultingCategoryData category : categories) {
-            categoryList.append("- ").append(category.getCategoryName())
-                       .append(" (ID: ").append(category.getId()).append(")\n");
+    public int reclassifyPending(int limit) {
+        if (openAIApiClient.circuitBreaker().isOpen()) {
+            logger.info("OpenAI 서킷 브레이커가 열려 있어 재분류 생략");
+            return 0;
         }
         
-        return String.format("""
-            다음 상담 내용을 분석하여 적절한 카테고리로 분류하고 상세 분석을 제공해주세요.
+        List<ConsultingClassification> rows = repository.findByReclassifyPendingTrueAndIdGreaterThanOrderByIdAsc(
+            0L, PageRequest.of(0, limit));
+        CategoryCatalog catalog = rows.isEmpty() ? null : getCatalog();
+        int reclassified = 0;
+        for (ConsultingClassification row : rows) {
+            EnhancedClassificationResponse response;
+            try {
+                response = classifyConsultingContent(toRequest(row), catalog);
+            } catch (Exception e) {
+                logger.warn("재분류 실패: id={}, error={}", row.getId(), e.getMessage());
+                continue;
+            }
+            if (Boolean.TRUE.equals(response.getReclassifyPending())) {
+                break;
+            }
             
-            상담 내용: %s
+            applyReclassification(row, response);
+            repository.save(row);
+            learnLocally(response, row);
+            reclassified++;
+        }
+        
+        logger.info("재분류 완료: 대상={}건, 재분류={}건", rows.size(), reclassified);
+        return reclassified;
+    }
+    
+    /**
+     * 저장된 행을 재분류 요청으로 변환
+     */
+    ClassificationRequest toRequest(ConsultingClassification row) {
+        ClassificationRequest request = new ClassificationRequest(row.getSourceId(), row.getConsultingContent());
+        request.setConsultingDate(row.getConsultingDate());
+        request.setClientGender(row.getClientGender());
+        request.setClientAge(row.getClientAge());
+        request.setConsultingTurns(row.getConsultingTurns());
+        request.setConsultingLength(row.getConsultingLength());
+        return request;
+    }
+    
+    /**
+     * 재분류 결과를 행에 반영 (저장은 호출자가 수행)
+     */
+    void applyReclassification(ConsultingClassification row, EnhancedClassificationResponse response) {
+        row.setConsultingCategory(response.getClassification().getCategory());
+        row.setCategoryId(response.getClassification().getCategoryId());
+        row.setAnalysisResult(toAnalysisResultJson(response));
+        row.setReclassifyPending(false);
+        row.setUpdatedAt(LocalDateTime.now());
+    }
+    
+    /**
+     * 배치 항목별 분류 작업 제출
+     * 묶음 모드가 켜져 있으면 짧은 상담은 묶음 호출로, 나머지는 단건 호출로 처리
+     */
+    private Map<Integer, CompletableFuture<EnhancedClassificationResponse>> submitClassifications(
+            List<ClassificationRequest> requests, List<Integer> indices) {
+        
+        Map<Integer, CompletableFuture<EnhancedClassificationResponse>> futures = new HashMap<>();
+        Set<Integer> packed = new HashSet<>();
+        CategoryCatalog catalog = getCatalog();
+        
+        if (packingEnabled) {
+            // 이전 결과 재사용 또는 로컬 분류가 가능한 항목은 묶음에서 제외
+            String catalogVersion = catalog.fingerprint();
+            List<Integer> uncached = new ArrayList<>();
+            for (int index : indices) {
+                long lookupStart = System.currentTimeMillis();
+                EnhancedClassificationResponse cached = findReusableResponse(
+                    requests.get(index), catalog, catalogVersion, lookupStart);
+                if (cached == null && !requiresAnalysis(requests.get(index))) {
+                    cached = classifyLocally(requests.get(index), catalog, lookupStart);
+                }
+                if (cached != null) {
+                    futures.put(index, CompletableFuture.completedFuture(cached));
+                    packed.add(index);
+                } else {
+                    uncached.add(index);
+                }
+            }
             
-            가능한 카테고리 목록:
-            %s
+            for (List<Integer> pack : planPacks(requests, uncached)) {
+                List<ClassificationRequest> packRequests = pack.stream().map(requests::get).toList();
+                CompletableFuture<Map<String, EnhancedClassificationResponse>> packFuture = CompletableFuture
+                    .supplyAsync(() -> classifyPacked(packRequests), classificationExecutor)
+                    .exceptionally(e -> {
+                        logger.warn("묶음 분류 실패, 단건 호출로 전환: {}건, error={}", packRequests.size(), e.getMessage());
+                        return Map.of();
+                    });
+                
+                for (int index : pack) {
+                    ClassificationRequest request = requests.get(index);
+                    // 묶음 응답에서 파싱되지 않은 항목은 단건 호출로 폴백
+                    futures.put(index, packFuture.thenCompose(parsed -> {
+                        EnhancedClassificationResponse response = parsed.get(request.getSourceId());
+                        if (response != null) {
+                            return CompletableFuture.completedFuture(response);
+                        }
+                        logger.debug("묶음 응답에 결과 없음, 단건 호출: sourceId={}", request.getSourceId());
+                        return CompletableFuture.supplyAsync(() -> classifyConsultingContent(request, catalog), classificationExecutor);
+                    }));
+                    packed.add(index);
+                }
+            }
+        }
+        
+        for (int index : indices) {
+            if (!packed.contains(index)) {
+                ClassificationRequest request = requests.get(index);
+                futures.put(index, CompletableFuture.supplyAsync(() -> classifyConsultingContent(request, catalog), classificationExecutor));
+            }
+        }
+        
+        return futures;
+    }
+    
+    /**
+     * 짧은 상담을 consulting_length 순으로 정렬해 토큰 예산 안에서 묶음 구성
+     * 2건 이상 모인 묶음만 반환 (나머지는 단건 처리)
+     */
+    List<List<Integer>> planPacks(List<ClassificationRequest> requests, List<Integer> indices) {
+        List<Integer> candidates = indices.stream()
+            .filter(i -> requests.get(i).getConsultingLength() <= packingMaxConsultingLength)
+            .sorted(Comparator.comparingInt(i -> requests.get(i).getConsultingLength()))
+            .toList();
+        
+        List<List<Integer>> packs = new ArrayList<>();
+        List<Integer> current = new ArrayList<>();
+        Set<String> currentSourceIds = new HashSet<>();
+        int currentTokens = 0;
+        
+        for (int index : candidates) {
+            ClassificationRequest request = requests.get(index);
+            int tokens = estimateTokens(request.getConsultingContent());
             
-            다음 JSON 형식으로 응답해주세요:
-            {
-              "classification": {
-                "category": "정확한 카테고리명",
-                "category_id": "카테고리ID",
-                "confidence": 0.95,
-                "alternative_categories": [
-                  {
-                    "category": "대안카테고리명",
-                    "confidence": 0.05
-                  }
-                ]
-              },
-              "analysis": {
-                "problem_situation": "고객이 겪고 있는 구체적인 문제 상황",
-                "solution_approach": "문제 해결을 위한 구체적인 접근 방법",
-                "expected_outcome": "해결 후 예상되는 결과"
-              }
+            // source_id로 결과를 나누므로 같은 묶음에 중복 source_id가 들어가지 않도록 함
+            boolean full = currentTokens + tokens > packingTokenBudget
+                || current.size() >= packingMaxItems
+                || currentSourceIds.contains(request.getSourceId());
+            if (full && !current.isEmpty()) {
+                packs.add(current);
+                current = new ArrayList<>();
+                currentSourceIds = new HashSet<>();
+                currentTokens = 0;
             }
-            """, content, categoryList.toString());
+            current.add(index);
+            currentSourceIds.add(request.getSourceId());
+            currentTokens += tokens;
+        }
+        if (!current.isEmpty()) {
+            packs.add(current);
+        }
+        
+        return packs.stream().filter(pack -> pack.size() > 1).toList();
     }
     
     /**
-     * OpenAI 응답을 파싱하여 category_id 포함한 응답 생성
+     * 여러 상담을 하나의 Chat Completion으로 분류
+     * source_id별로 파싱에 성공한 결과만 반환
      */
-    private EnhancedClassificationResponse parseEnhancedResponseWithCategoryId(String openAIResponse, List<ConsultingCategoryData> categories) {
+    Map<String, EnhancedClassificationResponse> classifyPacked(List<ClassificationRequest> pack) {
+        long startTime = System.currentTimeMillis();
+        
+        CategoryCatalog catalog = getCatalog();
+        String catalogVersion = catalog.fingerprint();
+        List<ChatMessage> messages = promptTemplates.packedMessages(catalog, pack);
+        int maxTokens = Math.min(packingOutputTokensPerItem * pack.size(), packingMaxOutputTokens);
+        String openAIResponse = callOpenAI(messages, maxTokens);
+        
+        JsonNode root;
         try {
-            String jsonResponse = extractJsonFromResponse(openAIResponse);
-            JsonNode root = objectMapper.readTree(jsonResponse);
-            
-            EnhancedClassificationResponse response = new EnhancedClassificationResponse();
-            
-            // 분류 정보 파싱 (category_id 포함)
-            if (root.has("classification")) {
-                JsonNode classification = root.get("classification");
-                EnhancedClassificationResponse.ClassificationInfo classificationInfo = 
-                    new EnhancedClassificationResponse.ClassificationInfo();
-                
-                String categoryName = classification.get("category").asText();
-                classificationInfo.setCategory(categoryName);
-                classificationInfo.setConfidence(classification.get("confidence").asDouble());
-                
-                // category_id 설정
-                if (classification.has("category_id")) {
-                    String categoryId = classification.get("category_id").asText();
-                    classificationInfo.setCategoryId(categoryId);
-                } else {
-                    // category_id가 없으면 카테고리명으로 찾기
-                    String categoryId = findCategoryIdByName(categoryName, categories);
-                    classificationInfo.setCategoryId(categoryId);
+            root = responseParser.readTree(openAIResponse);
+        } catch (Exception e) {
+            logger.warn("묶음 응답 JSON 파싱 실패: {}건, error={}", pack.size(), e.getMessage());
+            return Map.of();
+        }
+        JsonNode items = root.isArray() ? root : root.path("results");
+        
+        Map<String, ClassificationRequest> requestsBySourceId = new HashMap<>();
+        for (ClassificationRequest request : pack) {
+            requestsBySourceId.put(request.getSourceId(), request);
+        }
+        
+        double processingTime = (System.currentTimeMillis() - startTime) / 1000.0;
+        Map<String, EnhancedClassificationResponse> results = new HashMap<>();
+        for (JsonNode item : items) {
+            ClassificationRequest request = requestsBySourceId.get(item.path("source_id").asText());
+            if (request == null) {
+                continue;
+            }
+            try {
+                EnhancedClassificationResponse response =
+                    responseParser.parse(item, catalog::idOrDefault);
+                if (response.getClassification() == null) {
+                    continue;
                 }
-                
-                // 대안 카테고리 파싱
-                if (classification.has("alternative_categories")) {
-                    JsonNode alternatives = classification.get("alternative_categories");
-                    EnhancedClassificationResponse.AlternativeCategory[] altCategories = 
-                        new EnhancedClassificationResponse.AlternativeCategory[alternatives.size()];
-                    
-                    for (int i = 0; i < alternatives.size(); i++) {
-                        JsonNode alt = alternatives.get(i);
-                        EnhancedClassificationResponse.AlternativeCategory altCat = 
-                            new EnhancedClassificationResponse.AlternativeCategory();
-                        altCat.setCategory(alt.get("category").asText());
-                        altCat.setConfidence(alt.get("confidence").asDouble());
-                        altCategories[i] = altCat;
-                    }
-                    
-                    classificationInfo.setAlternativeCategories(altCategories);
+                response.setSource(EnhancedClassificationResponse.Source.LLM);
+                cacheResponse(request, catalogVersion, response);
+                response.setSourceId(request.getSourceId());
+                response.setConsultingContent(request.getConsultingContent());
+                response.setConsultingDate(request.getConsultingDate());
+                response.setProcessingTime(processingTime);
+                results.put(request.getSourceId(), response);
+            } catch (Exception e) {
+                logger.warn("묶음 응답 항목 파싱 실패: sourceId={}, error={}", request.getSourceId(), e.getMessage());
+            }
+        }
+        
+        logger.info("묶음 분류 완료: {}건 중 {}건 파싱 성공, processingTime={}s",
+                   pack.size(), results.size(), processingTime);
+        return results;
+    }
+    
+    /**
+     * 분류 + 분석만 수행 (저장 없음)
+     * 같은 내용을 동시에 분류 중이면 그 결과를 공유하고 요청별 기본 정보만 채움
+     */
+    EnhancedClassificationResponse classifyConsultingContent(ClassificationRequest request,
+                                                                     CategoryCatalog catalog) {
+        if (!singleFlightEnabled) {
+            return classifyUncoalesced(request, catalog);
+        }
+        AtomicBoolean leader = new AtomicBoolean(false);
+        EnhancedClassificationResponse shared = contentFlight.execute(
+            contentHash(request), () -> {
+                leader.set(true);
+                return classifyUncoalesced(request, catalog);
+            });
+        
+        EnhancedClassificationResponse response = new EnhancedClassificationResponse();
+        response.setClassification(shared.getClassification());
+        response.setAnalysis(shared.getAnalysis());
+        response.setReclassifyPending(shared.getReclassifyPending());
+        // 병합된 요청이 받은 LLM 결과는 동일 내용 재사용이므로 실행한 요청만 LLM 출처로 유지
+        response.setSource(!leader.get() && shared.getSource() == EnhancedClassificationResponse.Source.LLM
+            ? EnhancedClassificationResponse.Source.CACHE : shared.getSource());
+        response.setProcessingTime(shared.getProcessingTime());
+        response.setSourceId(request.getSourceId());
+        response.setConsultingContent(request.getConsultingContent());
+        response.setConsultingDate(request.getConsultingDate());
+        return response;
+    }
+    
+    /**
+     * 병합 키용 상담 내용 해시 (분석 요청 여부에 따라 결과가 달라지므로 함께 포함)
+     */
+    private String contentHash(ClassificationRequest request) {
+        return ClassificationResultCache.sha256Hex(ClassificationResultCache.normalize(request.getConsultingContent()))
+            + (requiresAnalysis(request) ? ":analysis" : "");
+    }
+    
+    private EnhancedClassificationResponse classifyUncoalesced(ClassificationRequest request,
+                                                               CategoryCatalog catalog) {
+        
+        long startTime = System.currentTimeMillis();
+        
+        logger.info("향상된 상담 처리 시작: sourceId={}, contentLength={}", 
+                   request.getSourceId(), request.getConsultingContent().length());
+        
+        // 1. Admin API에서 조회한 동적 카테고리 기준 카탈로그 버전
+        String catalogVersion = catalog.fingerprint();
+        
+        // 2. 결과 캐시/근사 중복 조회 (이전 결과를 재사용할 수 있으면 LLM 호출 생략)
+        EnhancedClassificationResponse response = findReusableResponse(request, catalog, catalogVersion, startTime);
+        if (response != null) {
+            return response;
+        }
+        
+        // 2-1. 로컬 분류기 (신뢰도가 임계값 이상이면 LLM 호출 생략, 분석 요청 시 제외)
+        if (!requiresAnalysis(request)) {
+            response = classifyLocally(request, catalog, startTime);
+            if (response != null) {
+                return response;
+            }
+        }
+        
+        // 2-2. OpenAI 장애(서킷 브레이커 열림) 중이면 호출 없이 폴백 분류
+        if (openAIApiClient.circuitBreaker().isOpen()) {
+            return classifyWithFallback(request, catalog, startTime);
+        }
+        
+        // 2-3. 캐스케이드: 짧은 프롬프트 분류를 먼저 실행하고 필요할 때만 향상된 분석으로 승격
+        if (cascadeEnabled) {
+            response = classifyWithCheapTier(request, catalog, startTime);
+            if (response != null) {
+                return response;
+            }
+        }
+        
+        // 3. 상담 내용 압축 후 카탈로그 버전별 고정 system 메시지 + 상담 내용 user 메시지
+        //    compact-ratio 비율만큼은 압축 출력 형식으로 요청 (형식별 출력 토큰/지연 시간 비교)
+        TranscriptCompactor.Compaction compaction = transcriptCompactor.compact(request.getConsultingContent());
+        boolean compactOutput = compactOutputRatio > 0 && ThreadLocalRandom.current().nextDouble() < compactOutputRatio;
+        List<ChatMessage> messages = compactOutput
+            ? promptTemplates.compactMessages(catalog, compaction.content())
+            : promptTemplates.singleMessages(catalog, compaction.content());
+        long enhancedStart = System.nanoTime();
+        String openAIResponse;
+        try {
+            openAIResponse = compactOutput
+                ? callOpenAI(messages, compactMaxTokens, "compact", promptTemplates.compactResponseFormat(catalog))
+                : callOpenAI(messages, 2000, "legacy", null);
+        } catch (OpenAIUnavailableException e) {
+            return classifyWithFallback(request, catalog, startTime);
+        }
+        tierTimer("enhanced").record(System.nanoTime() - enhancedStart, TimeUnit.NANOSECONDS);
+        
+        // 4. OpenAI 응답 파싱 (category_id 포함, 압축 형식은 카탈로그 번호를 카테고리명/ID로 확장)
+        response = compactOutput
+            ? parseCompactResponse(openAIResponse, catalog)
+            : parseEnhancedResponseWithCategoryId(openAIResponse, catalog);
+        response.setSource(EnhancedClassificationResponse.Source.LLM);
+        cacheResponse(request, catalogVersion, response);
+        recordCompaction(request, compaction, response);
+        
+        // 5. 기본 정보 설정
+        response.setSourceId(request.getSourceId());
+        response.setConsultingContent(request.getConsultingContent());
+        response.setConsultingDate(request.getConsultingDate());
+        
+        // 6. 처리 시간 계산
+        double processingTime = (System.currentTimeMillis() - startTime) / 1000.0;
+        response.setProcessingTime(processingTime);
+        
+        return response;
+    }
+    
+    /**
+     * 스트리밍 Chat Completion으로 분류 + 분석 (저장 없음)
+     * 재사용 가능한 결과나 로컬 분류 결과가 있으면 LLM 호출 없이 바로 전달
+     */
+    private EnhancedClassificationResponse classifyStreaming(ClassificationRequest request,
+                                                             ClassificationStreamListener listener) {
+        long startTime = System.currentTimeMillis();
+        
+        // 1. Admin API에서 동적 카테고리 조회
+        CategoryCatalog catalog = getCatalog();
+        String catalogVersion = catalog.fingerprint();
+        
+        // 2. 결과 캐시/근사 중복/로컬 분류기 조회
+        EnhancedClassificationResponse response = findReusableResponse(request, catalog, catalogVersion, startTime);
+        if (response == null && !requiresAnalysis(request)) {
+            response = classifyLocally(request, catalog, startTime);
+        }
+        if (response == null && openAIApiClient.circuitBreaker().isOpen()) {
+            response = classifyWithFallback(request, catalog, startTime);
+        }
+        if (response != null) {
+            listener.onClassification(response.getClassification());
+            if (response.getAnalysis() != null) {
+                listener.onAnalysis(response.getAnalysis());
+            }
+            return response;
+        }
+        
+        // 3. 스트리밍 호출 후 최상위 필드가 완성될 때마다 전달
+        TranscriptCompactor.Compaction compaction = transcriptCompactor.compact(request.getConsultingContent());
+        ChatCompletionRequest chatRequest = ChatCompletionRequest.builder()
+            .model(model)
+            .messages(promptTemplates.singleMessages(catalog, compaction.content()))
+            .maxTokens(2000)
+            .temperature(0.3)
+            .build();
+        
+        StreamingJsonFieldParser parser = new StreamingJsonFieldParser();
+        EnhancedClassificationResponse streamed = new EnhancedClassificationResponse();
+        long streamStart = System.nanoTime();
+        
+        try {
+            openAIApiClient.streamChatCompletion(chatRequest).blockingForEach(chunk -> {
+                if (chunk.getChoices() == null || chunk.getChoices().isEmpty()
+                        || chunk.getChoices().get(0).getMessage() == null) {
+                    return;
                 }
-                
-                response.setClassification(classificationInfo);
+                for (StreamingJsonFieldParser.Field field : parser.feed(chunk.getChoices().get(0).getMessage().getContent())) {
+                    applyStreamedField(field, streamed, catalog, listener, streamStart);
+                }
+            });
+        } catch (OpenAIUnavailableException e) {
+            // 호출 직전에 브레이커가 열린 경우 (아직 전달한 필드 없음)
+            EnhancedClassificationResponse fallback = classifyWithFallback(request, catalog, startTime);
+            listener.onClassification(fallback.getClassification());
+            return fallback;
+        } catch (Exception e) {
+            logger.error("OpenAI 스트리밍 호출 중 오류 발생 - 모델: {}", model, e);
+            throw new RuntimeException("OpenAI API 호출 실패", e);
+        }
+        tierTimer("enhanced").record(System.nanoTime() - streamStart, TimeUnit.NANOSECONDS);
+        
+        // 4. 증분 파싱에 실패한 블록은 전체 응답으로 다시 파싱
+        if (streamed.getClassification() == null || streamed.getAnalysis() == null) {
+            EnhancedClassificationResponse parsed;
+            try {
+                parsed = parseEnhancedResponseWithCategoryId(parser.text(), catalog);
+            } catch (RuntimeException e) {
+                // 분류 블록은 이미 받았으면 분석 없이 진행
+                if (streamed.getClassification() == null) {
+                    throw e;
+                }
+                parsed = new EnhancedClassificationResponse();
+            }
+            if (streamed.getClassification() == null && parsed.getClassification() != null) {
+                streamed.setClassification(parsed.getClassification());
+                listener.onClassification(parsed.getClassification());
+            }
+            if (streamed.getAnalysis() == null && parsed.getAnalysis() != null) {
+                streamed.setAnalysis(parsed.getAnalysis());
+                listener.onAnalysis(parsed.getAnalysis());
+            }
+        }
+        streamed.setSource(EnhancedClassificationResponse.Source.LLM);
+        cacheResponse(request, catalogVersion, streamed);
+        recordCompaction(request, compaction, streamed);
+        
+        // 5. 기본 정보 설정
+        streamed.setSourceId(request.getSourceId());
+        streamed.setConsultingContent(request.getConsultingContent());
+        streamed.setConsultingDate(request.getConsultingDate());
+        streamed.setProcessingTime((System.currentTimeMillis() - startTime) / 1000.0);
+        
+        return streamed;
+    }
+    
+    /**
+     * 스트리밍 중 완성된 classification/analysis 필드를 응답에 반영하고 listener에 전달
+     */
+    private void applyStreamedField(StreamingJsonFieldParser.Field field, EnhancedClassificationResponse streamed,
+                                    CategoryCatalog catalog, ClassificationStreamListener listener,
+                                    long streamStart) {
+        if (!"classification".equals(field.name()) && !"analysis".equals(field.name())) {
+            return;
+        }
+        try {
+            EnhancedClassificationResponse parsed = new EnhancedClassificationResponse();
+            if ("classification".equals(field.name())) {
+                parsed.setClassification(
+                    responseParser.parseClassification(field.json(), catalog::idOrDefault));
+            } else {
+                parsed.setAnalysis(responseParser.parseAnalysis(field.json()));
             }
             
-            // 분석 정보 파싱
-            if (root.has("analysis")) {
-                JsonNode analysis = root.get("analysis");
-                EnhancedClassificationResponse.AnalysisInfo analysisInfo = 
-                    new EnhancedClassificationResponse.AnalysisInfo();
-                
-                analysisInfo.setProblemSituation(analysis.get("problem_situation").asText());
-                analysisInfo.setSolutionApproach(analysis.get("solution_approach").asText());
-                analysisInfo.setExpectedOutcome(analysis.get("expected_outcome").asText());
-                
-                response.setAnalysis(analysisInfo);
+            if (parsed.getClassification() != null) {
+                streamed.setClassification(parsed.getClassification());
+                Timer.builder("classification.stream.time-to-category")
+                    .description("스트리밍 호출 시작부터 분류 블록 완성까지 소요 시간")
+                    .register(meterRegistry)
+                    .record(System.nanoTime() - streamStart, TimeUnit.NANOSECONDS);
+                listener.onClassification(parsed.getClassification());
+            }
+            if (parsed.getAnalysis() != null) {
+                streamed.setAnalysis(parsed.getAnalysis());
+                listener.onAnalysis(parsed.getAnalysis());
+            }
+        } catch (Exception e) {
+            // 최종 전체 파싱에서 다시 시도
+            logger.debug("스트리밍 필드 파싱 실패: field={}, error={}", field.name(), e.getMessage());
+        }
+    }
+    
+    /**
+     * 분류 결과를 저장하고 ID/생성 시각을 응답에 설정
+     */
+    private void saveResponse(EnhancedClassificationResponse response, ClassificationRequest request) {
+        ConsultingClassification entity = mapToEntity(response, request);
+        entity.setCreatedAt(LocalDateTime.now());
+        entity.setUpdatedAt(LocalDateTime.now());
+        ConsultingClassification savedEntity = repository.save(entity);
+        response.setId(savedEntity.getId());
+        response.setCreatedAt(savedEntity.getCreatedAt());
+        learnLocally(response, savedEntity);
+    }
+    
+    /**
+     * 상담 내용 압축 효과 기록 (절감 토큰 로그 + 압축 여부별 신뢰도 분포)
+     */
+    private void recordCompaction(ClassificationRequest request, TranscriptCompactor.Compaction compaction,
+                                  EnhancedClassificationResponse response) {
+        String mode = compaction.truncated() ? "truncated" : compaction.changed() ? "compacted" : "none";
+        if (response.getClassification() != null && response.getClassification().getConfidence() != null) {
+            DistributionSummary.builder("classification.confidence")
+                .description("분류 신뢰도 분포 (상담 내용 압축 여부별)")
+                .tag("compaction", mode)
+                .register(meterRegistry)
+                .record(response.getClassification().getConfidence());
+        }
+        if (compaction.changed()) {
+            logger.info("상담 내용 압축: sourceId={}, tokens={}→{}, truncated={}, confidence={}",
+                       request.getSourceId(), compaction.originalTokens(), compaction.compactedTokens(),
+                       compaction.truncated(),
+                       response.getClassification() != null ? response.getClassification().getConfidence() : null);
+        }
+    }
+    
+    /**
+     * 캐스케이드 1단계: 짧은 프롬프트 분류 (OpenAIService, max 100 tokens)
+     * 분석 요청, 응답의 카테고리명 매칭 품질이 기준 미만, 카탈로그에 없는 카테고리인 경우 null을 반환하여 향상된 분석으로 승격
+     * 1단계 결과의 confidence는 응답 문자열이 카테고리명과 얼마나 정확히 일치하는지를 나타내는 값이며
+     * 모델이 분류를 얼마나 확신하는지는 알 수 없음 (기본 0.9는 완전 일치만 통과)
+     * 짧은 프롬프트와 응답 매처는 현재 Admin API 카탈로그 기준 (버전이 바뀔 때만 다시 생성)
+     */
+    private EnhancedClassificationResponse classifyWithCheapTier(ClassificationRequest request,
+                                                                 CategoryCatalog catalog,
+                                                                 long startTime) {
+        if (requiresAnalysis(request)) {
+            recordRoute("escalated_requested");
+            return null;
+        }
+        
+        OpenAIService.ClassificationResult result;
+        long cheapStart = System.nanoTime();
+        try {
+            result = openAIService.classifyConsultingContent(request.getConsultingContent(), catalog);
+        } catch (Exception e) {
+            logger.warn("캐스케이드 1단계 분류 실패, 향상된 분석으로 승격: sourceId={}, error={}",
+                       request.getSourceId(), e.getMessage());
+            recordRoute("escalated_error");
+            return null;
+        } finally {
+            tierTimer("cheap").record(System.nanoTime() - cheapStart, TimeUnit.NANOSECONDS);
+        }
+        
+        if (result.getConfidence() < cascadeMatchQualityThreshold) {
+            logger.info("캐스케이드 승격(카테고리명 매칭 품질 미달): sourceId={}, category={}, matchQuality={}",
+                       request.getSourceId(), result.getCategory(), result.getConfidence());
+            recordRoute("escalated_low_match_quality");
+            return null;
+        }
+        
+        String categoryId = catalog.idOf(result.getCategory());
+        if (categoryId == null) {
+            logger.info("캐스케이드 승격(카탈로그에 없는 카테고리): sourceId={}, category={}",
+                       request.getSourceId(), result.getCategory());
+            recordRoute("escalated_unknown_category");
+            return null;
+        }
+        
+        EnhancedClassificationResponse.ClassificationInfo classificationInfo =
+            new EnhancedClassificationResponse.ClassificationInfo();
+        classificationInfo.setCategory(result.getCategory());
+        classificationInfo.setCategoryId(categoryId);
+        classificationInfo.setConfidence(result.getConfidence());
+        
+        EnhancedClassificationResponse response = new EnhancedClassificationResponse();
+        response.setClassification(classificationInfo);
+        response.setSource(EnhancedClassificationResponse.Source.LLM);
+        response.setSourceId(request.getSourceId());
+        response.setConsultingContent(request.getConsultingContent());
+        response.setConsultingDate(request.getConsultingDate());
+        response.setProcessingTime((System.currentTimeMillis() - startTime) / 1000.0);
+        
+        recordRoute("cheap");
+        return response;
+    }
+    
+    private boolean requiresAnalysis(ClassificationRequest request) {
+        return Boolean.TRUE.equals(request.getIncludeAnalysis());
+    }
+    
+    private void recordRoute(String route) {
+        meterRegistry.counter("classification.cascade.routes", "route", route).increment();
+    }
+    
+    private Timer tierTimer(String tier) {
+        return Timer.builder("classification.tier.latency")
+            .description("분류 단계별 LLM 호출 소요 시간")
+            .tag("tier", tier)
+            .publishPercentiles(0.5, 0.95, 0.99)
+            .register(meterRegistry);
+    }
+    
+    /**
+     * 이전 분류 결과 재사용 조회 (미스 시 null)
+     * 1. 결과 캐시 (동일 상담 내용) 2. 근사 중복 인덱스 (이름/금액만 다른 유사 상담)
+     */
+    private EnhancedClassificationResponse findReusableResponse(ClassificationRequest request,
+                                                                CategoryCatalog catalog,
+                                                                String catalogVersion, long startTime) {
+        Optional<String> cached = resultCache.get(request.getConsultingContent(), catalogVersion);
+        EnhancedClassificationResponse.Source source = EnhancedClassificationResponse.Source.CACHE;
+        
+        if (cached.isEmpty()) {
+            // 이웃의 카테고리가 현재 카탈로그에 없으면 재사용하지 않음
+            // 상세 분석 요청이면 분석이 있는 이웃만 후보로 사용
+            cached = nearDuplicateIndex.findSimilar(request.getConsultingContent(), requiresAnalysis(request))
+                .filter(match -> catalog.containsId(match.categoryId()))
+                .map(NearDuplicateIndex.Match::analysisResult);
+            source = EnhancedClassificationResponse.Source.NEAR_DUPLICATE;
+        }
+        if (cached.isEmpty()) {
+            return null;
+        }
+        
+        try {
+            EnhancedClassificationResponse response =
+                responseParser.readStored(cached.get());
+            if (response.getClassification() == null
+                    || (requiresAnalysis(request) && response.getAnalysis() == null)) {
+                return null;
+            }
+            response.setSource(source);
+            response.setSourceId(request.getSourceId());
+            response.setConsultingContent(request.getConsultingContent());
+            response.setConsultingDate(request.getConsultingDate());
+            response.setProcessingTime((System.currentTimeMillis() - startTime) / 1000.0);
+            
+            logger.info("이전 분류 결과 재사용({}): sourceId={}, category={}",
+                       source, request.getSourceId(), response.getClassification().getCategory());
+            return response;
+        } catch (Exception e) {
+            logger.warn("재사용 분류 결과 역직렬화 실패: {}", e.getMessage());
+            return null;
+        }
+    }
+    
+    /**
+     * 로컬 분류기로 분류 (신뢰도 미달이거나 현재 카탈로그에 없는 카테고리면 null)
+     * 분석(analysis)은 생성하지 않음
+     */
+    private EnhancedClassificationResponse classifyLocally(ClassificationRequest request,
+                                                           CategoryCatalog catalog,
+                                                           long startTime) {
+        Optional<LocalCategoryClassifier.Prediction> prediction = localClassifier.predict(request.getConsultingContent());
+        if (prediction.isEmpty()) {
+            return null;
+        }
+        
+        String categoryName = catalog.nameOf(prediction.get().categoryId());
+        if (categoryName == null) {
+            return null;
+        }
+        
+        EnhancedClassificationResponse.ClassificationInfo classificationInfo =
+            new EnhancedClassificationResponse.ClassificationInfo();
+        classificationInfo.setCategory(categoryName);
+        classificationInfo.setCategoryId(prediction.get().categoryId());
+        classificationInfo.setConfidence(prediction.get().confidence());
+        classificationInfo.setAlternativeCategories(prediction.get().alternatives().stream()
+            .filter(candidate -> catalog.containsId(candidate.categoryId()))
+            .map(candidate -> {
+                EnhancedClassificationResponse.AlternativeCategory alternative =
+                    new EnhancedClassificationResponse.AlternativeCategory();
+                alternative.setCategory(catalog.nameOf(candidate.categoryId()));
+                alternative.setConfidence(candidate.probability());
+                return alternative;
+            })
+            .toArray(EnhancedClassificationResponse.AlternativeCategory[]::new));
+        
+        EnhancedClassificationResponse response = new EnhancedClassificationResponse();
+        response.setClassification(classificationInfo);
+        response.setSource(EnhancedClassificationResponse.Source.LOCAL);
+        response.setSourceId(request.getSourceId());
+        response.setConsultingContent(request.getConsultingContent());
+        response.setConsultingDate(request.getConsultingDate());
+        response.setProcessingTime((System.currentTimeMillis() - startTime) / 1000.0);
+        
+        logger.info("로컬 분류기로 분류: sourceId={}, category={}, confidence={}",
+                   request.getSourceId(), categoryName, prediction.get().confidence());
+        return response;
+    }
+    
+    /**
+     * OpenAI 장애 시 폴백 분류 (이력 기반 로컬 분류기 → 카테고리명 키워드 → 기본 카테고리)
+     * 결과는 캐시하지 않고, 저장 시 재분류 대상(reclassify_pending)으로 표시
+     */
+    private EnhancedClassificationResponse classifyWithFallback(ClassificationRequest request,
+                                                                CategoryCatalog catalog,
+                                                                long startTime) {
+        FallbackCategoryClassifier.Result result = fallbackClassifier.classify(request.getConsultingContent(), catalog.categories());
+        
+        EnhancedClassificationResponse.ClassificationInfo classificationInfo =
+            new EnhancedClassificationResponse.ClassificationInfo();
+        classificationInfo.setCategory(result.categoryName());
+        classificationInfo.setCategoryId(result.categoryId());
+        classificationInfo.setConfidence(result.confidence());
+        
+        EnhancedClassificationResponse response = new EnhancedClassificationResponse();
+        response.setClassification(classificationInfo);
+        response.setReclassifyPending(true);
+        response.setSource(EnhancedClassificationResponse.Source.FALLBACK);
+        response.setSourceId(request.getSourceId());
+        response.setConsultingContent(request.getConsultingContent());
+        response.setConsultingDate(request.getConsultingDate());
+        response.setProcessingTime((System.currentTimeMillis() - startTime) / 1000.0);
+        
+        logger.warn("OpenAI 장애로 폴백 분류: sourceId={}, category={}, source={}, confidence={}",
+                   request.getSourceId(), result.categoryName(), result.source(), result.confidence());
+        return response;
+    }
+    
+    /**
+     * 이번 요청에서 새로 호출한 LLM 분류 결과로 로컬 분류기 점진 학습
+     * 캐시/근사 중복 재사용, 로컬 분류, 폴백 결과는 자기 강화를 막기 위해 제외하고,
+     * 이력 학습과 같은 기준으로 분석(analysis)까지 받은 결과만 사용 (캐스케이드 짧은 프롬프트 분류 제외)
+     */
+    private void learnLocally(EnhancedClassificationResponse response, ConsultingClassification saved) {
+        if (response.getSource() != EnhancedClassificationResponse.Source.LLM
+                || response.getClassification() == null || response.getAnalysis() == null) {
+            return;
+        }
+        try {
+            localClassifier.learn(saved.getConsultingContent(), saved.getCategoryId(), saved.getId());
+        } catch (Exception e) {
+            logger.warn("로컬 분류기 학습 실패: {}", e.getMessage());
+        }
+    }
+    
+    /**
+     * 분류 결과를 결과 캐시와 근사 중복 인덱스에 저장
+     */
+    private void cacheResponse(ClassificationRequest request, String catalogVersion,
+                               EnhancedClassificationResponse response) {
+        if (response.getClassification() == null) {
+            return;
+        }
+        String analysisResult = toAnalysisResultJson(response);
+        resultCache.put(request.getConsultingContent(), catalogVersion,
+                        response.getClassification().getCategory(),
+                        response.getClassification().getCategoryId(),
+                        analysisResult);
+        nearDuplicateIndex.add(request.getConsultingContent(),
+                               response.getClassification().getCategoryId(), analysisResult,
+                               response.getAnalysis() != null);
+    }
+    
+    /**
+     * 배치 항목 유효성 검증 (위반 시 메시지 반환)
+     */
+    private String validate(ClassificationRequest request) {
+        if (request == null) {
+            return "요청 항목이 비어있습니다.";
+        }
+        Set<ConstraintViolation<ClassificationRequest>> violations = validator.validate(request);
+        if (violations.isEmpty()) {
+            return null;
+        }
+        return violations.stream()
+            .map(ConstraintViolation::getMessage)
+            .sorted()
+            .collect(Collectors.joining(", "));
+    }
+    
+    /**
+     * 현재 카테고리 카탈로그 (Admin API 조회, 실패 시 기본 카테고리)
+     */
+    CategoryCatalog getCatalog() {
+        return catalogProvider.current();
+    }
+    
+    /**
+     * 토큰 수 추정 (cl100k_base BPE 기준)
+     */
+    private int estimateTokens(String content) {
+        return tokenEstimator.countTokens(content);
+    }
+    
+    /**
+     * OpenAI API 호출 (최대 출력 토큰 지정)
+     */
+    private String callOpenAI(List<ChatMessage> messages, int maxTokens) {
+        return callOpenAI(messages, maxTokens, null, null);
+    }
+    
+    /**
+     * OpenAI API 호출 (응답 형식 지정)
+     * outputSchema가 있으면 형식별 출력 토큰 수와 호출 지연 시간을 나란히 기록
+     */
+    private String callOpenAI(List<ChatMessage> messages, int maxTokens, String outputSchema, JsonNode responseFormat) {
+        try {
+            logger.info("OpenAI API 호출 시작 - 모델: {}, 프롬프트 길이: {}", model,
+                       messages.stream().mapToInt(message -> message.getContent().length()).sum());
+            
+            ChatCompletionRequest request = ChatCompletionRequest.builder()
+                .model(model)
+                .messages(messages)
+                .maxTokens(maxTokens)
+                .temperature(0.3)
+                .build();
+            
+            logger.info("OpenAI API 요청 전송 중...");
+            long callStart = System.nanoTime();
+            ChatCompletionResult result = openAIApiClient.createChatCompletion(request, responseFormat);
+            if (outputSchema != null) {
+                recordOutputSchema(outputSchema, result, System.nanoTime() - callStart);
             }
+            String response = result.getChoices().get(0).getMessage().getContent();
             
+            logger.info("OpenAI API 응답 수신 완료 - 응답 길이: {}", response.length());
             return response;
             
+        } catch (OpenAIUnavailableException e) {
+            // 서킷 브레이커 열림: 호출자가 폴백 분류로 처리
+            throw e;
+        } catch (Exception e) {
+            logger.error("OpenAI API 호출 중 오류 발생 - 모델: {}", model, e);
+            throw new RuntimeException("OpenAI API 호출 실패", e);
+        }
+    }
+    
+    
+    /**
+     * OpenAI 응답을 파싱하여 category_id 포함한 응답 생성
+     * 코드 펜스 안의 JSON을 복사 없이 한 번에 읽어 응답 타입에 바로 바인딩
+     */
+    private EnhancedClassificationResponse parseEnhancedResponseWithCategoryId(String openAIResponse, CategoryCatalog catalog) {
+        try {
+            return responseParser.parse(openAIResponse, catalog::idOrDefault);
+            
         } catch (Exception e) {
             logger.error("OpenAI 응답 파싱 실패: {}", openAIResponse, e);
             throw new RuntimeException("응답 파싱 실패", e);
@@ -319,14 +1201,35 @@ public class EnhancedOpenAIService {
     }
     
     /**
-     * 카테고리명으로 카테고리 ID 찾기
+     * 압축 출력 형식 응답을 파싱하여 기존 응답 형태로 확장
+     */
+    private EnhancedClassificationResponse parseCompactResponse(String openAIResponse, CategoryCatalog catalog) {
+        try {
+            return responseParser.parseCompact(openAIResponse, catalog.categories());
+            
+        } catch (Exception e) {
+            logger.error("OpenAI 압축 응답 파싱 실패: {}", openAIResponse, e);
+            throw new RuntimeException("응답 파싱 실패", e);
+        }
+    }
+    
+    /**
+     * 출력 형식별 출력 토큰 수/호출 지연 시간 기록
      */
-    private String findCategoryIdByName(String categoryName, List<ConsultingCategoryData> categories) {
-        return categories.stream()
-            .filter(category -> category.getCategoryName().equals(categoryName))
-            .map(ConsultingCategoryData::getId)
-            .findFirst()
-            .orElse("23515d46"); // 기본값
+    private void recordOutputSchema(String outputSchema, ChatCompletionResult result, long elapsedNanos) {
+        Timer.builder("classification.output.latency")
+            .description("출력 형식별 Chat Completion 호출 소요 시간")
+            .tag("schema", outputSchema)
+            .publishPercentiles(0.5, 0.95, 0.99)
+            .register(meterRegistry)
+            .record(elapsedNanos, TimeUnit.NANOSECONDS);
+        if (result.getUsage() != null) {
+            DistributionSummary.builder("classification.output.tokens")
+                .description("출력 형식별 출력(completion) 토큰 수")
+                .tag("schema", outputSchema)
+                .register(meterRegistry)
+                .record(result.getUsage().getCompletionTokens());
+        }
     }
     
     /**
@@ -352,19 +1255,21 @@ public class EnhancedOpenAIService {
         }
         
         // 분석 결과를 JSON으로 저장 (AI 분석 결과만)
+        entity.setAnalysisResult(toAnalysisResultJson(response));
+        entity.setReclassifyPending(Boolean.TRUE.equals(response.getReclassifyPending()));
+        
+        return entity;
+    }
+    
+    /**
+     * AI 분석 결과만 analysis_result JSON으로 변환
+     */
+    private String toAnalysisResultJson(EnhancedClassificationResponse response) {
         try {
-            // AI 분석 결과만 포함하는 객체 생성
-            Map<String, Object> analysisOnly = new HashMap<>();
-            analysisOnly.put("classification", response.getClassification());
-            analysisOnly.put("analysis", response.getAnalysis());
-            
-            String analysisJson = objectMapper.writeValueAsString(analysisOnly);
-            entity.setAnalysisResult(analysisJson);
+            return responseParser.toAnalysisResultJson(response);
         } catch (Exception e) {
             logger.error("분석 결과 JSON 변환 실패", e);
-            entity.setAnalysisResult("{}");
+            return "{}";
         }
-        
-        return entity;
     }
 }
\ No newline at end of file
@@ -0,0 +1,225 @@
+package com.hanacard.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.hanacard.dto.ClassificationRequest;
+import com.hanacard.dto.ConsultingCategoryData;
+import com.theokanning.openai.completion.chat.ChatMessage;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * 향상된 분류 프롬프트 템플릿
+ * 지시문/카테고리 목록/응답 형식은 카탈로그 버전별로 한 번만 만든 고정 system 메시지로,
+ * 상담 내용은 뒤따르는 user 메시지로 분리하여 제공자 측 프롬프트 캐시(공통 prefix)가 적용되도록 함
+ * 압축 출력 형식은 짧은 키와 카탈로그 번호로 응답하게 하여 출력 토큰을 줄이고, JSON 스키마(구조화 출력)로 형식을 강제
+ */
+@Component
+public class EnhancedPromptTemplates {
+
+    private static final Logger logger = LoggerFactory.getLogger(EnhancedPromptTemplates.class);
+
+    private static final String SINGLE_INSTRUCTIONS = """
+        당신은 하나카드 상담 내용을 분석하여 적절한 카테고리로 분류하고 상세 분석을 제공하는 전문가입니다.
+        사용자가 전달하는 상담 내용을 아래 카테고리 중 하나로 분류하세요.
+        """;
+
+    private static final String SINGLE_FORMAT = """
+        다음 JSON 형식으로 응답해주세요:
+        {
+          "classification": {
+            "category": "정확한 카테고리명",
+            "category_id": "카테고리ID",
+            "confidence": 0.95,
+            "alternative_categories": [
+              {
+                "category": "대안카테고리명",
+                "confidence": 0.05
+              }
+            ]
+          },
+          "analysis": {
+            "problem_situation": "고객이 겪고 있는 구체적인 문제 상황",
+            "solution_approach": "문제 해결을 위한 구체적인 접근 방법",
+            "expected_outcome": "해결 후 예상되는 결과"
+          }
+        }
+        """;
+
+    private static final String PACKED_INSTRUCTIONS = """
+        당신은 하나카드 상담 내용을 분석하여 적절한 카테고리로 분류하고 상세 분석을 제공하는 전문가입니다.
+        사용자가 전달하는 여러 건의 상담을 각각 아래 카테고리 중 하나로 분류하세요.
+        """;
+
+    private static final String PACKED_FORMAT = """
+        각 상담마다 하나의 객체를 담은 JSON 배열로 응답해주세요.
+        source_id는 상담 목록에 표시된 값을 그대로 사용해야 합니다:
+        [
+          {
+            "source_id": "상담 source_id",
+            "classification": {
+              "category": "정확한 카테고리명",
+              "category_id": "카테고리ID",
+              "confidence": 0.95,
+              "alternative_categories": [
+                {
+                  "category": "대안카테고리명",
+                  "confidence": 0.05
+                }
+              ]
+            },
+            "analysis": {
+              "problem_situation": "고객이 겪고 있는 구체적인 문제 상황",
+              "solution_approach": "문제 해결을 위한 구체적인 접근 방법",
+              "expected_outcome": "해결 후 예상되는 결과"
+            }
+          }
+        ]
+        """;
+
+    private static final String COMPACT_FORMAT = """
+        다음 압축 JSON 형식으로만 응답해주세요 (카테고리는 위 목록의 번호로 표기):
+        {"c": 카테고리 번호, "p": 신뢰도(0~1), "alt": [{"c": 대안 카테고리 번호, "p": 신뢰도}], "a": {"ps": "문제 상황", "sa": "해결 방법", "eo": "예상 결과"}}
+        alt는 최대 %d개, ps/sa/eo는 각각 한 문장으로 작성하세요.
+        """;
+
+    // 압축 응답의 대안 카테고리 최대 개수 (스키마 maxItems와 프롬프트에 반영)
+    @Value("${classification.output.compact.max-alternatives:2}")
+    private int compactMaxAlternatives = 2;
+
+    // 현재 카탈로그 버전으로 만든 system 메시지 (버전이 바뀔 때만 다시 생성)
+    private final AtomicReference<Compiled> compiled = new AtomicReference<>();
+
+    /**
+     * 단건 분류 메시지 (고정 system + 상담 내용 user)
+     */
+    public List<ChatMessage> singleMessages(CategoryCatalog catalog, String consultingContent) {
+        return List.of(
+            new ChatMessage("system", compiled(catalog).singleSystem()),
+            new ChatMessage("user", "상담 내용:\n" + consultingContent)
+        );
+    }
+
+    /**
+     * 묶음 분류 메시지 (고정 system + source_id별 상담 목록 user)
+     */
+    public List<ChatMessage> packedMessages(CategoryCatalog catalog, List<ClassificationRequest> pack) {
+        StringBuilder consultations = new StringBuilder("상담 목록 (")
+            .append(pack.size()).append("건):\n\n");
+        for (ClassificationRequest request : pack) {
+            consultations.append("[source_id: ").append(request.getSourceId()).append("]\n")
+                         .append(request.getConsultingContent()).append("\n\n");
+        }
+
+        return List.of(
+            new ChatMessage("system", compiled(catalog).packedSystem()),
+            new ChatMessage("user", consultations.toString())
+        );
+    }
+
+    /**
+     * 압축 출력 형식 단건 분류 메시지 (고정 system + 상담 내용 user)
+     */
+    public List<ChatMessage> compactMessages(CategoryCatalog catalog, String consultingContent) {
+        return List.of(
+            new ChatMessage("system", compiled(catalog).compactSystem()),
+            new ChatMessage("user", "상담 내용:\n" + consultingContent)
+        );
+    }
+
+    /**
+     * 압축 출력 형식의 response_format (json_schema, strict)
+     * 카테고리 번호는 현재 카탈로그 범위의 정수로만 응답하도록 enum으로 제한
+     */
+    public JsonNode compactResponseFormat(CategoryCatalog catalog) {
+        return compiled(catalog).compactResponseFormat();
+    }
+
+    private Compiled compiled(CategoryCatalog catalog) {
+        Compiled current = compiled.get();
+        if (current != null && current.catalogVersion().equals(catalog.fingerprint())) {
+            return current;
+        }
+
+        // 동시에 여러 스레드가 생성해도 결과가 같으므로 마지막 값으로 교체
+        String catalogVersion = catalog.fingerprint();
+        List<ConsultingCategoryData> categories = catalog.categories();
+        String categorySection = catalog.promptFragment();
+
+        StringBuilder indexedList = new StringBuilder("가능한 카테고리 목록 (번호: 카테고리명):\n");
+        for (int i = 0; i < categories.size(); i++) {
+            indexedList.append(i).append(": ").append(categories.get(i).getCategoryName()).append("\n");
+        }
+
+        Compiled created = new Compiled(
+            catalogVersion,
+            SINGLE_INSTRUCTIONS + "\n" + categorySection + "\n" + SINGLE_FORMAT,
+            PACKED_INSTRUCTIONS + "\n" + categorySection + "\n" + PACKED_FORMAT,
+            SINGLE_INSTRUCTIONS + "\n" + indexedList + "\n" + COMPACT_FORMAT.formatted(compactMaxAlternatives),
+            compactSchema(categories.size())
+        );
+        compiled.set(created);
+        logger.info("분류 프롬프트 템플릿 생성: catalogVersion={}, categories={}", catalogVersion, categories.size());
+        return created;
+    }
+
+    private JsonNode compactSchema(int categoryCount) {
+        JsonNodeFactory nodes = JsonNodeFactory.instance;
+
+        ArrayNode categoryIndexes = nodes.arrayNode();
+        for (int i = 0; i < categoryCount; i++) {
+            categoryIndexes.add(i);
+        }
+
+        ObjectNode alternativeProperties = nodes.objectNode();
+        alternativeProperties.set("c", nodes.objectNode().put("type", "integer").set("enum", categoryIndexes));
+        alternativeProperties.set("p", nodes.objectNode().put("type", "number"));
+
+        ObjectNode analysisProperties = nodes.objectNode();
+        for (String field : List.of("ps", "sa", "eo")) {
+            analysisProperties.set(field, nodes.objectNode().put("type", "string"));
+        }
+
+        ObjectNode alternatives = nodes.objectNode()
+            .put("type", "array")
+            .put("maxItems", compactMaxAlternatives);
+        alternatives.set("items", strictObject(nodes, alternativeProperties));
+
+        ObjectNode properties = nodes.objectNode();
+        properties.set("c", nodes.objectNode().put("type", "integer").set("enum", categoryIndexes.deepCopy()));
+        properties.set("p", nodes.objectNode().put("type", "number"));
+        properties.set("alt", alternatives);
+        properties.set("a", strictObject(nodes, analysisProperties));
+
+        ObjectNode jsonSchema = nodes.objectNode()
+            .put("name", "voc_classification")
+            .put("strict", true);
+        jsonSchema.set("schema", strictObject(nodes, properties));
+        ObjectNode responseFormat = nodes.objectNode().put("type", "json_schema");
+        responseFormat.set("json_schema", jsonSchema);
+        return responseFormat;
+    }
+
+    /**
+     * strict 모드 객체 스키마 (모든 속성 필수, 추가 속성 불허)
+     */
+    private static ObjectNode strictObject(JsonNodeFactory nodes, ObjectNode properties) {
+        ObjectNode object = nodes.objectNode()
+            .put("type", "object")
+            .put("additionalProperties", false);
+        ArrayNode required = object.putArray("required");
+        properties.fieldNames().forEachRemaining(required::add);
+        object.set("properties", properties);
+        return object;
+    }
+
+    private record Compiled(String catalogVersion, String singleSystem, String packedSystem,
+                            String compactSystem, JsonNode compactResponseFormat) {}
+}
@@ -0,0 +1,140 @@
+package com.hanacard.service;
+
+import com.hanacard.dto.ConsultingCategoryData;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * OpenAI 장애(서킷 브레이커 열림) 시 사용하는 폴백 분류기
+ * 1. 이력(voc_normalized)으로 학습한 로컬 분류기의 최선 예측 (신뢰도 임계값 미적용)
+ * 2. 카테고리명 키워드 매칭 (여러 카테고리에 공통인 키워드는 가중치를 낮춤)
+ * 3. 기본 카테고리
+ * 폴백 결과는 신뢰도를 낮게 표시하고 복구 후 재분류 대상으로 저장
+ */
+@Component
+public class FallbackCategoryClassifier {
+
+    static final String DEFAULT_CATEGORY_NAME = "이용내역 안내";
+
+    // 폴백 결과 신뢰도 상한 (LLM 결과와 구분되도록 낮게 유지)
+    private static final double MAX_CONFIDENCE = 0.5;
+
+    private static final Pattern KEYWORD_SEPARATOR = Pattern.compile("[/\\s(),]+");
+    private static final Set<String> STOP_WORDS = Set.of("등");
+
+    private final LocalCategoryClassifier localClassifier;
+    private final MeterRegistry meterRegistry;
+
+    public FallbackCategoryClassifier(LocalCategoryClassifier localClassifier, MeterRegistry meterRegistry) {
+        this.localClassifier = localClassifier;
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * 현재 카탈로그 기준 폴백 분류 (항상 결과 반환)
+     */
+    public Result classify(String consultingContent, List<ConsultingCategoryData> categories) {
+        Map<String, String> idsByName = new LinkedHashMap<>();
+        Map<String, String> namesById = new HashMap<>();
+        for (ConsultingCategoryData category : categories) {
+            idsByName.putIfAbsent(category.getCategoryName(), category.getId());
+            namesById.putIfAbsent(category.getId(), category.getCategoryName());
+        }
+
+        // 1. 이력 기반 로컬 분류기
+        Optional<LocalCategoryClassifier.Prediction> prediction = localClassifier.predictBest(consultingContent);
+        if (prediction.isPresent() && namesById.containsKey(prediction.get().categoryId())) {
+            return record(new Result(prediction.get().categoryId(), namesById.get(prediction.get().categoryId()),
+                                     Math.min(MAX_CONFIDENCE, prediction.get().confidence()), "local_model"));
+        }
+
+        // 2. 카테고리명 키워드
+        Optional<Match> match = matchKeywords(consultingContent, idsByName.keySet());
+        if (match.isPresent()) {
+            return record(new Result(idsByName.get(match.get().categoryName()), match.get().categoryName(),
+                                     match.get().confidence(), "keyword"));
+        }
+
+        // 3. 기본 카테고리
+        String defaultName = idsByName.containsKey(DEFAULT_CATEGORY_NAME) || categories.isEmpty()
+            ? DEFAULT_CATEGORY_NAME : categories.get(0).getCategoryName();
+        return record(new Result(idsByName.get(defaultName), defaultName, 0.0, "default"));
+    }
+
+    /**
+     * 카테고리명을 키워드로 나눠 상담 내용과 매칭 (일치하는 키워드가 없으면 빈 값)
+     * 키워드 가중치는 1/(그 키워드를 가진 카테고리 수), 신뢰도는 전체 점수 중 최고 점수 비율
+     */
+    public Optional<Match> matchKeywords(String consultingContent, Collection<String> categoryNames) {
+        if (consultingContent == null || consultingContent.isBlank()) {
+            return Optional.empty();
+        }
+
+        Map<String, Set<String>> keywordsByName = new HashMap<>();
+        Map<String, Integer> documentFrequency = new HashMap<>();
+        for (String name : new LinkedHashSet<>(categoryNames)) {
+            Set<String> keywords = keywords(name);
+            keywordsByName.put(name, keywords);
+            for (String keyword : keywords) {
+                documentFrequency.merge(keyword, 1, Integer::sum);
+            }
+        }
+
+        String bestName = null;
+        double bestScore = 0;
+        double totalScore = 0;
+        for (String name : categoryNames) {
+            double score = 0;
+            for (String keyword : keywordsByName.get(name)) {
+                if (consultingContent.contains(keyword)) {
+                    score += 1.0 / documentFrequency.get(keyword);
+                }
+            }
+            totalScore += score;
+            if (score > bestScore) {
+                bestScore = score;
+                bestName = name;
+            }
+        }
+
+        if (bestName == null) {
+            return Optional.empty();
+        }
+        return Optional.of(new Match(bestName, MAX_CONFIDENCE * bestScore / totalScore));
+    }
+
+    private static Set<String> keywords(String categoryName) {
+        Set<String> keywords = new LinkedHashSet<>();
+        for (String token : KEYWORD_SEPARATOR.split(categoryName)) {
+            if (token.length() >= 2 && !STOP_WORDS.contains(token)) {
+                keywords.add(token);
+            }
+        }
+        return keywords;
+    }
+
+    private Result record(Result result) {
+        meterRegistry.counter("classification.fallback", "source", result.source()).increment();
+        return result;
+    }
+
+    /**
+     * 키워드 매칭 결과
+     */
+    public record Match(String categoryName, double confidence) {}
+
+    /**
+     * 폴백 분류 결과 (source: local_model, keyword, default)
+     */
+    public record Result(String categoryId, String categoryName, double confidence, String source) {}
+}
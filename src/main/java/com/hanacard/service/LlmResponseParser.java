@@ -0,0 +1,271 @@
+package com.hanacard.service;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.hanacard.dto.ConsultingCategoryData;
+import com.hanacard.dto.EnhancedClassificationResponse;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * LLM 응답(JSON) 파서
+ * 코드 펜스 안의 JSON 범위를 찾아 문자열 복사 없이 바로 읽고, 미리 만든 ObjectReader로 응답 타입에 직접 바인딩 (JsonNode 트리 생성 없음)
+ * analysis_result도 미리 만든 ObjectWriter로 한 번에 직렬화 (HashMap 구성 없음)
+ * category_id가 없으면 카테고리명으로 찾아 채운 뒤 analysis_result를 만들므로, 저장 JSON은 바인딩 후 직렬화
+ * 압축 출력 형식(짧은 키 + 카탈로그 번호)은 카탈로그로 카테고리명/ID를 복원하여 같은 응답 형태로 확장
+ */
+class LlmResponseParser {
+
+    private final ObjectReader outputReader;
+    private final ObjectReader compactReader;
+    private final ObjectReader classificationReader;
+    private final ObjectReader analysisReader;
+    private final ObjectReader storedReader;
+    private final ObjectReader treeReader;
+    private final ObjectWriter analysisResultWriter;
+
+    LlmResponseParser(ObjectMapper objectMapper) {
+        ObjectReader lenient = objectMapper.reader().without(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+        this.outputReader = lenient.forType(LlmOutput.class);
+        this.compactReader = lenient.forType(CompactOutput.class);
+        this.classificationReader = lenient.forType(EnhancedClassificationResponse.ClassificationInfo.class);
+        this.analysisReader = lenient.forType(EnhancedClassificationResponse.AnalysisInfo.class);
+        this.storedReader = objectMapper.readerFor(EnhancedClassificationResponse.class);
+        this.treeReader = objectMapper.reader();
+        this.analysisResultWriter = objectMapper.writerFor(AnalysisResult.class);
+    }
+
+    /**
+     * classification/analysis를 가진 LLM 응답 파싱 (category_id가 없으면 categoryIdResolver로 채움)
+     */
+    EnhancedClassificationResponse parse(String llmOutput, Function<String, String> categoryIdResolver) throws IOException {
+        LlmOutput output = outputReader.readValue(jsonReader(llmOutput));
+        return toResponse(output, categoryIdResolver);
+    }
+
+    /**
+     * 압축 출력 형식 응답을 파싱하여 기존 응답 형태로 확장 (카테고리 번호는 요청에 사용한 카탈로그 기준)
+     */
+    EnhancedClassificationResponse parseCompact(String llmOutput, List<ConsultingCategoryData> categories) throws IOException {
+        CompactOutput output = compactReader.readValue(jsonReader(llmOutput));
+        if (output == null || output.category() == null || output.confidence() == null) {
+            throw new IllegalArgumentException("압축 응답의 c/p 누락");
+        }
+
+        EnhancedClassificationResponse.ClassificationInfo classification = new EnhancedClassificationResponse.ClassificationInfo();
+        ConsultingCategoryData category = categoryAt(categories, output.category());
+        if (category == null) {
+            throw new IllegalArgumentException("카테고리 번호 범위 초과: " + output.category());
+        }
+        classification.setCategory(category.getCategoryName());
+        classification.setCategoryId(category.getId());
+        classification.setConfidence(output.confidence());
+
+        if (output.alternatives() != null) {
+            List<EnhancedClassificationResponse.AlternativeCategory> alternatives = new ArrayList<>(output.alternatives().size());
+            for (CompactAlternative compact : output.alternatives()) {
+                ConsultingCategoryData alternativeCategory = compact.category() != null
+                    ? categoryAt(categories, compact.category()) : null;
+                if (alternativeCategory == null) {
+                    continue;
+                }
+                EnhancedClassificationResponse.AlternativeCategory alternative = new EnhancedClassificationResponse.AlternativeCategory();
+                alternative.setCategory(alternativeCategory.getCategoryName());
+                alternative.setConfidence(compact.confidence());
+                alternatives.add(alternative);
+            }
+            classification.setAlternativeCategories(alternatives.toArray(new EnhancedClassificationResponse.AlternativeCategory[0]));
+        }
+
+        EnhancedClassificationResponse response = new EnhancedClassificationResponse();
+        response.setClassification(classification);
+        if (output.analysis() != null) {
+            EnhancedClassificationResponse.AnalysisInfo analysis = new EnhancedClassificationResponse.AnalysisInfo();
+            analysis.setProblemSituation(output.analysis().problemSituation());
+            analysis.setSolutionApproach(output.analysis().solutionApproach());
+            analysis.setExpectedOutcome(output.analysis().expectedOutcome());
+            response.setAnalysis(requireFields(analysis));
+        }
+        return response;
+    }
+
+    private static ConsultingCategoryData categoryAt(List<ConsultingCategoryData> categories, int index) {
+        return index >= 0 && index < categories.size() ? categories.get(index) : null;
+    }
+
+    /**
+     * 이미 트리로 읽은 항목(묶음 응답 배열의 원소) 파싱
+     */
+    EnhancedClassificationResponse parse(JsonNode node, Function<String, String> categoryIdResolver) throws IOException {
+        LlmOutput output = outputReader.readValue(node);
+        return toResponse(output, categoryIdResolver);
+    }
+
+    /**
+     * 묶음 응답처럼 항목별로 나눠 처리해야 하는 응답은 트리로 읽음
+     */
+    JsonNode readTree(String llmOutput) throws IOException {
+        return treeReader.readTree(jsonReader(llmOutput));
+    }
+
+    /**
+     * 스트리밍 중 완성된 classification 블록 파싱
+     */
+    EnhancedClassificationResponse.ClassificationInfo parseClassification(String json, Function<String, String> categoryIdResolver)
+            throws IOException {
+        EnhancedClassificationResponse.ClassificationInfo classification = classificationReader.readValue(json);
+        return resolve(classification, categoryIdResolver);
+    }
+
+    /**
+     * 스트리밍 중 완성된 analysis 블록 파싱
+     */
+    EnhancedClassificationResponse.AnalysisInfo parseAnalysis(String json) throws IOException {
+        return requireFields(analysisReader.readValue(json));
+    }
+
+    /**
+     * 저장된 analysis_result(또는 캐시 값)를 응답 객체로 복원
+     */
+    EnhancedClassificationResponse readStored(String analysisResult) throws IOException {
+        return storedReader.readValue(analysisResult);
+    }
+
+    /**
+     * AI 분석 결과만 analysis_result JSON으로 직렬화
+     */
+    String toAnalysisResultJson(EnhancedClassificationResponse response) throws JsonProcessingException {
+        return analysisResultWriter.writeValueAsString(new AnalysisResult(response.getClassification(), response.getAnalysis()));
+    }
+
+    private EnhancedClassificationResponse toResponse(LlmOutput output, Function<String, String> categoryIdResolver) {
+        if (output == null) {
+            throw new IllegalArgumentException("LLM 응답이 비어 있습니다.");
+        }
+        EnhancedClassificationResponse response = new EnhancedClassificationResponse();
+        if (output.classification() != null) {
+            response.setClassification(resolve(output.classification(), categoryIdResolver));
+        }
+        if (output.analysis() != null) {
+            response.setAnalysis(requireFields(output.analysis()));
+        }
+        return response;
+    }
+
+    private static EnhancedClassificationResponse.ClassificationInfo resolve(
+            EnhancedClassificationResponse.ClassificationInfo classification, Function<String, String> categoryIdResolver) {
+        if (classification.getCategory() == null || classification.getConfidence() == null) {
+            throw new IllegalArgumentException("classification.category/confidence 누락");
+        }
+        if (classification.getCategoryId() == null) {
+            classification.setCategoryId(categoryIdResolver.apply(classification.getCategory()));
+        }
+        return classification;
+    }
+
+    private static EnhancedClassificationResponse.AnalysisInfo requireFields(EnhancedClassificationResponse.AnalysisInfo analysis) {
+        if (analysis.getProblemSituation() == null || analysis.getSolutionApproach() == null
+                || analysis.getExpectedOutcome() == null) {
+            throw new IllegalArgumentException("analysis 필드 누락");
+        }
+        return analysis;
+    }
+
+    /**
+     * 코드 펜스(```json ... ``` 또는 ``` ... ```) 안쪽, 앞뒤 공백을 제외한 JSON 범위를 복사 없이 읽는 Reader
+     */
+    static Reader jsonReader(String response) {
+        int start = 0;
+        int end = response.length();
+        int last = response.lastIndexOf("```");
+        int jsonFence = response.indexOf("```json");
+        if (jsonFence >= 0 && last > jsonFence + 7) {
+            start = jsonFence + 7;
+            end = last;
+        } else {
+            int fence = response.indexOf("```");
+            if (fence >= 0 && last > fence + 3) {
+                start = fence + 3;
+                end = last;
+            }
+        }
+        while (start < end && response.charAt(start) <= ' ') {
+            start++;
+        }
+        while (end > start && response.charAt(end - 1) <= ' ') {
+            end--;
+        }
+        return new RangeReader(response, start, end);
+    }
+
+    /**
+     * 문자열 일부를 읽는 Reader (Jackson의 재사용 버퍼로 바로 복사)
+     */
+    private static final class RangeReader extends Reader {
+
+        private final String source;
+        private final int end;
+        private int position;
+
+        RangeReader(String source, int start, int end) {
+            this.source = source;
+            this.position = start;
+            this.end = end;
+        }
+
+        @Override
+        public int read(char[] buffer, int offset, int length) {
+            if (position >= end) {
+                return -1;
+            }
+            int count = Math.min(length, end - position);
+            source.getChars(position, position + count, buffer, offset);
+            position += count;
+            return count;
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+
+    /**
+     * LLM 응답 구조 (classification, analysis 외 필드는 무시)
+     */
+    record LlmOutput(@JsonProperty("classification") EnhancedClassificationResponse.ClassificationInfo classification,
+                     @JsonProperty("analysis") EnhancedClassificationResponse.AnalysisInfo analysis) {
+    }
+
+    /**
+     * 압축 출력 형식 (c: 카테고리 번호, p: 신뢰도, alt: 대안, a: 분석)
+     */
+    record CompactOutput(@JsonProperty("c") Integer category,
+                         @JsonProperty("p") Double confidence,
+                         @JsonProperty("alt") List<CompactAlternative> alternatives,
+                         @JsonProperty("a") CompactAnalysis analysis) {
+    }
+
+    record CompactAlternative(@JsonProperty("c") Integer category, @JsonProperty("p") Double confidence) {
+    }
+
+    record CompactAnalysis(@JsonProperty("ps") String problemSituation,
+                           @JsonProperty("sa") String solutionApproach,
+                           @JsonProperty("eo") String expectedOutcome) {
+    }
+
+    /**
+     * analysis_result 저장 구조
+     */
+    record AnalysisResult(@JsonProperty("classification") EnhancedClassificationResponse.ClassificationInfo classification,
+                          @JsonProperty("analysis") EnhancedClassificationResponse.AnalysisInfo analysis) {
+    }
+}
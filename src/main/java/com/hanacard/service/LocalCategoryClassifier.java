@@ -0,0 +1,445 @@
+package com.hanacard.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.hanacard.entity.ConsultingClassification;
+import com.hanacard.repository.ConsultingClassificationRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * voc_normalized 이력으로 학습하는 로컬 상담 분류기 (문자 n-gram 다항 나이브 베이즈)
+ * LLM 호출 전에 마이크로초 단위로 실행되며, 신뢰도가 임계값 이상이면 LLM 분류를 생략
+ * 새 분류 결과로 점진 학습하고, 디스크에 직렬화하여 재기동 시 전체 재학습을 피함
+ */
+@Component
+public class LocalCategoryClassifier {
+
+    private static final Logger logger = LoggerFactory.getLogger(LocalCategoryClassifier.class);
+
+    private static final int MODEL_MAGIC = 0x4C4E4231; // "LNB1"
+    private static final double ALPHA = 1.0;
+    private static final int TRAINING_PAGE_SIZE = 1000;
+
+    private final ConsultingClassificationRepository repository;
+    private final ObjectReader treeReader;
+    private final boolean enabled;
+    private final double confidenceThreshold;
+    private final long minTrainingDocs;
+    private final int featureBits;
+    private final int featureMask;
+    private final Path modelPath;
+    private final int saveEvery;
+
+    // 클래스별 통계 (카테고리 ID 기준)
+    private final Map<String, Integer> classIndex = new HashMap<>();
+    private final List<ClassStats> classes = new ArrayList<>();
+    private long totalDocs = 0;
+    private long lastTrainedId = 0;
+    private int updatesSinceSave = 0;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final AtomicBoolean saving = new AtomicBoolean(false);
+
+    private final Counter accepted;
+    private final Counter rejected;
+
+    public LocalCategoryClassifier(
+            ConsultingClassificationRepository repository,
+            ObjectMapper objectMapper,
+            MeterRegistry meterRegistry,
+            @Value("${classification.local-model.enabled:false}") boolean enabled,
+            @Value("${classification.local-model.confidence-threshold:0.97}") double confidenceThreshold,
+            @Value("${classification.local-model.min-training-docs:1000}") long minTrainingDocs,
+            @Value("${classification.local-model.feature-bits:16}") int featureBits,
+            @Value("${classification.local-model.path:./data/local-classifier.bin}") String modelPath,
+            @Value("${classification.local-model.save-every:500}") int saveEvery) {
+
+        this.repository = repository;
+        this.treeReader = objectMapper.reader();
+        this.enabled = enabled;
+        this.confidenceThreshold = confidenceThreshold;
+        this.minTrainingDocs = minTrainingDocs;
+        this.featureBits = featureBits;
+        this.featureMask = (1 << featureBits) - 1;
+        this.modelPath = Paths.get(modelPath);
+        this.saveEvery = saveEvery;
+
+        this.accepted = Counter.builder("classification.local.predictions").tag("result", "accepted").register(meterRegistry);
+        this.rejected = Counter.builder("classification.local.predictions").tag("result", "rejected").register(meterRegistry);
+        Gauge.builder("classification.local.training.docs", this, LocalCategoryClassifier::trainingDocs)
+            .description("로컬 분류기 학습 문서 수")
+            .register(meterRegistry);
+    }
+
+    /**
+     * 기동 시 모델 로드 후 이후 추가된 이력만 이어서 학습 (백그라운드 실행)
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void initializeOnStartup() {
+        if (!enabled) {
+            return;
+        }
+        CompletableFuture.runAsync(() -> {
+            loadModel();
+            trainFromHistory();
+        }).exceptionally(e -> {
+            logger.warn("로컬 분류기 초기화 실패: {}", e.getMessage());
+            return null;
+        });
+    }
+
+    /**
+     * 마지막으로 학습한 ID 이후의 voc_normalized 이력을 키셋 순서로 학습 (재분류 대기 행 제외)
+     */
+    public void trainFromHistory() {
+        long startTime = System.currentTimeMillis();
+        long trained = 0;
+
+        while (true) {
+            List<ConsultingClassification> page = repository.findByReclassifyPendingFalseAndIdGreaterThanOrderByIdAsc(
+                lastTrainedId, PageRequest.of(0, TRAINING_PAGE_SIZE));
+            if (page.isEmpty()) {
+                break;
+            }
+            lock.writeLock().lock();
+            try {
+                for (ConsultingClassification row : page) {
+                    if (isLabeledByLlm(row)) {
+                        learnLocked(row.getConsultingContent(), row.getCategoryId());
+                        trained++;
+                    }
+                    lastTrainedId = row.getId();
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+
+        logger.info("로컬 분류기 이력 학습 완료: 신규 {}건, 전체 {}건, {}ms",
+                   trained, trainingDocs(), System.currentTimeMillis() - startTime);
+        if (trained > 0) {
+            saveModel();
+        }
+    }
+
+    /**
+     * LLM 분석까지 거친 이력인지 확인
+     * 로컬 분류기 자신의 예측, 짧은 프롬프트(캐스케이드) 분류, 장애 폴백 분류는 analysis가 없으므로 학습에서 제외
+     * MySQL JSON 컬럼은 공백 등을 정규화한 텍스트를 돌려주므로 문자열 비교가 아닌 JSON 파싱으로 확인
+     */
+    boolean isLabeledByLlm(ConsultingClassification row) {
+        if (row.getCategoryId() == null || row.getAnalysisResult() == null || row.isReclassifyPending()) {
+            return false;
+        }
+        try {
+            JsonNode analysis = treeReader.readTree(row.getAnalysisResult()).get("analysis");
+            return analysis != null && analysis.isObject();
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    /**
+     * 분류 예측 (모델이 충분히 학습되지 않았거나 신뢰도가 낮으면 빈 값)
+     */
+    public Optional<Prediction> predict(String consultingContent) {
+        Optional<Prediction> prediction = predictBest(consultingContent);
+        if (prediction.isEmpty()) {
+            return prediction;
+        }
+        if (prediction.get().confidence() < confidenceThreshold) {
+            rejected.increment();
+            return Optional.empty();
+        }
+        accepted.increment();
+        return prediction;
+    }
+
+    /**
+     * 신뢰도 임계값과 무관하게 가장 가능성이 높은 카테고리 (OpenAI 장애 시 폴백용)
+     * 모델이 충분히 학습되지 않았으면 빈 값
+     */
+    public Optional<Prediction> predictBest(String consultingContent) {
+        if (!enabled) {
+            return Optional.empty();
+        }
+
+        lock.readLock().lock();
+        try {
+            if (totalDocs < minTrainingDocs || classes.size() < 2) {
+                return Optional.empty();
+            }
+
+            int[] features = extractFeatures(consultingContent);
+            double vocabulary = featureMask + 1.0;
+            double[] scores = new double[classes.size()];
+            double max = Double.NEGATIVE_INFINITY;
+
+            for (int c = 0; c < classes.size(); c++) {
+                ClassStats stats = classes.get(c);
+                double denominator = Math.log(stats.totalFeatures + ALPHA * vocabulary);
+                double score = Math.log((double) stats.docCount / totalDocs);
+                for (int feature : features) {
+                    score += Math.log(stats.counts[feature] + ALPHA) - denominator;
+                }
+                scores[c] = score;
+                max = Math.max(max, score);
+            }
+
+            // log-sum-exp로 사후확률 정규화
+            double sum = 0;
+            for (int c = 0; c < scores.length; c++) {
+                scores[c] = Math.exp(scores[c] - max);
+                sum += scores[c];
+            }
+
+            List<Candidate> ranked = new ArrayList<>(classes.size());
+            for (int c = 0; c < scores.length; c++) {
+                ranked.add(new Candidate(classes.get(c).categoryId, scores[c] / sum));
+            }
+            ranked.sort(Comparator.comparingDouble(Candidate::probability).reversed());
+
+            Candidate best = ranked.get(0);
+            return Optional.of(new Prediction(best.categoryId(), best.probability(),
+                                              ranked.subList(1, Math.min(3, ranked.size()))));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * 저장된 새 분류 결과로 점진 학습 (rowId까지 학습한 것으로 기록하여 재기동 시 중복 학습 방지)
+     */
+    public void learn(String consultingContent, String categoryId, Long rowId) {
+        if (!enabled || categoryId == null) {
+            return;
+        }
+
+        boolean shouldSave;
+        lock.writeLock().lock();
+        try {
+            learnLocked(consultingContent, categoryId);
+            if (rowId != null && rowId > lastTrainedId) {
+                lastTrainedId = rowId;
+            }
+            updatesSinceSave++;
+            shouldSave = updatesSinceSave >= saveEvery;
+            if (shouldSave) {
+                updatesSinceSave = 0;
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        if (shouldSave) {
+            CompletableFuture.runAsync(this::saveModel);
+        }
+    }
+
+    public long trainingDocs() {
+        lock.readLock().lock();
+        try {
+            return totalDocs;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void learnLocked(String consultingContent, String categoryId) {
+        Integer index = classIndex.get(categoryId);
+        if (index == null) {
+            index = classes.size();
+            classes.add(new ClassStats(categoryId, new int[featureMask + 1]));
+            classIndex.put(categoryId, index);
+        }
+
+        ClassStats stats = classes.get(index);
+        int[] features = extractFeatures(consultingContent);
+        for (int feature : features) {
+            stats.counts[feature]++;
+        }
+        stats.totalFeatures += features.length;
+        stats.docCount++;
+        totalDocs++;
+    }
+
+    /**
+     * 문자 2-gram/3-gram을 해시 버킷으로 변환
+     */
+    private int[] extractFeatures(String consultingContent) {
+        String text = NearDuplicateIndex.normalize(consultingContent);
+        int bigrams = Math.max(0, text.length() - 1);
+        int trigrams = Math.max(0, text.length() - 2);
+        int[] features = new int[bigrams + trigrams];
+
+        int n = 0;
+        for (int i = 0; i < bigrams; i++) {
+            features[n++] = bucket((text.charAt(i) * 31 + text.charAt(i + 1)) * 2);
+        }
+        for (int i = 0; i < trigrams; i++) {
+            features[n++] = bucket(((text.charAt(i) * 31 + text.charAt(i + 1)) * 31 + text.charAt(i + 2)) * 2 + 1);
+        }
+        return features;
+    }
+
+    private int bucket(int hash) {
+        int h = hash * 0x9E3779B9;
+        return (h ^ (h >>> featureBits)) & featureMask;
+    }
+
+    /**
+     * 모델 저장 (임시 파일에 쓴 뒤 원자적 교체)
+     */
+    @PreDestroy
+    public void saveModel() {
+        if (!enabled || !saving.compareAndSet(false, true)) {
+            return;
+        }
+
+        lock.readLock().lock();
+        try {
+            Path parent = modelPath.toAbsolutePath().getParent();
+            if (parent != null) {
+                Files.createDirectories(parent);
+            }
+            Path temp = modelPath.resolveSibling(modelPath.getFileName() + ".tmp");
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(
+                    new GZIPOutputStream(Files.newOutputStream(temp))))) {
+                out.writeInt(MODEL_MAGIC);
+                out.writeInt(featureBits);
+                out.writeLong(totalDocs);
+                out.writeLong(lastTrainedId);
+                out.writeInt(classes.size());
+                for (ClassStats stats : classes) {
+                    out.writeUTF(stats.categoryId);
+                    out.writeLong(stats.docCount);
+                    out.writeLong(stats.totalFeatures);
+                    // 0이 아닌 버킷만 저장 (희소 표현)
+                    int nonZero = 0;
+                    for (int count : stats.counts) {
+                        if (count != 0) {
+                            nonZero++;
+                        }
+                    }
+                    out.writeInt(nonZero);
+                    for (int i = 0; i < stats.counts.length; i++) {
+                        if (stats.counts[i] != 0) {
+                            out.writeInt(i);
+                            out.writeInt(stats.counts[i]);
+                        }
+                    }
+                }
+            }
+            Files.move(temp, modelPath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            logger.info("로컬 분류기 저장 완료: path={}, docs={}", modelPath, totalDocs);
+        } catch (IOException e) {
+            logger.warn("로컬 분류기 저장 실패: {}", e.getMessage());
+        } finally {
+            lock.readLock().unlock();
+            saving.set(false);
+        }
+    }
+
+    /**
+     * 디스크에서 모델 로드 (특징 공간 크기가 다르면 무시하고 재학습)
+     */
+    void loadModel() {
+        if (!Files.exists(modelPath)) {
+            logger.info("저장된 로컬 분류기가 없어 이력 전체를 학습합니다: {}", modelPath);
+            return;
+        }
+
+        lock.writeLock().lock();
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(
+                new GZIPInputStream(Files.newInputStream(modelPath))))) {
+            if (in.readInt() != MODEL_MAGIC || in.readInt() != featureBits) {
+                logger.warn("로컬 분류기 형식이 달라 무시합니다: {}", modelPath);
+                return;
+            }
+            long docs = in.readLong();
+            long trainedId = in.readLong();
+            int classCount = in.readInt();
+
+            Map<String, Integer> loadedIndex = new HashMap<>();
+            List<ClassStats> loadedClasses = new ArrayList<>(classCount);
+            for (int c = 0; c < classCount; c++) {
+                ClassStats stats = new ClassStats(in.readUTF(), new int[featureMask + 1]);
+                stats.docCount = in.readLong();
+                stats.totalFeatures = in.readLong();
+                int nonZero = in.readInt();
+                for (int i = 0; i < nonZero; i++) {
+                    int bucket = in.readInt();
+                    stats.counts[bucket] = in.readInt();
+                }
+                loadedIndex.put(stats.categoryId, c);
+                loadedClasses.add(stats);
+            }
+
+            classIndex.clear();
+            classIndex.putAll(loadedIndex);
+            classes.clear();
+            classes.addAll(loadedClasses);
+            totalDocs = docs;
+            lastTrainedId = trainedId;
+            logger.info("로컬 분류기 로드 완료: docs={}, classes={}, lastTrainedId={}", docs, classCount, trainedId);
+        } catch (IOException e) {
+            logger.warn("로컬 분류기 로드 실패, 이력 전체를 학습합니다: {}", e.getMessage());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private static class ClassStats {
+        private final String categoryId;
+        private final int[] counts;
+        private long docCount;
+        private long totalFeatures;
+
+        private ClassStats(String categoryId, int[] counts) {
+            this.categoryId = categoryId;
+            this.counts = counts;
+        }
+    }
+
+    /**
+     * 후보 카테고리와 사후확률
+     */
+    public record Candidate(String categoryId, double probability) {}
+
+    /**
+     * 로컬 분류 결과 (최상위 카테고리 + 차순위 대안)
+     */
+    public record Prediction(String categoryId, double confidence, List<Candidate> alternatives) {}
+}
@@ -0,0 +1,83 @@
+package com.hanacard.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.hanacard.dto.IngestReport;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * NDJSON 파일 일괄 적재 실행 모드
+ * classification.ingest.file이 지정되면 기동 후 파일을 적재하고 줄별 보고서를 report-file에 기록한 뒤 종료
+ * 예: java -jar app.jar --spring.main.web-application-type=none --classification.ingest.file=export.ndjson
+ */
+@Component
+@ConditionalOnProperty(name = "classification.ingest.file")
+public class NdjsonIngestRunner implements ApplicationRunner {
+
+    private static final Logger logger = LoggerFactory.getLogger(NdjsonIngestRunner.class);
+
+    private final NdjsonIngestService ingestService;
+    private final ObjectWriter reportWriter;
+    private final ConfigurableApplicationContext context;
+    private final Path inputFile;
+    private final Path reportFile;
+    private final boolean exitOnComplete;
+
+    public NdjsonIngestRunner(
+            NdjsonIngestService ingestService,
+            ObjectMapper objectMapper,
+            ConfigurableApplicationContext context,
+            @Value("${classification.ingest.file}") String inputFile,
+            @Value("${classification.ingest.report-file:}") String reportFile,
+            @Value("${classification.ingest.exit-on-complete:true}") boolean exitOnComplete) {
+
+        this.ingestService = ingestService;
+        this.reportWriter = objectMapper.writer();
+        this.context = context;
+        this.inputFile = Path.of(inputFile);
+        this.reportFile = reportFile.isBlank() ? Path.of(inputFile + ".report.ndjson") : Path.of(reportFile);
+        this.exitOnComplete = exitOnComplete;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) throws IOException {
+        logger.info("NDJSON 파일 적재: input={}, report={}", inputFile, reportFile);
+
+        IngestReport.Summary summary;
+        try (BufferedReader reader = Files.newBufferedReader(inputFile, StandardCharsets.UTF_8);
+             BufferedWriter writer = Files.newBufferedWriter(reportFile, StandardCharsets.UTF_8)) {
+            summary = ingestService.ingest(reader, status -> writeLine(writer, status));
+            writeLine(writer, summary);
+        }
+
+        if (exitOnComplete) {
+            int exitCode = SpringApplication.exit(context, () -> summary.getFailed() > 0 ? 1 : 0);
+            System.exit(exitCode);
+        }
+    }
+
+    private void writeLine(BufferedWriter writer, Object value) {
+        try {
+            writer.write(reportWriter.writeValueAsString(value));
+            writer.newLine();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
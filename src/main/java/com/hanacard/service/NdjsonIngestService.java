@@ -0,0 +1,197 @@
+package com.hanacard.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.hanacard.dto.BatchClassificationResponse;
+import com.hanacard.dto.ClassificationRequest;
+import com.hanacard.dto.EnhancedClassificationResponse;
+import com.hanacard.dto.IngestReport;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Consumer;
+
+/**
+ * NDJSON 일괄 적재
+ * 입력을 한 줄씩 읽어 chunk-size 건씩 배치 분류/저장(processAndSaveBatch)하고, 줄마다 처리 결과를 입력 순서대로 보고
+ * 처리 중인 묶음이 max-in-flight-chunks개에 도달하면 가장 오래된 묶음이 끝날 때까지 읽기를 멈춤 (역압)
+ * 따라서 메모리에 올라가는 줄 수는 chunk-size × (max-in-flight-chunks + 1)로 입력 크기와 무관
+ */
+@Service
+public class NdjsonIngestService {
+
+    private static final Logger logger = LoggerFactory.getLogger(NdjsonIngestService.class);
+
+    private final EnhancedOpenAIService enhancedOpenAIService;
+    private final ObjectReader requestReader;
+    private final TaskExecutor ingestExecutor;
+    private final MeterRegistry meterRegistry;
+    private final int chunkSize;
+    private final int maxInFlightChunks;
+
+    public NdjsonIngestService(
+            EnhancedOpenAIService enhancedOpenAIService,
+            ObjectMapper objectMapper,
+            @Qualifier("ingestExecutor") TaskExecutor ingestExecutor,
+            MeterRegistry meterRegistry,
+            @Value("${classification.ingest.chunk-size:32}") int chunkSize,
+            @Value("${classification.ingest.max-in-flight-chunks:2}") int maxInFlightChunks) {
+
+        this.enhancedOpenAIService = enhancedOpenAIService;
+        this.requestReader = objectMapper.readerFor(ClassificationRequest.class);
+        this.ingestExecutor = ingestExecutor;
+        this.meterRegistry = meterRegistry;
+        this.chunkSize = Math.max(1, chunkSize);
+        this.maxInFlightChunks = Math.max(1, maxInFlightChunks);
+    }
+
+    /**
+     * NDJSON 입력 적재 (빈 줄은 건너뜀)
+     * statusSink는 호출 스레드에서 입력 순서대로 호출됨
+     */
+    public IngestReport.Summary ingest(BufferedReader reader, Consumer<IngestReport.LineStatus> statusSink) throws IOException {
+        long startTime = System.currentTimeMillis();
+        IngestReport.Summary summary = new IngestReport.Summary();
+        Deque<Chunk> inFlight = new ArrayDeque<>();
+        List<Line> lines = new ArrayList<>(chunkSize);
+        long lineNumber = 0;
+
+        logger.info("NDJSON 적재 시작: chunkSize={}, maxInFlightChunks={}", chunkSize, maxInFlightChunks);
+
+        try {
+            String text;
+            while ((text = reader.readLine()) != null) {
+                lineNumber++;
+                if (text.isBlank()) {
+                    continue;
+                }
+                lines.add(parseLine(lineNumber, text));
+                if (lines.size() < chunkSize) {
+                    continue;
+                }
+
+                inFlight.add(submit(lines));
+                lines = new ArrayList<>(chunkSize);
+
+                // 1. 이미 끝난 묶음은 바로 보고
+                while (!inFlight.isEmpty() && inFlight.peek().future().isDone()) {
+                    report(inFlight.poll(), statusSink, summary);
+                }
+                // 2. 처리 중인 묶음이 한도에 도달하면 가장 오래된 묶음이 끝날 때까지 읽기 중단
+                while (inFlight.size() >= maxInFlightChunks) {
+                    report(inFlight.poll(), statusSink, summary);
+                }
+            }
+
+            if (!lines.isEmpty()) {
+                inFlight.add(submit(lines));
+            }
+        } finally {
+            // 입력 오류(연결 끊김 등)가 나더라도 이미 제출한 묶음은 끝까지 저장하고 보고
+            while (!inFlight.isEmpty()) {
+                report(inFlight.poll(), statusSink, summary);
+            }
+            summary.setFailed(summary.getTotal() - summary.getSucceeded());
+            summary.setProcessingTime((System.currentTimeMillis() - startTime) / 1000.0);
+            logger.info("NDJSON 적재 완료: total={}, succeeded={}, failed={}, processingTime={}s",
+                       summary.getTotal(), summary.getSucceeded(), summary.getFailed(), summary.getProcessingTime());
+        }
+
+        return summary;
+    }
+
+    private Line parseLine(long lineNumber, String text) {
+        try {
+            ClassificationRequest request = requestReader.readValue(text);
+            return request != null ? new Line(lineNumber, request, null) : new Line(lineNumber, null, "요청이 비어 있습니다.");
+        } catch (JsonProcessingException e) {
+            return new Line(lineNumber, null, "JSON 파싱 실패: " + e.getOriginalMessage());
+        }
+    }
+
+    /**
+     * 파싱된 줄을 배치 분류/저장에 제출 (유효성 검증은 processAndSaveBatch에서 항목별로 수행)
+     */
+    private Chunk submit(List<Line> lines) {
+        List<ClassificationRequest> requests = new ArrayList<>(lines.size());
+        for (Line line : lines) {
+            if (line.request() != null) {
+                requests.add(line.request());
+            }
+        }
+
+        CompletableFuture<BatchClassificationResponse> future = requests.isEmpty()
+            ? CompletableFuture.completedFuture(null)
+            : CompletableFuture.supplyAsync(() -> enhancedOpenAIService.processAndSaveBatch(requests), ingestExecutor);
+        return new Chunk(lines, future);
+    }
+
+    /**
+     * 묶음 완료 대기 후 줄별 결과 보고
+     */
+    private void report(Chunk chunk, Consumer<IngestReport.LineStatus> statusSink, IngestReport.Summary summary) {
+        List<BatchClassificationResponse.ItemResult> results = null;
+        String chunkError = null;
+        try {
+            BatchClassificationResponse batch = chunk.future().join();
+            results = batch != null ? batch.getResults() : List.of();
+        } catch (CompletionException e) {
+            Throwable cause = e.getCause() != null ? e.getCause() : e;
+            logger.warn("NDJSON 묶음 처리 실패: {}건, error={}", chunk.lines().size(), cause.getMessage());
+            chunkError = cause.getMessage();
+        }
+
+        int resultIndex = 0;
+        for (Line line : chunk.lines()) {
+            IngestReport.LineStatus status = new IngestReport.LineStatus();
+            status.setLine(line.number());
+
+            if (line.request() == null) {
+                status.setError(line.error());
+            } else if (chunkError != null) {
+                status.setSourceId(line.request().getSourceId());
+                status.setError(chunkError);
+            } else {
+                BatchClassificationResponse.ItemResult item = results.get(resultIndex++);
+                status.setSourceId(item.getSourceId());
+                status.setSuccess(item.isSuccess());
+                status.setError(item.getError());
+                EnhancedClassificationResponse result = item.getResult();
+                if (item.isSuccess() && result != null) {
+                    status.setId(result.getId());
+                    if (result.getClassification() != null) {
+                        status.setCategory(result.getClassification().getCategory());
+                        status.setCategoryId(result.getClassification().getCategoryId());
+                    }
+                }
+            }
+
+            summary.setTotal(summary.getTotal() + 1);
+            if (status.isSuccess()) {
+                summary.setSucceeded(summary.getSucceeded() + 1);
+            }
+            meterRegistry.counter("classification.ingest.lines", "result", status.isSuccess() ? "succeeded" : "failed").increment();
+            statusSink.accept(status);
+        }
+    }
+
+    private record Line(long number, ClassificationRequest request, String error) {
+    }
+
+    private record Chunk(List<Line> lines, CompletableFuture<BatchClassificationResponse> future) {
+    }
+}
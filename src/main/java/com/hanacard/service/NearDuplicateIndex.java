@@ -0,0 +1,363 @@
+package com.hanacard.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.hanacard.entity.ConsultingClassification;
+import com.hanacard.repository.ConsultingClassificationRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * 근사 중복 상담 탐지용 MinHash LSH 인덱스
+ * 이름/금액만 다른 동일 스크립트 상담을 찾아 이웃의 분류 결과를 재사용
+ * 한글 문자 n-gram 슁글 기반, 최대 항목 수로 메모리 상한 유지 (오래된 항목부터 교체)
+ */
+@Component
+public class NearDuplicateIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(NearDuplicateIndex.class);
+
+    // 항목당 고정 오버헤드 추정치 (객체 헤더, 참조, 버킷 리스트 엔트리 등)
+    private static final long ENTRY_OVERHEAD_BYTES = 96;
+    private static final long BUCKET_REFERENCE_BYTES = 48;
+
+    private final ConsultingClassificationRepository repository;
+    private final ObjectReader treeReader;
+    private final boolean enabled;
+    private final int maxEntries;
+    private final int bands;
+    private final int rows;
+    private final int shingleSize;
+    private final double threshold;
+
+    // MinHash 해시 함수 시드 (고정 시드로 재시작 후에도 동일한 서명 생성)
+    private final long[] hashSeeds;
+
+    // 링 버퍼 (slot -> 항목), 밴드별 버킷 (밴드 키 -> slot 목록)
+    private final Entry[] slots;
+    private final List<Map<Long, List<Integer>>> bandBuckets;
+    private int nextSlot = 0;
+    private int size = 0;
+    private long approximateBytes = 0;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final Counter hits;
+    private final Counter misses;
+
+    public NearDuplicateIndex(
+            ConsultingClassificationRepository repository,
+            ObjectMapper objectMapper,
+            MeterRegistry meterRegistry,
+            @Value("${classification.near-duplicate.enabled:false}") boolean enabled,
+            @Value("${classification.near-duplicate.max-entries:20000}") int maxEntries,
+            @Value("${classification.near-duplicate.bands:16}") int bands,
+            @Value("${classification.near-duplicate.rows:4}") int rows,
+            @Value("${classification.near-duplicate.shingle-size:3}") int shingleSize,
+            @Value("${classification.near-duplicate.threshold:0.9}") double threshold) {
+
+        this.repository = repository;
+        this.treeReader = objectMapper.reader();
+        this.enabled = enabled;
+        this.maxEntries = maxEntries;
+        this.bands = bands;
+        this.rows = rows;
+        this.shingleSize = shingleSize;
+        this.threshold = threshold;
+
+        SplittableRandom random = new SplittableRandom(0x5EED_1DE4L);
+        this.hashSeeds = new long[bands * rows];
+        for (int i = 0; i < hashSeeds.length; i++) {
+            hashSeeds[i] = random.nextLong();
+        }
+
+        this.slots = new Entry[maxEntries];
+        this.bandBuckets = new ArrayList<>(bands);
+        for (int b = 0; b < bands; b++) {
+            bandBuckets.add(new HashMap<>());
+        }
+
+        this.hits = Counter.builder("classification.neardup.lookups").tag("result", "hit").register(meterRegistry);
+        this.misses = Counter.builder("classification.neardup.lookups").tag("result", "miss").register(meterRegistry);
+        Gauge.builder("classification.neardup.entries", this, NearDuplicateIndex::size)
+            .description("근사 중복 인덱스 항목 수")
+            .register(meterRegistry);
+        Gauge.builder("classification.neardup.memory.bytes", this, NearDuplicateIndex::approximateMemoryBytes)
+            .description("근사 중복 인덱스 추정 메모리 사용량")
+            .register(meterRegistry);
+    }
+
+    /**
+     * 기동 시 최근 분류 이력으로 인덱스 재구성 (기동을 막지 않도록 백그라운드 실행)
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildOnStartup() {
+        if (!enabled) {
+            return;
+        }
+        CompletableFuture.runAsync(this::rebuildFromHistory)
+            .exceptionally(e -> {
+                logger.warn("근사 중복 인덱스 재구성 실패: {}", e.getMessage());
+                return null;
+            });
+    }
+
+    /**
+     * voc_normalized 최근 이력으로 인덱스 재구성
+     * 재분류 대기 행(장애 시 폴백 라벨)은 재사용하면 안 되므로 제외
+     */
+    public void rebuildFromHistory() {
+        long startTime = System.currentTimeMillis();
+        List<ConsultingClassification> recent = repository.findRecentReusableClassifications(maxEntries);
+
+        // 최신순 조회 결과를 오래된 순으로 넣어 링 버퍼에 최신 항목이 남도록 함
+        for (int i = recent.size() - 1; i >= 0; i--) {
+            ConsultingClassification row = recent.get(i);
+            if (row.getCategoryId() != null && row.getAnalysisResult() != null) {
+                add(row.getConsultingContent(), row.getCategoryId(), row.getAnalysisResult(),
+                    hasAnalysis(row.getAnalysisResult()));
+            }
+        }
+
+        logger.info("근사 중복 인덱스 재구성 완료: {}건, 추정 메모리={}KB, {}ms",
+                   size(), approximateMemoryBytes() / 1024, System.currentTimeMillis() - startTime);
+    }
+
+    /**
+     * 저장된 analysis_result에 상세 분석이 포함되어 있는지 확인
+     */
+    private boolean hasAnalysis(String analysisResult) {
+        try {
+            JsonNode analysis = treeReader.readTree(analysisResult).get("analysis");
+            return analysis != null && analysis.isObject();
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    /**
+     * 유사도가 임계값 이상인 가장 가까운 이웃 조회
+     * requireAnalysis이면 상세 분석이 없는 이웃은 건너뛰고 분석이 있는 이웃 중에서 선택
+     */
+    public Optional<Match> findSimilar(String consultingContent, boolean requireAnalysis) {
+        if (!enabled) {
+            return Optional.empty();
+        }
+
+        int[] signature = signature(consultingContent);
+        long[] bandKeys = bandKeys(signature);
+
+        Match best = null;
+        lock.readLock().lock();
+        try {
+            Set<Integer> candidates = new HashSet<>();
+            for (int b = 0; b < bands; b++) {
+                List<Integer> bucket = bandBuckets.get(b).get(bandKeys[b]);
+                if (bucket != null) {
+                    candidates.addAll(bucket);
+                }
+            }
+
+            for (int slot : candidates) {
+                Entry entry = slots[slot];
+                if (requireAnalysis && !entry.analyzed()) {
+                    continue;
+                }
+                double similarity = estimateSimilarity(signature, entry.signature());
+                if (similarity >= threshold && (best == null || similarity > best.similarity())) {
+                    best = new Match(entry.categoryId(), entry.analysisResult(), entry.analyzed(), similarity);
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        if (best != null) {
+            hits.increment();
+        } else {
+            misses.increment();
+        }
+        return Optional.ofNullable(best);
+    }
+
+    /**
+     * 분류된 상담을 인덱스에 추가 (가득 차면 가장 오래된 항목 교체)
+     * analyzed: analysisResult에 상세 분석 포함 여부
+     */
+    public void add(String consultingContent, String categoryId, String analysisResult, boolean analyzed) {
+        if (!enabled || maxEntries <= 0) {
+            return;
+        }
+
+        int[] signature = signature(consultingContent);
+        long[] bandKeys = bandKeys(signature);
+        Entry entry = new Entry(signature, bandKeys, categoryId, analysisResult, analyzed);
+
+        lock.writeLock().lock();
+        try {
+            int slot = nextSlot;
+            Entry evicted = slots[slot];
+            if (evicted != null) {
+                removeFromBuckets(slot, evicted);
+                approximateBytes -= entryBytes(evicted);
+                size--;
+            }
+
+            slots[slot] = entry;
+            for (int b = 0; b < bands; b++) {
+                bandBuckets.get(b).computeIfAbsent(bandKeys[b], k -> new ArrayList<>(1)).add(slot);
+            }
+            approximateBytes += entryBytes(entry);
+            size++;
+            nextSlot = (slot + 1) % maxEntries;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return size;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public long approximateMemoryBytes() {
+        lock.readLock().lock();
+        try {
+            return approximateBytes;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void removeFromBuckets(int slot, Entry entry) {
+        for (int b = 0; b < bands; b++) {
+            Map<Long, List<Integer>> buckets = bandBuckets.get(b);
+            List<Integer> bucket = buckets.get(entry.bandKeys()[b]);
+            if (bucket != null) {
+                bucket.remove(Integer.valueOf(slot));
+                if (bucket.isEmpty()) {
+                    buckets.remove(entry.bandKeys()[b]);
+                }
+            }
+        }
+    }
+
+    private long entryBytes(Entry entry) {
+        return ENTRY_OVERHEAD_BYTES
+            + entry.signature().length * 4L
+            + entry.bandKeys().length * (8L + BUCKET_REFERENCE_BYTES)
+            + (entry.analysisResult() != null ? entry.analysisResult().length() * 2L : 0);
+    }
+
+    /**
+     * MinHash 서명 계산 (문자 n-gram 슁글별 최소 해시)
+     */
+    int[] signature(String consultingContent) {
+        String text = normalize(consultingContent);
+        int[] signature = new int[hashSeeds.length];
+        Arrays.fill(signature, Integer.MAX_VALUE);
+
+        int shingleCount = Math.max(1, text.length() - shingleSize + 1);
+        for (int i = 0; i < shingleCount; i++) {
+            long shingle = 0;
+            int end = Math.min(text.length(), i + shingleSize);
+            for (int j = i; j < end; j++) {
+                shingle = shingle * 65599 + text.charAt(j);
+            }
+            for (int h = 0; h < hashSeeds.length; h++) {
+                int value = (int) (mix64(shingle ^ hashSeeds[h]) >>> 33);
+                if (value < signature[h]) {
+                    signature[h] = value;
+                }
+            }
+        }
+        return signature;
+    }
+
+    private long[] bandKeys(int[] signature) {
+        long[] keys = new long[bands];
+        for (int b = 0; b < bands; b++) {
+            long key = b;
+            for (int r = 0; r < rows; r++) {
+                key = key * 0x100000001B3L + signature[b * rows + r];
+            }
+            keys[b] = mix64(key);
+        }
+        return keys;
+    }
+
+    /**
+     * 서명 일치 비율로 Jaccard 유사도 추정
+     */
+    static double estimateSimilarity(int[] a, int[] b) {
+        int same = 0;
+        for (int i = 0; i < a.length; i++) {
+            if (a[i] == b[i]) {
+                same++;
+            }
+        }
+        return (double) same / a.length;
+    }
+
+    /**
+     * 슁글 생성용 정규화: 공백/구두점 제거, 숫자는 하나의 기호로 통일 (금액·전화번호 차이 무시)
+     */
+    static String normalize(String consultingContent) {
+        if (consultingContent == null) {
+            return "";
+        }
+        String nfc = Normalizer.normalize(consultingContent, Normalizer.Form.NFC).toLowerCase();
+        StringBuilder builder = new StringBuilder(nfc.length());
+        for (int i = 0; i < nfc.length(); i++) {
+            char c = nfc.charAt(i);
+            if (Character.isDigit(c)) {
+                if (builder.length() == 0 || builder.charAt(builder.length() - 1) != '#') {
+                    builder.append('#');
+                }
+            } else if (Character.isLetter(c)) {
+                builder.append(c);
+            }
+        }
+        return builder.toString();
+    }
+
+    private static long mix64(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    private record Entry(int[] signature, long[] bandKeys, String categoryId, String analysisResult,
+                         boolean analyzed) {}
+
+    /**
+     * 근사 중복 조회 결과
+     */
+    public record Match(String categoryId, String analysisResult, boolean analyzed, double similarity) {}
+}
@@ -1,15 +1,16 @@
 package com.hanacard.service;
 
+import com.hanacard.client.OpenAIApiClient;
+import com.hanacard.client.OpenAIUnavailableException;
 import com.theokanning.openai.completion.chat.ChatCompletionRequest;
 import com.theokanning.openai.completion.chat.ChatMessage;
-import com.theokanning.openai.service.OpenAiService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
-import java.time.Duration;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
 
 /**
  * OpenAI API 연동 서비스
@@ -19,25 +20,33 @@ public class OpenAIService {
 
     private static final Logger logger = LoggerFactory.getLogger(OpenAIService.class);
 
-    private final OpenAiService openAiService;
+    private final OpenAIApiClient openAIApiClient;
+    private final FallbackCategoryClassifier fallbackClassifier;
+    private final CategoryCatalogProvider catalogProvider;
     private final String model;
     private final int maxTokens;
     private final double temperature;
+    private final int maxEditDistance;
+
+    // 카탈로그 버전별 system 프롬프트 + 응답 매처 (카탈로그가 바뀌면 통째로 교체)
+    private final AtomicReference<Compiled> compiled = new AtomicReference<>();
 
     public OpenAIService(
-            @Value("${openai.api-key}") String apiKey,
+            OpenAIApiClient openAIApiClient,
+            FallbackCategoryClassifier fallbackClassifier,
+            CategoryCatalogProvider catalogProvider,
             @Value("${openai.model:gpt-4o-mini}") String model,
             @Value("${openai.max-tokens:100}") int maxTokens,
-            @Value("${openai.temperature:0.1}") double temperature) {
-        
-        if (apiKey == null || apiKey.trim().isEmpty()) {
-            throw new IllegalArgumentException("OpenAI API 키가 설정되지 않았습니다.");
-        }
+            @Value("${openai.temperature:0.1}") double temperature,
+            @Value("${classification.category-match.max-edit-distance:2}") int maxEditDistance) {
 
-        this.openAiService = new OpenAiService(apiKey, Duration.ofSeconds(60));
+        this.openAIApiClient = openAIApiClient;
+        this.fallbackClassifier = fallbackClassifier;
+        this.catalogProvider = catalogProvider;
         this.model = model;
         this.maxTokens = maxTokens;
         this.temperature = temperature;
+        this.maxEditDistance = maxEditDistance;
         
         logger.info("OpenAI 서비스가 초기화되었습니다. 모델: {}, Max Tokens: {}, Temperature: {}", 
                    model, maxTokens, temperature);
@@ -47,14 +56,21 @@ public class OpenAIService {
      * 상담 내용을 분석하여 카테고리로 분류
      */
     public ClassificationResult classifyConsultingContent(String content) {
+        return classifyConsultingContent(content, catalogProvider.current());
+    }
+
+    /**
+     * 지정한 카탈로그 스냅샷으로 분류 (호출자가 이미 읽은 스냅샷을 그대로 사용)
+     */
+    public ClassificationResult classifyConsultingContent(String content, CategoryCatalog categoryCatalog) {
+        Compiled catalog = compiled(categoryCatalog);
         try {
             logger.debug("상담 내용 분류 시작: {}", content.substring(0, Math.min(content.length(), 100)) + "...");
 
-            String systemPrompt = createSystemPrompt();
             String userPrompt = createUserPrompt(content);
 
             List<ChatMessage> messages = List.of(
-                new ChatMessage("system", systemPrompt),
+                new ChatMessage("system", catalog.systemPrompt()),
                 new ChatMessage("user", userPrompt)
             );
 
@@ -65,20 +81,29 @@ public class OpenAIService {
                 .temperature(temperature)
                 .build();
 
-            String response = openAiService.createChatCompletion(request)
+            String response = openAIApiClient.createChatCompletion(request)
                 .getChoices().get(0).getMessage().getContent();
 
             if (response == null || response.trim().isEmpty()) {
                 throw new RuntimeException("OpenAI API 응답이 비어있습니다.");
             }
 
-            // 응답에서 카테고리 추출
-            String category = extractCategory(response);
-            double confidence = calculateConfidence(response);
+            // 응답에서 카테고리와 매칭 품질(신뢰도)을 한 번에 추출
+            CategoryMatcher.Match match = catalog.matcher().match(response);
+            if (match.quality() != CategoryMatcher.Quality.EXACT) {
+                logger.warn("카테고리 {} 매칭: 응답={}, 카테고리={}", match.quality(), response, match.category());
+            }
+
+            logger.info("상담 내용 분류 완료: 카테고리={}, 신뢰도={}", match.category(), match.quality().confidence());
 
-            logger.info("상담 내용 분류 완료: 카테고리={}, 신뢰도={}", category, confidence);
+            return new ClassificationResult(match.category(), match.quality().confidence());
 
-            return new ClassificationResult(category, confidence);
+        } catch (OpenAIUnavailableException e) {
+            // 서킷 브레이커 열림: 카테고리명 키워드로 폴백 분류
+            FallbackCategoryClassifier.Match match = fallbackClassifier.matchKeywords(content, catalog.matcher().categories())
+                .orElse(new FallbackCategoryClassifier.Match(catalog.defaultCategory(), 0.0));
+            logger.warn("OpenAI 장애로 키워드 폴백 분류: 카테고리={}, 신뢰도={}", match.categoryName(), match.confidence());
+            return new ClassificationResult(match.categoryName(), match.confidence());
 
         } catch (Exception e) {
             logger.error("OpenAI API 호출 중 오류 발생", e);
@@ -86,20 +111,40 @@ public class OpenAIService {
         }
     }
 
+    /**
+     * 카탈로그 버전이 바뀐 경우에만 프롬프트와 매처를 새로 만들어 교체
+     * 진행 중인 호출은 이미 읽은 Compiled로 끝까지 처리
+     */
+    private Compiled compiled(CategoryCatalog catalog) {
+        Compiled current = compiled.get();
+        if (current != null && current.catalogVersion() == catalog.version()) {
+            return current;
+        }
+        Compiled next = compile(catalog);
+        compiled.set(next);
+        logger.info("분류 카탈로그 교체: version={}, categories={}", catalog.version(), catalog.size());
+        return next;
+    }
+
+    private Compiled compile(CategoryCatalog catalog) {
+        List<String> categoryNames = catalog.names();
+        String defaultCategory = categoryNames.contains(FallbackCategoryClassifier.DEFAULT_CATEGORY_NAME)
+            ? FallbackCategoryClassifier.DEFAULT_CATEGORY_NAME : categoryNames.get(0);
+        return new Compiled(catalog.version(), createSystemPrompt(categoryNames),
+                            CategoryMatcher.compile(categoryNames, defaultCategory, maxEditDistance), defaultCategory);
+    }
+
     /**
      * 시스템 프롬프트 생성
      */
-    private String createSystemPrompt() {
-        // 기본 카테고리 목록 (하드코딩)
-        String[] categories = {
-            "도난/분실 신청/해제", "이용내역 안내", "승인취소/매출취소 안내", "한도상향 접수/처리",
-            "선결제/즉시출금", "한도 안내", "가상계좌 안내", "결제계좌 안내/변경", "서비스 이용방법 안내",
-            "결제대금 안내", "연체대금 즉시출금", "포인트/마일리지 전환등록", "증명서/확인서 발급",
-            "가상계좌 예약/취소", "단기카드대출 안내/실행", "장기카드대출 안내", "정부지원 바우처 (등유, 임신 등)",
-            "이벤트 안내", "심사 진행사항 안내", "도시가스", "일부결제 대금이월약정 안내", "일부결제대금이월약정 해지",
-            "결제일 안내/변경", "약관 안내", "상품 안내"
-        };
-        
+    private static String createSystemPrompt(List<String> categoryNames) {
+        StringBuilder categoryList = new StringBuilder();
+        for (int i = 0; i < categoryNames.size(); i++) {
+            if (i > 0) {
+                categoryList.append('\n');
+            }
+            categoryList.append(i + 1).append(". ").append(categoryNames.get(i));
+        }
         return String.format("""
             당신은 하나카드 상담 내용을 분석하여 적절한 상담 카테고리로 분류하는 전문가입니다.
             
@@ -115,10 +160,8 @@ public class OpenAIService {
             
             응답 형식: "카테고리명" (따옴표 포함)
             """, 
-            categories.length,
-            String.join("\n", List.of(categories).stream()
-                .map(cat -> String.format("%d. %s", List.of(categories).indexOf(cat) + 1, cat))
-                .toList())
+            categoryNames.size(),
+            categoryList
         );
     }
 
@@ -136,74 +179,7 @@ public class OpenAIService {
             """, content);
     }
 
-    /**
-     * 응답에서 카테고리 추출
-     */
-    private String extractCategory(String response) {
-        String cleanResponse = response.trim().replaceAll("[\"\"']", "");
-        
-        // 기본 카테고리 목록 (하드코딩)
-        String[] categories = {
-            "도난/분실 신청/해제", "이용내역 안내", "승인취소/매출취소 안내", "한도상향 접수/처리",
-            "선결제/즉시출금", "한도 안내", "가상계좌 안내", "결제계좌 안내/변경", "서비스 이용방법 안내",
-            "결제대금 안내", "연체대금 즉시출금", "포인트/마일리지 전환등록", "증명서/확인서 발급",
-            "가상계좌 예약/취소", "단기카드대출 안내/실행", "장기카드대출 안내", "정부지원 바우처 (등유, 임신 등)",
-            "이벤트 안내", "심사 진행사항 안내", "도시가스", "일부결제 대금이월약정 안내", "일부결제대금이월약정 해지",
-            "결제일 안내/변경", "약관 안내", "상품 안내"
-        };
-        
-        // 정확히 일치하는 카테고리 찾기
-        for (String category : categories) {
-            if (cleanResponse.equals(category)) {
-                return cleanResponse;
-            }
-        }
-
-        // 부분 일치하는 카테고리 찾기
-        for (String category : categories) {
-            if (cleanResponse.contains(category) || category.contains(cleanResponse)) {
-                logger.warn("부분 일치로 카테고리 찾음: 응답={}, 카테고리={}", response, category);
-                return category;
-            }
-        }
-
-        // 기본값으로 "이용내역 안내" 반환
-        logger.warn("카테고리를 찾을 수 없어 기본값을 사용합니다. 응답: {}", response);
-        return "이용내역 안내";
-    }
-
-    /**
-     * 신뢰도 계산
-     */
-    private double calculateConfidence(String response) {
-        String cleanResponse = response.trim().replaceAll("[\"\"']", "");
-        
-        // 기본 카테고리 목록 (하드코딩)
-        String[] categories = {
-            "도난/분실 신청/해제", "이용내역 안내", "승인취소/매출취소 안내", "한도상향 접수/처리",
-            "선결제/즉시출금", "한도 안내", "가상계좌 안내", "결제계좌 안내/변경", "서비스 이용방법 안내",
-            "결제대금 안내", "연체대금 즉시출금", "포인트/마일리지 전환등록", "증명서/확인서 발급",
-            "가상계좌 예약/취소", "단기카드대출 안내/실행", "장기카드대출 안내", "정부지원 바우처 (등유, 임신 등)",
-            "이벤트 안내", "심사 진행사항 안내", "도시가스", "일부결제 대금이월약정 안내", "일부결제대금이월약정 해지",
-            "결제일 안내/변경", "약관 안내", "상품 안내"
-        };
-        
-        // 정확히 일치하는 경우 높은 신뢰도
-        for (String category : categories) {
-            if (cleanResponse.equals(category)) {
-                return 0.95;
-            }
-        }
-
-        // 부분 일치하는 경우 중간 신뢰도
-        for (String category : categories) {
-            if (cleanResponse.contains(category) || category.contains(cleanResponse)) {
-                return 0.8;
-            }
-        }
-
-        // 기본값 사용하는 경우 낮은 신뢰도
-        return 0.6;
+    private record Compiled(long catalogVersion, String systemPrompt, CategoryMatcher matcher, String defaultCategory) {
     }
 
     /**
@@ -0,0 +1,463 @@
+package com.hanacard.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.hanacard.client.OpenAIApiClient;
+import com.hanacard.client.OpenAIRateGovernor;
+import com.hanacard.dto.BackfillProgressResponse;
+import com.hanacard.dto.EnhancedClassificationResponse;
+import com.hanacard.entity.BackfillCheckpoint;
+import com.hanacard.entity.ConsultingClassification;
+import com.hanacard.repository.BackfillCheckpointRepository;
+import com.hanacard.repository.ConsultingClassificationRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * 카테고리 카탈로그 변경 시 voc_normalized 재분류 백필
+ * id 기준 키셋 청크로 훑으며, 청크마다 변경된 행을 한 트랜잭션으로 갱신하고 진행 상황을 체크포인트에 기록 (재시작 시 이어서 진행)
+ * STALE: category_id가 카탈로그에 있으면 이름만 갱신(LLM 호출 없음), 없으면 LLM으로 재분류 / ALL: 전체 LLM 재분류
+ * LLM 호출은 실시간 트래픽보다 후순위 (호출량 제어기에 대기자가 있거나 사용률이 max-llm-share 이상이면 양보)
+ */
+@Service
+public class ReclassificationBackfillService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReclassificationBackfillService.class);
+
+    static final String CHECKPOINT_NAME = "category-catalog";
+
+    private static final long YIELD_MILLIS = 200;
+    private static final long CIRCUIT_WAIT_MILLIS = 1000;
+
+    /**
+     * 백필 범위
+     */
+    public enum Scope { STALE, ALL }
+
+    private final EnhancedOpenAIService enhancedOpenAIService;
+    private final ConsultingClassificationRepository repository;
+    private final BackfillCheckpointRepository checkpointRepository;
+    private final OpenAIApiClient openAIApiClient;
+    private final TransactionTemplate transactionTemplate;
+    private final MeterRegistry meterRegistry;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private final int chunkSize;
+    private final double maxLlmShare;
+    private final boolean resumeOnStartup;
+    private final ThreadPoolTaskExecutor workers;
+
+    // 실행 중 조정 가능한 속도 제한 (0이면 제한 없음)
+    private volatile double rowsPerSecondLimit;
+    private long nextPermitNanos;
+
+    private volatile boolean pauseRequested;
+    // 종료 중이면 상태를 RUNNING으로 남겨 다음 기동 때 이어서 진행
+    private volatile boolean shuttingDown;
+    private volatile BackfillCheckpoint current;
+    private Thread coordinator;
+
+    // 처리 속도/ETA 계산 기준 (이번 실행 시작 시점)
+    private volatile long runStartNanos;
+    private volatile long runStartProcessed;
+
+    public ReclassificationBackfillService(
+            EnhancedOpenAIService enhancedOpenAIService,
+            ConsultingClassificationRepository repository,
+            BackfillCheckpointRepository checkpointRepository,
+            OpenAIApiClient openAIApiClient,
+            PlatformTransactionManager transactionManager,
+            MeterRegistry meterRegistry,
+            @Value("${classification.backfill.chunk-size:200}") int chunkSize,
+            @Value("${classification.backfill.parallelism:2}") int parallelism,
+            @Value("${classification.backfill.rows-per-second:0}") double rowsPerSecond,
+            @Value("${classification.backfill.max-llm-share:0.5}") double maxLlmShare,
+            @Value("${classification.backfill.resume-on-startup:true}") boolean resumeOnStartup) {
+
+        this.enhancedOpenAIService = enhancedOpenAIService;
+        this.repository = repository;
+        this.checkpointRepository = checkpointRepository;
+        this.openAIApiClient = openAIApiClient;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.meterRegistry = meterRegistry;
+        this.chunkSize = Math.max(1, chunkSize);
+        this.maxLlmShare = maxLlmShare;
+        this.resumeOnStartup = resumeOnStartup;
+        this.rowsPerSecondLimit = Math.max(0, rowsPerSecond);
+
+        // 실시간 분류 스레드보다 낮은 우선순위
+        this.workers = new ThreadPoolTaskExecutor();
+        this.workers.setCorePoolSize(Math.max(1, parallelism));
+        this.workers.setMaxPoolSize(Math.max(1, parallelism));
+        this.workers.setThreadPriority(Thread.MIN_PRIORITY);
+        this.workers.setThreadNamePrefix("Backfill-");
+        this.workers.setDaemon(true);
+        this.workers.initialize();
+    }
+
+    /**
+     * 기동 시 실행 중이던 백필 이어서 진행 (카탈로그가 그 사이 바뀌었으면 처음부터)
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void resumeOnStartup() {
+        if (!resumeOnStartup) {
+            return;
+        }
+        try {
+            checkpointRepository.findById(CHECKPOINT_NAME)
+                .filter(checkpoint -> "RUNNING".equals(checkpoint.getStatus()))
+                .ifPresent(checkpoint -> {
+                    logger.info("재분류 백필 재개: lastId={}, processed={}/{}",
+                               checkpoint.getLastId(), checkpoint.getProcessedRows(), checkpoint.getTotalRows());
+                    start(Scope.valueOf(checkpoint.getScope()), false);
+                });
+        } catch (Exception e) {
+            logger.warn("재분류 백필 재개 실패: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * 백필 시작 (같은 범위/카탈로그의 미완료 체크포인트가 있으면 이어서, restart면 처음부터)
+     */
+    public synchronized BackfillProgressResponse start(Scope scope, boolean restart) {
+        if (isRunning()) {
+            throw new IllegalStateException("재분류 백필이 이미 실행 중입니다.");
+        }
+
+        CategoryCatalog catalog = enhancedOpenAIService.getCatalog();
+        String catalogVersion = catalog.fingerprint();
+
+        BackfillCheckpoint checkpoint = checkpointRepository.findById(CHECKPOINT_NAME).orElse(null);
+        boolean resumable = checkpoint != null && !restart
+            && !"COMPLETED".equals(checkpoint.getStatus())
+            && scope.name().equals(checkpoint.getScope())
+            && catalogVersion.equals(checkpoint.getCatalogVersion());
+        if (resumable) {
+            checkpoint.setStatus("RUNNING");
+            checkpoint.setErrorMessage(null);
+        } else {
+            checkpoint = new BackfillCheckpoint(CHECKPOINT_NAME, scope.name(), catalogVersion);
+            checkpoint.setTotalRows(repository.count());
+        }
+        checkpointRepository.save(checkpoint);
+
+        logger.info("재분류 백필 시작: scope={}, catalogVersion={}, lastId={}, total={}",
+                   scope, catalogVersion, checkpoint.getLastId(), checkpoint.getTotalRows());
+
+        pauseRequested = false;
+        current = checkpoint;
+        runStartNanos = System.nanoTime();
+        runStartProcessed = checkpoint.getProcessedRows();
+
+        BackfillCheckpoint run = checkpoint;
+        coordinator = new Thread(() -> run(run, catalog), "Backfill-Coordinator");
+        coordinator.setDaemon(true);
+        coordinator.setPriority(Thread.MIN_PRIORITY);
+        coordinator.start();
+        return progress();
+    }
+
+    /**
+     * 현재 청크를 마친 뒤 일시 정지 (체크포인트는 유지)
+     */
+    public BackfillProgressResponse pause() {
+        pauseRequested = true;
+        return progress();
+    }
+
+    /**
+     * 일시 정지/실패한 백필 이어서 진행
+     */
+    public BackfillProgressResponse resume() {
+        BackfillCheckpoint checkpoint = checkpointRepository.findById(CHECKPOINT_NAME)
+            .orElseThrow(() -> new IllegalStateException("재개할 재분류 백필이 없습니다."));
+        return start(Scope.valueOf(checkpoint.getScope()), false);
+    }
+
+    /**
+     * 실행 중 속도 조절 (null인 항목은 유지)
+     */
+    public BackfillProgressResponse throttle(Double rowsPerSecond, Integer parallelism) {
+        if (rowsPerSecond != null) {
+            rowsPerSecondLimit = Math.max(0, rowsPerSecond);
+        }
+        if (parallelism != null && parallelism > 0) {
+            // 코어 수는 최대 수를 넘을 수 없으므로 늘릴 때는 최대 수부터 변경
+            if (parallelism > workers.getMaxPoolSize()) {
+                workers.setMaxPoolSize(parallelism);
+                workers.setCorePoolSize(parallelism);
+            } else {
+                workers.setCorePoolSize(parallelism);
+                workers.setMaxPoolSize(parallelism);
+            }
+        }
+        logger.info("재분류 백필 속도 조절: rowsPerSecond={}, parallelism={}", rowsPerSecondLimit, workers.getMaxPoolSize());
+        return progress();
+    }
+
+    /**
+     * 진행 상황 조회 (처리 속도와 예상 남은 시간 포함)
+     */
+    public BackfillProgressResponse progress() {
+        BackfillProgressResponse response = new BackfillProgressResponse();
+        response.setRowsPerSecondLimit(rowsPerSecondLimit);
+        response.setParallelism(workers.getMaxPoolSize());
+
+        BackfillCheckpoint checkpoint = current != null ? current : checkpointRepository.findById(CHECKPOINT_NAME).orElse(null);
+        if (checkpoint == null) {
+            response.setStatus("IDLE");
+            return response;
+        }
+
+        synchronized (checkpoint) {
+            long total = checkpoint.getTotalRows();
+            long processed = checkpoint.getProcessedRows();
+            response.setStatus(checkpoint.getStatus());
+            response.setScope(checkpoint.getScope());
+            response.setCatalogVersion(checkpoint.getCatalogVersion());
+            response.setLastId(checkpoint.getLastId());
+            response.setTotalRows(total);
+            response.setProcessedRows(processed);
+            response.setReclassifiedRows(checkpoint.getReclassifiedRows());
+            response.setRenamedRows(checkpoint.getRenamedRows());
+            response.setFailedRows(checkpoint.getFailedRows());
+            response.setErrorMessage(checkpoint.getErrorMessage());
+            response.setStartedAt(checkpoint.getStartedAt());
+            response.setUpdatedAt(checkpoint.getUpdatedAt());
+            response.setPercent(total > 0 ? Math.min(100.0, processed * 100.0 / total) : 0.0);
+
+            if ("RUNNING".equals(checkpoint.getStatus())) {
+                double elapsedSeconds = (System.nanoTime() - runStartNanos) / 1e9;
+                double rate = elapsedSeconds > 0 ? (processed - runStartProcessed) / elapsedSeconds : 0;
+                response.setRowsPerSecond(rate);
+                if (rate > 0) {
+                    response.setEtaSeconds((long) Math.ceil(Math.max(0, total - processed) / rate));
+                }
+            }
+        }
+        return response;
+    }
+
+    public synchronized boolean isRunning() {
+        return coordinator != null && coordinator.isAlive();
+    }
+
+    /**
+     * 청크 단위 실행 (일시 정지 요청 시 현재 청크를 마치고 멈춤)
+     */
+    void run(BackfillCheckpoint checkpoint, CategoryCatalog catalog) {
+        Scope scope = Scope.valueOf(checkpoint.getScope());
+
+        try {
+            while (!pauseRequested) {
+                // 1. OpenAI 장애 중에는 폴백 결과로 덮어쓰지 않도록 대기
+                if (openAIApiClient.circuitBreaker().isOpen()) {
+                    Thread.sleep(CIRCUIT_WAIT_MILLIS);
+                    continue;
+                }
+
+                // 2. 다음 키셋 청크 조회
+                List<ConsultingClassification> rows = repository.findByIdGreaterThanOrderByIdAsc(
+                    checkpoint.getLastId(), PageRequest.of(0, chunkSize));
+                if (rows.isEmpty()) {
+                    checkpoint.setStatus("COMPLETED");
+                    break;
+                }
+
+                // 3. 재분류 후 변경된 행만 한 트랜잭션으로 갱신
+                ChunkResult result = processChunk(rows, scope, catalog);
+                writeChunk(result.changed());
+
+                // 4. 체크포인트 기록
+                synchronized (checkpoint) {
+                    checkpoint.setLastId(rows.get(rows.size() - 1).getId());
+                    checkpoint.setProcessedRows(checkpoint.getProcessedRows() + rows.size());
+                    checkpoint.setReclassifiedRows(checkpoint.getReclassifiedRows() + result.reclassified());
+                    checkpoint.setRenamedRows(checkpoint.getRenamedRows() + result.renamed());
+                    checkpoint.setFailedRows(checkpoint.getFailedRows() + result.failed());
+                }
+                checkpointRepository.save(checkpoint);
+            }
+
+            if (!"COMPLETED".equals(checkpoint.getStatus()) && !shuttingDown) {
+                checkpoint.setStatus("PAUSED");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            if (!shuttingDown) {
+                checkpoint.setStatus("PAUSED");
+            }
+        } catch (Exception e) {
+            if (!shuttingDown) {
+                logger.error("재분류 백필 실패: lastId={}", checkpoint.getLastId(), e);
+                checkpoint.setStatus("FAILED");
+                checkpoint.setErrorMessage(e.getMessage());
+            }
+        } finally {
+            checkpointRepository.save(checkpoint);
+            logger.info("재분류 백필 {}: processed={}/{}, reclassified={}, renamed={}, failed={}",
+                       checkpoint.getStatus(), checkpoint.getProcessedRows(), checkpoint.getTotalRows(),
+                       checkpoint.getReclassifiedRows(), checkpoint.getRenamedRows(), checkpoint.getFailedRows());
+        }
+    }
+
+    private ChunkResult processChunk(List<ConsultingClassification> rows, Scope scope,
+                                     CategoryCatalog catalog) {
+        List<ConsultingClassification> changed = new ArrayList<>();
+        List<ConsultingClassification> llmRows = new ArrayList<>();
+        List<CompletableFuture<Boolean>> futures = new ArrayList<>();
+        int renamed = 0;
+
+        for (ConsultingClassification row : rows) {
+            String currentName = catalog.nameOf(row.getCategoryId());
+            if (scope == Scope.STALE && currentName != null) {
+                if (!currentName.equals(row.getConsultingCategory())) {
+                    rename(row, currentName);
+                    changed.add(row);
+                    renamed++;
+                    meterRegistry.counter("classification.backfill.rows", "result", "renamed").increment();
+                } else {
+                    meterRegistry.counter("classification.backfill.rows", "result", "unchanged").increment();
+                }
+                continue;
+            }
+            llmRows.add(row);
+            futures.add(CompletableFuture.supplyAsync(() -> reclassify(row, catalog), workers));
+        }
+
+        int reclassified = 0;
+        int failed = 0;
+        for (int i = 0; i < futures.size(); i++) {
+            if (futures.get(i).join()) {
+                changed.add(llmRows.get(i));
+                reclassified++;
+            } else {
+                failed++;
+            }
+        }
+        return new ChunkResult(changed, reclassified, renamed, failed);
+    }
+
+    /**
+     * LLM 재분류 (폴백 결과나 실패는 행을 그대로 둠)
+     */
+    private boolean reclassify(ConsultingClassification row, CategoryCatalog catalog) {
+        try {
+            awaitTurn();
+            EnhancedClassificationResponse response = enhancedOpenAIService.classifyConsultingContent(
+                enhancedOpenAIService.toRequest(row), catalog);
+            if (Boolean.TRUE.equals(response.getReclassifyPending())) {
+                meterRegistry.counter("classification.backfill.rows", "result", "failed").increment();
+                return false;
+            }
+            enhancedOpenAIService.applyReclassification(row, response);
+            meterRegistry.counter("classification.backfill.rows", "result", "reclassified").increment();
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        } catch (Exception e) {
+            logger.warn("백필 재분류 실패: id={}, error={}", row.getId(), e.getMessage());
+            meterRegistry.counter("classification.backfill.rows", "result", "failed").increment();
+            return false;
+        }
+    }
+
+    /**
+     * 실시간 트래픽에 양보한 뒤 속도 제한에 맞춰 대기
+     */
+    private void awaitTurn() throws InterruptedException {
+        // 1. 호출량 제어기에 대기자가 있거나 사용률이 max-llm-share 이상이면 양보
+        OpenAIRateGovernor governor = openAIApiClient.rateGovernor();
+        while (governor.queueDepth() > 0 || governor.inFlight() >= governor.currentLimit() * maxLlmShare) {
+            meterRegistry.counter("classification.backfill.yields").increment();
+            Thread.sleep(YIELD_MILLIS);
+        }
+
+        // 2. 초당 처리 행 수 제한
+        double limit = rowsPerSecondLimit;
+        if (limit <= 0) {
+            return;
+        }
+        long waitNanos;
+        synchronized (this) {
+            long now = System.nanoTime();
+            long slot = Math.max(now, nextPermitNanos);
+            nextPermitNanos = slot + (long) (TimeUnit.SECONDS.toNanos(1) / limit);
+            waitNanos = slot - now;
+        }
+        if (waitNanos > 0) {
+            TimeUnit.NANOSECONDS.sleep(waitNanos);
+        }
+    }
+
+    /**
+     * 카테고리 이름만 갱신 (analysis_result의 분류 이름도 함께)
+     */
+    private void rename(ConsultingClassification row, String categoryName) {
+        row.setConsultingCategory(categoryName);
+        try {
+            JsonNode root = objectMapper.readTree(row.getAnalysisResult());
+            if (root.get("classification") instanceof ObjectNode classification) {
+                classification.put("category", categoryName);
+                row.setAnalysisResult(objectMapper.writeValueAsString(root));
+            }
+        } catch (Exception e) {
+            logger.debug("analysis_result 카테고리 이름 갱신 생략: id={}, error={}", row.getId(), e.getMessage());
+        }
+        row.setUpdatedAt(LocalDateTime.now());
+    }
+
+    /**
+     * 변경된 행을 한 트랜잭션에서 갱신 (한 번에 조회 후 변경 감지로 배치 UPDATE)
+     */
+    private void writeChunk(List<ConsultingClassification> changed) {
+        if (changed.isEmpty()) {
+            return;
+        }
+        Map<Long, ConsultingClassification> updates = changed.stream()
+            .collect(Collectors.toMap(ConsultingClassification::getId, Function.identity(), (a, b) -> b, HashMap::new));
+
+        transactionTemplate.executeWithoutResult(status -> {
+            for (ConsultingClassification managed : repository.findAllById(updates.keySet())) {
+                ConsultingClassification update = updates.get(managed.getId());
+                managed.setConsultingCategory(update.getConsultingCategory());
+                managed.setCategoryId(update.getCategoryId());
+                managed.setAnalysisResult(update.getAnalysisResult());
+                managed.setReclassifyPending(update.isReclassifyPending());
+                managed.setUpdatedAt(update.getUpdatedAt());
+            }
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        shuttingDown = true;
+        pauseRequested = true;
+        workers.shutdown();
+    }
+
+    private record ChunkResult(List<ConsultingClassification> changed, int reclassified, int renamed, int failed) {
+    }
+}
@@ -0,0 +1,70 @@
+package com.hanacard.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * 동일 키의 동시 요청 병합 (single-flight)
+ * 먼저 도착한 요청만 실제로 실행하고, 실행 중에 도착한 같은 키의 요청은 그 결과(또는 예외)를 공유
+ * 완료 후에는 키를 제거하므로 결과를 캐시하지 않음
+ */
+class SingleFlight<K, V> {
+
+    private final ConcurrentHashMap<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+
+    private final Counter leaders;
+    private final Counter followers;
+
+    SingleFlight(String scope, MeterRegistry meterRegistry) {
+        this.leaders = Counter.builder("classification.singleflight.requests")
+            .tag("scope", scope).tag("role", "leader").register(meterRegistry);
+        this.followers = Counter.builder("classification.singleflight.requests")
+            .tag("scope", scope).tag("role", "shared").register(meterRegistry);
+        Gauge.builder("classification.singleflight.inflight", inFlight, ConcurrentHashMap::size)
+            .tag("scope", scope)
+            .description("병합 대상으로 실행 중인 키 수")
+            .register(meterRegistry);
+    }
+
+    /**
+     * 키별로 한 번만 실행하고 결과 공유
+     */
+    V execute(K key, Supplier<V> supplier) {
+        CompletableFuture<V> mine = new CompletableFuture<>();
+        CompletableFuture<V> existing = inFlight.putIfAbsent(key, mine);
+
+        if (existing != null) {
+            followers.increment();
+            try {
+                return existing.join();
+            } catch (CompletionException e) {
+                if (e.getCause() instanceof RuntimeException cause) {
+                    throw cause;
+                }
+                throw e;
+            }
+        }
+
+        leaders.increment();
+        try {
+            V value = supplier.get();
+            mine.complete(value);
+            return value;
+        } catch (RuntimeException | Error e) {
+            mine.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, mine);
+        }
+    }
+
+    int inFlightCount() {
+        return inFlight.size();
+    }
+}
@@ -0,0 +1,142 @@
+package com.hanacard.service;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 스트리밍 응답용 증분 JSON 필드 파서
+ * 조각(delta) 단위로 입력받아 최상위 객체의 필드 값이 완성되는 즉시 (필드명, 원본 JSON) 쌍으로 반환
+ * 첫 '{' 이전의 텍스트(```json 등)는 무시
+ */
+class StreamingJsonFieldParser {
+
+    private final StringBuilder buffer = new StringBuilder();
+    private int position = 0;
+
+    private int depth = 0;
+    private boolean inString = false;
+    private boolean escaped = false;
+    private boolean finished = false;
+
+    // 최상위(depth 1) 필드 상태
+    private boolean expectKey = false;
+    private int keyStart = -1;
+    private String currentKey;
+    private int valueStart = -1;
+
+    /**
+     * 조각 추가 후 새로 완성된 최상위 필드 반환
+     */
+    List<Field> feed(String delta) {
+        List<Field> completed = new ArrayList<>();
+        if (delta == null) {
+            return completed;
+        }
+        buffer.append(delta);
+
+        for (; position < buffer.length() && !finished; position++) {
+            char c = buffer.charAt(position);
+
+            if (inString) {
+                if (escaped) {
+                    escaped = false;
+                } else if (c == '\\') {
+                    escaped = true;
+                } else if (c == '"') {
+                    inString = false;
+                    if (depth == 1 && keyStart >= 0) {
+                        currentKey = buffer.substring(keyStart, position);
+                        keyStart = -1;
+                    }
+                }
+                continue;
+            }
+
+            if (depth == 0) {
+                // 첫 '{' 이전 텍스트 무시
+                if (c == '{') {
+                    depth = 1;
+                    expectKey = true;
+                }
+                continue;
+            }
+
+            switch (c) {
+                case '"' -> {
+                    inString = true;
+                    if (depth == 1 && expectKey) {
+                        keyStart = position + 1;
+                        expectKey = false;
+                    } else {
+                        markValueStart();
+                    }
+                }
+                case ':' -> {
+                    if (depth == 1) {
+                        valueStart = -2; // 값 시작 대기
+                    }
+                }
+                case '{', '[' -> {
+                    markValueStart();
+                    depth++;
+                }
+                case '}', ']' -> {
+                    if (depth == 1) {
+                        // 최상위 객체 종료: 대기 중인 원시 값이 있으면 완성
+                        completePrimitive(completed);
+                        finished = true;
+                    } else {
+                        depth--;
+                        if (depth == 1) {
+                            complete(completed, position + 1);
+                        }
+                    }
+                }
+                case ',' -> {
+                    if (depth == 1) {
+                        completePrimitive(completed);
+                        expectKey = true;
+                    }
+                }
+                default -> {
+                    if (!Character.isWhitespace(c)) {
+                        markValueStart();
+                    }
+                }
+            }
+        }
+        return completed;
+    }
+
+    /**
+     * 지금까지 받은 전체 텍스트
+     */
+    String text() {
+        return buffer.toString();
+    }
+
+    private void markValueStart() {
+        if (depth == 1 && valueStart == -2) {
+            valueStart = position;
+        }
+    }
+
+    private void completePrimitive(List<Field> completed) {
+        if (valueStart >= 0) {
+            complete(completed, position);
+        }
+    }
+
+    private void complete(List<Field> completed, int end) {
+        if (currentKey != null && valueStart >= 0) {
+            completed.add(new Field(currentKey, buffer.substring(valueStart, end).trim()));
+        }
+        currentKey = null;
+        valueStart = -1;
+    }
+
+    /**
+     * 완성된 최상위 필드 (값은 원본 JSON 텍스트)
+     */
+    record Field(String name, String json) {}
+}
@@ -0,0 +1,83 @@
+package com.hanacard.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.FutureTask;
+import java.util.function.Supplier;
+
+/**
+ * 독립적인 하위 작업을 함께 실행하고 모두 끝날 때까지 기다리는 범위 (structured concurrency)
+ * 하위 작업 하나가 실패하면 나머지를 기다리지 않고 즉시 그 예외를 던지며, 범위를 닫을 때 끝나지 않은 작업은 취소 (실행 중이면 인터럽트)
+ * 가상 스레드 모드에서는 하위 작업마다 가상 스레드로 실행되고, 그 외에는 호출 스레드에서 순서대로 실행
+ * (JDK 21의 StructuredTaskScope는 preview API라 같은 의미를 FutureTask로 구현,
+ *  CompletableFuture.cancel(true)는 실행 중인 스레드를 인터럽트하지 않으므로 사용하지 않음)
+ */
+class StructuredScope implements AutoCloseable {
+
+    private final Executor executor;
+    private final List<FutureTask<?>> forks = new ArrayList<>();
+    private final List<CompletableFuture<?>> subtasks = new ArrayList<>();
+    private final CompletableFuture<Void> firstFailure = new CompletableFuture<>();
+
+    StructuredScope(Executor executor) {
+        this.executor = executor;
+    }
+
+    /**
+     * 하위 작업 실행 (결과는 join() 이후 Supplier로 조회)
+     */
+    <T> Supplier<T> fork(Supplier<T> task) {
+        CompletableFuture<T> subtask = new CompletableFuture<>();
+        FutureTask<T> fork = new FutureTask<>(task::get) {
+            @Override
+            protected void done() {
+                try {
+                    subtask.complete(get());
+                } catch (ExecutionException e) {
+                    subtask.completeExceptionally(e.getCause());
+                    firstFailure.completeExceptionally(e.getCause());
+                } catch (CancellationException e) {
+                    subtask.cancel(false);
+                } catch (InterruptedException e) {
+                    // done() 시점에는 이미 완료되어 get()이 대기하지 않음
+                    Thread.currentThread().interrupt();
+                }
+            }
+        };
+        forks.add(fork);
+        subtasks.add(subtask);
+        executor.execute(fork);
+        return subtask::join;
+    }
+
+    /**
+     * 모든 하위 작업 완료 대기 (하나라도 실패하면 나머지를 취소하고 그 예외를 던짐)
+     */
+    void join() {
+        CompletableFuture<Void> all = CompletableFuture.allOf(subtasks.toArray(CompletableFuture[]::new));
+        try {
+            CompletableFuture.anyOf(all, firstFailure).join();
+        } catch (CompletionException e) {
+            close();
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * 끝나지 않은 하위 작업 취소 (실행 중인 작업의 스레드는 인터럽트)
+     */
+    @Override
+    public void close() {
+        for (FutureTask<?> fork : forks) {
+            fork.cancel(true);
+        }
+    }
+}
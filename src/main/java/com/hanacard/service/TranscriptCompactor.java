@@ -0,0 +1,210 @@
+package com.hanacard.service;
+
+import com.hanacard.client.TokenEstimator;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * 프롬프트 전송 전 상담 내용 압축
+ * 1. 화자 태그 축약 (고객/상담사 → C/A)
+ * 2. 인사말/추임새 제거, 내용이 없는 발화 삭제
+ * 3. 반복 발화 제거
+ * 4. 토큰 예산 초과 시 앞부분 + 뒷부분만 유지 (가운데 생략)
+ */
+@Component
+public class TranscriptCompactor {
+
+    private static final String OMISSION_MARKER = "...(중략)...";
+    private static final String SPEAKER_LEGEND = "(C=고객, A=상담사)\n";
+
+    // 화자 태그 (줄 시작 또는 문장 중간에 붙어 있는 경우 모두)
+    private static final Pattern SPEAKER_TAG = Pattern.compile("(고객님?|손님|상담사|상담원)\\s*[:：]");
+
+    // 인사말/상담 시작·종료 정형 문구
+    private static final Pattern GREETING = Pattern.compile(
+        "(안녕하세요|안녕하십니까|감사합니다|고맙습니다|수고하세요|수고하셨습니다|좋은 하루 되세요|"
+        + "하나카드\\s*(고객센터)?\\s*상담(사|원)\\s*\\S*\\s*입니다|무엇을 도와드릴까요|잠시만 기다려 주세요|"
+        + "기다려 주셔서 감사합니다)[.!?~]*");
+
+    // 단독으로 쓰인 추임새 (앞뒤가 공백/문장부호인 경우만)
+    private static final Pattern FILLER = Pattern.compile(
+        "(?:^|(?<=[\\s,.!?]))(네+|예+|아+|어+|음+|응+|저기요?)(?=$|[\\s,.!?])[,.!?~]*");
+
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+    private static final Pattern PUNCTUATION_ONLY = Pattern.compile("[\\s,.!?~…]*");
+
+    private final TokenEstimator tokenEstimator;
+    private final boolean enabled;
+    private final int tokenBudget;
+    private final double headRatio;
+
+    private final DistributionSummary tokensSaved;
+    private final Counter truncated;
+
+    public TranscriptCompactor(
+            TokenEstimator tokenEstimator,
+            MeterRegistry meterRegistry,
+            @Value("${classification.compaction.enabled:false}") boolean enabled,
+            @Value("${classification.compaction.token-budget:1500}") int tokenBudget,
+            @Value("${classification.compaction.head-ratio:0.6}") double headRatio) {
+
+        this.tokenEstimator = tokenEstimator;
+        this.enabled = enabled;
+        this.tokenBudget = tokenBudget;
+        this.headRatio = headRatio;
+
+        this.tokensSaved = DistributionSummary.builder("classification.compaction.tokens.saved")
+            .description("상담 내용 압축으로 줄어든 입력 토큰 수")
+            .register(meterRegistry);
+        this.truncated = Counter.builder("classification.compaction.truncated")
+            .description("토큰 예산 초과로 가운데를 생략한 상담 수")
+            .register(meterRegistry);
+    }
+
+    /**
+     * 상담 내용 압축 (비활성화 시 원문 그대로)
+     */
+    public Compaction compact(String consultingContent) {
+        if (!enabled || consultingContent == null) {
+            return new Compaction(consultingContent, 0, 0, false);
+        }
+
+        int originalTokens = tokenEstimator.countTokens(consultingContent);
+
+        // 1~3. 발화 단위로 나눠 정리
+        List<String> turns = new ArrayList<>();
+        Set<String> seen = new HashSet<>();
+        boolean hasSpeakers = false;
+        for (String turn : splitTurns(consultingContent)) {
+            Matcher tag = SPEAKER_TAG.matcher(turn);
+            String speaker = "";
+            String text = turn;
+            if (tag.lookingAt()) {
+                speaker = tag.group(1).startsWith("고객") || tag.group(1).equals("손님") ? "C: " : "A: ";
+                text = turn.substring(tag.end());
+                hasSpeakers = true;
+            }
+
+            text = GREETING.matcher(text).replaceAll(" ");
+            text = FILLER.matcher(text).replaceAll(" ");
+            text = WHITESPACE.matcher(text).replaceAll(" ").trim();
+            if (PUNCTUATION_ONLY.matcher(text).matches()) {
+                continue;
+            }
+
+            String compacted = speaker + text;
+            if (seen.add(compacted)) {
+                turns.add(compacted);
+            }
+        }
+
+        // 4. 토큰 예산 적용 (앞부분 + 뒷부분 유지)
+        String content = join(turns, hasSpeakers);
+        int compactedTokens = tokenEstimator.countTokens(content);
+        boolean overBudget = compactedTokens > tokenBudget;
+        if (overBudget) {
+            content = keepHeadAndTail(turns, hasSpeakers);
+            compactedTokens = tokenEstimator.countTokens(content);
+            truncated.increment();
+        }
+
+        // 압축 결과가 원문보다 길면 (짧은 상담에 범례만 붙은 경우 등) 원문 사용
+        if (!overBudget && compactedTokens >= originalTokens) {
+            return new Compaction(consultingContent, originalTokens, originalTokens, false);
+        }
+
+        tokensSaved.record(originalTokens - compactedTokens);
+        return new Compaction(content, originalTokens, compactedTokens, overBudget);
+    }
+
+    /**
+     * 줄바꿈 또는 화자 태그 기준으로 발화 분리
+     */
+    private List<String> splitTurns(String consultingContent) {
+        List<String> turns = new ArrayList<>();
+        for (String line : consultingContent.split("\\R")) {
+            Matcher tag = SPEAKER_TAG.matcher(line);
+            int start = 0;
+            while (tag.find()) {
+                if (tag.start() > start) {
+                    turns.add(line.substring(start, tag.start()).trim());
+                }
+                start = tag.start();
+            }
+            turns.add(line.substring(start).trim());
+        }
+        return turns;
+    }
+
+    private String keepHeadAndTail(List<String> turns, boolean hasSpeakers) {
+        // 범례/생략 표시 몫을 먼저 빼고, 발화마다 줄바꿈 1토큰을 더해 계산
+        int overhead = tokenEstimator.countTokens(OMISSION_MARKER) + 1
+            + (hasSpeakers ? tokenEstimator.countTokens(SPEAKER_LEGEND) : 0);
+        int available = Math.max(0, tokenBudget - overhead);
+        int headBudget = (int) (available * headRatio);
+        int tailBudget = available - headBudget;
+
+        List<String> head = new ArrayList<>();
+        int headTokens = 0;
+        int headEnd = 0;
+        for (; headEnd < turns.size(); headEnd++) {
+            int tokens = tokenEstimator.countTokens(turns.get(headEnd)) + 1;
+            if (headTokens + tokens > headBudget) {
+                break;
+            }
+            head.add(turns.get(headEnd));
+            headTokens += tokens;
+        }
+
+        List<String> tail = new ArrayList<>();
+        int tailTokens = 0;
+        for (int i = turns.size() - 1; i >= headEnd; i--) {
+            int tokens = tokenEstimator.countTokens(turns.get(i)) + 1;
+            if (tailTokens + tokens > tailBudget) {
+                break;
+            }
+            tail.add(0, turns.get(i));
+            tailTokens += tokens;
+        }
+
+        // 첫 발화 하나가 예산보다 길면 글자 수 기준으로 자름 (한글은 대략 글자당 1토큰)
+        if (head.isEmpty() && !turns.isEmpty()) {
+            String first = turns.get(0);
+            head.add(first.substring(0, Math.min(first.length(), headBudget)));
+        }
+
+        List<String> kept = new ArrayList<>(head);
+        kept.add(OMISSION_MARKER);
+        kept.addAll(tail);
+        return join(kept, hasSpeakers);
+    }
+
+    private static String join(List<String> turns, boolean hasSpeakers) {
+        String body = String.join("\n", turns);
+        return hasSpeakers ? SPEAKER_LEGEND + body : body;
+    }
+
+    /**
+     * 압축 결과 (토큰 수는 비활성화 시 0)
+     */
+    public record Compaction(String content, int originalTokens, int compactedTokens, boolean truncated) {
+
+        public int tokensSaved() {
+            return originalTokens - compactedTokens;
+        }
+
+        public boolean changed() {
+            return originalTokens != compactedTokens || truncated;
+        }
+    }
+}
@@ -13,7 +13,8 @@ CREATE TABLE IF NOT EXISTS voc_normalized (
     category_id VARCHAR(8),
     created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
     updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP,
-    analysis_result JSON NOT NULL
+    analysis_result JSON NOT NULL,
+    reclassify_pending BOOLEAN NOT NULL DEFAULT FALSE
 ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
 
 -- 인덱스 생성
@@ -23,6 +24,7 @@ CREATE INDEX idx_consulting_category ON voc_normalized(consulting_category);
 CREATE INDEX idx_created_at ON voc_normalized(created_at);
 CREATE INDEX idx_client_info ON voc_normalized(client_gender, client_age);
 CREATE INDEX idx_category_id ON voc_normalized(category_id);
+CREATE INDEX idx_reclassify_pending ON voc_normalized(reclassify_pending, id);
 
 -- MySQL JSON 함수 기반 인덱스 (MySQL 8.0+)
 CREATE INDEX idx_category_json ON voc_normalized(
@@ -32,6 +34,60 @@ CREATE INDEX idx_confidence_json ON voc_normalized(
     (CAST(JSON_UNQUOTE(JSON_EXTRACT(analysis_result, '$.classification.confidence')) AS DECIMAL(3,2)))
 );
 
+-- 분류 결과 캐시 테이블 (2차 캐시, 레플리카 간 공유)
+CREATE TABLE IF NOT EXISTS voc_classification_cache (
+    cache_key VARCHAR(64) PRIMARY KEY,
+    catalog_version VARCHAR(32) NOT NULL,
+    consulting_category VARCHAR(100),
+    category_id VARCHAR(8),
+    analysis_result JSON NOT NULL,
+    hit_count BIGINT NOT NULL DEFAULT 0,
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    last_hit_at TIMESTAMP NULL
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
+
+CREATE INDEX idx_cache_created_at ON voc_classification_cache(created_at);
+
+-- 분류 작업 아웃박스 (접수 후 처리 전인 요청, 처리 완료 시 삭제)
+CREATE TABLE IF NOT EXISTS voc_classification_outbox (
+    id BIGINT PRIMARY KEY,
+    job_id VARCHAR(36) NOT NULL,
+    owner VARCHAR(100) NOT NULL,
+    source_id VARCHAR(255) NOT NULL,
+    payload JSON NOT NULL,
+    claimed_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
+
+CREATE INDEX idx_outbox_owner ON voc_classification_outbox(owner, id);
+CREATE INDEX idx_outbox_claimed_at ON voc_classification_outbox(claimed_at, id);
+
+-- 테이블 id 생성기 (Hibernate가 allocationSize만큼 미리 할당하여 insert 배치 가능)
+CREATE TABLE IF NOT EXISTS voc_id_sequence (
+    sequence_name VARCHAR(255) PRIMARY KEY,
+    next_val BIGINT
+) ENGINE=InnoDB;
+
+INSERT IGNORE INTO voc_id_sequence (sequence_name, next_val)
+SELECT 'voc_classification_outbox', COALESCE(MAX(id), 0) + 1 FROM voc_classification_outbox;
+
+-- 재분류 백필 체크포인트 (청크마다 마지막 처리 id 기록)
+CREATE TABLE IF NOT EXISTS voc_backfill_checkpoint (
+    name VARCHAR(50) PRIMARY KEY,
+    scope VARCHAR(10) NOT NULL,
+    catalog_version VARCHAR(32) NOT NULL,
+    status VARCHAR(20) NOT NULL,
+    last_id BIGINT NOT NULL DEFAULT 0,
+    total_rows BIGINT NOT NULL DEFAULT 0,
+    processed_rows BIGINT NOT NULL DEFAULT 0,
+    reclassified_rows BIGINT NOT NULL DEFAULT 0,
+    renamed_rows BIGINT NOT NULL DEFAULT 0,
+    failed_rows BIGINT NOT NULL DEFAULT 0,
+    error_message VARCHAR(500),
+    started_at TIMESTAMP NULL,
+    updated_at TIMESTAMP NULL
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
+
 -- 테스트 데이터 삽입 (voc_raw 구조에 맞춤)
 INSERT INTO voc_normalized (
     source_id, consulting_date, client_gender, client_age, consulting_turns, consulting_length,
@@ -0,0 +1,176 @@
+package com.hanacard.client;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hanacard.dto.AdminApiResponse;
+import com.hanacard.dto.ConsultingCategoryData;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.client.RestTemplate;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class AdminApiClientTest {
+
+    private final RestTemplate restTemplate = mock(RestTemplate.class);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final AtomicLong clock = new AtomicLong();
+    private final List<Runnable> background = new ArrayList<>();
+    private final AdminApiClient client = newClient(null);
+
+    @TempDir
+    Path tempDir;
+
+    // TTL 30분, 24분부터 미리 갱신, 60분까지 만료 캐시 허용, 백오프 10~60초
+    private AdminApiClient newClient(Path snapshotFile) {
+        return new AdminApiClient(restTemplate, new ObjectMapper(), snapshotFile, meterRegistry, background::add, clock::get,
+            TimeUnit.MINUTES.toNanos(30), 0.8, TimeUnit.MINUTES.toNanos(60),
+            TimeUnit.SECONDS.toNanos(10), TimeUnit.SECONDS.toNanos(60));
+    }
+
+    private static ResponseEntity<AdminApiResponse> response(String etag, String... names) {
+        List<ConsultingCategoryData> categories = new ArrayList<>();
+        for (int i = 0; i < names.length; i++) {
+            categories.add(new ConsultingCategoryData("id" + i, names[i]));
+        }
+        AdminApiResponse.AdminData data = new AdminApiResponse.AdminData();
+        data.setData(categories);
+        AdminApiResponse body = new AdminApiResponse();
+        body.setSuccess(true);
+        body.setData(data);
+        return etag != null ? ResponseEntity.ok().eTag(etag).body(body) : ResponseEntity.ok(body);
+    }
+
+    private void advanceMinutes(long minutes) {
+        clock.addAndGet(TimeUnit.MINUTES.toNanos(minutes));
+    }
+
+    private void runBackground() {
+        List<Runnable> tasks = new ArrayList<>(background);
+        background.clear();
+        tasks.forEach(Runnable::run);
+    }
+
+    @Test
+    void testRefreshesAheadInBackgroundOnce() {
+        when(restTemplate.exchange(anyString(), eq(HttpMethod.GET), any(HttpEntity.class), eq(AdminApiResponse.class)))
+            .thenReturn(response(null, "한도 안내"))
+            .thenReturn(response(null, "한도 안내", "약관 안내"));
+
+        List<ConsultingCategoryData> first = client.getConsultingCategories();
+        advanceMinutes(10);
+        assertSame(first, client.getConsultingCategories());
+        assertTrue(background.isEmpty());
+
+        // 갱신 시점 이후 여러 요청이 와도 백그라운드 조회는 하나, 요청은 기존 목록으로 바로 응답
+        advanceMinutes(15);
+        assertSame(first, client.getConsultingCategories());
+        assertSame(first, client.getConsultingCategories());
+        assertEquals(1, background.size());
+
+        runBackground();
+        assertEquals(2, client.getConsultingCategories().size());
+        verify(restTemplate, times(2)).exchange(anyString(), eq(HttpMethod.GET), any(HttpEntity.class), eq(AdminApiResponse.class));
+        assertEquals(2, meterRegistry.timer("admin.category.refresh", "result", "success").count());
+    }
+
+    @Test
+    void testServesStaleWithBackoffWhileAdminIsDown() {
+        when(restTemplate.exchange(anyString(), eq(HttpMethod.GET), any(HttpEntity.class), eq(AdminApiResponse.class)))
+            .thenReturn(response(null, "한도 안내"))
+            .thenThrow(new ResourceAccessException("connection refused"));
+
+        List<ConsultingCategoryData> first = client.getConsultingCategories();
+        advanceMinutes(31);
+        assertSame(first, client.getConsultingCategories());
+        runBackground();
+
+        // 백오프 중에는 만료 캐시만 반환하고 재조회하지 않음
+        assertSame(first, client.getConsultingCategories());
+        assertTrue(background.isEmpty());
+        assertEquals(2.0, meterRegistry.counter("admin.category.cache.stale").count());
+        assertEquals(1, meterRegistry.timer("admin.category.refresh", "result", "failure").count());
+        assertEquals(31 * 60.0, meterRegistry.get("admin.category.cache.age.seconds").gauge().value());
+
+        advanceMinutes(1);
+        client.getConsultingCategories();
+        assertEquals(1, background.size());
+
+        // 허용 기간을 넘기면 동기 조회 실패를 그대로 전파
+        runBackground();
+        advanceMinutes(30);
+        assertThrows(ResourceAccessException.class, client::getConsultingCategories);
+    }
+
+    @Test
+    void testColdStartFailureBacksOff() {
+        when(restTemplate.exchange(anyString(), eq(HttpMethod.GET), any(HttpEntity.class), eq(AdminApiResponse.class)))
+            .thenThrow(new ResourceAccessException("connection refused"))
+            .thenReturn(response(null, "한도 안내"));
+
+        assertThrows(ResourceAccessException.class, client::getConsultingCategories);
+        assertThrows(RuntimeException.class, client::getConsultingCategories);
+        verify(restTemplate, times(1)).exchange(anyString(), eq(HttpMethod.GET), any(HttpEntity.class), eq(AdminApiResponse.class));
+
+        advanceMinutes(1);
+        assertEquals(1, client.getConsultingCategories().size());
+        assertTrue(client.isCacheAvailable());
+    }
+
+    @Test
+    void testConditionalRefreshKeepsListOnNotModified() {
+        when(restTemplate.exchange(anyString(), eq(HttpMethod.GET), any(HttpEntity.class), eq(AdminApiResponse.class)))
+            .thenReturn(response("\"v1\"", "한도 안내"))
+            .thenReturn(ResponseEntity.status(HttpStatus.NOT_MODIFIED).build());
+
+        List<ConsultingCategoryData> first = client.getConsultingCategories();
+        advanceMinutes(25);
+        client.getConsultingCategories();
+        runBackground();
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<HttpEntity<?>> requests = ArgumentCaptor.forClass(HttpEntity.class);
+        verify(restTemplate, times(2)).exchange(anyString(), eq(HttpMethod.GET), requests.capture(), eq(AdminApiResponse.class));
+        assertEquals(List.of("\"v1\""), requests.getAllValues().get(1).getHeaders().getIfNoneMatch());
+        assertEquals(1, meterRegistry.timer("admin.category.refresh", "result", "not_modified").count());
+
+        // 304 이후에는 갱신 시각만 바뀌고 같은 목록 인스턴스를 반환
+        advanceMinutes(20);
+        assertSame(first, client.getConsultingCategories());
+        assertTrue(background.isEmpty());
+    }
+
+    @Test
+    void testPersistedSnapshotServesWarmStartWhileAdminIsDown() throws Exception {
+        Path snapshotFile = tempDir.resolve("admin-categories.json");
+        when(restTemplate.exchange(anyString(), eq(HttpMethod.GET), any(HttpEntity.class), eq(AdminApiResponse.class)))
+            .thenReturn(response("\"v1\"", "한도 안내", "약관 안내"))
+            .thenThrow(new ResourceAccessException("connection refused"));
+
+        newClient(snapshotFile).getConsultingCategories();
+        assertTrue(Files.exists(snapshotFile));
+
+        // 재시작: Admin 장애여도 저장된 목록을 바로 반환하고 백그라운드에서 재검증
+        AdminApiClient restarted = newClient(snapshotFile);
+        List<ConsultingCategoryData> categories = restarted.getConsultingCategories();
+        assertEquals(List.of("한도 안내", "약관 안내"), categories.stream().map(ConsultingCategoryData::getCategoryName).toList());
+        assertEquals(1, background.size());
+        runBackground();
+        assertEquals(2, restarted.getConsultingCategories().size());
+    }
+}
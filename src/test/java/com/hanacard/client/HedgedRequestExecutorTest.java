@@ -0,0 +1,183 @@
+package com.hanacard.client;
+
+import com.hanacard.config.OpenAIConfig;
+import com.theokanning.openai.completion.chat.ChatCompletionResult;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HedgedRequestExecutorTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private HedgedRequestExecutor newExecutor(int maxBurst) {
+        OpenAIConfig.Hedge config = new OpenAIConfig.Hedge();
+        config.setEnabled(true);
+        config.setMinDelayMillis(10);
+        config.setMaxDelayMillis(100);
+        config.setMaxBurst(maxBurst);
+        config.setBudgetRatio(0);
+        return new HedgedRequestExecutor(config, meterRegistry);
+    }
+
+    @Test
+    void testDelayTracksPercentileOfSlidingWindow() {
+        OpenAIConfig.Hedge config = new OpenAIConfig.Hedge();
+        config.setEnabled(true);
+        config.setPercentile(0.9);
+        config.setWindowSize(20);
+        config.setMinSamples(5);
+        config.setMinDelayMillis(0);
+        config.setMaxDelayMillis(10_000);
+        HedgedRequestExecutor executor = new HedgedRequestExecutor(config, meterRegistry);
+
+        Random random = new Random(42);
+        List<Long> recorded = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            long latency = random.nextInt(50) * 10L;
+            executor.recordLatency(latency);
+            recorded.add(latency);
+
+            // 표본이 적으면 최대값, 이후 최근 20건의 90백분위 (중복 값 포함)
+            List<Long> window = new ArrayList<>(recorded.subList(Math.max(0, recorded.size() - 20), recorded.size()));
+            Collections.sort(window);
+            long expected = window.size() < 5 ? 10_000 : window.get((int) Math.ceil(0.9 * window.size()) - 1);
+            assertEquals(expected, executor.hedgeDelayMillis(), "record #" + i);
+        }
+        assertEquals((double) executor.hedgeDelayMillis(),
+                     meterRegistry.get("openai.hedge.delay.millis").gauge().value());
+    }
+
+    @Test
+    void testHedgeWinsAndSlowPrimaryIsCancelled() throws Exception {
+        HedgedRequestExecutor executor = newExecutor(1);
+        AtomicInteger calls = new AtomicInteger();
+        CountDownLatch primaryInterrupted = new CountDownLatch(1);
+
+        String result = executor.execute(() -> {
+            if (calls.incrementAndGet() == 1) {
+                try {
+                    Thread.sleep(5000);
+                } catch (InterruptedException e) {
+                    primaryInterrupted.countDown();
+                    throw new IllegalStateException("취소됨");
+                }
+                return "primary";
+            }
+            return "hedge";
+        });
+
+        assertEquals("hedge", result);
+        assertTrue(primaryInterrupted.await(1, TimeUnit.SECONDS));
+        assertEquals(1.0, meterRegistry.counter("openai.hedge.wins", "winner", "hedge").count());
+    }
+
+    @Test
+    void testNoHedgeWhenBudgetIsExhausted() {
+        HedgedRequestExecutor executor = newExecutor(0);
+        AtomicInteger calls = new AtomicInteger();
+
+        String result = executor.execute(() -> {
+            calls.incrementAndGet();
+            sleep(200);
+            return "primary";
+        });
+
+        assertEquals("primary", result);
+        assertEquals(1, calls.get());
+        assertEquals(1.0, meterRegistry.counter("openai.hedge.requests", "result", "skipped_budget").count());
+    }
+
+    @Test
+    void testFallsBackToOtherCallWhenOneFails() {
+        HedgedRequestExecutor executor = newExecutor(1);
+        AtomicInteger calls = new AtomicInteger();
+
+        String result = executor.execute(() -> {
+            if (calls.incrementAndGet() == 1) {
+                sleep(200);
+                throw new IllegalStateException("OpenAI 오류");
+            }
+            sleep(300);
+            return "hedge";
+        });
+
+        assertEquals("hedge", result);
+    }
+
+    private static OpenAIRateGovernor singlePermitGovernor() {
+        OpenAIConfig.RateLimit config = new OpenAIConfig.RateLimit();
+        config.setInitialConcurrency(1);
+        config.setMinConcurrency(1);
+        config.setMaxConcurrency(1);
+        config.setRequestsPerMinute(1000);
+        config.setTokensPerMinute(1_000_000);
+        config.setMaxQueueWaitSeconds(5);
+        return new OpenAIRateGovernor(config, new SimpleMeterRegistry());
+    }
+
+    private static OpenAICircuitBreaker breaker() {
+        return new OpenAICircuitBreaker(new OpenAIConfig.CircuitBreaker(), new SimpleMeterRegistry());
+    }
+
+    @Test
+    void testPrimaryWaitingForPermitDoesNotHedge() throws Exception {
+        HedgedRequestExecutor executor = newExecutor(1);
+        OpenAIRateGovernor governor = singlePermitGovernor();
+        AtomicInteger calls = new AtomicInteger();
+
+        // 다른 호출이 허가를 점유한 동안 첫 호출은 대기열에서 헤지 대기 시간(최대 100ms)보다 오래 기다림
+        governor.acquire(10);
+        Thread caller = new Thread(() -> OpenAIApiClient.guarded(executor, governor, breaker(), 10, () -> {
+            calls.incrementAndGet();
+            return new ChatCompletionResult();
+        }));
+        caller.start();
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (governor.queueDepth() < 1 && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+        assertEquals(1, governor.queueDepth());
+        Thread.sleep(300);
+        governor.release(10, OpenAIRateGovernor.Outcome.SUCCESS, 0);
+        caller.join(5000);
+
+        assertFalse(caller.isAlive());
+        assertEquals(1, calls.get());
+        assertEquals(0.0, meterRegistry.counter("openai.hedge.requests", "result", "fired").count());
+    }
+
+    @Test
+    void testNoHedgeWhenGovernorHasNoSparePermit() {
+        HedgedRequestExecutor executor = newExecutor(1);
+        OpenAIRateGovernor governor = singlePermitGovernor();
+        AtomicInteger calls = new AtomicInteger();
+
+        OpenAIApiClient.guarded(executor, governor, breaker(), 10, () -> {
+            calls.incrementAndGet();
+            sleep(200);
+            return new ChatCompletionResult();
+        });
+
+        assertEquals(1, calls.get());
+        assertEquals(1.0, meterRegistry.counter("openai.hedge.requests", "result", "skipped_throttled").count());
+        assertEquals(0, governor.inFlight());
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
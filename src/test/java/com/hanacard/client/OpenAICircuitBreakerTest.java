@@ -0,0 +1,272 @@
+package com.hanacard.client;
+
+import com.hanacard.config.OpenAIConfig;
+import com.theokanning.openai.OpenAiError;
+import com.theokanning.openai.OpenAiHttpException;
+import com.theokanning.openai.completion.chat.ChatCompletionResult;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OpenAICircuitBreakerTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final AtomicLong clock = new AtomicLong();
+
+    private OpenAICircuitBreaker newBreaker() {
+        OpenAIConfig.CircuitBreaker config = new OpenAIConfig.CircuitBreaker();
+        config.setWindowSize(10);
+        config.setMinimumCalls(4);
+        config.setFailureRateThreshold(0.5);
+        config.setSlowCallMillis(1000);
+        config.setOpenSeconds(30);
+        config.setHalfOpenCalls(2);
+        return new OpenAICircuitBreaker(config, meterRegistry, clock::get);
+    }
+
+    private void fail(OpenAICircuitBreaker breaker) {
+        assertThrows(IllegalStateException.class, () -> breaker.execute(() -> {
+            throw new IllegalStateException("timeout");
+        }));
+    }
+
+    private void advanceSeconds(long seconds) {
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(seconds));
+    }
+
+    @Test
+    void testOpensWhenFailureRateExceedsThreshold() {
+        OpenAICircuitBreaker breaker = newBreaker();
+
+        breaker.execute(() -> "ok");
+        breaker.execute(() -> "ok");
+        fail(breaker);
+        assertEquals(OpenAICircuitBreaker.State.CLOSED, breaker.state());
+
+        fail(breaker);
+        assertEquals(OpenAICircuitBreaker.State.OPEN, breaker.state());
+        assertTrue(breaker.isOpen());
+        assertNotNull(breaker.openedAt());
+
+        // 열린 동안에는 호출하지 않고 즉시 거부
+        assertThrows(OpenAIUnavailableException.class, () -> breaker.execute(() -> "ok"));
+        assertEquals(1.0, meterRegistry.counter("openai.circuit.rejected").count());
+        assertEquals(1.0, meterRegistry.counter("openai.circuit.transitions", "from", "CLOSED", "to", "OPEN").count());
+    }
+
+    @Test
+    void testHalfOpenClosesAfterSuccessfulTrialCalls() {
+        OpenAICircuitBreaker breaker = newBreaker();
+        for (int i = 0; i < 4; i++) {
+            fail(breaker);
+        }
+        assertTrue(breaker.isOpen());
+
+        advanceSeconds(30);
+        assertFalse(breaker.isOpen());
+
+        breaker.execute(() -> "ok");
+        assertEquals(OpenAICircuitBreaker.State.HALF_OPEN, breaker.state());
+        breaker.execute(() -> "ok");
+        assertEquals(OpenAICircuitBreaker.State.CLOSED, breaker.state());
+        assertEquals(0.0, breaker.failureRate());
+        assertNull(breaker.openedAt());
+    }
+
+    @Test
+    void testHalfOpenFailureReopens() {
+        OpenAICircuitBreaker breaker = newBreaker();
+        for (int i = 0; i < 4; i++) {
+            fail(breaker);
+        }
+        advanceSeconds(31);
+
+        fail(breaker);
+        assertEquals(OpenAICircuitBreaker.State.OPEN, breaker.state());
+        assertThrows(OpenAIUnavailableException.class, () -> breaker.execute(() -> "ok"));
+    }
+
+    @Test
+    void testHalfOpenLimitsConcurrentTrialCalls() {
+        OpenAICircuitBreaker breaker = newBreaker();
+        for (int i = 0; i < 4; i++) {
+            fail(breaker);
+        }
+        advanceSeconds(30);
+
+        breaker.acquirePermission();
+        breaker.acquirePermission();
+        assertThrows(OpenAIUnavailableException.class, breaker::acquirePermission);
+    }
+
+    @Test
+    void testInterruptedCallsDoNotCloseHalfOpenBreaker() {
+        OpenAICircuitBreaker breaker = newBreaker();
+        for (int i = 0; i < 4; i++) {
+            fail(breaker);
+        }
+        advanceSeconds(30);
+
+        // 헤지 취소로 인터럽트된 시험 호출 (원인 체인 / 인터럽트 플래그) → 결과 없이 허가만 반환
+        for (int i = 0; i < 3; i++) {
+            assertThrows(IllegalStateException.class, () -> breaker.execute(() -> {
+                throw new IllegalStateException("취소됨", new InterruptedException());
+            }));
+            assertThrows(IllegalStateException.class, () -> breaker.execute(() -> {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("취소됨");
+            }));
+            Thread.interrupted();
+        }
+        assertEquals(OpenAICircuitBreaker.State.HALF_OPEN, breaker.state());
+
+        // 반환된 허가로 실제 시험 호출 2건이 성공해야 닫힘
+        breaker.execute(() -> "ok");
+        assertEquals(OpenAICircuitBreaker.State.HALF_OPEN, breaker.state());
+        breaker.execute(() -> "ok");
+        assertEquals(OpenAICircuitBreaker.State.CLOSED, breaker.state());
+    }
+
+    @Test
+    void testSlowCallsCountAsFailures() {
+        OpenAICircuitBreaker breaker = newBreaker();
+        for (int i = 0; i < 4; i++) {
+            breaker.execute(() -> {
+                advanceSeconds(2);
+                return "slow";
+            });
+        }
+        assertEquals(OpenAICircuitBreaker.State.OPEN, breaker.state());
+    }
+
+    @Test
+    void testClientErrorsAreNotFailures() {
+        OpenAiError error = new OpenAiError(new OpenAiError.OpenAiErrorDetails("bad request", "invalid_request_error", null, null));
+        assertFalse(OpenAICircuitBreaker.isFailure(new OpenAiHttpException(error, null, 400)));
+        assertFalse(OpenAICircuitBreaker.isFailure(new OpenAiHttpException(error, null, 429)));
+        assertTrue(OpenAICircuitBreaker.isFailure(new OpenAiHttpException(error, null, 503)));
+        assertTrue(OpenAICircuitBreaker.isFailure(new RuntimeException(new java.net.SocketTimeoutException())));
+        assertFalse(OpenAICircuitBreaker.isFailure(new OpenAIUnavailableException("open")));
+        assertFalse(OpenAICircuitBreaker.isFailure(new OpenAIRateLimitException("queue wait timeout")));
+        assertFalse(OpenAICircuitBreaker.isFailure(new IllegalStateException(new InterruptedException())));
+    }
+
+    private static OpenAIRateGovernor singlePermitGovernor(int maxQueueWaitSeconds) {
+        return singlePermitGovernor(maxQueueWaitSeconds, 3);
+    }
+
+    private static OpenAIRateGovernor singlePermitGovernor(int maxQueueWaitSeconds, int maxRetries) {
+        OpenAIConfig.RateLimit config = new OpenAIConfig.RateLimit();
+        config.setMaxRetries(maxRetries);
+        config.setInitialConcurrency(1);
+        config.setMinConcurrency(1);
+        config.setMaxConcurrency(1);
+        config.setRequestsPerMinute(1000);
+        config.setTokensPerMinute(1_000_000);
+        config.setMaxQueueWaitSeconds(maxQueueWaitSeconds);
+        return new OpenAIRateGovernor(config, new SimpleMeterRegistry());
+    }
+
+    private static HedgedRequestExecutor noHedge() {
+        OpenAIConfig.Hedge config = new OpenAIConfig.Hedge();
+        config.setEnabled(false);
+        return new HedgedRequestExecutor(config, new SimpleMeterRegistry());
+    }
+
+    @Test
+    void testGovernorRejectionsDoNotTripBreaker() {
+        OpenAICircuitBreaker breaker = newBreaker();
+        OpenAIRateGovernor governor = singlePermitGovernor(0);
+        governor.acquire(10);
+
+        for (int i = 0; i < 4; i++) {
+            assertThrows(OpenAIRateLimitException.class, () -> OpenAIApiClient.guarded(
+                noHedge(), governor, breaker, 10, () -> new ChatCompletionResult()));
+        }
+        assertEquals(OpenAICircuitBreaker.State.CLOSED, breaker.state());
+        assertEquals(0.0, breaker.failureRate());
+    }
+
+    @Test
+    void testThrottledRetriesDoNotTripBreaker() {
+        OpenAICircuitBreaker breaker = newBreaker();
+        OpenAIRateGovernor governor = singlePermitGovernor(5, 1);
+        OpenAiError error = new OpenAiError(new OpenAiError.OpenAiErrorDetails(
+            "Rate limit reached", "requests", null, "rate_limit_exceeded"));
+        AtomicInteger attempts = new AtomicInteger();
+
+        // 요청 2건 × (첫 시도 + 재시도 1회) 모두 429 → 창의 최소 호출 수(4)를 채워도 닫힘 유지
+        for (int i = 0; i < 2; i++) {
+            assertThrows(OpenAiHttpException.class, () -> OpenAIApiClient.guarded(noHedge(), governor, breaker, 10, () -> {
+                attempts.incrementAndGet();
+                throw new OpenAiHttpException(error, null, 429);
+            }));
+        }
+        OpenAIApiClient.guarded(noHedge(), governor, breaker, 10, () -> new ChatCompletionResult());
+
+        assertEquals(4, attempts.get());
+        assertEquals(OpenAICircuitBreaker.State.CLOSED, breaker.state());
+        assertEquals(0.0, breaker.failureRate());
+    }
+
+    @Test
+    void testQueueWaitIsNotCountedAsSlowCall() throws Exception {
+        OpenAIConfig.CircuitBreaker config = new OpenAIConfig.CircuitBreaker();
+        config.setMinimumCalls(1);
+        config.setFailureRateThreshold(0.5);
+        config.setSlowCallMillis(200);
+        OpenAICircuitBreaker breaker = new OpenAICircuitBreaker(config, meterRegistry);
+        OpenAIRateGovernor governor = singlePermitGovernor(5);
+
+        // 다른 호출이 허가를 500ms 동안 점유 → 대기열에서 기다린 뒤 빠르게 끝나는 호출
+        governor.acquire(10);
+        Thread releaser = new Thread(() -> {
+            try {
+                Thread.sleep(500);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            governor.release(10, OpenAIRateGovernor.Outcome.SUCCESS, 0);
+        });
+        releaser.start();
+
+        long start = System.nanoTime();
+        OpenAIApiClient.guarded(noHedge(), governor, breaker, 10, () -> new ChatCompletionResult());
+        releaser.join();
+
+        assertTrue(System.nanoTime() - start >= TimeUnit.MILLISECONDS.toNanos(200));
+        assertEquals(OpenAICircuitBreaker.State.CLOSED, breaker.state());
+        assertEquals(0.0, breaker.failureRate());
+    }
+
+    @Test
+    void testOpenBreakerRejectsBeforeQueueing() {
+        OpenAICircuitBreaker breaker = newBreaker();
+        for (int i = 0; i < 4; i++) {
+            fail(breaker);
+        }
+        OpenAIRateGovernor governor = singlePermitGovernor(5);
+
+        assertThrows(OpenAIUnavailableException.class, () -> OpenAIApiClient.guarded(
+            noHedge(), governor, breaker, 10, () -> new ChatCompletionResult()));
+        assertEquals(0, governor.inFlight());
+    }
+
+    @Test
+    void testDisabledBreakerPassesThrough() {
+        OpenAIConfig.CircuitBreaker config = new OpenAIConfig.CircuitBreaker();
+        config.setEnabled(false);
+        config.setMinimumCalls(1);
+        OpenAICircuitBreaker breaker = new OpenAICircuitBreaker(config, meterRegistry, clock::get);
+
+        fail(breaker);
+        fail(breaker);
+        assertEquals("ok", breaker.execute(() -> "ok"));
+        assertFalse(breaker.isOpen());
+    }
+}
@@ -0,0 +1,83 @@
+package com.hanacard.client;
+
+import com.hanacard.config.OpenAIConfig;
+import com.theokanning.openai.OpenAiError;
+import com.theokanning.openai.OpenAiHttpException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OpenAIRateGovernorTest {
+
+    private OpenAIRateGovernor newGovernor(int initialConcurrency, int requestsPerMinute, int tokensPerMinute) {
+        return newGovernor(initialConcurrency, requestsPerMinute, tokensPerMinute, 1);
+    }
+
+    private OpenAIRateGovernor newGovernor(int initialConcurrency, int requestsPerMinute, int tokensPerMinute,
+                                           int maxQueueWaitSeconds) {
+        OpenAIConfig.RateLimit config = new OpenAIConfig.RateLimit();
+        config.setInitialConcurrency(initialConcurrency);
+        config.setMaxConcurrency(64);
+        config.setRequestsPerMinute(requestsPerMinute);
+        config.setTokensPerMinute(tokensPerMinute);
+        config.setMaxQueueWaitSeconds(maxQueueWaitSeconds);
+        return new OpenAIRateGovernor(config, new SimpleMeterRegistry());
+    }
+
+    private static OpenAiHttpException tooManyRequests() {
+        OpenAiError error = new OpenAiError(new OpenAiError.OpenAiErrorDetails(
+            "Rate limit reached", "requests", null, "rate_limit_exceeded"));
+        return new OpenAiHttpException(error, null, 429);
+    }
+
+    @Test
+    void testQueuesThenRejectsWhenConcurrencyLimitIsFull() {
+        OpenAIRateGovernor governor = newGovernor(2, 1000, 1_000_000);
+        governor.acquire(10);
+        governor.acquire(10);
+
+        assertThrows(OpenAIRateLimitException.class, () -> governor.acquire(10));
+        assertEquals(0, governor.queueDepth());
+
+        governor.release(10, OpenAIRateGovernor.Outcome.SUCCESS, 0);
+        assertDoesNotThrow(() -> governor.acquire(10));
+    }
+
+    @Test
+    void testRejectsWhenTokenBudgetIsExhausted() {
+        OpenAIRateGovernor governor = newGovernor(16, 1000, 1000);
+        governor.acquire(900);
+        governor.release(900, OpenAIRateGovernor.Outcome.SUCCESS, 0);
+
+        assertThrows(OpenAIRateLimitException.class, () -> governor.acquire(900));
+    }
+
+    @Test
+    void testRetriesAfterThrottleAndHalvesLimit() {
+        OpenAIRateGovernor governor = newGovernor(16, 1000, 1_000_000, 5);
+        AtomicInteger calls = new AtomicInteger();
+
+        String result = governor.execute(10, () -> {
+            if (calls.incrementAndGet() == 1) {
+                throw tooManyRequests();
+            }
+            return "ok";
+        }, value -> 0);
+
+        assertEquals("ok", result);
+        assertEquals(2, calls.get());
+        assertTrue(governor.currentLimit() < 9);
+        assertEquals(0, governor.inFlight());
+    }
+
+    @Test
+    void testParsesRetryAfterHeaders() {
+        assertEquals(Duration.ofMillis(1500), OpenAIRateGovernor.parseRetryAfter("1500", "2"));
+        assertEquals(Duration.ofSeconds(2), OpenAIRateGovernor.parseRetryAfter(null, "2"));
+        assertNull(OpenAIRateGovernor.parseRetryAfter(null, "Wed, 21 Oct 2015 07:28:00 GMT"));
+    }
+}
@@ -0,0 +1,30 @@
+package com.hanacard.client;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.theokanning.openai.Usage;
+import com.theokanning.openai.completion.chat.ChatCompletionResult;
+import com.theokanning.openai.service.OpenAiService;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PromptCacheUsageTest {
+
+    @Test
+    void testReadsCachedTokensFromUsageDetails() throws Exception {
+        ObjectMapper mapper = OpenAiService.defaultObjectMapper();
+        mapper.registerModule(new SimpleModule().addDeserializer(Usage.class, new PromptCacheUsage.Deserializer()));
+
+        ChatCompletionResult result = mapper.readValue("""
+            {"id": "chatcmpl-1", "choices": [],
+             "usage": {"prompt_tokens": 1500, "completion_tokens": 300, "total_tokens": 1800,
+                       "prompt_tokens_details": {"cached_tokens": 1280}}}
+            """, ChatCompletionResult.class);
+
+        PromptCacheUsage usage = assertInstanceOf(PromptCacheUsage.class, result.getUsage());
+        assertEquals(1500, usage.getPromptTokens());
+        assertEquals(300, usage.getCompletionTokens());
+        assertEquals(1280, usage.getCachedTokens());
+    }
+}
@@ -0,0 +1,61 @@
+package com.hanacard.config;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.core.task.TaskExecutor;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * 가상 스레드 모드 처리량 비교 (블로킹 LLM 호출을 sleep으로 모사)
+ * 플랫폼 스레드는 Tomcat 기본 최대 스레드 수(200)와 같은 풀 크기로 비교
+ * 실행: mvn test -Dtest=VirtualThreadBenchmarkTest -Dbenchmark=true (JDK 21 이상)
+ */
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class VirtualThreadBenchmarkTest {
+
+    private static final int REQUESTS = 4000;
+    private static final int PLATFORM_THREADS = 200;
+    private static final long LLM_LATENCY_MILLIS = 200;
+
+    @Test
+    void testVirtualThreadsRaiseBlockingThroughput() throws Exception {
+        assumeTrue(Runtime.version().feature() >= 21, "가상 스레드는 JDK 21 이상 필요");
+
+        double platform = throughput(AsyncConfig.newClassificationExecutor(false, PLATFORM_THREADS, REQUESTS, 0));
+        double virtual = throughput(AsyncConfig.newClassificationExecutor(true, 0, 0, REQUESTS));
+
+        System.out.printf("블로킹 분류 처리량: platform(%d threads)=%.0f req/s, virtual=%.0f req/s (%.1fx)%n",
+                          PLATFORM_THREADS, platform, virtual, virtual / platform);
+        assertTrue(virtual > platform);
+    }
+
+    private static double throughput(TaskExecutor executor) throws InterruptedException {
+        CountDownLatch done = new CountDownLatch(REQUESTS);
+        long start = System.nanoTime();
+        for (int i = 0; i < REQUESTS; i++) {
+            executor.execute(() -> {
+                try {
+                    Thread.sleep(LLM_LATENCY_MILLIS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                done.countDown();
+            });
+        }
+        assertTrue(done.await(2, TimeUnit.MINUTES));
+        double seconds = (System.nanoTime() - start) / 1e9;
+        if (executor instanceof AutoCloseable closeable) {
+            try {
+                closeable.close();
+            } catch (Exception e) {
+                // 벤치마크 종료 처리 실패는 무시
+            }
+        }
+        return REQUESTS / seconds;
+    }
+}
@@ -0,0 +1,79 @@
+package com.hanacard.service;
+
+import com.hanacard.client.AdminApiClient;
+import com.hanacard.dto.ConsultingCategoryData;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class CategoryCatalogTest {
+
+    private static final List<ConsultingCategoryData> CATEGORIES = List.of(
+        new ConsultingCategoryData("235166ea", "도난/분실 신청/해제"),
+        new ConsultingCategoryData("2351a1e2", "한도 안내"));
+
+    @Test
+    void testLookupsAndPromptFragment() {
+        CategoryCatalog catalog = CategoryCatalog.of(1, CATEGORIES, false);
+
+        assertEquals("2351a1e2", catalog.idOf("한도 안내"));
+        assertNull(catalog.idOf("없는 카테고리"));
+        assertEquals(CategoryCatalog.DEFAULT_CATEGORY_ID, catalog.idOrDefault("없는 카테고리"));
+        assertEquals("도난/분실 신청/해제", catalog.nameOf("235166ea"));
+        assertTrue(catalog.containsId("2351a1e2"));
+        assertEquals(List.of("도난/분실 신청/해제", "한도 안내"), catalog.names());
+        assertEquals("신청/해제", catalog.bigCategoryOf("도난/분실 신청/해제"));
+        assertEquals("기타", catalog.bigCategoryOf(null));
+        assertEquals("가능한 카테고리 목록:\n- 도난/분실 신청/해제 (ID: 235166ea)\n- 한도 안내 (ID: 2351a1e2)\n",
+                     catalog.promptFragment());
+    }
+
+    @Test
+    void testFingerprintIgnoresOrder() {
+        List<ConsultingCategoryData> reversed = List.of(CATEGORIES.get(1), CATEGORIES.get(0));
+
+        assertEquals(CategoryCatalog.fingerprint(CATEGORIES), CategoryCatalog.fingerprint(reversed));
+        assertNotEquals(CategoryCatalog.fingerprint(CATEGORIES),
+                        CategoryCatalog.fingerprint(List.of(new ConsultingCategoryData("2351a1e2", "한도 안내"))));
+    }
+
+    @Test
+    void testProviderBumpsVersionOnlyWhenContentChanges() {
+        AdminApiClient adminApiClient = mock(AdminApiClient.class);
+        CategoryCatalogProvider provider = new CategoryCatalogProvider(adminApiClient, new SimpleMeterRegistry());
+
+        when(adminApiClient.getConsultingCategories()).thenReturn(CATEGORIES);
+        CategoryCatalog first = provider.current();
+        assertSame(first, provider.current());
+        assertFalse(first.isFallback());
+
+        // 같은 내용의 새 목록 → 버전 유지
+        when(adminApiClient.getConsultingCategories()).thenReturn(new ArrayList<>(CATEGORIES));
+        assertEquals(first.version(), provider.current().version());
+
+        List<ConsultingCategoryData> added = new ArrayList<>(CATEGORIES);
+        added.add(new ConsultingCategoryData("23516530", "결제대금 안내"));
+        when(adminApiClient.getConsultingCategories()).thenReturn(added);
+        CategoryCatalog second = provider.current();
+        assertEquals(first.version() + 1, second.version());
+        assertSame(second, provider.latest());
+    }
+
+    @Test
+    void testProviderFallsBackToDefaultCategories() {
+        AdminApiClient adminApiClient = mock(AdminApiClient.class);
+        when(adminApiClient.getConsultingCategories()).thenThrow(new RuntimeException("timeout"));
+        CategoryCatalogProvider provider = new CategoryCatalogProvider(adminApiClient, new SimpleMeterRegistry());
+
+        CategoryCatalog catalog = provider.current();
+
+        assertTrue(catalog.isFallback());
+        assertEquals(CategoryCatalog.DEFAULT_CATEGORIES.size(), catalog.size());
+        assertSame(catalog, provider.current());
+    }
+}
@@ -0,0 +1,69 @@
+package com.hanacard.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CategoryMatcherTest {
+
+    private static final List<String> CATEGORY_NAMES = List.of(
+        "도난/분실 신청/해제", "이용내역 안내", "승인취소/매출취소 안내", "한도상향 접수/처리",
+        "선결제/즉시출금", "한도 안내", "가상계좌 안내", "결제계좌 안내/변경", "서비스 이용방법 안내",
+        "결제대금 안내", "연체대금 즉시출금", "포인트/마일리지 전환등록", "증명서/확인서 발급",
+        "가상계좌 예약/취소", "단기카드대출 안내/실행", "장기카드대출 안내", "정부지원 바우처 (등유, 임신 등)",
+        "이벤트 안내", "심사 진행사항 안내", "도시가스", "일부결제 대금이월약정 안내", "일부결제대금이월약정 해지",
+        "결제일 안내/변경", "약관 안내", "상품 안내"
+    );
+
+    private final CategoryMatcher matcher =
+        CategoryMatcher.compile(CATEGORY_NAMES, FallbackCategoryClassifier.DEFAULT_CATEGORY_NAME, 2);
+
+    @Test
+    void testExactMatchIgnoresQuotesAndWhitespace() {
+        assertMatch("한도 안내", CategoryMatcher.Quality.EXACT, matcher.match("\"한도 안내\""));
+        assertMatch("한도 안내", CategoryMatcher.Quality.EXACT, matcher.match(" “한도안내” \n"));
+    }
+
+    @Test
+    void testContainedCategoryPrefersLongestName() {
+        assertMatch("한도상향 접수/처리", CategoryMatcher.Quality.CONTAINS,
+                    matcher.match("분류 결과: \"한도 안내\" 또는 \"한도상향 접수/처리\""));
+        assertMatch("결제일 안내/변경", CategoryMatcher.Quality.CONTAINS, matcher.match("카테고리: 결제일 안내/변경"));
+    }
+
+    @Test
+    void testResponseInsideCategoryName() {
+        assertMatch("장기카드대출 안내", CategoryMatcher.Quality.CONTAINS, matcher.match("장기카드대출"));
+    }
+
+    @Test
+    void testTypoWithinEditDistance() {
+        assertMatch("증명서/확인서 발급", CategoryMatcher.Quality.FUZZY, matcher.match("증명서/확인서 발금"));
+        assertMatch("이용내역 안내", CategoryMatcher.Quality.NONE, matcher.match("전혀 관계없는 응답입니다"));
+        assertMatch("이용내역 안내", CategoryMatcher.Quality.NONE, matcher.match("  "));
+    }
+
+    @Test
+    void testBoundedDistance() {
+        assertEquals(0, CategoryMatcher.boundedDistance("abc", "abc", 2));
+        assertEquals(1, CategoryMatcher.boundedDistance("abc", "abd", 2));
+        assertEquals(2, CategoryMatcher.boundedDistance("kitten", "sitting", 1));
+        assertEquals(3, CategoryMatcher.boundedDistance("kitten", "sitting", 3));
+        assertEquals(3, CategoryMatcher.boundedDistance("a", "abcd", 2));
+    }
+
+    @Test
+    void testDefaultCategoryIsUsedForCustomCatalog() {
+        CategoryMatcher custom = CategoryMatcher.compile(List.of("분실 신고", "한도 조회"), "분실 신고", 1);
+
+        assertMatch("한도 조회", CategoryMatcher.Quality.FUZZY, custom.match("한도 죠회"));
+        assertMatch("분실 신고", CategoryMatcher.Quality.NONE, custom.match("이용내역 안내"));
+    }
+
+    private static void assertMatch(String category, CategoryMatcher.Quality quality, CategoryMatcher.Match match) {
+        assertEquals(category, match.category());
+        assertEquals(quality, match.quality());
+    }
+}
@@ -0,0 +1,176 @@
+package com.hanacard.service;
+
+import com.hanacard.dto.ClassificationJobResponse;
+import com.hanacard.dto.ClassificationRequest;
+import com.hanacard.dto.EnhancedClassificationResponse;
+import com.hanacard.entity.ClassificationOutboxEntry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+class ClassificationJobServiceTest {
+
+    private EnhancedOpenAIService enhancedOpenAIService;
+    private ThreadPoolTaskExecutor executor;
+    private SimpleMeterRegistry meterRegistry;
+    private ClassificationOutbox outbox;
+    private ClassificationJobService jobService;
+
+    @BeforeEach
+    void setUp() {
+        enhancedOpenAIService = mock(EnhancedOpenAIService.class);
+        executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(1);
+        executor.setMaxPoolSize(1);
+        executor.setQueueCapacity(1);
+        executor.initialize();
+        meterRegistry = new SimpleMeterRegistry();
+        outbox = mock(ClassificationOutbox.class);
+        jobService = new ClassificationJobService(enhancedOpenAIService, executor, outbox, meterRegistry, 60);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdown();
+    }
+
+    @Test
+    void testJobSucceedsWithResultAndTimings() throws Exception {
+        EnhancedClassificationResponse result = new EnhancedClassificationResponse();
+        result.setSourceId("SRC-1");
+        when(enhancedOpenAIService.processAndSaveConsultingContent(any())).thenReturn(result);
+        when(outbox.append(any(), any())).thenReturn(7L);
+
+        ClassificationJobResponse submitted = jobService.submit(request("SRC-1"));
+        assertNotNull(submitted.getJobId());
+        assertEquals("SRC-1", submitted.getSourceId());
+
+        ClassificationJobResponse finished = jobService.completion(submitted.getJobId()).orElseThrow()
+            .get(5, TimeUnit.SECONDS);
+
+        assertEquals("SUCCEEDED", finished.getStatus());
+        assertSame(result, finished.getResult());
+        assertNotNull(finished.getQueueWaitMillis());
+        assertNotNull(finished.getServiceTimeMillis());
+        assertEquals("SUCCEEDED", jobService.find(submitted.getJobId()).orElseThrow().getStatus());
+        assertEquals(1, meterRegistry.timer("classification.jobs.queue.wait").count());
+        assertEquals(1, meterRegistry.timer("classification.jobs.service.time").count());
+        assertEquals(1.0, meterRegistry.counter("classification.jobs", "result", "succeeded").count());
+        verify(outbox, timeout(1000)).ack(7L);
+    }
+
+    @Test
+    void testJobFailureIsReported() throws Exception {
+        when(enhancedOpenAIService.processAndSaveConsultingContent(any()))
+            .thenThrow(new RuntimeException("향상된 분류 처리 실패"));
+
+        ClassificationJobResponse submitted = jobService.submit(request("SRC-2"));
+        ClassificationJobResponse finished = jobService.completion(submitted.getJobId()).orElseThrow()
+            .get(5, TimeUnit.SECONDS);
+
+        assertEquals("FAILED", finished.getStatus());
+        assertEquals("향상된 분류 처리 실패", finished.getError());
+        assertNull(finished.getResult());
+        assertEquals(1.0, meterRegistry.counter("classification.jobs", "result", "failed").count());
+    }
+
+    @Test
+    void testSubmitIsRejectedWhenQueueIsFull() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        when(enhancedOpenAIService.processAndSaveConsultingContent(any())).thenAnswer(invocation -> {
+            release.await(5, TimeUnit.SECONDS);
+            return new EnhancedClassificationResponse();
+        });
+
+        // 워커 1개 실행 중 + 큐 1개 대기
+        ClassificationJobResponse first = jobService.submit(request("SRC-3"));
+        ClassificationJobResponse second = jobService.submit(request("SRC-4"));
+        waitUntilRunning(first.getJobId());
+
+        assertThrows(RejectedExecutionException.class, () -> jobService.submit(request("SRC-5")));
+        assertEquals("QUEUED", jobService.find(second.getJobId()).orElseThrow().getStatus());
+        assertEquals(1.0, meterRegistry.counter("classification.jobs", "result", "rejected").count());
+
+        release.countDown();
+        assertEquals("SUCCEEDED", jobService.completion(second.getJobId()).orElseThrow()
+            .get(5, TimeUnit.SECONDS).getStatus());
+    }
+
+    @Test
+    void testSubmitIsRejectedWhenOutboxWriteFails() {
+        when(outbox.append(any(), any())).thenThrow(new RejectedExecutionException("작업 저장소 기록 실패"));
+
+        assertThrows(RejectedExecutionException.class, () -> jobService.submit(request("SRC-6")));
+        assertEquals(1.0, meterRegistry.counter("classification.jobs", "result", "rejected").count());
+    }
+
+    @Test
+    void testPendingOutboxEntriesAreRecoveredWithSameJobId() throws Exception {
+        ClassificationOutboxEntry entry = new ClassificationOutboxEntry("job-before-restart", "local", "SRC-7", "{}");
+        entry.setId(42L);
+        when(outbox.staleAfter(eq(0L), anyInt())).thenReturn(List.of(entry));
+        when(outbox.staleAfter(eq(42L), anyInt())).thenReturn(List.of());
+        when(outbox.claim(entry)).thenReturn(true);
+        when(outbox.readRequest(entry)).thenReturn(request("SRC-7"));
+        when(enhancedOpenAIService.processAndSaveConsultingContent(any())).thenReturn(new EnhancedClassificationResponse());
+
+        assertEquals(1, jobService.recoverPending());
+
+        ClassificationJobResponse finished = jobService.completion("job-before-restart").orElseThrow()
+            .get(5, TimeUnit.SECONDS);
+        assertEquals("SUCCEEDED", finished.getStatus());
+        assertEquals("SRC-7", finished.getSourceId());
+        verify(outbox, timeout(1000)).ack(42L);
+    }
+
+    @Test
+    void testEntriesClaimedByAnotherInstanceAreSkipped() {
+        ClassificationOutboxEntry entry = new ClassificationOutboxEntry("job-other", "other", "SRC-8", "{}");
+        entry.setId(43L);
+        when(outbox.staleAfter(eq(0L), anyInt())).thenReturn(List.of(entry));
+        when(outbox.claim(entry)).thenReturn(false);
+
+        assertEquals(0, jobService.recoverPending());
+
+        assertTrue(jobService.find("job-other").isEmpty());
+        verifyNoInteractions(enhancedOpenAIService);
+    }
+
+    @Test
+    void testUnknownJobIsEmpty() {
+        assertTrue(jobService.find("unknown").isEmpty());
+        assertTrue(jobService.completion("unknown").isEmpty());
+    }
+
+    private void waitUntilRunning(String jobId) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!"RUNNING".equals(jobService.find(jobId).orElseThrow().getStatus())) {
+            assertTrue(System.nanoTime() < deadline, "작업이 실행되지 않음");
+            Thread.sleep(10);
+        }
+    }
+
+    private static ClassificationRequest request(String sourceId) {
+        ClassificationRequest request = new ClassificationRequest();
+        request.setSourceId(sourceId);
+        request.setConsultingContent("카드 결제일을 변경하고 싶어요");
+        return request;
+    }
+}
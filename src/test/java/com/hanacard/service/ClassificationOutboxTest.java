@@ -0,0 +1,204 @@
+package com.hanacard.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.hanacard.dto.ClassificationRequest;
+import com.hanacard.entity.ClassificationOutboxEntry;
+import com.hanacard.repository.ClassificationOutboxRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyIterable;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class ClassificationOutboxTest {
+
+    private final ClassificationOutboxRepository repository = mock(ClassificationOutboxRepository.class);
+    private final ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private ClassificationOutbox outbox;
+
+    @AfterEach
+    void tearDown() {
+        if (outbox != null) {
+            outbox.shutdown();
+        }
+    }
+
+    @Test
+    void testConcurrentAppendsShareGroupCommits() throws Exception {
+        AtomicLong ids = new AtomicLong();
+        AtomicInteger commits = new AtomicInteger();
+        CountDownLatch firstCommitStarted = new CountDownLatch(1);
+        CountDownLatch releaseFirstCommit = new CountDownLatch(1);
+        when(repository.saveAll(anyIterable())).thenAnswer(invocation -> {
+            firstCommitStarted.countDown();
+            if (commits.incrementAndGet() == 1) {
+                // 첫 커밋이 끝나기 전에 나머지 요청이 모두 쌓이도록 대기
+                releaseFirstCommit.await(5, TimeUnit.SECONDS);
+            }
+            Iterable<ClassificationOutboxEntry> entries = invocation.getArgument(0);
+            entries.forEach(entry -> entry.setId(ids.incrementAndGet()));
+            return entries;
+        });
+        outbox = newOutbox(true, 5000);
+
+        int appends = 50;
+        ExecutorService callers = Executors.newFixedThreadPool(appends);
+        try {
+            List<Future<Long>> results = new ArrayList<>();
+            results.add(callers.submit(() -> outbox.append("job-0", request("SRC-0"))));
+            assertTrue(firstCommitStarted.await(5, TimeUnit.SECONDS));
+            for (int i = 1; i < appends; i++) {
+                String suffix = String.valueOf(i);
+                results.add(callers.submit(() -> outbox.append("job-" + suffix, request("SRC-" + suffix))));
+            }
+            // 나머지 요청이 모두 다음 커밋 대기열에 쌓인 뒤에 첫 커밋 완료
+            awaitPendingAppends(appends - 1);
+            releaseFirstCommit.countDown();
+
+            Set<Long> committedIds = ConcurrentHashMap.newKeySet();
+            for (Future<Long> result : results) {
+                committedIds.add(result.get(5, TimeUnit.SECONDS));
+            }
+            assertEquals(appends, committedIds.size());
+            assertEquals(2, commits.get());
+            assertEquals(appends, (long) meterRegistry.summary("classification.outbox.commit.size").totalAmount());
+        } finally {
+            callers.shutdownNow();
+        }
+    }
+
+    @Test
+    void testAppendStoresRequestPayloadForRecovery() throws Exception {
+        List<ClassificationOutboxEntry> saved = new ArrayList<>();
+        when(repository.saveAll(anyIterable())).thenAnswer(invocation -> {
+            Iterable<ClassificationOutboxEntry> entries = invocation.getArgument(0);
+            entries.forEach(entry -> {
+                entry.setId(1L);
+                saved.add(entry);
+            });
+            return entries;
+        });
+        outbox = newOutbox(true, 5000);
+
+        ClassificationRequest request = request("SRC-1");
+        request.setConsultingDate(LocalDateTime.of(2025, 9, 9, 14, 30));
+        assertEquals(1L, outbox.append("job-1", request));
+
+        ClassificationOutboxEntry entry = saved.get(0);
+        assertEquals("job-1", entry.getJobId());
+        assertTrue(entry.getOwner().startsWith("local-"));
+        assertEquals(outbox.getOwner(), entry.getOwner());
+        ClassificationRequest restored = outbox.readRequest(entry);
+        assertEquals("SRC-1", restored.getSourceId());
+        assertEquals(request.getConsultingContent(), restored.getConsultingContent());
+        assertEquals(request.getConsultingDate(), restored.getConsultingDate());
+    }
+
+    @Test
+    void testAcksAreDeletedInBatch() {
+        outbox = newOutbox(true, 5000);
+
+        outbox.ack(1L);
+        outbox.ack(2L);
+        outbox.ack(3L);
+        outbox.shutdown();
+
+        verify(repository, atLeastOnce()).deleteAllByIdInBatch(anyIterable());
+        verify(repository, never()).deleteById(any());
+    }
+
+    @Test
+    void testAppendIsRejectedWhenCommitFails() {
+        when(repository.saveAll(anyIterable())).thenThrow(new IllegalStateException("DB 연결 실패"));
+        outbox = newOutbox(true, 5000);
+
+        RejectedExecutionException error = assertThrows(RejectedExecutionException.class,
+                                                        () -> outbox.append("job-1", request("SRC-1")));
+        assertTrue(error.getMessage().contains("DB 연결 실패"));
+    }
+
+    @Test
+    void testWriterRenewsLeaseOfOwnRows() {
+        outbox = newOutbox(true, 5000, 0);
+
+        verify(repository, timeout(1000).atLeast(2)).renewLease(eq(outbox.getOwner()), any(LocalDateTime.class));
+    }
+
+    @Test
+    void testClaimTakesOverOnlyStaleRows() {
+        ClassificationOutboxEntry entry = new ClassificationOutboxEntry("job-1", "old-host-1a2b3c4d", "SRC-1", "{}");
+        entry.setId(9L);
+        when(repository.claim(eq(9L), anyString(), any(), any())).thenReturn(1).thenReturn(0);
+        outbox = newOutbox(true, 5000);
+
+        assertTrue(outbox.claim(entry));
+        assertEquals(outbox.getOwner(), entry.getOwner());
+
+        // 다른 인스턴스가 먼저 가져간 경우
+        ClassificationOutboxEntry same = new ClassificationOutboxEntry("job-1", "old-host-1a2b3c4d", "SRC-1", "{}");
+        same.setId(9L);
+        assertFalse(outbox.claim(same));
+        assertEquals("old-host-1a2b3c4d", same.getOwner());
+
+        ArgumentCaptor<LocalDateTime> now = ArgumentCaptor.forClass(LocalDateTime.class);
+        ArgumentCaptor<LocalDateTime> staleBefore = ArgumentCaptor.forClass(LocalDateTime.class);
+        verify(repository, times(2)).claim(eq(9L), eq(outbox.getOwner()), now.capture(), staleBefore.capture());
+        assertEquals(now.getValue().minusSeconds(120), staleBefore.getValue());
+    }
+
+    @Test
+    void testDisabledOutboxDoesNotWrite() {
+        outbox = newOutbox(false, 5000);
+
+        assertNull(outbox.append("job-1", request("SRC-1")));
+        outbox.ack(1L);
+
+        verifyNoInteractions(repository);
+    }
+
+    private void awaitPendingAppends(int expected) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (meterRegistry.get("classification.outbox.pending.appends").gauge().value() < expected) {
+            assertTrue(System.nanoTime() < deadline, "대기 중인 기록 요청이 " + expected + "건에 도달하지 않음");
+            Thread.sleep(5);
+        }
+    }
+
+    private ClassificationOutbox newOutbox(boolean enabled, long appendTimeoutMillis) {
+        return newOutbox(enabled, appendTimeoutMillis, 120);
+    }
+
+    private ClassificationOutbox newOutbox(boolean enabled, long appendTimeoutMillis, long leaseTimeoutSeconds) {
+        return new ClassificationOutbox(repository, objectMapper, meterRegistry, enabled, "local", 500,
+                                        appendTimeoutMillis, leaseTimeoutSeconds);
+    }
+
+    private static ClassificationRequest request(String sourceId) {
+        ClassificationRequest request = new ClassificationRequest();
+        request.setSourceId(sourceId);
+        request.setConsultingContent("카드 결제일을 변경하고 싶어요");
+        return request;
+    }
+}
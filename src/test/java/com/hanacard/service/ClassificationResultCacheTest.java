@@ -0,0 +1,119 @@
+package com.hanacard.service;
+
+import com.hanacard.entity.ClassificationCacheEntry;
+import com.hanacard.repository.ClassificationCacheRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class ClassificationResultCacheTest {
+
+    private ClassificationCacheRepository cacheRepository;
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        cacheRepository = mock(ClassificationCacheRepository.class);
+        meterRegistry = new SimpleMeterRegistry();
+        when(cacheRepository.findById(anyString())).thenReturn(Optional.empty());
+    }
+
+    @Test
+    void testNormalizedContentSharesKey() {
+        String key1 = ClassificationResultCache.cacheKey("카드 분실   신고\n하고 싶어요 ", "v1");
+        String key2 = ClassificationResultCache.cacheKey("카드 분실 신고 하고 싶어요", "v1");
+        String otherVersion = ClassificationResultCache.cacheKey("카드 분실 신고 하고 싶어요", "v2");
+
+        assertEquals(key1, key2);
+        assertNotEquals(key1, otherVersion);
+    }
+
+    @Test
+    void testMemoryHitSkipsPersistentTier() {
+        ClassificationResultCache cache = new ClassificationResultCache(cacheRepository, meterRegistry, true, true, 10, 60, 24);
+
+        cache.put("카드 분실 신고", "v1", "도난/분실 신청/해제", "235166ea", "{\"classification\":{}}");
+        Optional<String> hit = cache.get("카드 분실 신고", "v1");
+
+        assertEquals(Optional.of("{\"classification\":{}}"), hit);
+        verify(cacheRepository, never()).findById(anyString());
+        assertEquals(1.0, meterRegistry.get("classification.cache.requests")
+            .tag("tier", "memory").tag("result", "hit").counter().count());
+    }
+
+    @Test
+    void testSizeEviction() {
+        ClassificationResultCache cache = new ClassificationResultCache(cacheRepository, meterRegistry, true, false, 2, 60, 24);
+
+        cache.put("a", "v1", "c", "id", "{}");
+        cache.put("b", "v1", "c", "id", "{}");
+        cache.get("a", "v1");
+        cache.put("c", "v1", "c", "id", "{}");
+
+        assertEquals(2, cache.memorySize());
+        assertTrue(cache.get("a", "v1").isPresent());
+        assertTrue(cache.get("b", "v1").isEmpty());
+        assertEquals(1.0, meterRegistry.get("classification.cache.evictions").tag("cause", "size").counter().count());
+    }
+
+    @Test
+    void testPersistentHitIsPromotedToMemory() {
+        ClassificationCacheEntry entry = new ClassificationCacheEntry("key", "v1", "{\"analysis\":{}}");
+        entry.setCreatedAt(LocalDateTime.now());
+        when(cacheRepository.findById(anyString())).thenReturn(Optional.of(entry));
+        ClassificationResultCache cache = new ClassificationResultCache(cacheRepository, meterRegistry, true, true, 10, 60, 24);
+
+        assertEquals(Optional.of("{\"analysis\":{}}"), cache.get("상담 내용", "v1"));
+        assertEquals(Optional.of("{\"analysis\":{}}"), cache.get("상담 내용", "v1"));
+
+        verify(cacheRepository, times(1)).findById(anyString());
+        verify(cacheRepository).recordHit(anyString(), any());
+    }
+
+    @Test
+    void testExpiredPersistentEntryIsMiss() {
+        ClassificationCacheEntry entry = new ClassificationCacheEntry("key", "v1", "{}");
+        entry.setCreatedAt(LocalDateTime.now().minusHours(48));
+        when(cacheRepository.findById(anyString())).thenReturn(Optional.of(entry));
+        ClassificationResultCache cache = new ClassificationResultCache(cacheRepository, meterRegistry, true, true, 10, 60, 24);
+
+        assertTrue(cache.get("상담 내용", "v1").isEmpty());
+        verify(cacheRepository).deleteById(anyString());
+    }
+
+    @Test
+    void testPutInsertsOnlyWhenAbsent() {
+        ClassificationResultCache cache = new ClassificationResultCache(cacheRepository, meterRegistry, true, true, 10, 60, 24);
+
+        cache.put("카드 분실 신고", "v1", "도난/분실 신청/해제", "235166ea", "{\"classification\":{}}");
+
+        verify(cacheRepository).insertIfAbsent(eq(ClassificationResultCache.cacheKey("카드 분실 신고", "v1")), eq("v1"),
+            eq("도난/분실 신청/해제"), eq("235166ea"), eq("{\"classification\":{}}"), any(LocalDateTime.class));
+        verify(cacheRepository, never()).save(any());
+    }
+
+    @Test
+    void testPurgeDeletesRowsOlderThanTtl() {
+        when(cacheRepository.deleteExpired(any())).thenReturn(3);
+        ClassificationResultCache cache = new ClassificationResultCache(cacheRepository, meterRegistry, true, true, 10, 60, 24);
+
+        LocalDateTime before = LocalDateTime.now().minusHours(24);
+        cache.purgeExpired();
+
+        ArgumentCaptor<LocalDateTime> cutoff = ArgumentCaptor.forClass(LocalDateTime.class);
+        verify(cacheRepository).deleteExpired(cutoff.capture());
+        assertFalse(cutoff.getValue().isBefore(before));
+        assertTrue(cutoff.getValue().isBefore(LocalDateTime.now().minusHours(23)));
+        assertEquals(3.0, meterRegistry.get("classification.cache.evictions").tag("cause", "expired").counter().count());
+    }
+}
@@ -0,0 +1,399 @@
+package com.hanacard.service;
+
+import com.hanacard.client.OpenAIApiClient;
+import com.hanacard.client.OpenAICircuitBreaker;
+import com.hanacard.client.TokenEstimator;
+import com.hanacard.dto.BatchClassificationResponse;
+import com.hanacard.dto.ClassificationRequest;
+import com.hanacard.dto.ConsultingCategoryData;
+import com.hanacard.dto.EnhancedClassificationResponse;
+import com.hanacard.repository.ConsultingClassificationRepository;
+import com.theokanning.openai.completion.chat.ChatCompletionChoice;
+import com.theokanning.openai.completion.chat.ChatCompletionRequest;
+import com.theokanning.openai.completion.chat.ChatCompletionResult;
+import com.theokanning.openai.completion.chat.ChatMessage;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.task.SyncTaskExecutor;
+import org.springframework.core.task.support.TaskExecutorAdapter;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class EnhancedOpenAIServiceTest {
+
+    private static final CategoryCatalog CATALOG = CategoryCatalog.of(1, List.of(
+        new ConsultingCategoryData("235166ea", "도난/분실 신청/해제"),
+        new ConsultingCategoryData("2351a1e2", "한도 안내")), false);
+
+    private static final String SINGLE_RESPONSE = "{\"classification\":{\"category\":\"한도 안내\",\"confidence\":0.9},"
+        + "\"analysis\":{\"problem_situation\":\"한도 문의\",\"solution_approach\":\"한도 안내\","
+        + "\"expected_outcome\":\"안내 완료\"}}";
+
+    private final ConsultingClassificationRepository repository = mock(ConsultingClassificationRepository.class);
+    private final CategoryCatalogProvider catalogProvider = mock(CategoryCatalogProvider.class);
+    private final OpenAIApiClient openAIApiClient = mock(OpenAIApiClient.class);
+    private final TokenEstimator tokenEstimator = mock(TokenEstimator.class);
+    private final OpenAIService openAIService = mock(OpenAIService.class);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    // 묶음 호출 응답 (단건 호출은 SINGLE_RESPONSE)
+    private String packedResponse = "{\"results\":[]}";
+    private final AtomicInteger packedCalls = new AtomicInteger();
+    private final AtomicInteger singleCalls = new AtomicInteger();
+
+    private EnhancedOpenAIService service;
+
+    @BeforeEach
+    void setUp() {
+        when(catalogProvider.current()).thenReturn(CATALOG);
+        when(openAIApiClient.circuitBreaker()).thenReturn(mock(OpenAICircuitBreaker.class));
+        // 토큰 수 = 글자 수 (예산 계산을 테스트에서 정할 수 있도록)
+        when(tokenEstimator.countTokens(anyString())).thenAnswer(invocation -> invocation.<String>getArgument(0).length());
+        when(openAIApiClient.createChatCompletion(any(ChatCompletionRequest.class), any())).thenAnswer(invocation -> {
+            ChatCompletionRequest request = invocation.getArgument(0);
+            boolean packed = request.getMessages().get(1).getContent().startsWith("상담 목록");
+            (packed ? packedCalls : singleCalls).incrementAndGet();
+            return completion(packed ? packedResponse : SINGLE_RESPONSE);
+        });
+        when(repository.saveAll(any())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        service = new EnhancedOpenAIService();
+        ReflectionTestUtils.setField(service, "repository", repository);
+        ReflectionTestUtils.setField(service, "catalogProvider", catalogProvider);
+        ReflectionTestUtils.setField(service, "openAIApiClient", openAIApiClient);
+        ReflectionTestUtils.setField(service, "tokenEstimator", tokenEstimator);
+        ReflectionTestUtils.setField(service, "resultCache", mock(ClassificationResultCache.class));
+        ReflectionTestUtils.setField(service, "nearDuplicateIndex", mock(NearDuplicateIndex.class));
+        ReflectionTestUtils.setField(service, "localClassifier", mock(LocalCategoryClassifier.class));
+        ReflectionTestUtils.setField(service, "fallbackClassifier", mock(FallbackCategoryClassifier.class));
+        ReflectionTestUtils.setField(service, "openAIService", openAIService);
+        ReflectionTestUtils.setField(service, "promptTemplates", new EnhancedPromptTemplates());
+        ReflectionTestUtils.setField(service, "transcriptCompactor",
+            new TranscriptCompactor(tokenEstimator, meterRegistry, false, 1500, 0.6));
+        ReflectionTestUtils.setField(service, "meterRegistry", meterRegistry);
+        ReflectionTestUtils.setField(service, "validator",
+            Validation.buildDefaultValidatorFactory().getValidator());
+        ReflectionTestUtils.setField(service, "classificationExecutor", new SyncTaskExecutor());
+        ReflectionTestUtils.setField(service, "model", "gpt-4o-mini");
+        ReflectionTestUtils.setField(service, "batchMaxSize", 500);
+        ReflectionTestUtils.setField(service, "packingMaxConsultingLength", 300);
+        ReflectionTestUtils.setField(service, "packingTokenBudget", 100);
+        ReflectionTestUtils.setField(service, "packingMaxItems", 10);
+        ReflectionTestUtils.setField(service, "packingOutputTokensPerItem", 400);
+        ReflectionTestUtils.setField(service, "packingMaxOutputTokens", 8000);
+        ReflectionTestUtils.setField(service, "cascadeMatchQualityThreshold", 0.9);
+    }
+
+    @Test
+    void testPlanPacksGroupsByLengthWithinTokenBudget() {
+        // consulting_length 순: 1(10) → 2(30) → 0(40) → 4(50), 3은 묶음 대상 길이 초과
+        List<ClassificationRequest> requests = List.of(
+            request("SRC-0", 40), request("SRC-1", 10), request("SRC-2", 30),
+            request("SRC-3", 500), request("SRC-4", 50));
+
+        // 10+30+40=80 ≤ 100, 50을 더하면 예산 초과 → 4는 혼자 남아 단건 처리
+        assertEquals(List.of(List.of(1, 2, 0)), service.planPacks(requests, List.of(0, 1, 2, 3, 4)));
+
+        ReflectionTestUtils.setField(service, "packingMaxItems", 2);
+        assertEquals(List.of(List.of(1, 2), List.of(0, 4)), service.planPacks(requests, List.of(0, 1, 2, 3, 4)));
+    }
+
+    @Test
+    void testPlanPacksSplitsOnDuplicateSourceId() {
+        List<ClassificationRequest> requests = List.of(
+            request("SRC-A", 10), request("SRC-B", 11), request("SRC-A", 12), request("SRC-C", 13));
+
+        assertEquals(List.of(List.of(0, 1), List.of(2, 3)), service.planPacks(requests, List.of(0, 1, 2, 3)));
+    }
+
+    @Test
+    void testPlanPacksDropsSingleItemPacks() {
+        List<ClassificationRequest> requests = List.of(request("SRC-0", 20), request("SRC-1", 500));
+
+        assertTrue(service.planPacks(requests, List.of(0, 1)).isEmpty());
+        assertTrue(service.planPacks(requests, List.of()).isEmpty());
+    }
+
+    @Test
+    void testClassifyPackedReturnsOnlyParsedItems() {
+        packedResponse = "{\"results\":["
+            + "{\"source_id\":\"SRC-1\",\"classification\":{\"category\":\"한도 안내\",\"confidence\":0.9}},"
+            + "{\"source_id\":\"SRC-2\",\"classification\":{\"confidence\":0.9}},"
+            + "{\"source_id\":\"UNKNOWN\",\"classification\":{\"category\":\"한도 안내\",\"confidence\":0.9}}]}";
+
+        Map<String, EnhancedClassificationResponse> parsed = service.classifyPacked(
+            List.of(request("SRC-1", 10), request("SRC-2", 10), request("SRC-3", 10)));
+
+        assertEquals(1, packedCalls.get());
+        assertEquals(List.of("SRC-1"), List.copyOf(parsed.keySet()));
+        assertEquals("2351a1e2", parsed.get("SRC-1").getClassification().getCategoryId());
+
+        packedResponse = "묶음 결과를 만들 수 없습니다.";
+        assertTrue(service.classifyPacked(List.of(request("SRC-1", 10), request("SRC-2", 10))).isEmpty());
+    }
+
+    @Test
+    void testMissingOrUnparseablePackItemsFallBackToSingleCall() {
+        ReflectionTestUtils.setField(service, "packingEnabled", true);
+        packedResponse = "{\"results\":["
+            + "{\"source_id\":\"SRC-1\",\"classification\":{\"category\":\"도난/분실 신청/해제\",\"confidence\":0.95}},"
+            + "{\"source_id\":\"SRC-2\",\"classification\":{\"confidence\":0.9}}]}";
+
+        BatchClassificationResponse response = service.processAndSaveBatch(
+            List.of(request("SRC-1", 10), request("SRC-2", 11), request("SRC-3", 12)));
+
+        // SRC-1은 묶음 결과, 파싱 실패(SRC-2)와 누락(SRC-3)은 단건 호출
+        assertEquals(1, packedCalls.get());
+        assertEquals(2, singleCalls.get());
+        assertEquals(3, response.getSucceeded());
+        List<String> categories = new ArrayList<>();
+        for (BatchClassificationResponse.ItemResult item : response.getResults()) {
+            categories.add(item.getResult().getClassification().getCategory());
+        }
+        assertEquals(List.of("도난/분실 신청/해제", "한도 안내", "한도 안내"), categories);
+    }
+
+    @Test
+    void testUnparseablePackResponseFallsBackToSingleCalls() {
+        ReflectionTestUtils.setField(service, "packingEnabled", true);
+        packedResponse = "```json\n{\"results\":\n```";
+
+        BatchClassificationResponse response = service.processAndSaveBatch(
+            List.of(request("SRC-1", 10), request("SRC-2", 11)));
+
+        assertEquals(1, packedCalls.get());
+        assertEquals(2, singleCalls.get());
+        assertEquals(2, response.getSucceeded());
+    }
+
+    @Test
+    void testBatchReportsValidationErrorsPerItem() {
+        ClassificationRequest missingSourceId = request(" ", 10);
+        List<ClassificationRequest> requests = new ArrayList<>();
+        requests.add(request("SRC-0", 10));
+        requests.add(null);
+        requests.add(missingSourceId);
+        requests.add(request("SRC-3", 10));
+
+        BatchClassificationResponse response = service.processAndSaveBatch(requests);
+
+        assertEquals(4, response.getTotal());
+        assertEquals(2, response.getSucceeded());
+        assertEquals(2, singleCalls.get());
+        List<BatchClassificationResponse.ItemResult> items = response.getResults();
+        assertTrue(items.get(0).isSuccess());
+        assertEquals("요청 항목이 비어있습니다.", items.get(1).getError());
+        assertEquals("source_id는 필수입니다.", items.get(2).getError());
+        assertNull(items.get(2).getResult());
+        assertTrue(items.get(3).isSuccess());
+    }
+
+    @Test
+    void testBatchResultsKeepRequestOrder() throws Exception {
+        // 첫 항목이 마지막 항목보다 늦게 끝나도 결과는 요청 순서대로
+        CountDownLatch lastItemDone = new CountDownLatch(1);
+        when(openAIApiClient.createChatCompletion(any(ChatCompletionRequest.class), any())).thenAnswer(invocation -> {
+            ChatCompletionRequest request = invocation.getArgument(0);
+            String content = request.getMessages().get(1).getContent();
+            if (content.endsWith("가")) {
+                assertTrue(lastItemDone.await(5, TimeUnit.SECONDS));
+            } else if (content.endsWith("다")) {
+                lastItemDone.countDown();
+            } else if (content.endsWith("나")) {
+                throw new IllegalStateException("OpenAI 응답 없음");
+            }
+            return completion(SINGLE_RESPONSE);
+        });
+        ExecutorService executor = Executors.newFixedThreadPool(3);
+        ReflectionTestUtils.setField(service, "classificationExecutor", new TaskExecutorAdapter(executor));
+        try {
+            BatchClassificationResponse response = service.processAndSaveBatch(List.of(
+                request("SRC-0", "가"), request("SRC-1", "나"), request("SRC-2", "다")));
+
+            List<BatchClassificationResponse.ItemResult> items = response.getResults();
+            assertEquals(List.of(0, 1, 2), items.stream().map(BatchClassificationResponse.ItemResult::getIndex).toList());
+            assertEquals(List.of("SRC-0", "SRC-1", "SRC-2"),
+                         items.stream().map(BatchClassificationResponse.ItemResult::getSourceId).toList());
+            assertEquals("SRC-0", items.get(0).getResult().getSourceId());
+            assertFalse(items.get(1).isSuccess());
+            assertTrue(items.get(1).getError().contains("OpenAI API 호출 실패"));
+            assertEquals("SRC-2", items.get(2).getResult().getSourceId());
+            assertEquals(2, response.getSucceeded());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void testBatchSaveFailureIsReportedOnEveryItem() {
+        when(repository.saveAll(any())).thenThrow(new IllegalStateException("DB 연결 실패"));
+        List<ClassificationRequest> requests = new ArrayList<>();
+        requests.add(request("SRC-0", 10));
+        requests.add(null);
+        requests.add(request("SRC-2", 10));
+
+        BatchClassificationResponse response = service.processAndSaveBatch(requests);
+
+        assertEquals(0, response.getSucceeded());
+        verify(repository, times(1)).saveAll(any());
+        List<BatchClassificationResponse.ItemResult> items = response.getResults();
+        assertEquals("저장 실패: DB 연결 실패", items.get(0).getError());
+        assertNull(items.get(0).getResult());
+        assertEquals("요청 항목이 비어있습니다.", items.get(1).getError());
+        assertEquals("저장 실패: DB 연결 실패", items.get(2).getError());
+        assertNull(items.get(2).getResult());
+    }
+
+    @Test
+    void testBatchOverMaxSizeIsRejected() {
+        ReflectionTestUtils.setField(service, "batchMaxSize", 2);
+
+        IllegalArgumentException error = assertThrows(IllegalArgumentException.class,
+            () -> service.processAndSaveBatch(List.of(request("SRC-0", 10), request("SRC-1", 10), request("SRC-2", 10))));
+
+        assertTrue(error.getMessage().contains("2건을 초과할 수 없습니다"));
+        verifyNoInteractions(openAIApiClient, repository);
+    }
+
+    @Test
+    void testOnlyFreshLlmResultsTrainLocalClassifier() {
+        String stored = "{\"classification\":{\"category\":\"한도 안내\",\"category_id\":\"2351a1e2\",\"confidence\":0.9},"
+            + "\"analysis\":{\"problem_situation\":\"한도 문의\",\"solution_approach\":\"한도 안내\","
+            + "\"expected_outcome\":\"안내 완료\"}}";
+        ClassificationResultCache resultCache = (ClassificationResultCache) ReflectionTestUtils.getField(service, "resultCache");
+        NearDuplicateIndex nearDuplicateIndex = (NearDuplicateIndex) ReflectionTestUtils.getField(service, "nearDuplicateIndex");
+        LocalCategoryClassifier localClassifier = (LocalCategoryClassifier) ReflectionTestUtils.getField(service, "localClassifier");
+        when(resultCache.get(eq("동일 상담"), anyString())).thenReturn(Optional.of(stored));
+        when(nearDuplicateIndex.findSimilar(eq("유사 상담"), anyBoolean()))
+            .thenReturn(Optional.of(new NearDuplicateIndex.Match("2351a1e2", stored, true, 0.95)));
+        ReflectionTestUtils.setField(service, "packingMaxItems", 1);
+
+        BatchClassificationResponse response = service.processAndSaveBatch(List.of(
+            request("SRC-0", "새 상담"), request("SRC-1", "동일 상담"), request("SRC-2", "유사 상담")));
+
+        // 분석까지 받은 재사용 결과도 저장은 하지만 학습은 새로 호출한 LLM 결과만
+        assertEquals(3, response.getSucceeded());
+        assertEquals(1, singleCalls.get());
+        List<BatchClassificationResponse.ItemResult> items = response.getResults();
+        assertEquals(EnhancedClassificationResponse.Source.LLM, items.get(0).getResult().getSource());
+        assertEquals(EnhancedClassificationResponse.Source.CACHE, items.get(1).getResult().getSource());
+        assertEquals(EnhancedClassificationResponse.Source.NEAR_DUPLICATE, items.get(2).getResult().getSource());
+        verify(localClassifier).learn(eq("새 상담"), any(), any());
+        verify(localClassifier, times(1)).learn(any(), any(), any());
+    }
+
+    @Test
+    void testCascadeUsesCheapTierOnExactMatch() {
+        ReflectionTestUtils.setField(service, "cascadeEnabled", true);
+        when(openAIService.classifyConsultingContent(anyString(), eq(CATALOG)))
+            .thenReturn(new OpenAIService.ClassificationResult("도난/분실 신청/해제", 0.95));
+
+        EnhancedClassificationResponse response = service.classifyConsultingContent(request("SRC-1", 10), CATALOG);
+
+        assertEquals("235166ea", response.getClassification().getCategoryId());
+        assertNull(response.getAnalysis());
+        assertEquals(0, singleCalls.get());
+        assertEquals(1.0, routeCount("cheap"));
+    }
+
+    @Test
+    void testCascadeEscalatesOnLowMatchQuality() {
+        ReflectionTestUtils.setField(service, "cascadeEnabled", true);
+        // 응답이 카테고리명을 포함하기만 한 경우 (CONTAINS 0.8)
+        when(openAIService.classifyConsultingContent(anyString(), eq(CATALOG)))
+            .thenReturn(new OpenAIService.ClassificationResult("도난/분실 신청/해제", 0.8));
+
+        EnhancedClassificationResponse response = service.classifyConsultingContent(request("SRC-1", 10), CATALOG);
+
+        assertEquals("한도 안내", response.getClassification().getCategory());
+        assertNotNull(response.getAnalysis());
+        assertEquals(1, singleCalls.get());
+        assertEquals(1.0, routeCount("escalated_low_match_quality"));
+    }
+
+    @Test
+    void testCascadeEscalatesOnCategoryOutsideCatalog() {
+        ReflectionTestUtils.setField(service, "cascadeEnabled", true);
+        when(openAIService.classifyConsultingContent(anyString(), eq(CATALOG)))
+            .thenReturn(new OpenAIService.ClassificationResult("기타 문의", 0.95));
+
+        service.classifyConsultingContent(request("SRC-1", 10), CATALOG);
+
+        assertEquals(1, singleCalls.get());
+        assertEquals(1.0, routeCount("escalated_unknown_category"));
+    }
+
+    @Test
+    void testCascadeSkipsCheapTierWhenAnalysisRequested() {
+        ReflectionTestUtils.setField(service, "cascadeEnabled", true);
+        ClassificationRequest request = request("SRC-1", 10);
+        request.setIncludeAnalysis(true);
+
+        EnhancedClassificationResponse response = service.classifyConsultingContent(request, CATALOG);
+
+        assertNotNull(response.getAnalysis());
+        verifyNoInteractions(openAIService);
+        assertEquals(1, singleCalls.get());
+        assertEquals(1.0, routeCount("escalated_requested"));
+    }
+
+    @Test
+    void testCascadeEscalatesWhenCheapCallFails() {
+        ReflectionTestUtils.setField(service, "cascadeEnabled", true);
+        when(openAIService.classifyConsultingContent(anyString(), eq(CATALOG)))
+            .thenThrow(new RuntimeException("상담 내용 분류 중 오류가 발생했습니다: timeout"));
+
+        EnhancedClassificationResponse response = service.classifyConsultingContent(request("SRC-1", 10), CATALOG);
+
+        assertEquals("2351a1e2", response.getClassification().getCategoryId());
+        assertEquals(1, singleCalls.get());
+        assertEquals(1.0, routeCount("escalated_error"));
+    }
+
+    private static ClassificationRequest request(String sourceId, int length) {
+        ClassificationRequest request = new ClassificationRequest(sourceId, "가".repeat(length));
+        request.setConsultingDate(LocalDateTime.of(2025, 9, 9, 14, 30));
+        request.setClientGender("남자");
+        request.setClientAge(30);
+        request.setConsultingTurns(4);
+        request.setConsultingLength(length);
+        return request;
+    }
+
+    private static ClassificationRequest request(String sourceId, String content) {
+        ClassificationRequest request = request(sourceId, content.length());
+        request.setConsultingContent(content);
+        return request;
+    }
+
+    private double routeCount(String route) {
+        return meterRegistry.counter("classification.cascade.routes", "route", route).count();
+    }
+
+    private static ChatCompletionResult completion(String content) {
+        ChatCompletionChoice choice = new ChatCompletionChoice();
+        choice.setMessage(new ChatMessage("assistant", content));
+        ChatCompletionResult result = new ChatCompletionResult();
+        result.setChoices(List.of(choice));
+        return result;
+    }
+}
@@ -0,0 +1,66 @@
+package com.hanacard.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.hanacard.dto.ConsultingCategoryData;
+import com.theokanning.openai.completion.chat.ChatMessage;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EnhancedPromptTemplatesTest {
+
+    private static final List<ConsultingCategoryData> CATEGORIES = List.of(
+        new ConsultingCategoryData("235166ea", "도난/분실 신청/해제"),
+        new ConsultingCategoryData("2351a1e2", "한도 안내"));
+    private static final CategoryCatalog CATALOG = CategoryCatalog.of(1, CATEGORIES, false);
+
+    @Test
+    void testSystemMessageIsStablePrefixAcrossTranscripts() {
+        EnhancedPromptTemplates templates = new EnhancedPromptTemplates();
+
+        List<ChatMessage> first = templates.singleMessages(CATALOG, "카드를 잃어버렸어요");
+        List<ChatMessage> second = templates.singleMessages(CATALOG, "한도가 얼마인가요");
+
+        assertEquals("system", first.get(0).getRole());
+        assertSame(first.get(0).getContent(), second.get(0).getContent());
+        assertTrue(first.get(0).getContent().contains("- 한도 안내 (ID: 2351a1e2)"));
+        assertFalse(first.get(0).getContent().contains("카드를 잃어버렸어요"));
+        assertTrue(second.get(1).getContent().endsWith("한도가 얼마인가요"));
+    }
+
+    @Test
+    void testRecompilesWhenCatalogVersionChanges() {
+        EnhancedPromptTemplates templates = new EnhancedPromptTemplates();
+        String before = templates.singleMessages(CATALOG, "상담").get(0).getContent();
+
+        List<ConsultingCategoryData> renamed = List.of(
+            new ConsultingCategoryData("235166ea", "분실/도난 신고"),
+            new ConsultingCategoryData("2351a1e2", "한도 안내"));
+        String after = templates.singleMessages(CategoryCatalog.of(2, renamed, false), "상담").get(0).getContent();
+
+        assertNotEquals(before, after);
+        assertTrue(after.contains("- 분실/도난 신고 (ID: 235166ea)"));
+    }
+
+    @Test
+    void testCompactMessagesUseCategoryIndexesAndStrictSchema() {
+        EnhancedPromptTemplates templates = new EnhancedPromptTemplates();
+
+        List<ChatMessage> messages = templates.compactMessages(CATALOG, "카드를 잃어버렸어요");
+        assertTrue(messages.get(0).getContent().contains("1: 한도 안내"));
+        assertFalse(messages.get(0).getContent().contains("2351a1e2"));
+        assertTrue(messages.get(1).getContent().endsWith("카드를 잃어버렸어요"));
+
+        JsonNode format = templates.compactResponseFormat(CATALOG);
+        assertEquals("json_schema", format.path("type").asText());
+        assertTrue(format.path("json_schema").path("strict").asBoolean());
+        JsonNode schema = format.path("json_schema").path("schema");
+        assertFalse(schema.path("additionalProperties").asBoolean(true));
+        assertEquals(4, schema.path("required").size());
+        assertEquals(2, schema.path("properties").path("c").path("enum").size());
+        assertEquals(2, schema.path("properties").path("alt").path("maxItems").asInt());
+        assertSame(format, templates.compactResponseFormat(CATALOG));
+    }
+}
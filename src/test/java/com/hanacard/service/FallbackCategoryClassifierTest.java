@@ -0,0 +1,83 @@
+package com.hanacard.service;
+
+import com.hanacard.dto.ConsultingCategoryData;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class FallbackCategoryClassifierTest {
+
+    private static final List<ConsultingCategoryData> CATEGORIES = List.of(
+        new ConsultingCategoryData("23515d46", "이용내역 안내"),
+        new ConsultingCategoryData("23516275", "한도 안내"),
+        new ConsultingCategoryData("235166ea", "도난/분실 신청/해제"),
+        new ConsultingCategoryData("235167ff", "선결제/즉시출금"));
+
+    private final LocalCategoryClassifier localClassifier = mock(LocalCategoryClassifier.class);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final FallbackCategoryClassifier classifier = new FallbackCategoryClassifier(localClassifier, meterRegistry);
+
+    @Test
+    void testUsesLocalModelBestGuessWithCappedConfidence() {
+        when(localClassifier.predictBest(anyString())).thenReturn(Optional.of(
+            new LocalCategoryClassifier.Prediction("23516275", 0.8, List.of())));
+
+        FallbackCategoryClassifier.Result result = classifier.classify("한도가 얼마인지 알려주세요", CATEGORIES);
+
+        assertEquals("23516275", result.categoryId());
+        assertEquals("local_model", result.source());
+        assertEquals(0.5, result.confidence());
+    }
+
+    @Test
+    void testFallsBackToCategoryNameKeywords() {
+        when(localClassifier.predictBest(anyString())).thenReturn(Optional.empty());
+
+        FallbackCategoryClassifier.Result result = classifier.classify("고객: 카드를 분실해서 정지 신청하려고요", CATEGORIES);
+
+        assertEquals("235166ea", result.categoryId());
+        assertEquals("도난/분실 신청/해제", result.categoryName());
+        assertEquals("keyword", result.source());
+        assertTrue(result.confidence() > 0 && result.confidence() <= 0.5);
+        assertEquals(1.0, meterRegistry.counter("classification.fallback", "source", "keyword").count());
+    }
+
+    @Test
+    void testIgnoresLocalPredictionOutsideCatalog() {
+        when(localClassifier.predictBest(anyString())).thenReturn(Optional.of(
+            new LocalCategoryClassifier.Prediction("deadbeef", 0.99, List.of())));
+
+        FallbackCategoryClassifier.Result result = classifier.classify("선결제 하고 싶어요", CATEGORIES);
+
+        assertEquals("235167ff", result.categoryId());
+        assertEquals("keyword", result.source());
+    }
+
+    @Test
+    void testDefaultsWhenNothingMatches() {
+        when(localClassifier.predictBest(anyString())).thenReturn(Optional.empty());
+
+        FallbackCategoryClassifier.Result result = classifier.classify("여보세요", CATEGORIES);
+
+        assertEquals("23515d46", result.categoryId());
+        assertEquals("default", result.source());
+        assertEquals(0.0, result.confidence());
+    }
+
+    @Test
+    void testSharedKeywordsWeighLessThanDistinctOnes() {
+        // "안내"는 여러 카테고리에 공통이므로 "한도" 일치가 우선
+        Optional<FallbackCategoryClassifier.Match> match = classifier.matchKeywords(
+            "이용 한도 안내 부탁드려요", CategoryCatalog.of(1, CategoryCatalog.DEFAULT_CATEGORIES, true).names());
+
+        assertTrue(match.isPresent());
+        assertTrue(match.get().categoryName().startsWith("한도"));
+    }
+}
@@ -0,0 +1,108 @@
+package com.hanacard.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hanacard.dto.EnhancedClassificationResponse;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import java.lang.management.ManagementFactory;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * LLM 응답 파싱 + analysis_result 직렬화의 요청당 할당량 비교
+ * 기존 방식(substring 추출 → readTree → 필드 복사 → HashMap 직렬화)과 단일 패스 파서를 같은 응답으로 비교
+ * 실행: mvn test -Dtest=LlmResponseParserBenchmarkTest -Dbenchmark=true
+ */
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class LlmResponseParserBenchmarkTest {
+
+    private static final int WARMUP = 20_000;
+    private static final int ITERATIONS = 50_000;
+
+    private static final String RESPONSE = "분류 결과입니다.\n```json\n"
+        + "{\"classification\":{\"category\":\"결제일 변경\",\"confidence\":0.92,"
+        + "\"alternative_categories\":[{\"category\":\"한도 조회\",\"confidence\":0.05},"
+        + "{\"category\":\"자동이체 변경\",\"confidence\":0.03}]},"
+        + "\"analysis\":{\"problem_situation\":\"고객이 급여일 변경으로 카드 결제일을 25일로 바꾸고 싶어 함\","
+        + "\"solution_approach\":\"결제일 변경 가능 일자와 변경 후 첫 청구 기간을 안내하고 앱에서 변경 처리\","
+        + "\"expected_outcome\":\"결제일이 25일로 변경되어 연체 우려 해소\"}}\n```";
+
+    private static final Function<String, String> RESOLVER = name -> "cat-7";
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final LlmResponseParser parser = new LlmResponseParser(objectMapper);
+
+    @Test
+    void testSinglePassParserAllocatesLess() throws Exception {
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        assumeTrue(threads.isThreadAllocatedMemorySupported(), "스레드별 할당량 측정 미지원 JVM");
+
+        for (int i = 0; i < WARMUP; i++) {
+            legacy();
+            singlePass();
+        }
+
+        long tid = Thread.currentThread().getId();
+        long before = threads.getThreadAllocatedBytes(tid);
+        for (int i = 0; i < ITERATIONS; i++) {
+            legacy();
+        }
+        long legacyBytes = (threads.getThreadAllocatedBytes(tid) - before) / ITERATIONS;
+
+        before = threads.getThreadAllocatedBytes(tid);
+        for (int i = 0; i < ITERATIONS; i++) {
+            singlePass();
+        }
+        long singlePassBytes = (threads.getThreadAllocatedBytes(tid) - before) / ITERATIONS;
+
+        System.out.printf("요청당 할당량: legacy=%d B, single-pass=%d B (%.0f%% 감소)%n",
+                          legacyBytes, singlePassBytes, 100.0 * (legacyBytes - singlePassBytes) / legacyBytes);
+        assertTrue(singlePassBytes < legacyBytes);
+    }
+
+    private String singlePass() throws Exception {
+        return parser.toAnalysisResultJson(parser.parse(RESPONSE, RESOLVER));
+    }
+
+    /**
+     * 변경 전 EnhancedOpenAIService의 파싱/직렬화 경로
+     */
+    private String legacy() throws Exception {
+        int start = RESPONSE.indexOf("```json") + 7;
+        int end = RESPONSE.lastIndexOf("```");
+        JsonNode root = objectMapper.readTree(RESPONSE.substring(start, end).trim());
+
+        JsonNode classification = root.get("classification");
+        EnhancedClassificationResponse.ClassificationInfo classificationInfo = new EnhancedClassificationResponse.ClassificationInfo();
+        classificationInfo.setCategory(classification.get("category").asText());
+        classificationInfo.setConfidence(classification.get("confidence").asDouble());
+        classificationInfo.setCategoryId(RESOLVER.apply(classificationInfo.getCategory()));
+        JsonNode alternatives = classification.get("alternative_categories");
+        EnhancedClassificationResponse.AlternativeCategory[] altCategories =
+            new EnhancedClassificationResponse.AlternativeCategory[alternatives.size()];
+        for (int i = 0; i < alternatives.size(); i++) {
+            EnhancedClassificationResponse.AlternativeCategory altCat = new EnhancedClassificationResponse.AlternativeCategory();
+            altCat.setCategory(alternatives.get(i).get("category").asText());
+            altCat.setConfidence(alternatives.get(i).get("confidence").asDouble());
+            altCategories[i] = altCat;
+        }
+        classificationInfo.setAlternativeCategories(altCategories);
+
+        JsonNode analysis = root.get("analysis");
+        EnhancedClassificationResponse.AnalysisInfo analysisInfo = new EnhancedClassificationResponse.AnalysisInfo();
+        analysisInfo.setProblemSituation(analysis.get("problem_situation").asText());
+        analysisInfo.setSolutionApproach(analysis.get("solution_approach").asText());
+        analysisInfo.setExpectedOutcome(analysis.get("expected_outcome").asText());
+
+        Map<String, Object> analysisOnly = new HashMap<>();
+        analysisOnly.put("classification", classificationInfo);
+        analysisOnly.put("analysis", analysisInfo);
+        return objectMapper.writeValueAsString(analysisOnly);
+    }
+}
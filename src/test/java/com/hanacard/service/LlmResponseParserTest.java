@@ -0,0 +1,115 @@
+package com.hanacard.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hanacard.dto.ConsultingCategoryData;
+import com.hanacard.dto.EnhancedClassificationResponse;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LlmResponseParserTest {
+
+    private static final String BODY = "{\"classification\":{\"category\":\"결제일 변경\",\"confidence\":0.92,"
+        + "\"alternative_categories\":[{\"category\":\"한도 조회\",\"confidence\":0.05}]},"
+        + "\"analysis\":{\"problem_situation\":\"결제일 변경 문의\",\"solution_approach\":\"변경 절차 안내\","
+        + "\"expected_outcome\":\"결제일 변경 완료\"},\"notes\":\"무시되는 필드\"}";
+
+    private static final Function<String, String> RESOLVER = name -> "결제일 변경".equals(name) ? "cat-7" : "23515d46";
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final LlmResponseParser parser = new LlmResponseParser(objectMapper);
+
+    @Test
+    void testParsesJsonInsideCodeFence() throws Exception {
+        EnhancedClassificationResponse response = parser.parse("분류 결과입니다.\n```json\n" + BODY + "\n```\n", RESOLVER);
+
+        assertEquals("결제일 변경", response.getClassification().getCategory());
+        assertEquals("cat-7", response.getClassification().getCategoryId());
+        assertEquals(0.92, response.getClassification().getConfidence());
+        assertEquals("한도 조회", response.getClassification().getAlternativeCategories()[0].getCategory());
+        assertEquals("변경 절차 안내", response.getAnalysis().getSolutionApproach());
+    }
+
+    @Test
+    void testParsesPlainFenceAndBareJson() throws Exception {
+        assertEquals("cat-7", parser.parse("```\n" + BODY + "\n```", RESOLVER).getClassification().getCategoryId());
+        assertEquals("cat-7", parser.parse("  \n" + BODY + "\n ", RESOLVER).getClassification().getCategoryId());
+    }
+
+    @Test
+    void testCategoryIdFromModelIsKept() throws Exception {
+        String body = "{\"classification\":{\"category\":\"결제일 변경\",\"category_id\":\"model-id\",\"confidence\":0.8}}";
+
+        EnhancedClassificationResponse response = parser.parse(body, RESOLVER);
+
+        assertEquals("model-id", response.getClassification().getCategoryId());
+        assertNull(response.getAnalysis());
+    }
+
+    @Test
+    void testMissingRequiredFieldsFail() {
+        assertThrows(IllegalArgumentException.class,
+            () -> parser.parse("{\"classification\":{\"confidence\":0.8}}", RESOLVER));
+        assertThrows(IllegalArgumentException.class,
+            () -> parser.parse("{\"analysis\":{\"problem_situation\":\"문의\"}}", RESOLVER));
+        assertThrows(Exception.class, () -> parser.parse("```json\n{\"classification\":\n```", RESOLVER));
+    }
+
+    @Test
+    void testPackedItemAndStreamedBlocks() throws Exception {
+        JsonNode root = parser.readTree("```json\n{\"results\":[" + BODY + "]}\n```");
+        EnhancedClassificationResponse item = parser.parse(root.path("results").get(0), RESOLVER);
+        assertEquals("cat-7", item.getClassification().getCategoryId());
+
+        EnhancedClassificationResponse.ClassificationInfo classification =
+            parser.parseClassification("{\"category\":\"기타\",\"confidence\":0.4}", RESOLVER);
+        assertEquals("23515d46", classification.getCategoryId());
+        assertEquals("결과", parser.parseAnalysis(
+            "{\"problem_situation\":\"문제\",\"solution_approach\":\"방안\",\"expected_outcome\":\"결과\"}").getExpectedOutcome());
+    }
+
+    @Test
+    void testAnalysisResultRoundTrip() throws Exception {
+        EnhancedClassificationResponse response = parser.parse(BODY, RESOLVER);
+        response.setSourceId("SRC-1");
+        response.setProcessingTime(1.5);
+
+        String json = parser.toAnalysisResultJson(response);
+        JsonNode node = objectMapper.readTree(json);
+        assertEquals("cat-7", node.path("classification").path("category_id").asText());
+        assertEquals("결제일 변경 완료", node.path("analysis").path("expected_outcome").asText());
+        assertFalse(node.has("source_id"));
+        assertFalse(node.has("notes"));
+
+        EnhancedClassificationResponse stored = parser.readStored(json);
+        assertEquals("결제일 변경", stored.getClassification().getCategory());
+        assertEquals("변경 절차 안내", stored.getAnalysis().getSolutionApproach());
+    }
+
+    @Test
+    void testCompactOutputExpandsToCatalogCategories() throws Exception {
+        List<ConsultingCategoryData> catalog = List.of(
+            new ConsultingCategoryData("235166ea", "도난/분실 신청/해제"),
+            new ConsultingCategoryData("2351a1e2", "한도 안내"));
+        String compact = "{\"c\":1,\"p\":0.9,\"alt\":[{\"c\":0,\"p\":0.1},{\"c\":7,\"p\":0.01}],"
+            + "\"a\":{\"ps\":\"한도 문의\",\"sa\":\"한도 안내\",\"eo\":\"한도 확인\"}}";
+
+        EnhancedClassificationResponse response = parser.parseCompact(compact, catalog);
+
+        assertEquals("한도 안내", response.getClassification().getCategory());
+        assertEquals("2351a1e2", response.getClassification().getCategoryId());
+        assertEquals(1, response.getClassification().getAlternativeCategories().length);
+        assertEquals("도난/분실 신청/해제", response.getClassification().getAlternativeCategories()[0].getCategory());
+        assertEquals("한도 확인", response.getAnalysis().getExpectedOutcome());
+
+        JsonNode stored = objectMapper.readTree(parser.toAnalysisResultJson(response));
+        assertEquals("2351a1e2", stored.path("classification").path("category_id").asText());
+        assertEquals("한도 문의", stored.path("analysis").path("problem_situation").asText());
+
+        assertThrows(IllegalArgumentException.class, () -> parser.parseCompact("{\"c\":5,\"p\":0.9}", catalog));
+    }
+}
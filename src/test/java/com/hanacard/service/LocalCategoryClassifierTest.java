@@ -0,0 +1,116 @@
+package com.hanacard.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hanacard.entity.ConsultingClassification;
+import com.hanacard.repository.ConsultingClassificationRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class LocalCategoryClassifierTest {
+
+    private static final String LOST_CARD = "235166ea";
+    private static final String LIMIT = "2351a1e2";
+
+    @TempDir
+    Path tempDir;
+
+    private final ConsultingClassificationRepository repository = mock(ConsultingClassificationRepository.class);
+
+    private LocalCategoryClassifier newClassifier(double threshold, long minTrainingDocs) {
+        return new LocalCategoryClassifier(repository, new ObjectMapper(), new SimpleMeterRegistry(),
+                                           true, threshold, minTrainingDocs, 16,
+                                           tempDir.resolve("model.bin").toString(), 1000);
+    }
+
+    private void train(LocalCategoryClassifier classifier) {
+        for (int i = 0; i < 20; i++) {
+            classifier.learn("고객: 카드를 잃어버렸어요 분실 신고 부탁드립니다 " + i, LOST_CARD, (long) i);
+            classifier.learn("고객: 이번 달 한도가 부족해서 한도 상향 신청하고 싶어요 " + i, LIMIT, (long) i);
+        }
+    }
+
+    @Test
+    void testPredictsTrainedCategory() {
+        LocalCategoryClassifier classifier = newClassifier(0.9, 10);
+        train(classifier);
+
+        Optional<LocalCategoryClassifier.Prediction> prediction = classifier.predict("지갑을 잃어버렸는데 카드 분실 신고 할게요");
+
+        assertTrue(prediction.isPresent());
+        assertEquals(LOST_CARD, prediction.get().categoryId());
+        assertEquals(LIMIT, prediction.get().alternatives().get(0).categoryId());
+    }
+
+    @Test
+    void testNoPredictionBeforeMinimumTrainingDocs() {
+        LocalCategoryClassifier classifier = newClassifier(0.9, 1000);
+        train(classifier);
+
+        assertTrue(classifier.predict("카드 분실 신고").isEmpty());
+    }
+
+    @Test
+    void testNoPredictionBelowConfidenceThreshold() {
+        LocalCategoryClassifier classifier = newClassifier(0.999999, 10);
+        train(classifier);
+
+        // 두 카테고리 특징이 섞인 상담은 임계값을 넘지 못함
+        assertTrue(classifier.predict("분실 신고 한도 상향").isEmpty());
+    }
+
+    @Test
+    void testModelSurvivesSaveAndLoad() {
+        LocalCategoryClassifier classifier = newClassifier(0.9, 10);
+        train(classifier);
+        classifier.saveModel();
+
+        LocalCategoryClassifier restored = newClassifier(0.9, 10);
+        restored.loadModel();
+
+        assertEquals(classifier.trainingDocs(), restored.trainingDocs());
+        assertEquals(LIMIT, restored.predict("한도 상향 신청").map(LocalCategoryClassifier.Prediction::categoryId).orElse(null));
+    }
+
+    private static ConsultingClassification row(long id, String analysisResult, boolean reclassifyPending) {
+        ConsultingClassification row = new ConsultingClassification("src" + id, "고객: 카드를 잃어버렸어요 " + id);
+        row.setId(id);
+        row.setCategoryId(LOST_CARD);
+        row.setAnalysisResult(analysisResult);
+        row.setReclassifyPending(reclassifyPending);
+        return row;
+    }
+
+    @Test
+    void testHistoryTrainingSkipsRowsWithoutLlmAnalysis() {
+        LocalCategoryClassifier classifier = newClassifier(0.9, 10);
+        // MySQL JSON 컬럼이 돌려주는 정규화 형태 (콜론 뒤 공백)
+        ConsultingClassification local = row(1, "{\"analysis\": null, \"classification\": {\"category\": \"도난/분실 신청/해제\"}}", false);
+        ConsultingClassification analyzed = row(2, "{\"analysis\": {\"problem_situation\": \"분실\"}, \"classification\": {}}", false);
+        ConsultingClassification noAnalysis = row(3, "{\"classification\": {\"category\": \"도난/분실 신청/해제\"}}", false);
+        ConsultingClassification pending = row(4, "{\"analysis\": {\"problem_situation\": \"분실\"}}", true);
+
+        assertFalse(classifier.isLabeledByLlm(local));
+        assertTrue(classifier.isLabeledByLlm(analyzed));
+        assertFalse(classifier.isLabeledByLlm(noAnalysis));
+        assertFalse(classifier.isLabeledByLlm(pending));
+
+        when(repository.findByReclassifyPendingFalseAndIdGreaterThanOrderByIdAsc(eq(0L), any()))
+            .thenReturn(List.of(local, analyzed, noAnalysis));
+        when(repository.findByReclassifyPendingFalseAndIdGreaterThanOrderByIdAsc(eq(3L), any())).thenReturn(List.of());
+
+        classifier.trainFromHistory();
+
+        assertEquals(1, classifier.trainingDocs());
+        verify(repository, never()).findByIdGreaterThanOrderByIdAsc(any(), any());
+    }
+}
@@ -0,0 +1,169 @@
+package com.hanacard.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.hanacard.dto.BatchClassificationResponse;
+import com.hanacard.dto.ClassificationRequest;
+import com.hanacard.dto.EnhancedClassificationResponse;
+import com.hanacard.dto.IngestReport;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.core.task.TaskExecutor;
+
+import java.io.BufferedReader;
+import java.io.Reader;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+class NdjsonIngestServiceTest {
+
+    private final EnhancedOpenAIService enhancedOpenAIService = mock(EnhancedOpenAIService.class);
+    private final ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    void testReportsEveryLineInInputOrder() throws Exception {
+        when(enhancedOpenAIService.processAndSaveBatch(anyList())).thenAnswer(invocation -> succeeded(invocation.getArgument(0)));
+        NdjsonIngestService service = newService(Runnable::run, 2, 2);
+
+        String ndjson = line("SRC-1") + "\n"
+            + "\n"
+            + "{not json}\n"
+            + line("SRC-2") + "\n"
+            + line("SRC-3") + "\n";
+        List<IngestReport.LineStatus> statuses = new ArrayList<>();
+        IngestReport.Summary summary = service.ingest(new BufferedReader(new StringReader(ndjson)), statuses::add);
+
+        assertEquals(List.of(1L, 3L, 4L, 5L), statuses.stream().map(IngestReport.LineStatus::getLine).toList());
+        assertEquals("SRC-1", statuses.get(0).getSourceId());
+        assertTrue(statuses.get(0).isSuccess());
+        assertEquals("결제일 변경", statuses.get(0).getCategory());
+        assertFalse(statuses.get(1).isSuccess());
+        assertTrue(statuses.get(1).getError().startsWith("JSON 파싱 실패"));
+        assertEquals("SRC-3", statuses.get(3).getSourceId());
+        assertEquals(4, summary.getTotal());
+        assertEquals(3, summary.getSucceeded());
+        assertEquals(1, summary.getFailed());
+    }
+
+    @Test
+    void testBatchFailureIsReportedPerLine() throws Exception {
+        when(enhancedOpenAIService.processAndSaveBatch(anyList())).thenThrow(new IllegalStateException("Admin API 실패"));
+        NdjsonIngestService service = newService(Runnable::run, 10, 2);
+
+        List<IngestReport.LineStatus> statuses = new ArrayList<>();
+        IngestReport.Summary summary = service.ingest(
+            new BufferedReader(new StringReader(line("SRC-1") + "\n" + line("SRC-2"))), statuses::add);
+
+        assertEquals(2, statuses.size());
+        assertEquals("Admin API 실패", statuses.get(1).getError());
+        assertEquals("SRC-2", statuses.get(1).getSourceId());
+        assertEquals(0, summary.getSucceeded());
+    }
+
+    @Test
+    void testReadingStopsWhileChunksAreInFlight() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        when(enhancedOpenAIService.processAndSaveBatch(anyList())).thenAnswer(invocation -> {
+            release.await(5, TimeUnit.SECONDS);
+            return succeeded(invocation.getArgument(0));
+        });
+        int chunkSize = 4;
+        int maxInFlightChunks = 2;
+        NdjsonIngestService service = newService(new SimpleAsyncTaskExecutor("Ingest-Test-"), chunkSize, maxInFlightChunks);
+
+        int totalLines = 1000;
+        CountingReader input = new CountingReader(totalLines);
+        List<IngestReport.LineStatus> statuses = new ArrayList<>();
+        Thread ingest = new Thread(() -> {
+            try {
+                service.ingest(new BufferedReader(input, 16), statuses::add);
+            } catch (Exception e) {
+                throw new RuntimeException(e);
+            }
+        });
+        ingest.start();
+        Thread.sleep(300);
+
+        // 처리 중인 묶음이 한도에 도달하면 더 읽지 않음 (BufferedReader 버퍼만큼 여유)
+        long readWhileBlocked = input.linesRead();
+        assertTrue(readWhileBlocked <= (long) chunkSize * maxInFlightChunks + 2,
+                   "역압 없이 읽음: " + readWhileBlocked);
+
+        release.countDown();
+        ingest.join(TimeUnit.SECONDS.toMillis(10));
+        assertEquals(totalLines, statuses.size());
+    }
+
+    private NdjsonIngestService newService(TaskExecutor executor, int chunkSize, int maxInFlightChunks) {
+        return new NdjsonIngestService(enhancedOpenAIService, objectMapper, executor, meterRegistry, chunkSize, maxInFlightChunks);
+    }
+
+    private static BatchClassificationResponse succeeded(List<ClassificationRequest> requests) {
+        List<BatchClassificationResponse.ItemResult> results = new ArrayList<>();
+        for (int i = 0; i < requests.size(); i++) {
+            EnhancedClassificationResponse.ClassificationInfo classification = new EnhancedClassificationResponse.ClassificationInfo();
+            classification.setCategory("결제일 변경");
+            EnhancedClassificationResponse response = new EnhancedClassificationResponse();
+            response.setId((long) i);
+            response.setClassification(classification);
+
+            BatchClassificationResponse.ItemResult item = new BatchClassificationResponse.ItemResult();
+            item.setIndex(i);
+            item.setSourceId(requests.get(i).getSourceId());
+            item.setSuccess(true);
+            item.setResult(response);
+            results.add(item);
+        }
+        return new BatchClassificationResponse(requests.size(), requests.size(), 0.0, results);
+    }
+
+    private static String line(String sourceId) {
+        return "{\"source_id\":\"" + sourceId + "\",\"consulting_content\":\"카드 결제일을 변경하고 싶어요\"}";
+    }
+
+    /**
+     * 읽은 줄 수를 세는 NDJSON 입력 (한 번에 한 글자씩 제공)
+     */
+    private static class CountingReader extends Reader {
+
+        private final int totalLines;
+        private final AtomicLong linesRead = new AtomicLong();
+        private String current = "";
+        private int position;
+
+        CountingReader(int totalLines) {
+            this.totalLines = totalLines;
+        }
+
+        long linesRead() {
+            return linesRead.get();
+        }
+
+        @Override
+        public int read(char[] buffer, int offset, int length) {
+            if (position == current.length()) {
+                if (linesRead.get() == totalLines) {
+                    return -1;
+                }
+                current = line("SRC-" + linesRead.incrementAndGet()) + "\n";
+                position = 0;
+            }
+            buffer[offset] = current.charAt(position++);
+            return 1;
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+}
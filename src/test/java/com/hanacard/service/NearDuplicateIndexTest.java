@@ -0,0 +1,100 @@
+package com.hanacard.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hanacard.entity.ConsultingClassification;
+import com.hanacard.repository.ConsultingClassificationRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class NearDuplicateIndexTest {
+
+    private static final String LOST_CARD_SCRIPT =
+        "고객: 안녕하세요 제가 어제 저녁에 카드를 잃어버려서 분실 신고를 하려고 합니다. " +
+        "상담사: 네 고객님 본인 확인을 위해 성함과 생년월일 말씀 부탁드립니다. " +
+        "고객: 홍길동이고 1985년 3월 2일입니다. 마지막 사용 금액은 35000원이었어요. " +
+        "상담사: 확인되었습니다. 해당 카드 분실 신고 접수 완료되었고 재발급은 5영업일 소요됩니다.";
+
+    private final ConsultingClassificationRepository repository = mock(ConsultingClassificationRepository.class);
+
+    private NearDuplicateIndex newIndex(int maxEntries) {
+        return new NearDuplicateIndex(repository, new ObjectMapper(), new SimpleMeterRegistry(),
+                                      true, maxEntries, 16, 4, 3, 0.8);
+    }
+
+    @Test
+    void testFindsScriptWithDifferentNameAndAmount() {
+        NearDuplicateIndex index = newIndex(100);
+        index.add(LOST_CARD_SCRIPT, "235166ea", "{\"classification\":{\"category\":\"도난/분실 신청/해제\"}}", false);
+
+        String variant = LOST_CARD_SCRIPT
+            .replace("홍길동", "김철수")
+            .replace("1985년 3월 2일", "1990년 11월 21일")
+            .replace("35000원", "128000원");
+        Optional<NearDuplicateIndex.Match> match = index.findSimilar(variant, false);
+
+        assertTrue(match.isPresent());
+        assertEquals("235166ea", match.get().categoryId());
+        assertTrue(match.get().similarity() >= 0.8);
+    }
+
+    @Test
+    void testUnrelatedContentIsMiss() {
+        NearDuplicateIndex index = newIndex(100);
+        index.add(LOST_CARD_SCRIPT, "235166ea", "{}", false);
+
+        Optional<NearDuplicateIndex.Match> match = index.findSimilar(
+            "고객: 이번 달 결제대금이 얼마인지 궁금합니다. 상담사: 네 이번 달 청구 금액 안내해 드리겠습니다.", false);
+
+        assertTrue(match.isEmpty());
+    }
+
+    @Test
+    void testOldestEntryIsReplacedWhenFull() {
+        NearDuplicateIndex index = newIndex(1);
+        index.add(LOST_CARD_SCRIPT, "235166ea", "{}", false);
+        index.add("고객: 포인트를 마일리지로 전환하고 싶어요. 상담사: 전환 등록 도와드리겠습니다.", "23516aaa", "{}", false);
+
+        assertEquals(1, index.size());
+        assertTrue(index.findSimilar(LOST_CARD_SCRIPT, false).isEmpty());
+        assertTrue(index.approximateMemoryBytes() > 0);
+    }
+
+    @Test
+    void testRequireAnalysisSkipsNeighborsWithoutAnalysis() {
+        NearDuplicateIndex index = newIndex(100);
+        index.add(LOST_CARD_SCRIPT, "235166ea", "{\"classification\":{}}", false);
+
+        assertTrue(index.findSimilar(LOST_CARD_SCRIPT, false).isPresent());
+        assertTrue(index.findSimilar(LOST_CARD_SCRIPT, true).isEmpty());
+
+        index.add(LOST_CARD_SCRIPT.replace("홍길동", "김철수"), "235166ea",
+                  "{\"classification\":{},\"analysis\":{}}", true);
+        Optional<NearDuplicateIndex.Match> match = index.findSimilar(LOST_CARD_SCRIPT, true);
+        assertTrue(match.isPresent());
+        assertTrue(match.get().analyzed());
+    }
+
+    @Test
+    void testRebuildUsesOnlyReusableRowsAndDetectsAnalysis() {
+        ConsultingClassification row = new ConsultingClassification();
+        row.setConsultingContent(LOST_CARD_SCRIPT);
+        row.setCategoryId("235166ea");
+        // MySQL JSON 컬럼 정규화 형태 ("analysis": null)
+        row.setAnalysisResult("{\"analysis\": null, \"classification\": {\"category\": \"도난/분실 신청/해제\"}}");
+        when(repository.findRecentReusableClassifications(100)).thenReturn(List.of(row));
+
+        NearDuplicateIndex index = newIndex(100);
+        index.rebuildFromHistory();
+
+        verify(repository, never()).findRecentClassifications(anyInt());
+        assertEquals(1, index.size());
+        assertTrue(index.findSimilar(LOST_CARD_SCRIPT, false).isPresent());
+        assertTrue(index.findSimilar(LOST_CARD_SCRIPT, true).isEmpty());
+    }
+}
@@ -0,0 +1,173 @@
+package com.hanacard.service;
+
+import com.hanacard.client.OpenAIApiClient;
+import com.hanacard.client.OpenAICircuitBreaker;
+import com.hanacard.client.OpenAIRateGovernor;
+import com.hanacard.dto.BackfillProgressResponse;
+import com.hanacard.dto.ConsultingCategoryData;
+import com.hanacard.dto.EnhancedClassificationResponse;
+import com.hanacard.entity.BackfillCheckpoint;
+import com.hanacard.entity.ConsultingClassification;
+import com.hanacard.repository.BackfillCheckpointRepository;
+import com.hanacard.repository.ConsultingClassificationRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyIterable;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class ReclassificationBackfillServiceTest {
+
+    private static final CategoryCatalog CATALOG = CategoryCatalog.of(1, List.of(
+        new ConsultingCategoryData("550e8400", "도난/분실 신청/해제"),
+        new ConsultingCategoryData("a1b2c3d4", "결제일 변경/안내")), false);
+
+    private final EnhancedOpenAIService enhancedOpenAIService = mock(EnhancedOpenAIService.class);
+    private final ConsultingClassificationRepository repository = mock(ConsultingClassificationRepository.class);
+    private final BackfillCheckpointRepository checkpointRepository = mock(BackfillCheckpointRepository.class);
+    private final OpenAIApiClient openAIApiClient = mock(OpenAIApiClient.class);
+    private final OpenAIRateGovernor governor = mock(OpenAIRateGovernor.class);
+    private ReclassificationBackfillService service;
+
+    @BeforeEach
+    void setUp() {
+        OpenAICircuitBreaker circuitBreaker = mock(OpenAICircuitBreaker.class);
+        when(openAIApiClient.circuitBreaker()).thenReturn(circuitBreaker);
+        when(openAIApiClient.rateGovernor()).thenReturn(governor);
+        when(governor.currentLimit()).thenReturn(8.0);
+        when(enhancedOpenAIService.toRequest(any())).thenCallRealMethod();
+
+        service = new ReclassificationBackfillService(enhancedOpenAIService, repository, checkpointRepository,
+            openAIApiClient, mock(PlatformTransactionManager.class), new SimpleMeterRegistry(),
+            2, 2, 0, 0.5, false);
+    }
+
+    @AfterEach
+    void tearDown() {
+        service.shutdown();
+    }
+
+    @Test
+    void testStaleScopeRenamesKnownIdsAndReclassifiesUnknownIds() {
+        ConsultingClassification renamed = row(1L, "550e8400", "분실 신고");
+        ConsultingClassification current = row(2L, "a1b2c3d4", "결제일 변경/안내");
+        ConsultingClassification removed = row(3L, "deadbeef", "삭제된 카테고리");
+        when(repository.findByIdGreaterThanOrderByIdAsc(eq(0L), any())).thenReturn(List.of(renamed, current));
+        when(repository.findByIdGreaterThanOrderByIdAsc(eq(2L), any())).thenReturn(List.of(removed));
+        when(repository.findByIdGreaterThanOrderByIdAsc(eq(3L), any())).thenReturn(List.of());
+        Map<Long, ConsultingClassification> managed = managedCopies(renamed, current, removed);
+        when(enhancedOpenAIService.classifyConsultingContent(any(), eq(CATALOG))).thenReturn(response("결제일 변경/안내", "a1b2c3d4"));
+        doAnswer(invocation -> {
+            ConsultingClassification row = invocation.getArgument(0);
+            EnhancedClassificationResponse response = invocation.getArgument(1);
+            row.setConsultingCategory(response.getClassification().getCategory());
+            row.setCategoryId(response.getClassification().getCategoryId());
+            return null;
+        }).when(enhancedOpenAIService).applyReclassification(any(), any());
+
+        BackfillCheckpoint checkpoint = new BackfillCheckpoint(ReclassificationBackfillService.CHECKPOINT_NAME, "STALE", "v2");
+        checkpoint.setTotalRows(3L);
+        service.run(checkpoint, CATALOG);
+
+        assertEquals("COMPLETED", checkpoint.getStatus());
+        assertEquals(3L, checkpoint.getLastId());
+        assertEquals(3L, checkpoint.getProcessedRows());
+        assertEquals(1L, checkpoint.getRenamedRows());
+        assertEquals(1L, checkpoint.getReclassifiedRows());
+        assertEquals(0L, checkpoint.getFailedRows());
+
+        // 이름만 바뀐 카테고리는 LLM 호출 없이 이름과 analysis_result를 갱신
+        assertEquals("도난/분실 신청/해제", managed.get(1L).getConsultingCategory());
+        assertTrue(managed.get(1L).getAnalysisResult().contains("도난/분실 신청/해제"));
+        assertEquals("결제일 변경/안내", managed.get(2L).getConsultingCategory());
+        assertEquals("a1b2c3d4", managed.get(3L).getCategoryId());
+        verify(enhancedOpenAIService, times(1)).classifyConsultingContent(any(), any());
+        verify(checkpointRepository, atLeast(2)).save(checkpoint);
+    }
+
+    @Test
+    void testResumesFromCheckpointLastId() {
+        when(repository.findByIdGreaterThanOrderByIdAsc(eq(500L), any())).thenReturn(List.of());
+
+        BackfillCheckpoint checkpoint = new BackfillCheckpoint(ReclassificationBackfillService.CHECKPOINT_NAME, "ALL", "v2");
+        checkpoint.setLastId(500L);
+        checkpoint.setProcessedRows(500L);
+        service.run(checkpoint, CATALOG);
+
+        verify(repository).findByIdGreaterThanOrderByIdAsc(eq(500L), any());
+        verify(repository, never()).findByIdGreaterThanOrderByIdAsc(eq(0L), any());
+        assertEquals("COMPLETED", checkpoint.getStatus());
+        assertEquals(500L, checkpoint.getProcessedRows());
+    }
+
+    @Test
+    void testFallbackResultsAreNotWritten() {
+        ConsultingClassification row = row(1L, "550e8400", "도난/분실 신청/해제");
+        when(repository.findByIdGreaterThanOrderByIdAsc(eq(0L), any())).thenReturn(List.of(row));
+        when(repository.findByIdGreaterThanOrderByIdAsc(eq(1L), any())).thenReturn(List.of());
+        EnhancedClassificationResponse fallback = response("이용내역 안내", "00000000");
+        fallback.setReclassifyPending(true);
+        when(enhancedOpenAIService.classifyConsultingContent(any(), any())).thenReturn(fallback);
+
+        BackfillCheckpoint checkpoint = new BackfillCheckpoint(ReclassificationBackfillService.CHECKPOINT_NAME, "ALL", "v2");
+        service.run(checkpoint, CATALOG);
+
+        assertEquals(1L, checkpoint.getFailedRows());
+        assertEquals(0L, checkpoint.getReclassifiedRows());
+        verify(enhancedOpenAIService, never()).applyReclassification(any(), any());
+        verify(repository, never()).findAllById(anyIterable());
+    }
+
+    @Test
+    void testProgressReportsIdleWithoutCheckpoint() {
+        BackfillProgressResponse progress = service.throttle(5.0, 4);
+
+        assertEquals("IDLE", progress.getStatus());
+        assertEquals(5.0, progress.getRowsPerSecondLimit());
+        assertEquals(4, progress.getParallelism());
+    }
+
+    private Map<Long, ConsultingClassification> managedCopies(ConsultingClassification... rows) {
+        Map<Long, ConsultingClassification> managed = Arrays.stream(rows)
+            .map(source -> row(source.getId(), source.getCategoryId(), source.getConsultingCategory()))
+            .collect(Collectors.toMap(ConsultingClassification::getId, Function.identity()));
+        when(repository.findAllById(anyIterable())).thenAnswer(invocation -> {
+            Iterable<Long> ids = invocation.getArgument(0);
+            List<ConsultingClassification> found = new ArrayList<>();
+            ids.forEach(id -> found.add(managed.get(id)));
+            return found;
+        });
+        return managed;
+    }
+
+    private static ConsultingClassification row(Long id, String categoryId, String category) {
+        ConsultingClassification row = new ConsultingClassification("SRC-" + id, "카드를 잃어버렸어요");
+        row.setId(id);
+        row.setCategoryId(categoryId);
+        row.setConsultingCategory(category);
+        row.setAnalysisResult("{\"classification\":{\"category\":\"" + category + "\",\"confidence\":0.9}}");
+        return row;
+    }
+
+    private static EnhancedClassificationResponse response(String category, String categoryId) {
+        EnhancedClassificationResponse.ClassificationInfo classification = new EnhancedClassificationResponse.ClassificationInfo();
+        classification.setCategory(category);
+        classification.setCategoryId(categoryId);
+        EnhancedClassificationResponse response = new EnhancedClassificationResponse();
+        response.setClassification(classification);
+        return response;
+    }
+}
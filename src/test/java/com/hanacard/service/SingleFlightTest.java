@@ -0,0 +1,71 @@
+package com.hanacard.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SingleFlightTest {
+
+    @Test
+    void testConcurrentCallsShareOneExecution() throws Exception {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        SingleFlight<String, String> flight = new SingleFlight<>("test", meterRegistry);
+        AtomicInteger executions = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(5);
+
+        try {
+            List<CompletableFuture<String>> results = new ArrayList<>();
+            for (int i = 0; i < 5; i++) {
+                results.add(CompletableFuture.supplyAsync(() -> flight.execute("source-1", () -> {
+                    executions.incrementAndGet();
+                    await(release);
+                    return "분류 결과";
+                }), executor));
+            }
+
+            // 나머지 4건이 진행 중인 실행에 합류(shared 집계)할 때까지 대기
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+            while (meterRegistry.counter("classification.singleflight.requests", "scope", "test", "role", "shared").count() < 4) {
+                assertTrue(System.nanoTime() < deadline, "병합된 요청이 4건에 도달하지 않음");
+                Thread.sleep(5);
+            }
+            release.countDown();
+
+            for (CompletableFuture<String> result : results) {
+                assertEquals("분류 결과", result.get(5, TimeUnit.SECONDS));
+            }
+            assertEquals(1, executions.get());
+            assertEquals(0, flight.inFlightCount());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void testFailureIsNotRememberedAfterCompletion() {
+        SingleFlight<String, String> flight = new SingleFlight<>("test", new SimpleMeterRegistry());
+
+        assertThrows(IllegalStateException.class,
+            () -> flight.execute("source-1", () -> { throw new IllegalStateException("OpenAI 장애"); }));
+        assertEquals("재시도 성공", flight.execute("source-1", () -> "재시도 성공"));
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
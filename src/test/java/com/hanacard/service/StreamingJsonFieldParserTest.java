@@ -0,0 +1,47 @@
+package com.hanacard.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StreamingJsonFieldParserTest {
+
+    private static final String RESPONSE = """
+        ```json
+        {
+          "classification": {"category": "도난/분실 신청/해제", "confidence": 0.95, "note": "중괄호 } 포함, \\"따옴표\\""},
+          "analysis": {"problem_situation": "카드 분실", "solution_approach": "분실 신고", "expected_outcome": "재발급"},
+          "version": 2
+        }
+        ```""";
+
+    @Test
+    void testEmitsClassificationBeforeAnalysisArrives() {
+        StreamingJsonFieldParser parser = new StreamingJsonFieldParser();
+        int analysisStart = RESPONSE.indexOf("\"analysis\"");
+
+        List<StreamingJsonFieldParser.Field> first = parser.feed(RESPONSE.substring(0, analysisStart));
+
+        assertEquals(1, first.size());
+        assertEquals("classification", first.get(0).name());
+        assertTrue(first.get(0).json().startsWith("{\"category\""));
+        assertTrue(first.get(0).json().endsWith("\\\"따옴표\\\"\"}"));
+    }
+
+    @Test
+    void testParsesCharacterByCharacterStream() {
+        StreamingJsonFieldParser parser = new StreamingJsonFieldParser();
+        List<StreamingJsonFieldParser.Field> fields = new ArrayList<>();
+        for (char c : RESPONSE.toCharArray()) {
+            fields.addAll(parser.feed(String.valueOf(c)));
+        }
+
+        assertEquals(List.of("classification", "analysis", "version"),
+                     fields.stream().map(StreamingJsonFieldParser.Field::name).toList());
+        assertEquals("2", fields.get(2).json());
+        assertEquals(RESPONSE, parser.text());
+    }
+}
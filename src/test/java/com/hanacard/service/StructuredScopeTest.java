@@ -0,0 +1,109 @@
+package com.hanacard.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StructuredScopeTest {
+
+    @Test
+    void testSubtasksRunConcurrently() {
+        ExecutorService executor = Executors.newCachedThreadPool();
+        CountDownLatch bothStarted = new CountDownLatch(2);
+
+        try (StructuredScope scope = new StructuredScope(executor)) {
+            Supplier<String> first = scope.fork(() -> awaitOther(bothStarted, "categories"));
+            Supplier<String> second = scope.fork(() -> awaitOther(bothStarted, "processed"));
+            scope.join();
+
+            assertEquals("categories", first.get());
+            assertEquals("processed", second.get());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void testFailureIsThrownWithoutWaitingForSlowSubtask() {
+        ExecutorService executor = Executors.newCachedThreadPool();
+        CountDownLatch never = new CountDownLatch(1);
+        long start = System.nanoTime();
+
+        try (StructuredScope scope = new StructuredScope(executor)) {
+            scope.fork(() -> {
+                try {
+                    never.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return "slow";
+            });
+            scope.fork(() -> {
+                throw new IllegalStateException("Admin API 실패");
+            });
+
+            IllegalStateException error = assertThrows(IllegalStateException.class, scope::join);
+            assertEquals("Admin API 실패", error.getMessage());
+            assertTrue(TimeUnit.NANOSECONDS.toSeconds(System.nanoTime() - start) < 5);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void testCloseInterruptsRunningSubtasks() throws Exception {
+        ExecutorService executor = Executors.newCachedThreadPool();
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch interrupted = new CountDownLatch(1);
+
+        try (StructuredScope scope = new StructuredScope(executor)) {
+            scope.fork(() -> {
+                started.countDown();
+                try {
+                    new CountDownLatch(1).await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    interrupted.countDown();
+                }
+                return "slow";
+            });
+            assertTrue(started.await(5, TimeUnit.SECONDS));
+        }
+
+        try {
+            assertTrue(interrupted.await(1, TimeUnit.SECONDS));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void testCallerThreadExecutorRunsSequentially() {
+        Thread caller = Thread.currentThread();
+
+        try (StructuredScope scope = new StructuredScope(Runnable::run)) {
+            Supplier<Thread> thread = scope.fork(Thread::currentThread);
+            scope.join();
+
+            assertSame(caller, thread.get());
+        }
+    }
+
+    private static String awaitOther(CountDownLatch bothStarted, String value) {
+        bothStarted.countDown();
+        try {
+            // 다른 하위 작업이 동시에 시작되지 않으면 시간 초과
+            if (!bothStarted.await(5, TimeUnit.SECONDS)) {
+                throw new IllegalStateException("순차 실행됨");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return value;
+    }
+}
@@ -0,0 +1,61 @@
+package com.hanacard.service;
+
+import com.hanacard.client.TokenEstimator;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TranscriptCompactorTest {
+
+    private final TokenEstimator tokenEstimator = new TokenEstimator();
+
+    private TranscriptCompactor newCompactor(int tokenBudget) {
+        return new TranscriptCompactor(tokenEstimator, new SimpleMeterRegistry(), true, tokenBudget, 0.6);
+    }
+
+    @Test
+    void testCollapsesSpeakersAndDropsGreetingsFillerAndRepeats() {
+        String transcript = """
+            상담사: 안녕하세요 하나카드 상담사 김하나입니다. 무엇을 도와드릴까요?
+            고객: 네 네, 카드를 잃어버려서 분실 신고하려고요.
+            상담사: 네.
+            고객: 카드를 잃어버려서 분실 신고하려고요.
+            상담사: 분실 신고 접수해 드렸습니다. 감사합니다.""";
+
+        TranscriptCompactor.Compaction compaction = newCompactor(1500).compact(transcript);
+
+        assertEquals("""
+            (C=고객, A=상담사)
+            C: 카드를 잃어버려서 분실 신고하려고요.
+            A: 분실 신고 접수해 드렸습니다.""", compaction.content());
+        assertTrue(compaction.tokensSaved() > 0);
+        assertFalse(compaction.truncated());
+    }
+
+    @Test
+    void testKeepsHeadAndTailWithinTokenBudget() {
+        StringBuilder transcript = new StringBuilder();
+        for (int i = 0; i < 200; i++) {
+            transcript.append("고객: ").append(i).append("번째 문의 내용입니다 결제일 변경 관련\n");
+        }
+
+        TranscriptCompactor.Compaction compaction = newCompactor(300).compact(transcript.toString());
+
+        assertTrue(compaction.truncated());
+        assertTrue(compaction.compactedTokens() <= 300);
+        assertTrue(compaction.content().contains("C: 0번째"));
+        assertTrue(compaction.content().contains("C: 199번째"));
+        assertTrue(compaction.content().contains("...(중략)..."));
+    }
+
+    @Test
+    void testReturnsOriginalWhenNothingToCompact() {
+        String content = "카드 도난 신고하고 싶습니다.";
+
+        TranscriptCompactor.Compaction compaction = newCompactor(1500).compact(content);
+
+        assertEquals(content, compaction.content());
+        assertFalse(compaction.changed());
+    }
+}